@@ -3,6 +3,10 @@ package ac.cwnu.synctune.lyrics;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 
@@ -10,6 +14,7 @@ import ac.cwnu.synctune.lyrics.parser.LrcParser;
 import ac.cwnu.synctune.lyrics.synchronizer.LyricsTimelineMatcher;
 import ac.cwnu.synctune.sdk.annotation.EventListener;
 import ac.cwnu.synctune.sdk.annotation.Module;
+import ac.cwnu.synctune.sdk.audio.PlaybackClock;
 import ac.cwnu.synctune.sdk.event.EventPublisher;
 import ac.cwnu.synctune.sdk.event.LyricsEvent;
 import ac.cwnu.synctune.sdk.event.PlaybackStatusEvent;
@@ -22,30 +27,60 @@ import ac.cwnu.synctune.sdk.module.SyncTuneModule;
 public class LyricsModule extends SyncTuneModule {
     private static final Logger log = LogManager.getLogger(LyricsModule.class);
 
+    // 다음 가사 경계가 멀더라도 탐색/일시정지를 놓치지 않도록 최소한 이 간격으로 클럭을 다시 확인
+    private static final long MAX_SYNC_INTERVAL_MS = 250;
+    // 벽시계와 무관하게 진행하는 클럭(수동 가상 클럭 등)을 확인하는 간격
+    private static final long UNTIMED_SYNC_INTERVAL_MS = 10;
+
     // 현재 재생 중인 음악과 가사 정보
     private MusicInfo currentMusic;
-    private List<LrcLine> currentLyrics;
-    private LrcLine lastPublishedLine;
+    private volatile List<LrcLine> currentLyrics;
+    private volatile LrcLine lastPublishedLine;
+
+    // 플레이어가 제공하는 재생 클럭과 가사 경계 스케줄러
+    private volatile PlaybackClock playbackClock;
+    private ScheduledExecutorService syncScheduler;
+    private ScheduledFuture<?> syncTask;
 
     @Override
     public void start(EventPublisher publisher) {
         super.eventPublisher = publisher;
         log.info("LyricsModule이 시작되었습니다.");
 
+        syncScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "LyricsModule-Sync");
+            t.setDaemon(true);
+            return t;
+        });
+
         log.info("LyricsModule 초기화 완료.");
     }
 
     @Override
     public void stop() {
+        stopLyricsSync();
+        if (syncScheduler != null && !syncScheduler.isShutdown()) {
+            syncScheduler.shutdownNow();
+        }
         log.info("LyricsModule이 종료되었습니다.");
     }
 
+    /**
+     * 재생 클럭 제공 이벤트 리스너
+     */
+    @EventListener
+    public void onPlaybackClockAvailable(PlaybackStatusEvent.PlaybackClockAvailableEvent event) {
+        playbackClock = event.getClock();
+        log.debug("재생 클럭 연결됨");
+    }
+
     /**
      * 재생 시작 이벤트 리스너 - 개선된 버전
      */
     @EventListener
     public void onPlaybackStarted(PlaybackStatusEvent.PlaybackStartedEvent event) {
         log.info("재생 시작: {}", event.getCurrentMusic().getTitle());
+        stopLyricsSync();
         currentMusic = event.getCurrentMusic();
         lastPublishedLine = null;
         
@@ -72,15 +107,87 @@ public class LyricsModule extends SyncTuneModule {
     }
 
     /**
-     * 재생 진행 이벤트 리스너
+     * 일시정지 이벤트 리스너
+     */
+    @EventListener
+    public void onPlaybackPaused(PlaybackStatusEvent.PlaybackPausedEvent event) {
+        stopLyricsSync();
+    }
+
+    /**
+     * 정지 이벤트 리스너
+     */
+    @EventListener
+    public void onPlaybackStopped(PlaybackStatusEvent.PlaybackStoppedEvent event) {
+        stopLyricsSync();
+    }
+
+    /**
+     * 재생 진행 이벤트 리스너 - 재생 클럭이 없을 때만 사용하는 대체 경로
      */
     @EventListener
     public void onPlaybackProgress(PlaybackStatusEvent.PlaybackProgressUpdateEvent event) {
-        if (currentLyrics != null && !currentLyrics.isEmpty()) {
+        if (playbackClock == null && currentLyrics != null && !currentLyrics.isEmpty()) {
             updateCurrentLyrics(event.getCurrentTimeMillis());
         }
     }
 
+    // ========== 클럭 기반 가사 동기화 ==========
+
+    /**
+     * 가사 동기화 루프 시작
+     * 고정 주기 폴링 대신 재생 클럭 기준으로 다음 가사 라인이 시작되는 시각에 정확히 깨어납니다.
+     */
+    private synchronized void startLyricsSync() {
+        if (syncScheduler == null || syncScheduler.isShutdown()) {
+            return;
+        }
+        stopLyricsSync();
+        syncTask = syncScheduler.schedule(this::syncLyricsWithClock, 0, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void stopLyricsSync() {
+        if (syncTask != null) {
+            syncTask.cancel(false);
+            syncTask = null;
+        }
+    }
+
+    private void syncLyricsWithClock() {
+        PlaybackClock clock = playbackClock;
+        List<LrcLine> lyrics = currentLyrics;
+        if (clock == null || lyrics == null || lyrics.isEmpty()) {
+            return;
+        }
+
+        try {
+            long now = clock.getMediaTimeMillis();
+            updateCurrentLyrics(now);
+
+            if (!clock.isRunning()) {
+                return; // 재개 시 PlaybackStartedEvent로 다시 시작됨
+            }
+            long nextLineTime = LyricsTimelineMatcher.findNextLineTime(lyrics, now);
+            long delay;
+            double rate = clock.getRate();
+            if (rate > 0) {
+                // 미디어 시간 간격을 벽시계 간격으로 환산 (배속 재생 대응)
+                long mediaDelay = nextLineTime == Long.MAX_VALUE ? Long.MAX_VALUE : nextLineTime - now;
+                delay = Math.min(MAX_SYNC_INTERVAL_MS, Math.max(1, (long) Math.ceil(mediaDelay / rate)));
+            } else {
+                delay = UNTIMED_SYNC_INTERVAL_MS;
+            }
+
+            synchronized (this) {
+                if (syncTask != null && !syncTask.isCancelled()) {
+                    syncTask = syncScheduler.schedule(this::syncLyricsWithClock, delay, TimeUnit.MILLISECONDS);
+                }
+            }
+        } catch (Exception e) {
+            log.error("가사 동기화 중 오류", e);
+        }
+    }
+
     /**
      * 현재 음악에 대한 가사 파일 로드 (개선된 버전)
      */
@@ -236,6 +343,8 @@ public class LyricsModule extends SyncTuneModule {
                 publish(new LyricsEvent.NextLyricsEvent(firstLine.getText(), firstLine.getTimeMillis()));
                 lastPublishedLine = firstLine;
                 log.info("첫 번째 가사 라인 발행: {}", firstLine.getText());
+                
+                startLyricsSync();
             } else {
                 handleNoLyrics("가사 파일이 비어있습니다");
             }
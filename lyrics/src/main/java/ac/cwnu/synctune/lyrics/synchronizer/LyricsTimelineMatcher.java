@@ -47,6 +47,30 @@ public class LyricsTimelineMatcher {
         return result;
     }
     
+    /**
+     * 현재 시간 이후 처음으로 시작하는 가사 라인의 시간을 찾습니다 (이진 탐색).
+     * @param lines 가사 라인 목록 (시간순으로 정렬되어 있어야 함)
+     * @param currentTimeMillis 현재 재생 시간 (밀리초)
+     * @return 다음 가사 라인의 시작 시간, 없으면 Long.MAX_VALUE
+     */
+    public static long findNextLineTime(List<LrcLine> lines, long currentTimeMillis) {
+        if (lines == null || lines.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+
+        int low = 0;
+        int high = lines.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lines.get(mid).getTimeMillis() <= currentTimeMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < lines.size() ? lines.get(low).getTimeMillis() : Long.MAX_VALUE;
+    }
+    
     /**
      * 다음 가사 라인을 찾습니다.
      * @param lines 가사 라인 목록
@@ -0,0 +1,89 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * FLAC 전체 디코딩 비용 ({@link FlacSource})
+ * 소스는 한 번 열어 두고 매번 처음으로 탐색한 뒤 끝까지 읽으므로 파일 매핑과 메타데이터 파싱은 측정에서 빠집니다.
+ * 환경 변수 {@code SYNCTUNE_BENCH_FLAC}로 실제 FLAC 파일을 지정하며,
+ * 없으면 테스트 픽스처({@code flac/encoder24.flac}, 24비트 스테레오 LPC)를 사용합니다.
+ * {@code audioMillis} 값(초당 디코딩한 오디오 밀리초)을 1000으로 나누면 실시간 대비 배속입니다.
+ * 실행: SYNCTUNE_BENCH_FLAC=song.flac ./gradlew :player:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FlacDecodeBenchmark {
+
+    private static final String FIXTURE = "/flac/encoder24.flac";
+
+    private Path fixtureCopy;
+    private FlacSource source;
+    private long durationMillis;
+    private final byte[] buffer = new byte[16 * 1024];
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Decoded {
+        public long audioMillis;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            audioMillis = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        String path = System.getenv("SYNCTUNE_BENCH_FLAC");
+        File file;
+        if (path != null && !path.isBlank()) {
+            file = new File(path);
+        } else {
+            // 리소스는 jar 안에 있으므로 매핑할 수 있도록 임시 파일로 복사
+            fixtureCopy = Files.createTempFile("synctune-bench", ".flac");
+            try (InputStream in = FlacDecodeBenchmark.class.getResourceAsStream(FIXTURE)) {
+                Files.copy(in, fixtureCopy, StandardCopyOption.REPLACE_EXISTING);
+            }
+            file = fixtureCopy.toFile();
+        }
+        source = FlacSource.open(file);
+        durationMillis = (long) (source.getFrameLength() * 1000 / source.getFormat().getFrameRate());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        source.close();
+        if (fixtureCopy != null) {
+            Files.deleteIfExists(fixtureCopy);
+        }
+    }
+
+    @Benchmark
+    public long playerDecoder(Decoded decoded) throws Exception {
+        source.seekToFrame(0);
+        long bytes = 0;
+        int n;
+        while ((n = source.read(buffer, 0, buffer.length)) > 0) {
+            bytes += n;
+        }
+        decoded.audioMillis += durationMillis;
+        return bytes;
+    }
+}
@@ -0,0 +1,117 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * MP3 전체 디코딩 비용: 내장 경로({@link Mp3Source})와 기존 SPI 경로(AudioSystem 변환 스트림) 비교
+ * 파일은 메모리에 올려 두고 디코딩만 측정합니다. 환경 변수 {@code SYNCTUNE_BENCH_MP3}로 실제 MP3 파일을 지정하며,
+ * 없으면 무음 프레임을 사용합니다 (허프만 디코딩이 없어 실제보다 훨씬 빠르게 나옴).
+ * {@code audioMillis} 값(초당 디코딩한 오디오 밀리초)을 1000으로 나누면 실시간 대비 배속이고,
+ * gc 프로파일러의 {@code gc.alloc.rate}가 초당 할당량, {@code gc.alloc.rate.norm}이 곡 하나당 할당량입니다.
+ * 실행: SYNCTUNE_BENCH_MP3=song.mp3 ./gradlew :player:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class Mp3DecodeBenchmark {
+
+    private static final int SILENT_FRAMES = 2000;
+
+    private byte[] mp3;
+    private long durationMillis;
+    private final byte[] buffer = new byte[16 * 1024];
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Decoded {
+        public long audioMillis;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            audioMillis = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        String path = System.getenv("SYNCTUNE_BENCH_MP3");
+        mp3 = path != null && !path.isBlank() ? Files.readAllBytes(Path.of(path)) : silentMp3(SILENT_FRAMES);
+        // 한 번 디코딩하여 길이 측정
+        long frames = 0;
+        try (Mp3Source source = openSource()) {
+            int n;
+            while ((n = source.read(buffer, 0, buffer.length)) > 0) {
+                frames += n / source.getFormat().getFrameSize();
+            }
+            durationMillis = (long) (frames * 1000 / source.getFormat().getFrameRate());
+        }
+    }
+
+    @Benchmark
+    public long playerDecoder(Decoded decoded) throws Exception {
+        long bytes = 0;
+        try (Mp3Source source = openSource()) {
+            int n;
+            while ((n = source.read(buffer, 0, buffer.length)) > 0) {
+                bytes += n;
+            }
+        }
+        decoded.audioMillis += durationMillis;
+        return bytes;
+    }
+
+    @Benchmark
+    public long spiDecoder(Decoded decoded) throws Exception {
+        long bytes = 0;
+        try (AudioInputStream encoded = AudioSystem.getAudioInputStream(
+                new BufferedInputStream(new ByteArrayInputStream(mp3)))) {
+            AudioFormat pcmFormat = DecodedStreamSource.toPcmFormat(encoded.getFormat());
+            try (AudioInputStream pcm = AudioSystem.getAudioInputStream(pcmFormat, encoded)) {
+                int n;
+                while ((n = pcm.read(buffer, 0, buffer.length)) > 0) {
+                    bytes += n;
+                }
+            }
+        }
+        decoded.audioMillis += durationMillis;
+        return bytes;
+    }
+
+    private Mp3Source openSource() throws Exception {
+        return Mp3Source.open("benchmark.mp3", () -> new ByteArrayInputStream(mp3), null);
+    }
+
+    /**
+     * MPEG-1 Layer III 128kbps 44.1kHz 스테레오 무음 프레임 (헤더 뒤가 모두 0)
+     */
+    private static byte[] silentMp3(int frames) {
+        int frameBytes = 417;
+        byte[] data = new byte[frames * frameBytes];
+        for (int i = 0; i < frames; i++) {
+            int p = i * frameBytes;
+            data[p] = (byte) 0xFF;
+            data[p + 1] = (byte) 0xFB;
+            data[p + 2] = (byte) 0x90;
+            data[p + 3] = (byte) 0x04;
+        }
+        return data;
+    }
+}
@@ -0,0 +1,88 @@
+package ac.cwnu.synctune.player.dsp;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * 분할 합성곱 비용 (48kHz 스테레오, 잔향처럼 지수 감쇠하는 잡음 응답)
+ * {@code process}: 20ms(960프레임) 버퍼 하나의 실시간 처리 시간. 결과(us)를 20000으로 나누면 재생 중 CPU 사용률입니다.
+ * {@code renderOffline}: 10초 분량을 모든 코어로 렌더링하는 시간 (블록 4096 고정, blockSize 값과 무관).
+ * 실행: ./gradlew :player:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConvolutionBenchmark {
+
+    private static final float RATE = 48000f;
+    private static final int CHANNELS = 2;
+    private static final int FRAMES = 960;
+
+    @Param({"1", "5"})
+    public int irSeconds;
+
+    @Param({"256", "512", "1024"})
+    public int blockSize;
+
+    private PartitionedConvolver convolver;
+    private PartitionedConvolver.Kernel offlineKernel;
+    private float[] buffer;
+    private float[][] track;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int length = (int) (RATE * irSeconds);
+        float[][] response = new float[CHANNELS][length];
+        for (int c = 0; c < CHANNELS; c++) {
+            for (int i = 0; i < length; i++) {
+                response[c][i] = (float) (random.nextGaussian() * Math.exp(-3.0 * i / length));
+            }
+        }
+        ImpulseResponse ir = new ImpulseResponse("benchmark", RATE, response);
+        convolver = new PartitionedConvolver(PartitionedConvolver.Kernel.create(ir, blockSize), CHANNELS);
+        offlineKernel = PartitionedConvolver.Kernel.create(ir, 4096);
+
+        buffer = new float[FRAMES * CHANNELS];
+        for (int i = 0; i < buffer.length; i++) {
+            buffer[i] = random.nextFloat() * 2 - 1;
+        }
+        track = new float[CHANNELS][(int) (RATE * 10)];
+        for (float[] channel : track) {
+            for (int i = 0; i < channel.length; i++) {
+                channel[i] = random.nextFloat() * 2 - 1;
+            }
+        }
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public float[] process() {
+        convolver.process(buffer, FRAMES, 1.0f);
+        return buffer;
+    }
+
+    @Benchmark
+    public float[][] renderOffline() throws Exception {
+        return PartitionedConvolver.render(track, offlineKernel, 1.0f, executor,
+                Runtime.getRuntime().availableProcessors());
+    }
+}
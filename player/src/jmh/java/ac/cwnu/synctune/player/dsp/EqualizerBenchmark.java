@@ -0,0 +1,54 @@
+package ac.cwnu.synctune.player.dsp;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 10밴드 이퀄라이저 처리 시간 (44.1kHz 스테레오 4096프레임 버퍼, 모든 밴드 활성)
+ * 버퍼 하나의 재생 시간은 약 92.9ms이므로 실시간 100배 이상이면 결과가 929us 미만이어야 합니다.
+ * 실행: ./gradlew :player:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EqualizerBenchmark {
+
+    @Param({"4096"})
+    public int frames;
+
+    @Param({"2"})
+    public int channels;
+
+    private EqualizerProcessor equalizer;
+    private float[] input;
+    private float[] samples;
+
+    @Setup
+    public void setUp() {
+        equalizer = new EqualizerProcessor();
+        equalizer.prepare(44100f, channels, frames);
+        equalizer.setGainsDb(new float[] {6, -4, 3, -2, 1, -1, 2, -3, 4, -5});
+        Random random = new Random(42);
+        input = new float[frames * channels];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = (random.nextFloat() * 2 - 1) * 0.5f;
+        }
+        samples = new float[input.length];
+    }
+
+    @Benchmark
+    public float[] process() {
+        System.arraycopy(input, 0, samples, 0, input.length);
+        equalizer.process(samples, frames, channels);
+        return samples;
+    }
+}
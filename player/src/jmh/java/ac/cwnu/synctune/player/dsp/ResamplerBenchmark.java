@@ -0,0 +1,55 @@
+package ac.cwnu.synctune.player.dsp;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 샘플레이트 변환 비용 (스테레오 1024프레임 입력 블록)
+ * 결과(us)를 블록 재생 시간(1024 / 입력 레이트)으로 나누면 재생 중 CPU 사용률입니다.
+ * 실행: ./gradlew :player:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResamplerBenchmark {
+
+    @Param({"FAST", "STANDARD", "HIGH"})
+    public Resampler.Quality quality;
+
+    @Param({"48000:44100", "22050:44100", "96000:44100"})
+    public String rates;
+
+    private static final int FRAMES = 1024;
+    private static final int CHANNELS = 2;
+
+    private Resampler resampler;
+    private float[] input;
+    private float[] output;
+
+    @Setup
+    public void setUp() {
+        String[] parts = rates.split(":");
+        resampler = new Resampler(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), CHANNELS, quality, FRAMES);
+        Random random = new Random(42);
+        input = new float[FRAMES * CHANNELS];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = random.nextFloat() * 2 - 1;
+        }
+        output = new float[resampler.maxOutputFrames(FRAMES) * CHANNELS];
+    }
+
+    @Benchmark
+    public float[] process() {
+        resampler.process(input, FRAMES, output);
+        return output;
+    }
+}
@@ -0,0 +1,116 @@
+package ac.cwnu.synctune.player.dsp;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 스칼라/Vector API 커널 처리량 비교 (스테레오 4096프레임 버퍼 기준)
+ * 실행: ./gradlew :player:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SampleKernelsBenchmark {
+
+    @Param({"scalar", "vector"})
+    public String impl;
+
+    @Param({"4096"})
+    public int frames;
+
+    @Param({"2"})
+    public int channels;
+
+    private SampleKernels kernels;
+    private byte[] pcm;
+    private byte[] out;
+    private float[] initial;
+    private float[] samples;
+    private float[] other;
+
+    @Setup
+    public void setUp() {
+        kernels = "vector".equals(impl) ? SampleKernels.vector() : SampleKernels.scalar();
+        if (kernels == null) {
+            throw new IllegalStateException("Vector API를 사용할 수 없습니다 (--add-modules jdk.incubator.vector 필요)");
+        }
+        int n = frames * channels;
+        Random random = new Random(42);
+        pcm = new byte[n * 2];
+        out = new byte[n * 2];
+        random.nextBytes(pcm);
+        initial = new float[n];
+        samples = new float[n];
+        other = new float[n];
+        for (int i = 0; i < n; i++) {
+            initial[i] = random.nextFloat() * 2 - 1;
+            other[i] = random.nextFloat() * 2 - 1;
+        }
+        resetSamples();
+    }
+
+    /**
+     * 게인 벤치마크가 누적한 오차를 반복(iteration)마다 되돌려 값이 비정규화 범위로 내려가지 않게 함
+     */
+    @Setup(Level.Iteration)
+    public void resetSamples() {
+        System.arraycopy(initial, 0, samples, 0, initial.length);
+    }
+
+    @Benchmark
+    public float[] int16ToFloat() {
+        kernels.int16ToFloat(pcm, 0, samples, 0, frames * channels, false);
+        return samples;
+    }
+
+    @Benchmark
+    public byte[] floatToInt16() {
+        kernels.floatToInt16(samples, 0, out, 0, frames * channels, false);
+        return out;
+    }
+
+    @Benchmark
+    public float[] scale() {
+        // 게인 1에 가까운 값으로 반복 호출해도 값이 발산하거나 비정규화되지 않게 함
+        kernels.scale(samples, 0, frames * channels, 0.999f);
+        kernels.scale(samples, 0, frames * channels, 1.001f);
+        return samples;
+    }
+
+    @Benchmark
+    public float[] ramp() {
+        // 1보다 작은 램프와 1보다 큰 램프를 짝지어 프레임마다 두 게인의 곱이 1에서 1e-6 이내가 되게 함
+        kernels.ramp(samples, 0, frames, channels, 0.999f, 1e-7f);
+        kernels.ramp(samples, 0, frames, channels, 1.001f, -1e-7f);
+        return samples;
+    }
+
+    @Benchmark
+    public float[] mix() {
+        kernels.mix(samples, 0, other, 0, frames * channels, 0.5f);
+        kernels.mix(samples, 0, other, 0, frames * channels, -0.5f);
+        return samples;
+    }
+
+    /**
+     * 변환 → 게인 → 역변환으로 이어지는 렌더 스레드 한 청크 분량
+     */
+    @Benchmark
+    public byte[] convertGainConvert() {
+        int n = frames * channels;
+        kernels.int16ToFloat(pcm, 0, samples, 0, n, false);
+        kernels.scale(samples, 0, n, 0.5f);
+        kernels.floatToInt16(samples, 0, out, 0, n, false);
+        return out;
+    }
+}
@@ -1,44 +1,95 @@
 package ac.cwnu.synctune.player;
 
 import java.io.File;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
-import javax.sound.sampled.AudioFileFormat;
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.Clip;
 import javax.sound.sampled.DataLine;
 import javax.sound.sampled.FloatControl;
+import javax.sound.sampled.LineEvent;
+import javax.sound.sampled.LineListener;
 import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.UnsupportedAudioFileException;
 
 import org.slf4j.Logger;
 
+import ac.cwnu.synctune.player.analysis.BackgroundAnalyzer;
+import ac.cwnu.synctune.player.decoder.CodecRegistry;
+import ac.cwnu.synctune.player.decoder.PcmSource;
+import ac.cwnu.synctune.player.decoder.PcmSources;
+import ac.cwnu.synctune.player.decoder.ResamplingSource;
+import ac.cwnu.synctune.player.decoder.SilenceSource;
+import ac.cwnu.synctune.player.dsp.ConvolutionProcessor;
+import ac.cwnu.synctune.player.dsp.DspChain;
+import ac.cwnu.synctune.player.dsp.EqualizerProcessor;
+import ac.cwnu.synctune.player.dsp.GainProcessor;
+import ac.cwnu.synctune.player.dsp.ImpulseResponse;
+import ac.cwnu.synctune.player.dsp.KaraokeProcessor;
+import ac.cwnu.synctune.player.dsp.LimiterProcessor;
+import ac.cwnu.synctune.player.dsp.SpectrumAnalyzer;
+import ac.cwnu.synctune.player.dsp.TimeStretcher;
+import ac.cwnu.synctune.player.metadata.AudioFeatureStore;
+import ac.cwnu.synctune.player.metadata.LoudnessStore;
+import ac.cwnu.synctune.player.metadata.WaveformCache;
+import ac.cwnu.synctune.player.output.AudioOutput;
+import ac.cwnu.synctune.player.output.AudioOutputs;
+import ac.cwnu.synctune.player.playback.InterpolatedPlaybackClock;
+import ac.cwnu.synctune.player.playback.PlaybackStateManager.PlaybackState;
+import ac.cwnu.synctune.player.playback.PlayerCommandLoop;
+import ac.cwnu.synctune.player.playback.PlayerState;
+import ac.cwnu.synctune.player.playback.TrackPrefetcher;
+import ac.cwnu.synctune.player.playlist.PlaylistManager;
+import ac.cwnu.synctune.player.playlist.TrackShuffler;
+import ac.cwnu.synctune.player.streaming.RenderMetrics;
+import ac.cwnu.synctune.player.streaming.StreamingPlayback;
+import ac.cwnu.synctune.player.waveform.WaveformGenerator;
 import ac.cwnu.synctune.sdk.annotation.EventListener;
 import ac.cwnu.synctune.sdk.annotation.Module;
+import ac.cwnu.synctune.sdk.event.AudioProcessingEvent;
+import ac.cwnu.synctune.sdk.event.EqualizerEvent;
 import ac.cwnu.synctune.sdk.event.EventPublisher;
+import ac.cwnu.synctune.sdk.event.KaraokeEvent;
 import ac.cwnu.synctune.sdk.event.MediaControlEvent;
+import ac.cwnu.synctune.sdk.event.MediaInfoEvent;
 import ac.cwnu.synctune.sdk.event.PlaybackStatusEvent;
+import ac.cwnu.synctune.sdk.event.PlaylistEvent;
 import ac.cwnu.synctune.sdk.event.PlaylistQueryEvent;
 import ac.cwnu.synctune.sdk.event.VolumeControlEvent;
+import ac.cwnu.synctune.sdk.event.WaveformEvent;
 import ac.cwnu.synctune.sdk.log.LogManager;
 import ac.cwnu.synctune.sdk.model.MusicInfo;
+import ac.cwnu.synctune.sdk.model.Playlist;
 import ac.cwnu.synctune.sdk.module.SyncTuneModule;
 
 @Module(name = "Player", version = "1.0.0")
 public class PlayerModule extends SyncTuneModule {
     private static final Logger log = LogManager.getLogger(PlayerModule.class);
+    private static final float DEFAULT_VOLUME = 0.8f;
     
+    // 재생 상태를 바꾸는 모든 요청은 이 루프의 단일 플레이어 스레드에서 실행됨
+    private PlayerCommandLoop commands;
+    // 플레이어 스레드가 명령마다 발행하는 상태 스냅샷 (다른 스레드의 조회용)
+    private volatile PlayerState state = new PlayerState(PlaybackState.STOPPED, null, 0, false, DEFAULT_VOLUME, false, 1.0f, 0);
+    
+    // ===== 플레이어 스레드 전용 상태 =====
     // 실제 오디오 재생을 위한 컴포넌트들
     private AudioInputStream audioInputStream;
     private AudioInputStream decodedAudioInputStream;
     private Clip audioClip;
+    private StreamingPlayback streamPlayback; // 출력 백엔드로 PCM을 흘려보내는 스트리밍 경로 (기본 경로, Clip은 대체 경로)
     private FloatControl volumeControl;
     
     // 현재 상태 관리
@@ -51,16 +102,59 @@ public class PlayerModule extends SyncTuneModule {
     
     
     // 볼륨 관리
-    private final AtomicReference<Float> currentVolume = new AtomicReference<>(0.8f); // 기본 80%
+    private final AtomicReference<Float> currentVolume = new AtomicReference<>(DEFAULT_VOLUME);
     private final AtomicBoolean isMuted = new AtomicBoolean(false);
     
+    // 재생 속도 (음높이 유지, 스트리밍 경로에서만 적용)
+    private final AtomicReference<Float> playbackSpeed = new AtomicReference<>(1.0f);
+    
     // 자동 재생 관련
     private final AtomicBoolean autoPlayNextEnabled = new AtomicBoolean(true);
     private final AtomicBoolean isWaitingForNextMusic = new AtomicBoolean(false);
     
     // 진행 상황 업데이트용 스케줄러
     private ScheduledExecutorService scheduler;
-    private boolean isSimulationMode = false;
+    private ScheduledFuture<?> progressTask; // 현재 곡에 묶인 단일 진행 상황 틱
+    private boolean isSimulationMode = false; // 파일이 없거나 디코딩할 수 없어 무음을 재생 중
+    
+    // 곡이 바뀔 때마다 증가: 이전 곡의 라인 이벤트가 늦게 도착해도 무시하기 위함
+    private final AtomicLong playbackGeneration = new AtomicLong(0);
+    
+    // 다른 모듈이 잠금 없이 조회하는 고해상도 재생 클럭
+    private final InterpolatedPlaybackClock playbackClock = new InterpolatedPlaybackClock();
+    
+    // 스트리밍 경로의 float32 처리 체인 (볼륨은 체인의 게인 단계가 적용)
+    private final DspChain dspChain = new DspChain();
+    private final GainProcessor gainProcessor = new GainProcessor();
+    private final EqualizerProcessor equalizer = new EqualizerProcessor();
+    private final KaraokeProcessor karaoke = new KaraokeProcessor();
+    private final ConvolutionProcessor convolution = new ConvolutionProcessor();
+    // 임펄스 응답 변경은 전용 스레드에서 순서대로, 세대 번호로 지난 요청의 결과를 버림
+    private ExecutorService impulseResponseLoader;
+    private final AtomicLong impulseResponseGeneration = new AtomicLong();
+    private final SpectrumAnalyzer spectrumAnalyzer = new SpectrumAnalyzer();
+    
+    // 곡 추가 시 라우드니스와 오디오 특징을 한 번의 디코딩으로 함께 분석 (재생 중에는 분석 속도를 낮춤)
+    private BackgroundAnalyzer backgroundAnalyzer;
+    
+    // 라우드니스 정규화: 재생 시작 시 분석 결과로 게인 적용
+    private LoudnessStore loudnessStore;
+    private final AtomicReference<Float> normalizationGain = new AtomicReference<>(1.0f);
+    private final String normalizationMode = System.getProperty("synctune.loudness.mode", "track"); // track, album, off
+    private final double normalizationTargetLufs = Double.parseDouble(System.getProperty("synctune.loudness.targetLufs", "-18"));
+    
+    // 에너지/시간대 셔플용 오디오 특징 (템포, 조, 에너지, 온셋 밀도)와 이를 쓰는 플레이리스트 관리자 (스케줄러 스레드에서만 사용)
+    private AudioFeatureStore audioFeatureStore;
+    private PlaylistManager playlistManager;
+    private final boolean featureAnalysisEnabled = Boolean.parseBoolean(System.getProperty("synctune.features.analyze", "true"));
+    
+    // 탐색 바에 표시할 파형 개요 (디스크 캐시 우선, 없으면 백그라운드 계산)
+    private WaveformGenerator waveformGenerator;
+    
+    // 다음 곡들의 오디오/가사/커버 파일을 미리 읽어 곡 전환 시 디스크 대기를 없앰
+    private TrackPrefetcher trackPrefetcher;
+    private final int prefetchTrackCount = Integer.getInteger("synctune.prefetch.tracks", 3);
+    private final long prefetchBudgetBytes = Long.getLong("synctune.prefetch.budgetMB", 256L) * 1024 * 1024;
 
 
     // PlayerModule 생성자 또는 start 메서드에서 초기 볼륨 설정
@@ -69,6 +163,9 @@ public class PlayerModule extends SyncTuneModule {
         super.eventPublisher = publisher;
         log.info("[{}] 시작되었습니다.", getModuleName());
         
+        commands = new PlayerCommandLoop("PlayerModule-Player");
+        commands.start();
+        
         // 스케줄러 초기화
         scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread t = new Thread(r, "PlayerModule-Scheduler");
@@ -76,8 +173,47 @@ public class PlayerModule extends SyncTuneModule {
             return t;
         });
         
+        // 기본 처리 단계: 노래방 → 이퀄라이저 → 합성곱(룸 보정/잔향) → 볼륨 게인 → 클리핑 방지 리미터 → 스펙트럼 표시용 분석
+        dspChain.register(karaoke);
+        dspChain.register(equalizer);
+        dspChain.register(convolution);
+        dspChain.register(gainProcessor);
+        dspChain.register(new LimiterProcessor(-0.3f));
+        dspChain.register(spectrumAnalyzer);
+        
+        // 분석 결과 로드 및 분석기 준비: 켜진 분석만 등록하여 풀 하나, 재생 중 스레드 하나로 함께 수행
+        loudnessStore = LoudnessStore.openDefault();
+        audioFeatureStore = AudioFeatureStore.openDefault();
+        backgroundAnalyzer = new BackgroundAnalyzer(isPlaying::get, BackgroundAnalyzer.defaultParallelism());
+        if (!"off".equals(normalizationMode)) {
+            backgroundAnalyzer.register("라우드니스", loudnessStore, LoudnessStore::measure);
+        }
+        if (featureAnalysisEnabled) {
+            backgroundAnalyzer.register("오디오 특징", audioFeatureStore, AudioFeatureStore::measure);
+        }
+        playlistManager = new PlaylistManager(publisher, audioFeatureStore);
+        waveformGenerator = new WaveformGenerator(WaveformCache.openDefault());
+        trackPrefetcher = new TrackPrefetcher(prefetchBudgetBytes);
+        
+        // 임펄스 응답 읽기와 분할 스펙트럼 계산 전용 스레드 (요청 순서대로 하나씩 처리)
+        impulseResponseLoader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "PlayerModule-ImpulseResponse");
+            t.setDaemon(true);
+            return t;
+        });
+        
+        // 시작 시 적용할 임펄스 응답 (룸 보정 등)
+        String impulseResponse = System.getProperty("synctune.dsp.impulseResponse");
+        if (impulseResponse != null && !impulseResponse.isBlank()) {
+            requestImpulseResponse(impulseResponse, Float.parseFloat(System.getProperty("synctune.dsp.impulseResponseMix", "1.0")));
+        }
+        
+        // 외부 출력 장치 지연 보정값 (밀리초)
+        applyOutputLatency();
+        
         // 지원 가능한 오디오 포맷 로깅
-        logSupportedFormats();
+        // 코덱 제공자 선택을 미리 해 두고 디코더를 예열 (첫 재생 지연 감소)
+        CodecRegistry.start();
         
         // 초기 볼륨 상태 발행 (UI와 동기화)
         log.debug("[{}] 초기 볼륨 상태 발행: {}%, 음소거: {}", 
@@ -91,13 +227,36 @@ public class PlayerModule extends SyncTuneModule {
     public void stop() {
         log.info("[{}] 종료됩니다.", getModuleName());
         
-        stopPlayback();
-        releaseResources();
+        // 대기 중인 명령까지 처리한 뒤 플레이어 스레드에서 재생 자원을 정리
+        if (commands != null) {
+            submitCommand("shutdown", () -> {
+                stopPlayback();
+                releaseResources();
+            });
+            commands.close();
+            PlayerCommandLoop.Stats stats = commands.sample();
+            log.debug("[{}] 플레이어 명령 통계: {}건, 평균 대기 {}us, 최대 대기 {}us, 최대 실행 {}us",
+                getModuleName(), stats.commands(), stats.avgWaitMicros(), stats.maxWaitMicros(), stats.maxRunMicros());
+        }
+        AudioOutputs.closeSharedOutputs();
+        if (backgroundAnalyzer != null) {
+            backgroundAnalyzer.close(); // 진행 중인 분석 중단 후 결과 저장
+        }
+        if (waveformGenerator != null) {
+            waveformGenerator.close();
+        }
+        if (trackPrefetcher != null) {
+            trackPrefetcher.close();
+        }
         
         if (scheduler != null && !scheduler.isShutdown()) {
             scheduler.shutdown();
         }
         
+        if (impulseResponseLoader != null) {
+            impulseResponseLoader.shutdownNow();
+        }
+        
         log.info("[{}] 모듈 종료 완료.", getModuleName());
     }
 
@@ -106,47 +265,50 @@ public class PlayerModule extends SyncTuneModule {
         log.info("[{}] 재생 요청 수신", getModuleName());
         
         MusicInfo musicToPlay = event.getMusicToPlay();
-        if (musicToPlay != null) {
-            playMusic(musicToPlay);
-        } else if (currentMusic != null) {
-            if (isPaused.get()) {
-                resumePlayback();
+        submitCommand("play", () -> {
+            if (musicToPlay != null) {
+                playMusic(musicToPlay);
+            } else if (currentMusic != null) {
+                if (isPaused.get()) {
+                    resumePlayback();
+                } else {
+                    playMusic(currentMusic);
+                }
             } else {
-                playMusic(currentMusic);
+                log.warn("재생할 음악이 지정되지 않았습니다.");
             }
-        } else {
-            log.warn("재생할 음악이 지정되지 않았습니다.");
-        }
+        });
     }
 
     @EventListener
     public void onPauseRequest(MediaControlEvent.RequestPauseEvent event) {
         log.info("[{}] 일시정지 요청 수신", getModuleName());
-        pausePlayback();
+        submitCommand("pause", this::pausePlayback);
     }
 
     @EventListener
     public void onStopRequest(MediaControlEvent.RequestStopEvent event) {
         log.info("[{}] 정지 요청 수신", getModuleName());
-        stopPlayback();
+        submitCommand("stop", this::stopPlayback);
     }
 
     @EventListener
     public void onSeekRequest(MediaControlEvent.RequestSeekEvent event) {
         log.info("[{}] 탐색 요청 수신: {}ms", getModuleName(), event.getPositionMillis());
-        seekTo(event.getPositionMillis());
+        long positionMillis = event.getPositionMillis();
+        submitCommand("seek", () -> seekTo(positionMillis));
     }
 
     @EventListener
     public void onNextMusicRequest(MediaControlEvent.RequestNextMusicEvent event) {
         log.info("[{}] 다음 곡 요청 수신", getModuleName());
-        requestNextMusic();
+        submitCommand("next", this::requestNextMusic);
     }
 
     @EventListener  
     public void onPreviousMusicRequest(MediaControlEvent.RequestPreviousMusicEvent event) {
         log.info("[{}] 이전 곡 요청 수신", getModuleName());
-        requestPreviousMusic();
+        submitCommand("previous", this::requestPreviousMusic);
     }
 
     // ========== 볼륨 제어 이벤트 리스너들 ==========
@@ -154,13 +316,88 @@ public class PlayerModule extends SyncTuneModule {
     @EventListener
     public void onVolumeChangeRequest(VolumeControlEvent.RequestVolumeChangeEvent event) {
         log.debug("[{}] 볼륨 변경 요청: {}%", getModuleName(), event.getVolume() * 100);
-        setVolume(event.getVolume());
+        float volume = event.getVolume();
+        submitCommand("volume", () -> setVolume(volume));
     }
     
     @EventListener
     public void onMuteRequest(VolumeControlEvent.RequestMuteEvent event) {
         log.debug("[{}] 음소거 요청: {}", getModuleName(), event.isMuted());
-        setMuted(event.isMuted());
+        boolean muted = event.isMuted();
+        submitCommand("mute", () -> setMuted(muted));
+    }
+    
+    @EventListener
+    public void onPlaybackSpeedRequest(MediaControlEvent.RequestPlaybackSpeedEvent event) {
+        log.debug("[{}] 재생 속도 변경 요청: {}x", getModuleName(), event.getSpeed());
+        float speed = event.getSpeed();
+        submitCommand("speed", () -> setPlaybackSpeed(speed));
+    }
+
+    @EventListener
+    public void onRegisterProcessor(AudioProcessingEvent.RegisterProcessorEvent event) {
+        log.debug("[{}] 처리 단계 등록 요청 수신: {}", getModuleName(), event);
+        dspChain.register(event.getProcessor());
+    }
+
+    @EventListener
+    public void onUnregisterProcessor(AudioProcessingEvent.UnregisterProcessorEvent event) {
+        log.debug("[{}] 처리 단계 제거 요청 수신: {}", getModuleName(), event);
+        dspChain.unregister(event.getProcessorName());
+    }
+
+    @EventListener
+    public void onImpulseResponseRequest(AudioProcessingEvent.RequestImpulseResponseEvent event) {
+        log.debug("[{}] 임펄스 응답 변경 요청 수신: {}", getModuleName(), event);
+        requestImpulseResponse(event.getFilePath(), event.getMix());
+    }
+
+    // ========== 이퀄라이저 이벤트 리스너들 ==========
+
+    @EventListener
+    public void onEqualizerPresetRequest(EqualizerEvent.RequestPresetEvent event) {
+        log.debug("[{}] 이퀄라이저 프리셋 요청: {}", getModuleName(), event.getPreset());
+        equalizer.setPreset(event.getPreset());
+        publish(new EqualizerEvent.EqualizerChangedEvent(event.getPreset(), equalizer.getGainsDb()));
+    }
+
+    @EventListener
+    public void onEqualizerBandGainsRequest(EqualizerEvent.RequestBandGainsEvent event) {
+        log.debug("[{}] 이퀄라이저 밴드 게인 요청", getModuleName());
+        equalizer.setGainsDb(event.getGainsDb());
+        publish(new EqualizerEvent.EqualizerChangedEvent(null, equalizer.getGainsDb()));
+    }
+
+    // ========== 노래방 이벤트 리스너 ==========
+
+    @EventListener
+    public void onKaraokeRequest(KaraokeEvent.RequestKaraokeEvent event) {
+        log.debug("[{}] 노래방 설정 요청: 보컬 줄이기 {}, 키 {}", getModuleName(), event.isVocalReduction(), event.getKeyShift());
+        boolean vocalReduction = event.isVocalReduction();
+        int keyShift = event.getKeyShift();
+        submitCommand("karaoke", () -> setKaraoke(vocalReduction, keyShift));
+    }
+
+    @EventListener
+    public void onMusicAdded(PlaylistEvent.MusicAddedToPlaylistEvent event) {
+        if (event.getMusicInfo() != null) {
+            submitAnalysis(List.of(event.getMusicInfo()));
+        }
+    }
+
+    @EventListener
+    public void onSmartShuffleRequest(PlaylistEvent.RequestSmartShuffleEvent event) {
+        log.debug("[{}] 스마트 셔플 요청 수신: {}", getModuleName(), event);
+        if (playlistManager == null || scheduler == null || scheduler.isShutdown()) {
+            return;
+        }
+        // 특징 색인 생성과 정렬은 재생 명령을 막지 않도록 스케줄러 스레드에서
+        scheduler.execute(() -> smartShuffle(event.getPlaylist(), event.getMode()));
+    }
+
+    @EventListener
+    public void onMediaScanCompleted(MediaInfoEvent.MediaScanCompletedEvent event) {
+        submitAnalysis(event.getScannedMusicInfos());
     }
 
     @EventListener
@@ -168,12 +405,21 @@ public class PlayerModule extends SyncTuneModule {
         log.info("[{}] 다음 곡 찾음: {}", getModuleName(), 
             event.getNextMusic() != null ? event.getNextMusic().getTitle() : "없음");
         
-        if (event.getNextMusic() != null) {
-            isWaitingForNextMusic.set(false);
-            playMusic(event.getNextMusic());
-        } else {
-            log.info("[{}] 더 이상 재생할 곡이 없습니다.", getModuleName());
+        MusicInfo nextMusic = event.getNextMusic();
+        submitCommand("nextFound", () -> {
             isWaitingForNextMusic.set(false);
+            if (nextMusic != null) {
+                playMusic(nextMusic);
+            } else {
+                log.info("[{}] 더 이상 재생할 곡이 없습니다.", getModuleName());
+            }
+        });
+    }
+
+    @EventListener
+    public void onUpcomingMusicFound(PlaylistQueryEvent.UpcomingMusicFoundEvent event) {
+        if (trackPrefetcher != null) {
+            trackPrefetcher.prefetch(event.getUpcomingMusic());
         }
     }
 
@@ -182,8 +428,9 @@ public class PlayerModule extends SyncTuneModule {
         log.info("[{}] 이전 곡 찾음: {}", getModuleName(), 
             event.getPreviousMusic() != null ? event.getPreviousMusic().getTitle() : "없음");
         
-        if (event.getPreviousMusic() != null) {
-            playMusic(event.getPreviousMusic());
+        MusicInfo previousMusic = event.getPreviousMusic();
+        if (previousMusic != null) {
+            submitCommand("previousFound", () -> playMusic(previousMusic));
         } else {
             log.info("[{}] 이전 곡이 없습니다.", getModuleName());
         }
@@ -194,11 +441,45 @@ public class PlayerModule extends SyncTuneModule {
         log.info("[{}] 현재 재생 중인 곡이 플레이리스트에서 제거됨: {}", 
             getModuleName(), event.getRemovedMusic().getTitle());
         
-        // 현재 재생 중인 곡이 제거된 곡과 같은지 확인 (더 안전한 비교)
-        if (currentMusic != null && isSameMusic(currentMusic, event.getRemovedMusic())) {
-            log.info("[{}] 재생 중인 곡이 제거되어 재생을 정지합니다.", getModuleName());
-            stopPlayback();
-            currentMusic = null;
+        MusicInfo removedMusic = event.getRemovedMusic();
+        submitCommand("currentRemoved", () -> {
+            // 현재 재생 중인 곡이 제거된 곡과 같은지 확인 (더 안전한 비교)
+            if (currentMusic != null && isSameMusic(currentMusic, removedMusic)) {
+                log.info("[{}] 재생 중인 곡이 제거되어 재생을 정지합니다.", getModuleName());
+                stopPlayback();
+                currentMusic = null;
+            }
+        });
+    }
+    
+    // ========== 플레이어 스레드 ==========
+    
+    /**
+     * 재생 상태를 바꾸는 작업을 플레이어 스레드에 넘깁니다. 작업이 끝나면 상태 스냅샷을 새로 발행합니다.
+     * 이벤트 디스패처, 스케줄러, 라인/렌더 스레드는 엔진 필드를 직접 건드리지 않고 이 메서드만 호출합니다.
+     */
+    private void submitCommand(String name, Runnable action) {
+        PlayerCommandLoop loop = commands;
+        if (loop == null) {
+            log.warn("[{}] 플레이어가 시작되지 않아 명령을 무시합니다: {}", getModuleName(), name);
+            return;
+        }
+        loop.submit(name, () -> {
+            action.run();
+            publishState();
+        });
+    }
+    
+    /**
+     * 현재 엔진 상태로 스냅샷을 만들어 발행합니다 (플레이어 스레드에서 호출)
+     */
+    private void publishState() {
+        PlaybackState status = isPlaying.get() ? PlaybackState.PLAYING
+            : isPaused.get() ? PlaybackState.PAUSED : PlaybackState.STOPPED;
+        PlayerState next = new PlayerState(status, currentMusic, totalDuration.get(), isSimulationMode,
+            currentVolume.get(), isMuted.get(), playbackSpeed.get(), playbackGeneration.get());
+        if (!next.equals(state)) {
+            state = next;
         }
     }
     
@@ -214,20 +495,39 @@ public class PlayerModule extends SyncTuneModule {
     }
 
     /**
-     * 지원 가능한 오디오 포맷 로깅
+     * Clip의 START/STOP 이벤트로 곡 끝을 감지하는 리스너 생성
+     * 일시정지/정지로 인한 STOP은 프레임 위치가 끝에 도달하지 않았으므로 무시됩니다.
      */
-    private void logSupportedFormats() {
-        try {
-            AudioFileFormat.Type[] types = AudioSystem.getAudioFileTypes();
-            log.info("지원되는 오디오 파일 형식:");
-            for (AudioFileFormat.Type type : types) {
-                log.info("  - {}", type.toString());
+    private LineListener createClipListener(long generation) {
+        return event -> {
+            if (generation != playbackGeneration.get()) {
+                return;
             }
-        } catch (Exception e) {
-            log.debug("지원 형식 조회 실패: {}", e.getMessage());
-        }
+            if (event.getType() == LineEvent.Type.START) {
+                log.debug("[{}] 오디오 라인 시작됨 (프레임: {})", getModuleName(), event.getFramePosition());
+            } else if (event.getType() == LineEvent.Type.STOP) {
+                // 라인 이벤트 스레드이므로 엔진 필드 대신 이벤트의 라인으로 끝 여부 판단
+                if (event.getLine() instanceof Clip clip && event.getFramePosition() >= clip.getFrameLength()) {
+                    onEndOfMedia(generation);
+                }
+            }
+        };
     }
-
+    
+    /**
+     * 실제 오디오가 끝까지 출력되었을 때 라인 이벤트 스레드나 렌더 스레드에서 호출됨
+     */
+    private void onEndOfMedia(long generation) {
+        submitCommand("endOfMedia", () -> {
+            if (generation != playbackGeneration.get() || isPaused.get()) {
+                return;
+            }
+            log.info("[{}] 재생 완료됨 ({}ms)", getModuleName(), totalDuration.get());
+            publish(new PlaybackStatusEvent.PlaybackProgressUpdateEvent(totalDuration.get(), totalDuration.get()));
+            handlePlaybackCompleted();
+        });
+    }
+    
     /**
      * 다음 곡 요청
      */
@@ -241,12 +541,12 @@ public class PlayerModule extends SyncTuneModule {
         publish(new PlaylistQueryEvent.RequestNextMusicInPlaylistEvent(currentMusic));
         
         // 타임아웃 설정 (5초 후에도 응답이 없으면 취소)
-        scheduler.schedule(() -> {
+        scheduler.schedule(() -> submitCommand("nextTimeout", () -> {
             if (isWaitingForNextMusic.get()) {
                 log.warn("[{}] 다음 곡 요청 타임아웃", getModuleName());
                 isWaitingForNextMusic.set(false);
             }
-        }, 5, TimeUnit.SECONDS);
+        }), 5, TimeUnit.SECONDS);
     }
 
     /**
@@ -267,19 +567,32 @@ public class PlayerModule extends SyncTuneModule {
         // 기존 재생 정지
         stopPlayback();
         
+        long generation = playbackGeneration.incrementAndGet();
         currentMusic = music;
         File musicFile = new File(music.getFilePath());
+        updateNormalizationGain(musicFile);
+        requestWaveform(music, musicFile);
         
         if (!musicFile.exists()) {
             log.warn("음악 파일을 찾을 수 없습니다: {} (시뮬레이션 모드로 진행)", music.getFilePath());
-            startSimulationMode(music);
+            startSimulationMode(music, generation);
         } else {
             try {
-                // 실제 오디오 파일 로드
-                if (loadAudioFile(musicFile)) {
+                if (openStreaming(musicFile)) {
+                    // WAV/FLAC/MP4/MP3는 파일에서 바로, 그 외는 SPI로 디코딩하며 출력 라인으로 스트리밍
+                    // (출력 라인은 곡이 바뀌어도 같은 포맷이면 닫지 않고 이어 씀, 출력이 원본 레이트를 받지 못하면 변환)
+                    startStreaming(generation);
+                    log.info("{} 재생 시작: {} ({}ms)", PcmSources.isNativeFormat(musicFile) ? "파일 스트리밍" : "스트리밍",
+                        music.getTitle(), totalDuration.get());
+                } else if (loadAudioFile(musicFile)) {
+                    // 실제 오디오 파일 로드
                     // 실제 재생 시작
                     if (audioClip != null) {
+                        audioClip.addLineListener(createClipListener(generation));
                         audioClip.setFramePosition(0);
+                        Clip clip = audioClip;
+                        float frameRate = clip.getFormat().getFrameRate();
+                        playbackClock.attach(() -> (long) (clip.getLongFramePosition() * 1_000_000.0 / frameRate), 1.0);
                         audioClip.start();
                         isPlaying.set(true);
                         isPaused.set(false);
@@ -290,28 +603,137 @@ public class PlayerModule extends SyncTuneModule {
                         
                         // 볼륨 적용
                         applyVolumeSettings();
+                        applySpeedSettings();
                         
                         log.info("실제 오디오 재생 시작: {} ({}ms)", music.getTitle(), totalDuration.get());
                     } else {
                         log.warn("audioClip이 null입니다. 시뮬레이션 모드로 전환합니다.");
-                        startSimulationMode(music);
+                        startSimulationMode(music, generation);
                     }
                 } else {
                     // 로드 실패 시 시뮬레이션 모드
                     log.info("오디오 로드 실패, 시뮬레이션 모드로 전환");
-                    startSimulationMode(music);
+                    startSimulationMode(music, generation);
                 }
             } catch (Exception e) {
                 log.error("음악 재생 중 오류 발생: {}", e.getMessage(), e);
-                startSimulationMode(music);
+                startSimulationMode(music, generation);
             }
         }
         
         // 재생 시작 이벤트 발행
+        playbackClock.start();
+        publish(new PlaybackStatusEvent.PlaybackClockAvailableEvent(playbackClock));
+        publish(new PlaybackStatusEvent.SpectrumAvailableEvent(spectrumAnalyzer));
         publish(new PlaybackStatusEvent.PlaybackStartedEvent(music));
         
         // 진행 상황 업데이트 시작
         startProgressUpdates();
+        
+        // 현재 곡을 연 뒤에 다음 곡들 미리 읽기 (응답은 onUpcomingMusicFound)
+        if (prefetchTrackCount > 0 && prefetchBudgetBytes > 0) {
+            publish(new PlaylistQueryEvent.RequestUpcomingMusicEvent(music, prefetchTrackCount));
+        }
+    }
+    
+    /**
+     * 파일을 스트리밍 경로로 엽니다 (WAV는 메모리 매핑, FLAC은 내장 디코더, MP4/AAC는 내장 디먹서+JAAD 직접 디코딩, MP3는 jlayer 직접 디코딩, 그 외는 SPI 디코딩 스트림)
+     * 지원되지 않는 파일(압축 WAV 코덱, 출력 미지원 포맷 등)이면 false를 반환하여 Clip 경로로 넘깁니다.
+     */
+    private boolean openStreaming(File musicFile) {
+        releaseResources();
+        PcmSource source = null;
+        try {
+            source = PcmSources.open(musicFile);
+            return openStreaming(source, AudioOutputs.create(source.getName()));
+        } catch (UnsupportedAudioFileException e) {
+            log.debug("스트리밍 불가, 기본 경로 사용: {} - {}", musicFile.getName(), e.getMessage());
+        } catch (Exception e) {
+            log.warn("스트리밍 열기 실패, 기본 경로 사용: {} - {}", musicFile.getName(), e.getMessage());
+        }
+        closeQuietly(source);
+        return false;
+    }
+    
+    /**
+     * PCM 소스와 출력 백엔드로 스트리밍 재생기를 엽니다. 실패하면 소스와 출력을 닫습니다.
+     * 출력 샘플레이트가 설정되어 있거나 출력이 원본 레이트를 받지 못하면 리샘플링 소스를 거칩니다.
+     */
+    private boolean openStreaming(PcmSource source, AudioOutput output) {
+        float configuredRate = AudioOutputs.configuredSampleRate();
+        if (configuredRate > 0 && needsResampling(source, configuredRate)) {
+            source = ResamplingSource.wrap(source, configuredRate, AudioOutputs.resampleQuality());
+        }
+        try {
+            try {
+                streamPlayback = StreamingPlayback.open(source, output, dspChain);
+            } catch (LineUnavailableException e) {
+                float rate = AudioOutputs.preferredSampleRate(source.getFormat());
+                if (source instanceof ResamplingSource || !needsResampling(source, rate)) {
+                    throw e;
+                }
+                log.info("출력이 {} Hz를 지원하지 않아 {} Hz로 변환합니다: {}",
+                    Math.round(source.getFormat().getSampleRate()), Math.round(rate), source.getName());
+                source = ResamplingSource.wrap(source, rate, AudioOutputs.resampleQuality());
+                streamPlayback = StreamingPlayback.open(source, output, dspChain);
+            }
+            volumeControl = null; // 볼륨은 DSP 체인의 게인 단계가 적용
+            log.info("스트리밍 준비 완료: {} (출력: {}, 포맷: {})",
+                source.getName(), output.getName(), formatToString(source.getFormat()));
+            return true;
+        } catch (LineUnavailableException e) {
+            log.debug("출력 백엔드 열기 실패: {} - {}", output.getName(), e.getMessage());
+            output.close();
+            closeQuietly(source);
+            streamPlayback = null;
+            return false;
+        }
+    }
+    
+    /**
+     * 열린 스트리밍 재생기로 재생을 시작합니다
+     */
+    private void startStreaming(long generation) {
+        streamPlayback.setEndOfStreamListener(() -> onEndOfMedia(generation));
+        playbackClock.attach(streamPlayback::getPositionMicros, streamPlayback.getClockRate());
+        applySpeedSettings();
+        streamPlayback.start();
+        isPlaying.set(true);
+        isPaused.set(false);
+        isSimulationMode = false;
+        
+        calculateActualDuration();
+        applyVolumeSettings();
+    }
+    
+    /**
+     * 곡의 파형 개요를 요청하고, 계산되는 대로 UI에 알립니다
+     */
+    private void requestWaveform(MusicInfo music, File musicFile) {
+        if (waveformGenerator == null) {
+            return;
+        }
+        if (!musicFile.isFile()) {
+            waveformGenerator.cancel();
+            return;
+        }
+        String filePath = music.getFilePath();
+        waveformGenerator.request(musicFile, waveform -> publish(new WaveformEvent.WaveformUpdatedEvent(filePath, waveform)));
+    }
+    
+    private static boolean needsResampling(PcmSource source, float targetRate) {
+        AudioFormat format = source.getFormat();
+        return targetRate > 0 && Math.round(format.getSampleRate()) != Math.round(targetRate)
+            && ResamplingSource.canResample(format);
+    }
+    
+    private void closeQuietly(PcmSource source) {
+        if (source == null) return;
+        try {
+            source.close();
+        } catch (Exception e) {
+            log.debug("PCM 소스 닫기 실패: {}", e.getMessage());
+        }
     }
     
     /**
@@ -325,7 +747,7 @@ public class PlayerModule extends SyncTuneModule {
             
             // 1단계: 원본 오디오 스트림 획득
             try {
-                audioInputStream = AudioSystem.getAudioInputStream(musicFile);
+                audioInputStream = CodecRegistry.getAudioInputStream(musicFile);
                 log.debug("원본 오디오 스트림 생성 성공");
             } catch (UnsupportedAudioFileException e) {
                 log.error("지원되지 않는 오디오 파일 형식: {} - {}", musicFile.getName(), e.getMessage());
@@ -362,14 +784,14 @@ public class PlayerModule extends SyncTuneModule {
                 log.debug("대상 포맷: {}", formatToString(targetFormat));
                 
                 // 변환 가능한지 확인
-                if (!AudioSystem.isConversionSupported(targetFormat, sourceFormat)) {
+                if (!CodecRegistry.isConversionSupported(targetFormat, sourceFormat)) {
                     log.error("오디오 형식 변환이 지원되지 않습니다: {} -> {}", 
                              sourceFormat.getEncoding(), targetFormat.getEncoding());
                     return false;
                 }
                 
                 // 변환된 스트림 생성
-                decodedAudioInputStream = AudioSystem.getAudioInputStream(targetFormat, audioInputStream);
+                decodedAudioInputStream = CodecRegistry.convert(targetFormat, audioInputStream);
                 log.debug("PCM 변환 성공");
             }
             
@@ -422,28 +844,24 @@ public class PlayerModule extends SyncTuneModule {
      * 실제 재생 시간 계산
      */
     private void calculateActualDuration() {
+        if (streamPlayback != null) {
+            // 소스가 알려주는 프레임 수(WAV는 data 청크 크기)로 정확한 길이 계산
+            long durationMs = streamPlayback.getDurationMillis();
+            if (durationMs > 0) {
+                updateActualDuration(durationMs);
+            } else {
+                totalDuration.set(currentMusic.getDurationMillis());
+                log.debug("재생 시간 계산 불가, 기본값 사용: {}ms", currentMusic.getDurationMillis());
+            }
+            return;
+        }
         if (audioClip != null) {
             try {
                 long frameLength = audioClip.getFrameLength();
                 float frameRate = audioClip.getFormat().getFrameRate();
                 
                 if (frameLength != AudioSystem.NOT_SPECIFIED && frameRate != AudioSystem.NOT_SPECIFIED) {
-                    long durationMs = (long) (frameLength / frameRate * 1000);
-                    totalDuration.set(durationMs);
-                    
-                    // MusicInfo 업데이트 (실제 길이로)
-                    if (currentMusic != null && currentMusic.getDurationMillis() != durationMs) {
-                        currentMusic = new MusicInfo(
-                            currentMusic.getTitle(),
-                            currentMusic.getArtist(),
-                            currentMusic.getAlbum(),
-                            currentMusic.getFilePath(),
-                            durationMs,
-                            currentMusic.getLrcPath()
-                        );
-                    }
-                    
-                    log.debug("실제 재생 시간 계산됨: {}ms", durationMs);
+                    updateActualDuration((long) (frameLength / frameRate * 1000));
                 } else {
                     // 계산할 수 없으면 기본값 사용
                     totalDuration.set(currentMusic.getDurationMillis());
@@ -456,12 +874,46 @@ public class PlayerModule extends SyncTuneModule {
         }
     }
     
+    /**
+     * 계산된 실제 재생 시간을 상태와 MusicInfo에 반영
+     */
+    private void updateActualDuration(long durationMs) {
+        totalDuration.set(durationMs);
+        
+        // MusicInfo 업데이트 (실제 길이로)
+        if (currentMusic != null && currentMusic.getDurationMillis() != durationMs) {
+            currentMusic = new MusicInfo(
+                currentMusic.getTitle(),
+                currentMusic.getArtist(),
+                currentMusic.getAlbum(),
+                currentMusic.getFilePath(),
+                durationMs,
+                currentMusic.getLrcPath()
+            );
+        }
+        
+        log.debug("실제 재생 시간 계산됨: {}ms", durationMs);
+    }
+    
     /**
      * 시뮬레이션 모드로 재생 (파일이 없거나 지원되지 않는 형식)
+     * 곡 길이만큼의 무음을 가상 출력으로 흘려보내므로 재생 클럭, 곡 끝 이벤트, 자동 다음 곡이 실제 재생과 같은 경로로 동작합니다.
      */
-    private void startSimulationMode(MusicInfo music) {
+    private void startSimulationMode(MusicInfo music, long generation) {
+        long durationMs = music.getDurationMillis() > 0 ? music.getDurationMillis() : 180000L; // 기본 3분
+        releaseResources();
+        
+        if (!openStreaming(new SilenceSource(music.getTitle(), durationMs), AudioOutputs.createVirtual())) {
+            log.error("시뮬레이션 재생을 시작할 수 없습니다: {}", music.getTitle());
+            return;
+        }
+        streamPlayback.setEndOfStreamListener(() -> onEndOfMedia(generation));
+        playbackClock.attach(streamPlayback::getPositionMicros, streamPlayback.getClockRate());
+        applySpeedSettings();
+        streamPlayback.start();
+        
         isSimulationMode = true;
-        totalDuration.set(music.getDurationMillis() > 0 ? music.getDurationMillis() : 180000L); // 기본 3분
+        totalDuration.set(durationMs);
         currentPosition.set(0);
         isPlaying.set(true);
         isPaused.set(false);
@@ -475,8 +927,9 @@ public class PlayerModule extends SyncTuneModule {
             return;
         }
         
-        if (isSimulationMode) {
-            pausePosition.set(currentPosition.get());
+        if (streamPlayback != null && streamPlayback.isRunning()) {
+            pausePosition.set(streamPlayback.getPositionMillis());
+            streamPlayback.pause();
             isPlaying.set(false);
             isPaused.set(true);
         } else if (audioClip != null && audioClip.isRunning()) {
@@ -486,6 +939,8 @@ public class PlayerModule extends SyncTuneModule {
             isPaused.set(true);
         }
         
+        playbackClock.pause();
+        stopProgressUpdates();
         publish(new PlaybackStatusEvent.PlaybackPausedEvent());
         log.info("[{}] 일시정지됨 (위치: {}ms)", getModuleName(), pausePosition.get());
     }
@@ -496,8 +951,9 @@ public class PlayerModule extends SyncTuneModule {
             return;
         }
         
-        if (isSimulationMode) {
-            currentPosition.set(pausePosition.get());
+        if (streamPlayback != null) {
+            // 스트림 위치는 일시정지/탐색 시점에 이미 맞춰져 있음
+            streamPlayback.resume();
             isPlaying.set(true);
             isPaused.set(false);
         } else if (audioClip != null) {
@@ -515,19 +971,26 @@ public class PlayerModule extends SyncTuneModule {
             }
         }
         
+        playbackClock.start();
         publish(new PlaybackStatusEvent.PlaybackStartedEvent(currentMusic));
+        startProgressUpdates();
         log.info("[{}] 재생 재개됨 (위치: {}ms)", getModuleName(), pausePosition.get());
     }
 
     private void stopPlayback() {
+        stopProgressUpdates();
         if (audioClip != null) {
             audioClip.stop();
         }
+        if (streamPlayback != null) {
+            streamPlayback.pause();
+        }
         
         isPlaying.set(false);
         isPaused.set(false);
         currentPosition.set(0);
         pausePosition.set(0);
+        playbackClock.detach();
         
         publish(new PlaybackStatusEvent.PlaybackStoppedEvent());
         log.info("[{}] 재생 정지됨", getModuleName());
@@ -536,8 +999,10 @@ public class PlayerModule extends SyncTuneModule {
     private void seekTo(long positionMs) {
         long validPosition = Math.max(0, Math.min(positionMs, totalDuration.get()));
         
-        if (isSimulationMode) {
+        if (streamPlayback != null) {
+            streamPlayback.seekTo(validPosition);
             currentPosition.set(validPosition);
+            
             if (isPaused.get()) {
                 pausePosition.set(validPosition);
             }
@@ -555,6 +1020,7 @@ public class PlayerModule extends SyncTuneModule {
             }
         }
         
+        playbackClock.seek(validPosition);
         log.debug("탐색 완료: {}ms", validPosition);
     }
 
@@ -596,13 +1062,18 @@ public class PlayerModule extends SyncTuneModule {
      * 실제 오디오 클립에 볼륨 적용
      */
     private void applyVolumeSettings() {
+        // 사용자 볼륨과 라우드니스 정규화 게인을 곱한 최종 게인
+        float effectiveVolume = isMuted.get() ? 0.0f : currentVolume.get() * normalizationGain.get();
+        
+        // 스트리밍 경로: 샘플에 직접 적용되는 게인 단계
+        gainProcessor.setGain(effectiveVolume);
+        
         if (volumeControl == null) {
             log.trace("[{}] 볼륨 컨트롤이 없어 볼륨 적용 생략", getModuleName());
             return;
         }
         
         try {
-            float effectiveVolume = isMuted.get() ? 0.0f : currentVolume.get();
             
             // 볼륨을 데시벨로 변환 (올바른 로그 스케일 변환)
             float gainDB;
@@ -637,6 +1108,180 @@ public class PlayerModule extends SyncTuneModule {
         }
     }
     
+    // ========== 라우드니스 정규화 ==========
+    
+    /**
+     * 실제 파일이 있는 곡만 골라 백그라운드 분석을 예약 (등록된 분석이 모두 끝난 곡은 분석기가 건너뜀)
+     */
+    private void submitAnalysis(List<MusicInfo> musics) {
+        if (backgroundAnalyzer == null) {
+            return;
+        }
+        List<File> files = musics.stream()
+            .map(music -> new File(music.getFilePath()))
+            .filter(File::isFile)
+            .toList();
+        backgroundAnalyzer.submit(files);
+    }
+    
+    // ========== 스마트 셔플 ==========
+    
+    /**
+     * UI의 플레이리스트를 오디오 특징으로 다시 정렬하고 새 순서를 알립니다
+     * 분석된 곡이 없으면 일반 셔플, 아직 분석되지 않은 곡은 뒤에 무작위로 붙습니다.
+     */
+    private void smartShuffle(Playlist playlist, PlaylistEvent.RequestSmartShuffleEvent.Mode mode) {
+        try {
+            if (playlist == null || playlist.getMusicList().size() < 2) {
+                return;
+            }
+            playlistManager.syncPlaylist(playlist.getName(), playlist.getMusicList());
+            List<MusicInfo> ordered = switch (mode) {
+                case LOW_ENERGY -> playlistManager.shuffleByEnergyLevel(TrackShuffler.EnergyLevel.LOW);
+                case MEDIUM_ENERGY -> playlistManager.shuffleByEnergyLevel(TrackShuffler.EnergyLevel.MEDIUM);
+                case HIGH_ENERGY -> playlistManager.shuffleByEnergyLevel(TrackShuffler.EnergyLevel.HIGH);
+                case TIME_OF_DAY -> playlistManager.shuffleByTimeOfDay();
+            };
+            log.info("[{}] 스마트 셔플 ({}): {}곡", getModuleName(), mode, ordered.size());
+            publish(new PlaylistEvent.PlaylistOrderChangedEvent(new Playlist(playlist.getName(), ordered)));
+        } catch (Exception e) {
+            log.error("[{}] 스마트 셔플 중 오류", getModuleName(), e);
+        }
+    }
+    
+    /**
+     * 새 곡의 정규화 게인을 분석 결과에서 계산합니다 (곡 중간에는 바꾸지 않음)
+     * 아직 분석되지 않은 곡은 게인 없이 재생하고 분석을 예약합니다.
+     */
+    private void updateNormalizationGain(File musicFile) {
+        if (loudnessStore == null || "off".equals(normalizationMode) || !musicFile.isFile()) {
+            normalizationGain.set(1.0f);
+            return;
+        }
+        OptionalDouble gainDb = "album".equals(normalizationMode)
+            ? loudnessStore.getAlbumGainDb(musicFile, normalizationTargetLufs)
+            : loudnessStore.getTrackGainDb(musicFile, normalizationTargetLufs);
+        if (gainDb.isPresent()) {
+            normalizationGain.set((float) Math.pow(10.0, gainDb.getAsDouble() / 20.0));
+            log.debug("[{}] 라우드니스 정규화 ({}): {}dB", getModuleName(), normalizationMode,
+                String.format("%.2f", gainDb.getAsDouble()));
+        } else {
+            normalizationGain.set(1.0f);
+            backgroundAnalyzer.submit(List.of(musicFile));
+        }
+    }
+    
+    /**
+     * 재생 속도 변경 (0.5 ~ 2.0)
+     */
+    private void setPlaybackSpeed(float speed) {
+        float validSpeed = Math.max((float) TimeStretcher.MIN_SPEED, Math.min((float) TimeStretcher.MAX_SPEED, speed));
+        float oldSpeed = playbackSpeed.getAndSet(validSpeed);
+        if (oldSpeed == validSpeed) {
+            return;
+        }
+        log.info("[{}] 재생 속도 변경: {}x -> {}x", getModuleName(), oldSpeed, validSpeed);
+        applySpeedSettings();
+        publish(new PlaybackStatusEvent.PlaybackSpeedChangedEvent(validSpeed));
+    }
+    
+    /**
+     * 현재 재생 속도를 재생기와 재생 클럭에 적용합니다
+     * 재생 클럭은 원본 시간을 보고하므로 보간 속도도 재생 속도만큼 빨라지거나 느려집니다.
+     */
+    private void applySpeedSettings() {
+        float speed = playbackSpeed.get();
+        if (streamPlayback != null) {
+            if (streamPlayback.setSpeed(speed)) {
+                playbackClock.setRate(streamPlayback.getClockRate() * speed);
+            } else {
+                log.warn("[{}] 이 포맷은 재생 속도 조절을 지원하지 않습니다: {}x", getModuleName(), speed);
+            }
+        } else if (audioClip != null && speed != 1.0f) {
+            log.warn("[{}] Clip 재생 경로에서는 재생 속도 조절을 지원하지 않습니다: {}x", getModuleName(), speed);
+        }
+        applyOutputLatency();
+    }
+    
+    /**
+     * 노래방 설정 변경 (보컬 줄이기, 키 변경)
+     */
+    private void setKaraoke(boolean vocalReduction, int keyShift) {
+        karaoke.setVocalReduction(vocalReduction);
+        karaoke.setKeyShift(keyShift);
+        log.info("[{}] 노래방 설정: 보컬 줄이기 {}, 키 {} (지연 {}ms)", getModuleName(),
+            vocalReduction ? "켬" : "끔", karaoke.getKeyShift(), karaoke.getLatencyMillis());
+        if (streamPlayback == null && audioClip != null) {
+            log.warn("[{}] Clip 재생 경로에서는 노래방 처리를 적용하지 않습니다", getModuleName());
+        }
+        applyOutputLatency();
+        publish(new KaraokeEvent.KaraokeChangedEvent(karaoke.isVocalReduction(), karaoke.getKeyShift()));
+    }
+    
+    /**
+     * 임펄스 응답 변경을 전용 스레드에 예약합니다 (경로가 null이면 끔)
+     * 요청은 순서대로 하나씩 적용되고, 읽는 동안 더 새 요청이 들어오면 읽은 응답은 버리므로
+     * 느린 파일 읽기가 뒤에 온 "끄기"나 다른 응답을 덮어쓰지 않습니다.
+     */
+    private void requestImpulseResponse(String filePath, float mix) {
+        long generation = impulseResponseGeneration.incrementAndGet();
+        try {
+            impulseResponseLoader.execute(() -> {
+                if (loadImpulseResponse(filePath, mix, generation)) {
+                    // 지연 보정만 플레이어 스레드에서
+                    submitCommand("convolution", this::applyOutputLatency);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("[{}] 종료 중이라 임펄스 응답 요청을 무시합니다: {}", getModuleName(), filePath);
+        }
+    }
+    
+    /**
+     * 합성곱 단계의 임펄스 응답을 파일에서 읽어 적용합니다 (임펄스 응답 스레드에서만 호출)
+     *
+     * @return 적용했으면 true, 더 새 요청이 있어 건너뛰었거나 읽지 못했으면 false
+     */
+    private boolean loadImpulseResponse(String filePath, float mix, long generation) {
+        if (generation != impulseResponseGeneration.get()) {
+            return false;
+        }
+        if (filePath == null) {
+            convolution.setImpulseResponse(null, mix);
+            log.info("[{}] 합성곱 단계를 껐습니다", getModuleName());
+            return true;
+        }
+        try {
+            ImpulseResponse response = ImpulseResponse.load(new File(filePath));
+            if (generation != impulseResponseGeneration.get()) {
+                log.debug("[{}] 더 새 요청이 있어 읽은 임펄스 응답을 버립니다: {}", getModuleName(), response.getName());
+                return false;
+            }
+            convolution.setImpulseResponse(response, mix);
+            log.info("[{}] 임펄스 응답 적용: {} ({}ms, {}채널, 결과 비율 {}, 지연 {}ms)", getModuleName(), response.getName(),
+                Math.round(response.getLength() * 1000.0 / response.getSampleRate()), response.getChannelCount(),
+                convolution.getMix(), convolution.getLatencyMillis());
+            return true;
+        } catch (Exception e) {
+            log.error("[{}] 임펄스 응답을 불러올 수 없습니다: {}", getModuleName(), filePath, e);
+            return false;
+        }
+    }
+    
+    /**
+     * 재생 클럭의 출력 지연 보정값을 갱신합니다
+     * 외부 장치 지연 설정에 키 변경/합성곱 처리 지연을 더하며, 재생 클럭은 원본 시간이므로 재생 속도만큼 곱합니다.
+     * 가사는 처리 지연만큼 늦게 들리는 소리에 맞춰 표시됩니다.
+     */
+    private void applyOutputLatency() {
+        long latencyMs = Long.getLong("synctune.audio.latencyMs", 0L);
+        if (streamPlayback != null) {
+            long processingMs = karaoke.getLatencyMillis() + convolution.getLatencyMillis();
+            latencyMs += Math.round(processingMs * playbackSpeed.get());
+        }
+        playbackClock.setOutputLatencyMillis(latencyMs);
+    }
+    
     /**
      * 볼륨 변경 이벤트 발행
      */
@@ -650,6 +1295,8 @@ public class PlayerModule extends SyncTuneModule {
 
     /**
      * 진행 상황 업데이트 시작
+     * 곡마다 하나의 틱만 유지하도록 이전 틱을 취소한 뒤 새로 등록합니다.
+     * 곡 끝 감지는 라인 이벤트와 스트리밍 재생기의 종료 알림이 담당합니다.
      */
     private void startProgressUpdates() {
         if (scheduler == null || scheduler.isShutdown()) {
@@ -657,50 +1304,72 @@ public class PlayerModule extends SyncTuneModule {
             return;
         }
         
-        scheduler.scheduleAtFixedRate(() -> {
-            try {
-                if (isPlaying.get()) {
-                    long current;
-                    
-                    if (isSimulationMode) {
-                        // 시뮬레이션 모드: 시간 증가
-                        current = currentPosition.addAndGet(500);
-                    } else {
-                        // 실제 재생: Clip에서 현재 위치 가져오기
-                        current = getCurrentPositionFromClip();
-                        currentPosition.set(current);
-                    }
-                    
-                    long total = totalDuration.get();
-                    
-                    // 진행 상황 이벤트 발행
-                    publish(new PlaybackStatusEvent.PlaybackProgressUpdateEvent(current, total));
-                    
-                    // 재생 완료 체크 - 더 관대한 조건으로 수정
-                    if (current >= total - 1000) { // 1초 남았을 때부터 완료로 간주
-                        log.info("[{}] 재생 완료됨 ({}ms / {}ms)", getModuleName(), current, total);
-                        handlePlaybackCompleted();
-                    } else if (!isSimulationMode && audioClip != null && !audioClip.isRunning() && !isPaused.get()) {
-                        log.info("[{}] 오디오 클립이 정지됨", getModuleName());
-                        handlePlaybackCompleted();
-                    }
-                }
-            } catch (Exception e) {
-                log.error("진행 상황 업데이트 중 오류", e);
+        stopProgressUpdates();
+        // 틱은 스케줄러에서 울리지만 엔진 상태는 플레이어 스레드에서 읽음
+        progressTask = scheduler.scheduleAtFixedRate(() -> submitCommand("progress", () -> {
+            if (isPlaying.get()) {
+                // 출력 위치로 보정되는 재생 클럭에서 현재 위치 가져오기
+                long current = playbackClock.getMediaTimeMillis();
+                currentPosition.set(current);
+                
+                long total = totalDuration.get();
+                
+                // 진행 상황 이벤트 발행
+                publish(new PlaybackStatusEvent.PlaybackProgressUpdateEvent(Math.min(current, total), total));
+                publishBufferHealth();
             }
-        }, 0, 500, TimeUnit.MILLISECONDS);
+        }), 0, 500, TimeUnit.MILLISECONDS);
         
         log.debug("진행 상황 업데이트 시작됨 (500ms 간격)");
     }
+    
+    /**
+     * 스트리밍 경로의 출력 버퍼 상태 발행 (진행 상황 틱마다, 직전 틱 이후 구간 기준)
+     */
+    private void publishBufferHealth() {
+        StreamingPlayback playback = streamPlayback;
+        if (playback == null) {
+            return;
+        }
+        RenderMetrics.Snapshot snapshot = playback.getMetrics().sample();
+        if (snapshot.chunks() == 0) {
+            return;
+        }
+        if (snapshot.newUnderruns() > 0) {
+            log.warn("출력 버퍼 언더런 {}회 (누적 {}회, 최대 처리 {}us / 예산 {}us, 최대 지터 {}us)",
+                    snapshot.newUnderruns(), snapshot.underruns(), snapshot.maxProcessMicros(),
+                    snapshot.budgetMicros(), snapshot.maxJitterMicros());
+        }
+        publish(new PlaybackStatusEvent.BufferHealthEvent(snapshot.fillRatio(), snapshot.underruns(),
+                snapshot.newUnderruns(), snapshot.budgetMicros(), snapshot.avgProcessMicros(),
+                snapshot.maxProcessMicros(), snapshot.maxJitterMicros()));
+    }
+    
+    /**
+     * 현재 곡의 진행 상황 틱을 취소
+     */
+    private void stopProgressUpdates() {
+        ScheduledFuture<?> task = progressTask;
+        if (task != null) {
+            task.cancel(false);
+            progressTask = null;
+        }
+    }
 
     /**
      * 재생 완료 처리 (자동 다음 곡 재생 포함)
      */
     private void handlePlaybackCompleted() {
+        // 곡 끝 알림이 중복되어도 한 번만 처리
+        if (!isPlaying.compareAndSet(true, false)) {
+            return;
+        }
         log.info("[{}] 재생 완료 처리 시작", getModuleName());
+        stopProgressUpdates();
+        dspChain.logStats();
+        playbackClock.pause();
         
         // 재생 상태 초기화
-        isPlaying.set(false);
         isPaused.set(false);
         currentPosition.set(0);
         pausePosition.set(0);
@@ -740,6 +1409,7 @@ public class PlayerModule extends SyncTuneModule {
      * Clip에서 현재 재생 위치 가져오기
      */
     private long getCurrentPositionFromClip() {
+        if (streamPlayback != null) return streamPlayback.getPositionMillis();
         if (audioClip == null) return currentPosition.get();
         
         try {
@@ -762,6 +1432,11 @@ public class PlayerModule extends SyncTuneModule {
                 audioClip = null;
             }
             
+            if (streamPlayback != null) {
+                streamPlayback.close();
+                streamPlayback = null;
+            }
+            
             if (decodedAudioInputStream != null) {
                 decodedAudioInputStream.close();
                 decodedAudioInputStream = null;
@@ -779,17 +1454,25 @@ public class PlayerModule extends SyncTuneModule {
         }
     }
 
-    // 상태 조회 메서드들
+    // 상태 조회 메서드들 (어느 스레드에서나 호출 가능, 플레이어 스레드가 마지막으로 발행한 스냅샷 기준)
+    
+    /**
+     * 마지막으로 처리된 명령 이후의 플레이어 상태
+     */
+    public PlayerState getState() {
+        return state;
+    }
+    
     public boolean isCurrentlyPlaying() {
-        return isPlaying.get();
+        return state.isPlaying();
     }
 
     public boolean isCurrentlyPaused() {
-        return isPaused.get();
+        return state.isPaused();
     }
 
     public MusicInfo getCurrentMusic() {
-        return currentMusic;
+        return state.music();
     }
 
     public long getCurrentPosition() {
@@ -797,11 +1480,11 @@ public class PlayerModule extends SyncTuneModule {
     }
 
     public long getTotalDuration() {
-        return totalDuration.get();
+        return state.durationMillis();
     }
     
     public boolean isSimulationMode() {
-        return isSimulationMode;
+        return state.simulation();
     }
 
     public boolean isAutoPlayNextEnabled() {
@@ -814,10 +1497,22 @@ public class PlayerModule extends SyncTuneModule {
     }
     
     public float getCurrentVolume() {
-        return currentVolume.get();
+        return state.volume();
     }
     
     public boolean isMuted() {
-        return isMuted.get();
+        return state.muted();
+    }
+    
+    public float getPlaybackSpeed() {
+        return state.speed();
+    }
+    
+    /**
+     * 플레이어 명령의 대기/실행 시간 (직전 조회 이후 구간)
+     */
+    public PlayerCommandLoop.Stats sampleCommandStats() {
+        PlayerCommandLoop loop = commands;
+        return loop != null ? loop.sample() : new PlayerCommandLoop.Stats(0, 0, 0, 0, 0, 0);
     }
 }
\ No newline at end of file
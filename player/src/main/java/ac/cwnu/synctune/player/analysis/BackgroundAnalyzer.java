@@ -0,0 +1,283 @@
+package ac.cwnu.synctune.player.analysis;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.player.decoder.PcmSource;
+import ac.cwnu.synctune.player.decoder.PcmSources;
+import ac.cwnu.synctune.player.dsp.PcmConverter;
+import ac.cwnu.synctune.player.metadata.AnalysisStore;
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * 곡을 끝까지 디코딩하여 등록된 분석(라우드니스, 오디오 특징 등)을 한 번에 수행하는 백그라운드 분석기
+ * 곡 목록을 fork-join 풀에서 나누어 여러 코어로 분석하고, 모든 저장소에 유효한 결과가 있는 곡은 건너뜁니다.
+ * 곡마다 한 번만 디코딩하여 결과가 없는 분석에만 샘플을 넘깁니다.
+ * 재생 중에는 분석 전체에서 한 번에 한 스레드만 진행하며 CPU 점유율도 제한하여 재생 스레드와 경쟁하지 않습니다.
+ */
+public class BackgroundAnalyzer implements AutoCloseable {
+    private static final Logger log = LogManager.getLogger(BackgroundAnalyzer.class);
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+    // 재생 중 분석 스레드가 사용할 수 있는 시간 비율
+    private static final double PLAYBACK_DUTY_CYCLE = 0.2;
+
+    /**
+     * 곡 하나에 대한 측정 (분석 스레드 하나에서만 사용)
+     */
+    public interface Measurement<E extends AnalysisStore.Result> {
+        /**
+         * 인터리브된 float 샘플 한 묶음을 처리합니다
+         */
+        void process(float[] samples, int frames);
+
+        /**
+         * 곡 끝까지 처리한 뒤 저장소에 넣을 결과
+         */
+        E finish(String path, long size, long modified);
+    }
+
+    /**
+     * 곡의 샘플레이트와 채널 수로 새 측정을 만드는 함수
+     */
+    @FunctionalInterface
+    public interface MeasurementFactory<E extends AnalysisStore.Result> {
+        Measurement<E> create(float sampleRate, int channels);
+    }
+
+    private record Analysis<E extends AnalysisStore.Result>(String name, AnalysisStore<E> store,
+            MeasurementFactory<E> factory) {
+    }
+
+    private final BooleanSupplier playbackActive;
+    private final ForkJoinPool pool;
+    private final List<Analysis<?>> analyses = new CopyOnWriteArrayList<>();
+    // 재생 중에는 이 잠금을 잡은 스레드 하나만 분석 진행
+    private final ReentrantLock playbackGate = new ReentrantLock();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param playbackActive 재생 중인지 알려주는 함수 (참이면 분석 속도를 낮춤)
+     * @param parallelism    분석 스레드 수
+     */
+    public BackgroundAnalyzer(BooleanSupplier playbackActive, int parallelism) {
+        this.playbackActive = playbackActive;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.pool = new ForkJoinPool(Math.max(1, parallelism), p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("BackgroundAnalyzer-" + threadIndex.incrementAndGet());
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        }, null, false);
+    }
+
+    /**
+     * 코어 하나를 재생/UI용으로 남기는 기본 스레드 수
+     */
+    public static int defaultParallelism() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * 분석을 등록합니다. 이후 예약하는 곡부터 적용됩니다.
+     *
+     * @param name    로그에 표시할 분석 이름
+     * @param store   결과를 보관하고 다시 분석할지 판단하는 저장소
+     * @param factory 곡마다 측정을 만드는 함수
+     */
+    public <E extends AnalysisStore.Result> void register(String name, AnalysisStore<E> store,
+            MeasurementFactory<E> factory) {
+        analyses.add(new Analysis<>(name, store, factory));
+    }
+
+    /**
+     * 등록된 분석 중 하나라도 결과가 필요한 곡(새 파일, 크기/수정 시각이 바뀐 파일)만 골라 분석을 예약합니다
+     * 모든 곡의 분석이 끝나면 결과를 저장소 파일에 기록합니다.
+     *
+     * @return 예약한 분석 전체의 완료 시점
+     */
+    public Future<?> submit(Collection<File> files) {
+        if (pool.isShutdown() || analyses.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<File> todo = new ArrayList<>();
+        for (File file : files) {
+            if (file != null && file.isFile() && !missingAnalyses(file).isEmpty()
+                    && pending.add(file.getAbsolutePath())) {
+                todo.add(file);
+            }
+        }
+        if (todo.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        log.info("백그라운드 분석 예약: {}곡", todo.size());
+        return pool.submit(() -> {
+            new AnalyzeTask(todo, 0, todo.size()).invoke();
+            saveStores();
+        });
+    }
+
+    public boolean isIdle() {
+        return pending.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+        try {
+            pool.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        saveStores();
+    }
+
+    // ========== 분석 ==========
+
+    /**
+     * 곡 목록을 반씩 나누어 병렬로 분석하는 작업
+     */
+    private final class AnalyzeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<File> files;
+        private final int from;
+        private final int to;
+
+        AnalyzeTask(List<File> files, int from, int to) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                File file = files.get(from);
+                try {
+                    analyze(file);
+                } finally {
+                    pending.remove(file.getAbsolutePath());
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new AnalyzeTask(files, from, mid), new AnalyzeTask(files, mid, to));
+        }
+    }
+
+    /**
+     * 진행 중인 측정 하나와 그 결과를 넣을 저장소
+     */
+    private record Pass<E extends AnalysisStore.Result>(Analysis<E> analysis, Measurement<E> measurement) {
+
+        static <E extends AnalysisStore.Result> Pass<E> start(Analysis<E> analysis, float sampleRate, int channels) {
+            return new Pass<>(analysis, analysis.factory().create(sampleRate, channels));
+        }
+
+        void store(String path, long size, long modified) {
+            analysis.store().put(measurement.finish(path, size, modified));
+        }
+    }
+
+    /**
+     * 파일 전체를 한 번 디코딩하여 결과가 없는 분석을 모두 수행하고 저장소에 넣습니다
+     * 디코딩할 수 없거나 중단되면 아무 결과도 넣지 않습니다.
+     */
+    private void analyze(File file) {
+        List<Analysis<?>> missing = missingAnalyses(file);
+        if (missing.isEmpty()) {
+            return;
+        }
+        long size = file.length();
+        long modified = file.lastModified();
+        long started = System.nanoTime();
+
+        try (PcmSource source = PcmSources.open(file)) {
+            PcmConverter converter = PcmConverter.forFormat(source.getFormat());
+            if (converter == null) {
+                log.debug("분석 불가 포맷: {} ({})", file.getName(), source.getFormat());
+                return;
+            }
+            int frameSize = converter.getFrameSize();
+            byte[] bytes = new byte[CHUNK_BYTES - CHUNK_BYTES % frameSize];
+            float[] samples = new float[bytes.length / frameSize * converter.getChannels()];
+            List<Pass<?>> passes = new ArrayList<>(missing.size());
+            for (Analysis<?> analysis : missing) {
+                passes.add(Pass.start(analysis, source.getFormat().getFrameRate(), converter.getChannels()));
+            }
+
+            while (true) {
+                boolean throttled = playbackActive.getAsBoolean();
+                if (throttled) {
+                    playbackGate.lockInterruptibly();
+                }
+                try {
+                    long chunkStart = System.nanoTime();
+                    int n = source.read(bytes, 0, bytes.length);
+                    if (n < 0) {
+                        break;
+                    }
+                    int frames = converter.toFloat(bytes, n, samples);
+                    for (Pass<?> pass : passes) {
+                        pass.measurement().process(samples, frames);
+                    }
+                    if (throttled) {
+                        // 처리한 시간에 비례해 쉬어 점유율을 PLAYBACK_DUTY_CYCLE로 제한
+                        long busy = System.nanoTime() - chunkStart;
+                        TimeUnit.NANOSECONDS.sleep((long) (busy * (1 - PLAYBACK_DUTY_CYCLE) / PLAYBACK_DUTY_CYCLE));
+                    }
+                } finally {
+                    if (throttled) {
+                        playbackGate.unlock();
+                    }
+                }
+            }
+
+            String path = file.getAbsolutePath();
+            List<String> names = new ArrayList<>(passes.size());
+            for (Pass<?> pass : passes) {
+                pass.store(path, size, modified);
+                names.add(pass.analysis().name());
+            }
+            log.debug("분석 완료: {} ({}, {}ms)", file.getName(), String.join(", ", names),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.debug("분석 실패: {} - {}", file.getName(), e.getMessage());
+        }
+    }
+
+    private List<Analysis<?>> missingAnalyses(File file) {
+        List<Analysis<?>> missing = new ArrayList<>(analyses.size());
+        for (Analysis<?> analysis : analyses) {
+            if (!analysis.store().isCurrent(file)) {
+                missing.add(analysis);
+            }
+        }
+        return missing;
+    }
+
+    private void saveStores() {
+        for (Analysis<?> analysis : analyses) {
+            analysis.store().save();
+        }
+    }
+}
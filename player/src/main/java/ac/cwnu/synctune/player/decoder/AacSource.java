@@ -0,0 +1,338 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.log.LogManager;
+import net.sourceforge.jaad.aac.AACException;
+import net.sourceforge.jaad.aac.Decoder;
+import net.sourceforge.jaad.aac.Receiver;
+import net.sourceforge.jaad.mp4.MP4Exception;
+
+/**
+ * MP4/M4A의 AAC 트랙과 ADTS(.aac) 파일을 JAAD 디코더로 직접 디코딩하여 PCM으로 공급하는 소스
+ * 컨테이너는 {@link Mp4Track}/{@link AdtsTrack}이 액세스 유닛 테이블로 펼쳐 두고, 여기서는 유닛을 FileChannel에서
+ * 재사용하는 버퍼로 읽어 디코더에 넘긴 뒤 채널별 float 출력을 16비트 PCM으로 인터리브합니다.
+ * 호출자 버퍼에 유닛 하나 분량이 들어가면 그 버퍼에 바로 쓰고, 아니면 내부 버퍼를 거칩니다.
+ * 출력 샘플레이트와 채널 수는 HE-AAC(SBR/PS)에서 컨테이너 값과 다를 수 있어 첫 유닛을 디코딩해 정합니다.
+ * 탐색은 테이블에서 목표 직전 유닛을 찾아 그 위치부터 디코더를 새로 만들므로 파일 앞부분을 디코딩하지 않습니다.
+ */
+public class AacSource implements PcmSource {
+    private static final Logger log = LogManager.getLogger(AacSource.class);
+
+    // AAC는 앞 액세스 유닛과 겹쳐 더해지므로(MDCT 중첩) 목표보다 하나 앞에서 디코딩을 시작
+    private static final int PREROLL_UNITS = 1;
+    // 유닛당 최대 출력 샘플 수 (SBR은 코어 1024샘플의 두 배)
+    private static final int MAX_UNIT_SAMPLES = 2048;
+    // 포맷 확인을 위해 디코딩해 보는 최대 유닛 수 (앞부분 유닛이 손상된 경우 대비)
+    private static final int PROBE_UNITS = 8;
+
+    private final File file;
+    private final FileChannel channel;
+    private final AacTrack track;
+    private final byte[] decoderConfig;
+    // 디코더는 원시 데이터 블록의 END 요소까지만 읽으므로 유닛 뒤에 남은 이전 유닛 바이트는 읽히지 않음
+    private final byte[] unit;
+    private final ByteBuffer unitBuffer;
+    private final Receiver receiver = this::accept;
+    private final AudioFormat format;
+    private final long frameLength;
+    private final int maxUnitBytes;
+    // 호출자 버퍼에 들어가지 않은 유닛 출력
+    private final byte[] pending;
+
+    private Decoder decoder;
+    private int nextUnit;
+    private int pendingPosition;
+    private int pendingLength;
+    // 디코더 출력을 받는 위치 (accept에서 사용)
+    private byte[] target;
+    private int targetOffset;
+    private int decodedBytes;
+    private long framePosition;
+
+    private AacSource(File file, FileChannel channel, AacTrack track)
+            throws IOException, UnsupportedAudioFileException {
+        this.file = file;
+        this.channel = channel;
+        this.track = track;
+        this.decoderConfig = track.getDecoderConfig();
+        this.unit = new byte[track.getMaxSampleSize()];
+        this.unitBuffer = ByteBuffer.wrap(unit);
+        this.format = probeFormat();
+        this.frameLength = toFrames(track.getDuration());
+        this.maxUnitBytes = MAX_UNIT_SAMPLES * format.getFrameSize();
+        this.pending = new byte[maxUnitBytes];
+        restart(0);
+    }
+
+    /**
+     * 컨테이너의 액세스 유닛 테이블을 읽고 첫 유닛을 디코딩해 포맷을 확인합니다
+     *
+     * @throws UnsupportedAudioFileException MP4/ADTS가 아니거나, AAC 트랙이 없거나, 지원하지 않는 AAC 프로파일인 경우
+     */
+    public static AacSource open(File file) throws IOException, UnsupportedAudioFileException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            AacTrack track;
+            if (AdtsTrack.isAdtsFile(file)) {
+                track = AdtsTrack.parse(channel);
+            } else {
+                Mp4Track mp4 = Mp4Track.parse(channel);
+                if (!mp4.isAac()) {
+                    throw new UnsupportedAudioFileException("지원하지 않는 MP4 오디오 트랙입니다: " + mp4);
+                }
+                track = mp4;
+            }
+            AacSource source = new AacSource(file, channel, track);
+            log.debug("AAC 열기: {} ({}, {})", file.getName(), track, source.format);
+            return source;
+        } catch (IOException | UnsupportedAudioFileException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 파일 확장자로 AAC 파일(MP4 컨테이너 또는 ADTS) 여부를 확인합니다
+     */
+    public static boolean isAacFile(File file) {
+        String name = file.getName().toLowerCase();
+        return name.endsWith(".m4a") || name.endsWith(".mp4") || name.endsWith(".m4b") || AdtsTrack.isAdtsFile(file);
+    }
+
+    private Decoder createDecoder() throws UnsupportedAudioFileException {
+        try {
+            return Decoder.create(decoderConfig);
+        } catch (MP4Exception | AACException e) {
+            throw new UnsupportedAudioFileException("지원하지 않는 AAC 설정입니다: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 앞쪽 유닛을 디코딩해 출력 샘플레이트와 채널 수를 정합니다
+     */
+    private AudioFormat probeFormat() throws IOException, UnsupportedAudioFileException {
+        Decoder probe = createDecoder();
+        int[] found = new int[2];
+        Receiver receiver = (channels, length, frequency) -> {
+            found[0] = channels.size();
+            found[1] = frequency;
+        };
+        int units = Math.min(track.getSampleCount(), PROBE_UNITS);
+        for (int i = 0; i < units && found[0] == 0; i++) {
+            if (track.getSampleSize(i) == 0) {
+                continue;
+            }
+            if (!readUnit(i)) {
+                break;
+            }
+            try {
+                probe.decodeFrame(unit, receiver);
+            } catch (AACException e) {
+                log.debug("포맷 확인 중 유닛 디코딩 실패: {} #{} ({})", file.getName(), i, e.getMessage());
+            }
+        }
+        if (found[0] == 0 || found[1] <= 0) {
+            throw new UnsupportedAudioFileException("AAC 유닛을 디코딩할 수 없습니다: " + file.getName());
+        }
+        return new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, found[1], 16, found[0], found[0] * 2, found[1], false);
+    }
+
+    /**
+     * 주어진 유닛부터 디코딩하도록 디코더를 새로 만듭니다
+     */
+    private void restart(int startUnit) throws UnsupportedAudioFileException {
+        decoder = createDecoder();
+        nextUnit = startUnit;
+        pendingPosition = 0;
+        pendingLength = 0;
+    }
+
+    private long toFrames(long mediaTime) {
+        return (long) (mediaTime * (double) format.getFrameRate() / track.getTimescale());
+    }
+
+    // ========== 디코딩 ==========
+
+    /**
+     * 다음 유닛을 dst[off]부터 16비트 PCM으로 디코딩합니다 (maxUnitBytes만큼의 공간 필요)
+     * 손상된 유닛은 같은 길이의 무음으로 대신하여 위치가 어긋나지 않게 합니다.
+     *
+     * @return 쓴 바이트 수, 더 이상 유닛이 없으면 -1
+     */
+    private int decodeUnit(byte[] dst, int off) throws IOException {
+        while (nextUnit < track.getSampleCount()) {
+            int index = nextUnit++;
+            if (track.getSampleSize(index) > 0) {
+                if (!readUnit(index)) {
+                    // 잘린 파일은 마지막 온전한 유닛에서 끝냄
+                    log.debug("액세스 유닛이 파일 끝을 넘습니다: {} #{}", file.getName(), index);
+                    nextUnit = track.getSampleCount();
+                    return -1;
+                }
+                target = dst;
+                targetOffset = off;
+                decodedBytes = 0;
+                try {
+                    decoder.decodeFrame(unit, receiver);
+                    if (decodedBytes > 0) {
+                        return decodedBytes;
+                    }
+                } catch (AACException e) {
+                    log.debug("손상된 액세스 유닛을 무음으로 대신합니다: {} #{} ({})", file.getName(), index, e.getMessage());
+                } finally {
+                    target = null;
+                }
+            }
+            int silence = (int) Math.min(MAX_UNIT_SAMPLES,
+                    toFrames(track.getSampleTime(index + 1)) - toFrames(track.getSampleTime(index))) * format.getFrameSize();
+            if (silence > 0) {
+                Arrays.fill(dst, off, off + silence, (byte) 0);
+                return silence;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 디코더 출력(채널별 float, 16비트 범위)을 인터리브된 16비트 리틀 엔디언으로 씁니다
+     * 유닛마다 채널 수가 달라지면(PS 전환 등) 처음 정한 채널 수에 맞춰 마지막 채널을 반복하거나 남는 채널을 버립니다.
+     */
+    private void accept(List<float[]> channels, int length, int frequency) {
+        int outChannels = format.getChannels();
+        int samples = Math.min(length, MAX_UNIT_SAMPLES);
+        byte[] out = target;
+        int pos = targetOffset;
+        for (int i = 0; i < samples; i++) {
+            for (int c = 0; c < outChannels; c++) {
+                int value = Math.round(channels.get(Math.min(c, channels.size() - 1))[i]);
+                if (value > Short.MAX_VALUE) {
+                    value = Short.MAX_VALUE;
+                } else if (value < Short.MIN_VALUE) {
+                    value = Short.MIN_VALUE;
+                }
+                out[pos++] = (byte) value;
+                out[pos++] = (byte) (value >> 8);
+            }
+        }
+        decodedBytes = pos - targetOffset;
+    }
+
+    private boolean readUnit(int index) throws IOException {
+        long offset = track.getSampleOffset(index);
+        unitBuffer.clear();
+        unitBuffer.limit(track.getSampleSize(index));
+        while (unitBuffer.hasRemaining()) {
+            if (channel.read(unitBuffer, offset + unitBuffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ========== PcmSource ==========
+
+    @Override
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public int read(byte[] dst, int off, int len) throws IOException {
+        int frameSize = format.getFrameSize();
+        // 마지막 유닛의 남는 출력(컨테이너가 알린 길이 뒤)은 내보내지 않음
+        long remaining = (frameLength - framePosition) * frameSize;
+        int wanted = (int) Math.min(len - (len % frameSize), Math.max(0, remaining));
+        int written = 0;
+        while (written < wanted) {
+            if (pendingPosition < pendingLength) {
+                int n = Math.min(wanted - written, pendingLength - pendingPosition);
+                System.arraycopy(pending, pendingPosition, dst, off + written, n);
+                pendingPosition += n;
+                written += n;
+                continue;
+            }
+            if (wanted - written >= maxUnitBytes) {
+                int n = decodeUnit(dst, off + written);
+                if (n < 0) {
+                    break;
+                }
+                written += n;
+            } else {
+                int n = decodeUnit(pending, 0);
+                if (n < 0) {
+                    break;
+                }
+                pendingPosition = 0;
+                pendingLength = n;
+            }
+        }
+        if (written == 0 && len >= frameSize) {
+            return -1;
+        }
+        framePosition += written / frameSize;
+        return written;
+    }
+
+    @Override
+    public void seekToFrame(long frame) throws IOException {
+        long targetFrame = Math.min(Math.max(0, frame), frameLength);
+        long mediaTime = (long) (targetFrame * (double) track.getTimescale() / format.getFrameRate());
+        int startUnit = Math.max(0, track.findSample(mediaTime) - PREROLL_UNITS);
+        try {
+            restart(startUnit);
+        } catch (UnsupportedAudioFileException e) {
+            throw new IOException("디코더 재시작 실패: " + file.getName(), e);
+        }
+        framePosition = toFrames(track.getSampleTime(startUnit));
+
+        // 목표가 들어 있는 유닛까지 디코딩하고, 그 유닛 안에서 목표 위치까지 버림
+        int frameSize = format.getFrameSize();
+        while (framePosition < targetFrame) {
+            int n = decodeUnit(pending, 0);
+            if (n < 0) {
+                break;
+            }
+            long skip = Math.min(n / frameSize, targetFrame - framePosition);
+            framePosition += skip;
+            pendingPosition = (int) skip * frameSize;
+            pendingLength = n;
+        }
+        log.trace("AAC 탐색: {} -> {} 프레임 (액세스 유닛 {})", file.getName(), framePosition, startUnit);
+    }
+
+    @Override
+    public long getFramePosition() {
+        return framePosition;
+    }
+
+    @Override
+    public long getFrameLength() {
+        return frameLength;
+    }
+
+    public AacTrack getTrack() {
+        return track;
+    }
+
+    @Override
+    public String getName() {
+        return file.getName();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
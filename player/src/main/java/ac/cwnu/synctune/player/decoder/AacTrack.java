@@ -0,0 +1,39 @@
+package ac.cwnu.synctune.player.decoder;
+
+/**
+ * AAC 액세스 유닛 테이블
+ * 컨테이너(MP4 샘플 테이블, ADTS 프레임 헤더)에서 펼쳐 둔 유닛별 파일 위치·크기·시작 시각과 디코더 설정을 제공합니다.
+ * {@link AacSource}는 컨테이너 종류와 관계없이 이 테이블만으로 유닛을 읽고 탐색합니다.
+ */
+public interface AacTrack {
+
+    int getSampleCount();
+
+    long getSampleOffset(int index);
+
+    int getSampleSize(int index);
+
+    /**
+     * 유닛의 시작 시각 (timescale 단위), index가 유닛 수이면 트랙 끝
+     */
+    long getSampleTime(int index);
+
+    /**
+     * 주어진 시각(timescale 단위)이 포함된 유닛 번호
+     */
+    int findSample(long time);
+
+    int getMaxSampleSize();
+
+    /**
+     * 트랙 길이 (timescale 단위)
+     */
+    long getDuration();
+
+    long getTimescale();
+
+    /**
+     * 디코더 초기화에 쓰는 AudioSpecificConfig
+     */
+    byte[] getDecoderConfig();
+}
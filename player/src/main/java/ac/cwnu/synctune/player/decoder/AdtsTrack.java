@@ -0,0 +1,208 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * ADTS(.aac) 파일의 프레임 테이블
+ * 파일을 한 번 매핑해 프레임 헤더만 따라가며 프레임별 페이로드 오프셋·크기를 배열로 펼치고,
+ * 첫 헤더의 프로파일·샘플레이트·채널 구성으로 AudioSpecificConfig를 만듭니다.
+ * ADTS 프레임 하나는 1024샘플 액세스 유닛 하나이므로 시각은 프레임 번호로 바로 계산합니다.
+ */
+public final class AdtsTrack implements AacTrack {
+    private static final Logger log = LogManager.getLogger(AdtsTrack.class);
+
+    private static final int SAMPLES_PER_FRAME = 1024;
+    private static final int MAX_FRAMES = 1 << 25;
+    private static final int HEADER_BYTES = 7;
+    private static final int CRC_BYTES = 2;
+    private static final int ID3_HEADER_BYTES = 10;
+    private static final int[] SAMPLE_RATES = {
+        96000, 88200, 64000, 48000, 44100, 32000, 24000, 22050, 16000, 12000, 11025, 8000, 7350
+    };
+
+    private final int objectType;
+    private final int samplingFrequencyIndex;
+    private final int channelConfiguration;
+    private final long[] frameOffsets;
+    private final int[] frameSizes;
+    private final int maxFrameSize;
+
+    private AdtsTrack(int objectType, int samplingFrequencyIndex, int channelConfiguration,
+            long[] frameOffsets, int[] frameSizes) {
+        this.objectType = objectType;
+        this.samplingFrequencyIndex = samplingFrequencyIndex;
+        this.channelConfiguration = channelConfiguration;
+        this.frameOffsets = frameOffsets;
+        this.frameSizes = frameSizes;
+
+        int max = 0;
+        for (int size : frameSizes) {
+            max = Math.max(max, size);
+        }
+        this.maxFrameSize = max;
+    }
+
+    /**
+     * 파일 앞의 ID3v2 태그를 건너뛰고 ADTS 프레임 헤더를 끝까지 따라갑니다
+     * 헤더가 깨지거나 첫 헤더와 고정 헤더가 다른 곳(뒤에 붙은 ID3v1 태그 등)에서 테이블을 끝냅니다.
+     *
+     * @throws UnsupportedAudioFileException ADTS 프레임으로 시작하지 않거나 지원하지 않는 헤더인 경우
+     */
+    public static AdtsTrack parse(FileChannel channel) throws IOException, UnsupportedAudioFileException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("ADTS 파일이 너무 큽니다: " + size);
+        }
+        MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        int limit = (int) size;
+        int pos = skipId3(data, limit);
+
+        if (!isFrameHeader(data, pos, limit)) {
+            throw new UnsupportedAudioFileException("ADTS 프레임을 찾을 수 없습니다");
+        }
+        int objectType = ((data.get(pos + 2) & 0xFF) >>> 6) + 1;
+        int frequencyIndex = ((data.get(pos + 2) & 0xFF) >>> 2) & 0x0F;
+        int channelConfig = ((data.get(pos + 2) & 0x01) << 2) | ((data.get(pos + 3) & 0xFF) >>> 6);
+        if (frequencyIndex >= SAMPLE_RATES.length || channelConfig == 0) {
+            // 채널 구성 0은 스트림 안의 PCE로 채널을 알리는 형식
+            throw new UnsupportedAudioFileException("지원하지 않는 ADTS 헤더입니다: 샘플레이트 인덱스 "
+                    + frequencyIndex + ", 채널 구성 " + channelConfig);
+        }
+        // 프로파일, 샘플레이트, 채널 구성 (ID/보호 비트는 프레임마다 달라도 됨)
+        int fixedHeader = ((data.get(pos + 2) & 0xFF) << 8 | (data.get(pos + 3) & 0xC0));
+
+        long[] offsets = new long[1024];
+        int[] sizes = new int[1024];
+        int count = 0;
+        while (isFrameHeader(data, pos, limit)) {
+            int header = ((data.get(pos + 2) & 0xFF) << 8 | (data.get(pos + 3) & 0xC0));
+            if (header != fixedHeader) {
+                log.debug("ADTS 고정 헤더가 바뀌어 테이블을 끝냅니다: 오프셋 {}", pos);
+                break;
+            }
+            boolean crc = (data.get(pos + 1) & 0x01) == 0;
+            int frameLength = ((data.get(pos + 3) & 0x03) << 11) | ((data.get(pos + 4) & 0xFF) << 3)
+                    | ((data.get(pos + 5) & 0xFF) >>> 5);
+            int headerLength = HEADER_BYTES + (crc ? CRC_BYTES : 0);
+            if ((data.get(pos + 6) & 0x03) != 0) {
+                throw new UnsupportedAudioFileException("프레임당 원시 데이터 블록이 여러 개인 ADTS는 지원하지 않습니다");
+            }
+            if (frameLength < headerLength || pos + (long) frameLength > limit) {
+                // 잘린 파일은 마지막 온전한 프레임에서 끝냄
+                break;
+            }
+            if (count == offsets.length) {
+                if (count >= MAX_FRAMES) {
+                    throw new IOException("ADTS 프레임 수가 너무 많습니다");
+                }
+                offsets = Arrays.copyOf(offsets, count * 2);
+                sizes = Arrays.copyOf(sizes, count * 2);
+            }
+            offsets[count] = pos + headerLength;
+            sizes[count] = frameLength - headerLength;
+            count++;
+            pos += frameLength;
+        }
+        if (count == 0) {
+            throw new UnsupportedAudioFileException("온전한 ADTS 프레임이 없습니다");
+        }
+        return new AdtsTrack(objectType, frequencyIndex, channelConfig,
+                Arrays.copyOf(offsets, count), Arrays.copyOf(sizes, count));
+    }
+
+    /**
+     * 파일 확장자로 ADTS 파일 여부를 확인합니다
+     */
+    public static boolean isAdtsFile(File file) {
+        return file.getName().toLowerCase().endsWith(".aac");
+    }
+
+    /**
+     * 동기 코드(12비트)와 layer 0 확인
+     */
+    private static boolean isFrameHeader(MappedByteBuffer data, int pos, int limit) {
+        return pos + HEADER_BYTES <= limit && (data.get(pos) & 0xFF) == 0xFF && (data.get(pos + 1) & 0xF6) == 0xF0;
+    }
+
+    private static int skipId3(MappedByteBuffer data, int limit) {
+        if (limit < ID3_HEADER_BYTES || data.get(0) != 'I' || data.get(1) != 'D' || data.get(2) != '3') {
+            return 0;
+        }
+        // 태그 크기는 7비트씩 나눈 syncsafe 정수, 플래그 0x10이면 꼬리말이 더 있음
+        int tagSize = 0;
+        for (int i = 6; i < 10; i++) {
+            tagSize = (tagSize << 7) | (data.get(i) & 0x7F);
+        }
+        int footer = (data.get(5) & 0x10) != 0 ? ID3_HEADER_BYTES : 0;
+        return (int) Math.min(limit, (long) ID3_HEADER_BYTES + tagSize + footer);
+    }
+
+    // ========== AacTrack ==========
+
+    @Override
+    public int getSampleCount() {
+        return frameSizes.length;
+    }
+
+    @Override
+    public long getSampleOffset(int index) {
+        return frameOffsets[index];
+    }
+
+    @Override
+    public int getSampleSize(int index) {
+        return frameSizes[index];
+    }
+
+    @Override
+    public long getSampleTime(int index) {
+        return (long) index * SAMPLES_PER_FRAME;
+    }
+
+    @Override
+    public int findSample(long time) {
+        return (int) Math.max(0, Math.min(time / SAMPLES_PER_FRAME, frameSizes.length - 1));
+    }
+
+    @Override
+    public int getMaxSampleSize() {
+        return maxFrameSize;
+    }
+
+    @Override
+    public long getDuration() {
+        return getSampleTime(frameSizes.length);
+    }
+
+    @Override
+    public long getTimescale() {
+        return SAMPLE_RATES[samplingFrequencyIndex];
+    }
+
+    /**
+     * ADTS 헤더로 만든 2바이트 AudioSpecificConfig (objectType 5비트, 샘플레이트 인덱스 4비트, 채널 구성 4비트)
+     */
+    @Override
+    public byte[] getDecoderConfig() {
+        return new byte[] {
+            (byte) ((objectType << 3) | (samplingFrequencyIndex >>> 1)),
+            (byte) (((samplingFrequencyIndex & 0x01) << 7) | (channelConfiguration << 3))
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "ADTS (AOT " + objectType + "), " + SAMPLE_RATES[samplingFrequencyIndex] + "Hz, "
+                + channelConfiguration + "ch, " + frameSizes.length + " frames";
+    }
+}
@@ -0,0 +1,282 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import javax.sound.sampled.spi.AudioFileReader;
+import javax.sound.sampled.spi.FormatConversionProvider;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * Java Sound 서비스 제공자(mp3spi, vorbisspi, tritonus 등)의 선택 결과를 캐시하는 레지스트리
+ * AudioSystem은 호출할 때마다 모든 파일 리더에 파일을 열어 보게 하고 모든 변환기에 지원 여부를 묻습니다.
+ * 여기서는 제공자 목록을 한 번만 불러 두고, 파일 확장자별로 성공한 리더와 원본/대상 포맷별 변환기를 기억하여
+ * 같은 종류의 다음 파일은 해당 제공자를 바로 호출합니다. 기억한 리더가 파일을 거부하면 전체 목록을 다시 탐색합니다.
+ * <p>
+ * {@link #start()}는 시작 시 백그라운드에서 제공자를 불러오고, {@code synctune.audio.codecWarmUp}이 {@code false}가 아니면
+ * 코드에서 만든 무음 MP3 프레임을 내장 디코더와 SPI로 몇 번 디코딩하여 클래스 로딩과 JIT 컴파일을 첫 재생 전에 끝냅니다.
+ */
+public final class CodecRegistry {
+    private static final Logger log = LogManager.getLogger(CodecRegistry.class);
+
+    public static final String WARM_UP_PROPERTY = "synctune.audio.codecWarmUp";
+
+    // 예열용 무음 MP3: MPEG-1 Layer III, 128kbps, 44.1kHz, 스테레오, CRC 없음 (프레임당 417바이트, 1152샘플)
+    private static final byte[] MP3_FRAME_HEADER = {(byte) 0xFF, (byte) 0xFB, (byte) 0x90, (byte) 0x04};
+    private static final int MP3_FRAME_BYTES = 417;
+    private static final int WARM_UP_FRAMES = 200;
+    private static final int WARM_UP_PASSES = 3;
+
+    // 파일 확장자별로 마지막에 성공한 리더
+    private static final Map<String, AudioFileReader> readersByType = new ConcurrentHashMap<>();
+    // "원본 포맷 -> 대상 포맷"별 변환기 (변환할 수 없으면 provider가 null)
+    private static final Map<String, Conversion> conversions = new ConcurrentHashMap<>();
+
+    private record Conversion(FormatConversionProvider provider) {
+    }
+
+    /**
+     * 설치된 제공자 목록. 처음 사용할 때 한 번만 불러옵니다.
+     * AudioSystem과 같은 순서(나중에 불러온 제공자가 앞)로 두어 여러 리더가 같은 파일을 받아들일 때 같은 리더가 선택되게 합니다.
+     */
+    private static final class Providers {
+        static final List<AudioFileReader> READERS = load(AudioFileReader.class);
+        static final List<FormatConversionProvider> CONVERTERS = load(FormatConversionProvider.class);
+
+        private static <T> List<T> load(Class<T> type) {
+            List<T> providers = new ArrayList<>();
+            try {
+                for (T provider : ServiceLoader.load(type)) {
+                    providers.add(0, provider);
+                }
+            } catch (ServiceConfigurationError e) {
+                log.warn("오디오 제공자 목록을 불러오지 못해 AudioSystem 탐색을 사용합니다: {}", e.getMessage());
+                return List.of();
+            }
+            return List.copyOf(providers);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ReaderCall<T> {
+        T apply(AudioFileReader reader) throws IOException, UnsupportedAudioFileException;
+    }
+
+    private CodecRegistry() {
+    }
+
+    /**
+     * 백그라운드 스레드에서 제공자 목록을 불러오고, 설정에 따라 디코더를 예열합니다 (플레이어 시작 시 호출)
+     */
+    public static void start() {
+        Thread thread = new Thread(() -> {
+            long started = System.nanoTime();
+            log.info("오디오 제공자: 파일 리더 {}개 {}, 포맷 변환기 {}개 {} ({}ms)",
+                    Providers.READERS.size(), names(Providers.READERS),
+                    Providers.CONVERTERS.size(), names(Providers.CONVERTERS),
+                    (System.nanoTime() - started) / 1_000_000);
+            if (!"false".equalsIgnoreCase(System.getProperty(WARM_UP_PROPERTY, "true"))) {
+                warmUp();
+            }
+        }, "CodecRegistry-WarmUp");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    // ========== 파일 리더 ==========
+
+    /**
+     * {@link AudioSystem#getAudioFileFormat(File)}과 같지만 확장자별로 기억한 리더를 먼저 사용합니다
+     */
+    public static AudioFileFormat getAudioFileFormat(File file) throws IOException, UnsupportedAudioFileException {
+        if (Providers.READERS.isEmpty()) {
+            return AudioSystem.getAudioFileFormat(file);
+        }
+        return read(typeOf(file), reader -> reader.getAudioFileFormat(file));
+    }
+
+    /**
+     * {@link AudioSystem#getAudioInputStream(File)}과 같지만 확장자별로 기억한 리더를 먼저 사용합니다
+     */
+    public static AudioInputStream getAudioInputStream(File file) throws IOException, UnsupportedAudioFileException {
+        if (Providers.READERS.isEmpty()) {
+            return AudioSystem.getAudioInputStream(file);
+        }
+        return read(typeOf(file), reader -> reader.getAudioInputStream(file));
+    }
+
+    /**
+     * 스트림에서 오디오 스트림을 엽니다. 스트림은 mark/reset을 지원해야 합니다.
+     *
+     * @param type 리더를 기억할 때 쓸 형식 이름 (예: {@code "aac"})
+     */
+    public static AudioInputStream getAudioInputStream(InputStream stream, String type)
+            throws IOException, UnsupportedAudioFileException {
+        if (Providers.READERS.isEmpty()) {
+            return AudioSystem.getAudioInputStream(stream);
+        }
+        return read(type, reader -> reader.getAudioInputStream(stream));
+    }
+
+    private static <T> T read(String type, ReaderCall<T> call) throws IOException, UnsupportedAudioFileException {
+        AudioFileReader cached = readersByType.get(type);
+        if (cached != null) {
+            try {
+                return call.apply(cached);
+            } catch (UnsupportedAudioFileException e) {
+                // 확장자와 내용이 다른 파일: 전체 목록에서 다시 찾음
+            }
+        }
+        for (AudioFileReader reader : Providers.READERS) {
+            if (reader == cached) {
+                continue;
+            }
+            try {
+                T result = call.apply(reader);
+                if (cached == null && readersByType.putIfAbsent(type, reader) == null) {
+                    log.debug("'{}' 파일 리더 선택: {}", type, reader.getClass().getName());
+                }
+                return result;
+            } catch (UnsupportedAudioFileException e) {
+                // 다음 리더 시도
+            }
+        }
+        throw new UnsupportedAudioFileException("지원되지 않는 오디오 형식입니다: " + type);
+    }
+
+    private static String typeOf(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 ? name.substring(dot + 1).toLowerCase() : "";
+    }
+
+    // ========== 포맷 변환기 ==========
+
+    /**
+     * {@link AudioSystem#isConversionSupported(AudioFormat, AudioFormat)}와 같지만 결과를 포맷 쌍별로 기억합니다
+     */
+    public static boolean isConversionSupported(AudioFormat target, AudioFormat source) {
+        if (Providers.CONVERTERS.isEmpty()) {
+            return AudioSystem.isConversionSupported(target, source);
+        }
+        return source.matches(target) || converterFor(target, source) != null;
+    }
+
+    /**
+     * {@link AudioSystem#getAudioInputStream(AudioFormat, AudioInputStream)}와 같지만 기억한 변환기를 바로 사용합니다
+     *
+     * @throws IllegalArgumentException 변환이 지원되지 않는 경우
+     */
+    public static AudioInputStream convert(AudioFormat target, AudioInputStream source) {
+        if (source.getFormat().matches(target)) {
+            return source;
+        }
+        if (Providers.CONVERTERS.isEmpty()) {
+            return AudioSystem.getAudioInputStream(target, source);
+        }
+        FormatConversionProvider provider = converterFor(target, source.getFormat());
+        if (provider == null) {
+            throw new IllegalArgumentException("변환이 지원되지 않습니다: " + source.getFormat() + " -> " + target);
+        }
+        return provider.getAudioInputStream(target, source);
+    }
+
+    private static FormatConversionProvider converterFor(AudioFormat target, AudioFormat source) {
+        return conversions.computeIfAbsent(source + " -> " + target, key -> {
+            for (FormatConversionProvider provider : Providers.CONVERTERS) {
+                if (provider.isConversionSupported(target, source)) {
+                    log.debug("포맷 변환기 선택: {} ({})", key, provider.getClass().getName());
+                    return new Conversion(provider);
+                }
+            }
+            return new Conversion(null);
+        }).provider();
+    }
+
+    // ========== 예열 ==========
+
+    /**
+     * 무음 MP3 프레임을 PCM으로 디코딩하여 리더/변환기 선택과 디코더 JIT 컴파일을 미리 끝냅니다
+     * 재생에 쓰는 내장 MP3 경로({@link Mp3Source})와 나머지 형식이 거치는 SPI 경로를 모두 예열합니다.
+     */
+    private static void warmUp() {
+        byte[] mp3 = silentMp3(WARM_UP_FRAMES);
+        byte[] scratch = new byte[16 * 1024];
+        warmUpMp3Source(mp3, scratch);
+
+        long started = System.nanoTime();
+        long decoded = 0;
+        try {
+            for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+                try (AudioInputStream encoded = getAudioInputStream(new ByteArrayInputStream(mp3), "mp3")) {
+                    AudioFormat pcmFormat = DecodedStreamSource.toPcmFormat(encoded.getFormat());
+                    if (!isConversionSupported(pcmFormat, encoded.getFormat())) {
+                        log.debug("MP3를 PCM으로 변환할 수 없어 코덱 예열을 건너뜁니다: {}", encoded.getFormat());
+                        return;
+                    }
+                    try (AudioInputStream pcm = convert(pcmFormat, encoded)) {
+                        int n;
+                        while ((n = pcm.read(scratch)) > 0) {
+                            decoded += n;
+                        }
+                    }
+                }
+            }
+            log.info("코덱 예열 완료: PCM {}KB 디코딩 ({}ms)", decoded / 1024, (System.nanoTime() - started) / 1_000_000);
+        } catch (UnsupportedAudioFileException e) {
+            log.debug("MP3 디코더(SPI)가 없어 코덱 예열을 건너뜁니다");
+        } catch (IOException | RuntimeException e) {
+            log.debug("코덱 예열 실패: {}", e.getMessage());
+        }
+    }
+
+    private static void warmUpMp3Source(byte[] mp3, byte[] scratch) {
+        long started = System.nanoTime();
+        long decoded = 0;
+        try {
+            for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+                try (Mp3Source source = Mp3Source.open("warm-up.mp3", () -> new ByteArrayInputStream(mp3), null)) {
+                    int n;
+                    while ((n = source.read(scratch, 0, scratch.length)) > 0) {
+                        decoded += n;
+                    }
+                }
+            }
+            log.debug("내장 MP3 디코더 예열 완료: PCM {}KB ({}ms)", decoded / 1024, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | UnsupportedAudioFileException | RuntimeException e) {
+            log.debug("내장 MP3 디코더 예열 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 사이드 정보와 메인 데이터가 모두 0인 (무음으로 디코딩되는) Layer III 프레임을 이어 붙입니다
+     */
+    private static byte[] silentMp3(int frames) {
+        byte[] data = new byte[frames * MP3_FRAME_BYTES];
+        for (int i = 0; i < frames; i++) {
+            System.arraycopy(MP3_FRAME_HEADER, 0, data, i * MP3_FRAME_BYTES, MP3_FRAME_HEADER.length);
+        }
+        return data;
+    }
+
+    private static List<String> names(List<?> providers) {
+        return providers.stream().map(p -> p.getClass().getSimpleName()).toList();
+    }
+}
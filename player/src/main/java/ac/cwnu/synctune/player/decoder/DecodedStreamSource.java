@@ -0,0 +1,176 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * Java Sound 서비스 제공자(MP3/OGG SPI 등)로 디코딩한 스트림을 16비트 PCM으로 공급하는 소스
+ * 스트림은 되감을 수 없으므로 뒤로 탐색할 때는 파일을 다시 열어 앞에서부터 건너뜁니다.
+ */
+public class DecodedStreamSource implements PcmSource {
+    private static final Logger log = LogManager.getLogger(DecodedStreamSource.class);
+
+    private final File file;
+    private final AudioFormat format;
+    private final long frameLength;
+
+    private AudioInputStream encodedStream;
+    private AudioInputStream pcmStream;
+    private long framePosition;
+
+    private DecodedStreamSource(File file, AudioFormat format, long frameLength) {
+        this.file = file;
+        this.format = format;
+        this.frameLength = frameLength;
+    }
+
+    /**
+     * 파일을 열어 PCM 디코딩 스트림을 준비합니다
+     *
+     * @throws UnsupportedAudioFileException 파일 형식을 인식하지 못하거나 PCM 변환이 지원되지 않는 경우
+     */
+    public static DecodedStreamSource open(File file) throws IOException, UnsupportedAudioFileException {
+        AudioFileFormat fileFormat = CodecRegistry.getAudioFileFormat(file);
+        AudioFormat pcmFormat = toPcmFormat(fileFormat.getFormat());
+        long frameLength = estimateFrameLength(fileFormat, pcmFormat);
+
+        DecodedStreamSource source = new DecodedStreamSource(file, pcmFormat, frameLength);
+        source.openStreams();
+        return source;
+    }
+
+    /**
+     * 원본 포맷에 대응하는 16비트 little-endian PCM 포맷
+     */
+    static AudioFormat toPcmFormat(AudioFormat sourceFormat) {
+        float sampleRate = sourceFormat.getSampleRate() == AudioSystem.NOT_SPECIFIED ? 44100.0f : sourceFormat.getSampleRate();
+        int channels = sourceFormat.getChannels() == AudioSystem.NOT_SPECIFIED ? 2 : sourceFormat.getChannels();
+        return new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, sampleRate, 16, channels, channels * 2, sampleRate, false);
+    }
+
+    private static long estimateFrameLength(AudioFileFormat fileFormat, AudioFormat pcmFormat) {
+        // 비압축 포맷은 헤더의 프레임 수를 그대로 사용
+        if (fileFormat.getFrameLength() != AudioSystem.NOT_SPECIFIED
+                && AudioFormat.Encoding.PCM_SIGNED.equals(fileFormat.getFormat().getEncoding())) {
+            return fileFormat.getFrameLength();
+        }
+        // MP3/OGG SPI는 "duration" 속성(마이크로초)으로 길이를 제공
+        Object duration = fileFormat.properties().get("duration");
+        if (duration instanceof Long micros && micros > 0) {
+            return (long) (micros / 1_000_000.0 * pcmFormat.getFrameRate());
+        }
+        return AudioSystem.NOT_SPECIFIED;
+    }
+
+    private void openStreams() throws IOException, UnsupportedAudioFileException {
+        encodedStream = CodecRegistry.getAudioInputStream(file);
+        AudioFormat sourceFormat = encodedStream.getFormat();
+        if (sourceFormat.matches(format)) {
+            pcmStream = encodedStream;
+        } else if (CodecRegistry.isConversionSupported(format, sourceFormat)) {
+            pcmStream = CodecRegistry.convert(format, encodedStream);
+        } else {
+            encodedStream.close();
+            throw new UnsupportedAudioFileException("PCM 변환이 지원되지 않습니다: " + sourceFormat);
+        }
+        framePosition = 0;
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public int read(byte[] dst, int off, int len) throws IOException {
+        int frameSize = format.getFrameSize();
+        int toRead = len - (len % frameSize);
+        int total = 0;
+        // 디코더는 프레임 중간에서 끊어 반환할 수 있으므로 프레임 경계까지 채움
+        while (total < toRead) {
+            int n = pcmStream.read(dst, off + total, toRead - total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+            if (total % frameSize == 0 && total > 0) {
+                break;
+            }
+        }
+        if (total == 0) {
+            return -1;
+        }
+        total -= total % frameSize;
+        framePosition += total / frameSize;
+        return total;
+    }
+
+    @Override
+    public void seekToFrame(long frame) throws IOException {
+        long target = Math.max(0, frame);
+        if (frameLength != AudioSystem.NOT_SPECIFIED) {
+            target = Math.min(target, frameLength);
+        }
+        if (target < framePosition) {
+            closeStreams();
+            try {
+                openStreams();
+            } catch (UnsupportedAudioFileException e) {
+                throw new IOException("스트림 재열기 실패: " + file.getName(), e);
+            }
+        }
+
+        long bytesToSkip = (target - framePosition) * format.getFrameSize();
+        byte[] scratch = new byte[(int) Math.min(bytesToSkip, 64 * 1024)];
+        while (bytesToSkip > 0) {
+            int n = pcmStream.read(scratch, 0, (int) Math.min(scratch.length, bytesToSkip));
+            if (n < 0) {
+                break;
+            }
+            bytesToSkip -= n;
+        }
+        framePosition = target - bytesToSkip / format.getFrameSize();
+        log.trace("디코딩 스트림 탐색: {} -> {} 프레임", file.getName(), framePosition);
+    }
+
+    @Override
+    public long getFramePosition() {
+        return framePosition;
+    }
+
+    @Override
+    public long getFrameLength() {
+        return frameLength;
+    }
+
+    @Override
+    public String getName() {
+        return file.getName();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeStreams();
+    }
+
+    private void closeStreams() throws IOException {
+        if (pcmStream != null && pcmStream != encodedStream) {
+            pcmStream.close();
+        }
+        if (encodedStream != null) {
+            encodedStream.close();
+        }
+        pcmStream = null;
+        encodedStream = null;
+    }
+}
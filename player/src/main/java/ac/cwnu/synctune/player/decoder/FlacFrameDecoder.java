@@ -0,0 +1,527 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * FLAC 오디오 프레임 하나를 채널별 정수 샘플로 복원하는 디코더
+ * 고정(fixed)/LPC 예측 서브프레임과 Rice 잔차, 채널 간 상관 제거(left/right/mid-side)를 지원합니다.
+ * 비트 읽기는 64비트 캐시에 4바이트씩 채워 처리하고, 샘플 버퍼는 생성 시 최대 블록 크기로 한 번만 할당합니다.
+ * 프레임은 서로 독립적이므로 디코더 인스턴스를 스레드마다 두면 같은 파일의 다른 구간을 병렬로 디코딩할 수 있습니다.
+ * 프레임 헤더는 CRC-8로 검증하며, 프레임 끝의 CRC-16은 건너뜁니다.
+ */
+public final class FlacFrameDecoder {
+    private static final int MAX_LPC_ORDER = 32;
+
+    private final FlacMetadata metadata;
+    private final int[][] samples;
+    private final long[] coefficients = new long[MAX_LPC_ORDER];
+
+    // 비트 읽기 상태: cache의 하위 cacheBits 비트가 아직 읽지 않은 비트 (상위 비트부터 소비)
+    private ByteBuffer data;
+    private int bytePos;
+    private int limit;
+    private long cache;
+    private int cacheBits;
+
+    // 마지막으로 디코딩한 프레임 정보
+    private int blockSize;
+    private int frameChannels;
+    private int frameBits;
+    private int channelAssignment;
+    private long firstSample;
+
+    public FlacFrameDecoder(FlacMetadata metadata) {
+        this.metadata = metadata;
+        this.samples = new int[Math.max(metadata.getChannels(), 2)][metadata.getMaxBlockSize()];
+    }
+
+    /**
+     * offset에서 시작하는 프레임 하나를 디코딩합니다
+     *
+     * @param limit 읽을 수 있는 데이터 끝 (배타)
+     * @return 다음 프레임의 오프셋
+     * @throws IOException 프레임 헤더가 아니거나 데이터가 손상/절단된 경우
+     */
+    public int decode(ByteBuffer buffer, int offset, int limit) throws IOException {
+        reset(buffer, offset, limit);
+        readHeader(offset);
+        int assignment = channelAssignment;
+        for (int c = 0; c < frameChannels; c++) {
+            int bits = frameBits;
+            // 차이(side) 채널은 한 비트 더 필요
+            if ((assignment == 8 && c == 1) || (assignment == 9 && c == 0) || (assignment == 10 && c == 1)) {
+                bits++;
+            }
+            if (bits > 32) {
+                throw new IOException("32비트 스테레오 상관 제거 프레임은 지원하지 않습니다");
+            }
+            readSubframe(samples[c], bits);
+        }
+        decorrelate(assignment);
+        // 바이트 정렬 후 CRC-16
+        cacheBits -= cacheBits & 7;
+        readBits(16);
+        return bytePos - (cacheBits >>> 3);
+    }
+
+    /**
+     * offset이 올바른 프레임 헤더(동기 코드 + CRC-8)인지 확인하고, 맞으면 첫 샘플 번호를 반환합니다
+     *
+     * @return 첫 샘플 번호, 프레임 헤더가 아니면 -1
+     */
+    public long probeHeader(ByteBuffer buffer, int offset, int limit) {
+        if (offset + 6 > limit || (buffer.get(offset) & 0xFF) != 0xFF || (buffer.get(offset + 1) & 0xFE) != 0xF8) {
+            return -1;
+        }
+        try {
+            reset(buffer, offset, limit);
+            readHeader(offset);
+            return firstSample;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 마지막 프레임의 샘플 일부를 interleave된 little-endian PCM으로 기록합니다
+     *
+     * @param from    프레임 내 시작 샘플
+     * @param count   기록할 샘플 수 (채널당)
+     * @param pcmBits 출력 샘플 크기 (16, 24, 32)
+     * @return 기록한 바이트 수
+     */
+    public int writePcm(byte[] dst, int off, int from, int count, int pcmBits) {
+        int channels = frameChannels;
+        int shift = pcmBits - frameBits;
+        int pos = off;
+        if (pcmBits == 16) {
+            for (int i = from; i < from + count; i++) {
+                for (int c = 0; c < channels; c++) {
+                    int v = samples[c][i] << shift;
+                    dst[pos] = (byte) v;
+                    dst[pos + 1] = (byte) (v >> 8);
+                    pos += 2;
+                }
+            }
+        } else if (pcmBits == 24) {
+            for (int i = from; i < from + count; i++) {
+                for (int c = 0; c < channels; c++) {
+                    int v = samples[c][i] << shift;
+                    dst[pos] = (byte) v;
+                    dst[pos + 1] = (byte) (v >> 8);
+                    dst[pos + 2] = (byte) (v >> 16);
+                    pos += 3;
+                }
+            }
+        } else {
+            for (int i = from; i < from + count; i++) {
+                for (int c = 0; c < channels; c++) {
+                    int v = samples[c][i] << shift;
+                    dst[pos] = (byte) v;
+                    dst[pos + 1] = (byte) (v >> 8);
+                    dst[pos + 2] = (byte) (v >> 16);
+                    dst[pos + 3] = (byte) (v >> 24);
+                    pos += 4;
+                }
+            }
+        }
+        return pos - off;
+    }
+
+    /**
+     * 마지막 프레임의 채널 샘플 (앞 {@link #getBlockSize()}개가 유효)
+     */
+    public int[] getChannel(int channel) {
+        return samples[channel];
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int getChannels() {
+        return frameChannels;
+    }
+
+    public int getBitsPerSample() {
+        return frameBits;
+    }
+
+    /**
+     * 마지막 프레임의 첫 샘플 번호 (채널당)
+     */
+    public long getFirstSample() {
+        return firstSample;
+    }
+
+    // ========== 프레임 헤더 ==========
+
+    private void readHeader(int frameStart) throws IOException {
+        int sync = readBits(15);
+        if (sync != 0x7FFC) {
+            throw new IOException("프레임 동기 코드가 아닙니다");
+        }
+        boolean variableBlockSize = readBits(1) == 1;
+        int blockSizeCode = readBits(4);
+        int sampleRateCode = readBits(4);
+        channelAssignment = readBits(4);
+        int sampleSizeCode = readBits(3);
+        if (readBits(1) != 0 || sampleRateCode == 15 || blockSizeCode == 0 || channelAssignment > 10
+                || sampleSizeCode == 3) {
+            throw new IOException("프레임 헤더가 올바르지 않습니다");
+        }
+        long number = readUtf8Number();
+        if (number < 0) {
+            throw new IOException("프레임 번호가 올바르지 않습니다");
+        }
+
+        if (blockSizeCode == 1) {
+            blockSize = 192;
+        } else if (blockSizeCode <= 5) {
+            blockSize = 576 << (blockSizeCode - 2);
+        } else if (blockSizeCode == 6) {
+            blockSize = readBits(8) + 1;
+        } else if (blockSizeCode == 7) {
+            blockSize = readBits(16) + 1;
+        } else {
+            blockSize = 256 << (blockSizeCode - 8);
+        }
+        if (sampleRateCode == 12) {
+            readBits(8);
+        } else if (sampleRateCode == 13 || sampleRateCode == 14) {
+            readBits(16);
+        }
+        frameBits = switch (sampleSizeCode) {
+            case 0 -> metadata.getBitsPerSample();
+            case 1 -> 8;
+            case 2 -> 12;
+            case 4 -> 16;
+            case 5 -> 20;
+            case 6 -> 24;
+            default -> 32;
+        };
+        frameChannels = channelAssignment < 8 ? channelAssignment + 1 : 2;
+
+        int headerEnd = bytePos - (cacheBits >>> 3);
+        int crc = readBits(8);
+        if (crc != crc8(data, frameStart, headerEnd)) {
+            throw new IOException("프레임 헤더 CRC 불일치");
+        }
+        if (blockSize > metadata.getMaxBlockSize() || frameChannels > samples.length
+                || frameChannels != metadata.getChannels()) {
+            throw new IOException("STREAMINFO와 맞지 않는 프레임입니다");
+        }
+        // 고정 블록 크기 스트림은 프레임 번호를 받으며, 마지막 프레임만 짧을 수 있으므로 최대 크기가 기준
+        firstSample = variableBlockSize ? number : number * metadata.getMaxBlockSize();
+    }
+
+    /**
+     * UTF-8 방식으로 부호화된 프레임/샘플 번호 (최대 36비트)
+     */
+    private long readUtf8Number() throws IOException {
+        int first = readBits(8);
+        if (first < 0x80) {
+            return first;
+        }
+        int extra = Integer.numberOfLeadingZeros(~(first << 24));
+        if (extra < 2 || extra > 7) {
+            return -1;
+        }
+        long value = first & (0x7F >>> extra);
+        for (int i = 1; i < extra; i++) {
+            int next = readBits(8);
+            if ((next & 0xC0) != 0x80) {
+                return -1;
+            }
+            value = (value << 6) | (next & 0x3F);
+        }
+        return value;
+    }
+
+    private static int crc8(ByteBuffer buffer, int from, int to) {
+        int crc = 0;
+        for (int i = from; i < to; i++) {
+            crc ^= buffer.get(i) & 0xFF;
+            for (int b = 0; b < 8; b++) {
+                crc = (crc & 0x80) != 0 ? ((crc << 1) ^ 0x07) & 0xFF : (crc << 1) & 0xFF;
+            }
+        }
+        return crc;
+    }
+
+    // ========== 서브프레임 ==========
+
+    private void readSubframe(int[] out, int bits) throws IOException {
+        int header = readBits(8);
+        if ((header & 0x80) != 0) {
+            throw new IOException("서브프레임 패딩 비트가 0이 아닙니다");
+        }
+        int type = (header >>> 1) & 0x3F;
+        int wasted = 0;
+        if ((header & 1) != 0) {
+            wasted = readUnary() + 1;
+            bits -= wasted;
+        }
+        int n = blockSize;
+        if (type == 0) {
+            int value = readSignedBits(bits);
+            for (int i = 0; i < n; i++) {
+                out[i] = value;
+            }
+        } else if (type == 1) {
+            for (int i = 0; i < n; i++) {
+                out[i] = readSignedBits(bits);
+            }
+        } else if (type >= 8 && type <= 12) {
+            int order = type - 8;
+            for (int i = 0; i < order; i++) {
+                out[i] = readSignedBits(bits);
+            }
+            readResidual(out, order);
+            restoreFixed(out, order, n);
+        } else if (type >= 32) {
+            int order = type - 31;
+            for (int i = 0; i < order; i++) {
+                out[i] = readSignedBits(bits);
+            }
+            int precision = readBits(4) + 1;
+            if (precision == 16) {
+                throw new IOException("LPC 계수 정밀도가 올바르지 않습니다");
+            }
+            int shift = readSignedBits(5);
+            if (shift < 0) {
+                throw new IOException("LPC 시프트가 음수입니다");
+            }
+            for (int i = 0; i < order; i++) {
+                coefficients[i] = readSignedBits(precision);
+            }
+            readResidual(out, order);
+            restoreLpc(out, order, shift, n);
+        } else {
+            throw new IOException("예약된 서브프레임 타입: " + type);
+        }
+        if (wasted > 0) {
+            for (int i = 0; i < n; i++) {
+                out[i] <<= wasted;
+            }
+        }
+    }
+
+    private void readResidual(int[] out, int order) throws IOException {
+        int method = readBits(2);
+        if (method > 1) {
+            throw new IOException("예약된 잔차 부호화 방식: " + method);
+        }
+        int paramBits = method == 0 ? 4 : 5;
+        int escape = (1 << paramBits) - 1;
+        int partitionOrder = readBits(4);
+        int partitions = 1 << partitionOrder;
+        int partitionSize = blockSize >>> partitionOrder;
+        if (partitionSize << partitionOrder != blockSize || partitionSize < order) {
+            throw new IOException("잔차 파티션 크기가 올바르지 않습니다");
+        }
+        int pos = order;
+        for (int p = 0; p < partitions; p++) {
+            int count = p == 0 ? partitionSize - order : partitionSize;
+            int parameter = readBits(paramBits);
+            if (parameter == escape) {
+                int rawBits = readBits(5);
+                for (int i = 0; i < count; i++) {
+                    out[pos + i] = rawBits == 0 ? 0 : readSignedBits(rawBits);
+                }
+            } else {
+                readRice(out, pos, count, parameter);
+            }
+            pos += count;
+        }
+    }
+
+    /**
+     * Rice 부호 count개를 읽습니다 (비트 읽기 상태를 지역 변수로 옮겨 처리하는 내부 루프)
+     */
+    private void readRice(int[] out, int from, int count, int parameter) throws IOException {
+        ByteBuffer buffer = data;
+        long c = cache;
+        int bits = cacheBits;
+        int pos = bytePos;
+        int end = limit;
+        for (int i = from; i < from + count; i++) {
+            // 몫: 1이 나올 때까지의 0 개수
+            int quotient = 0;
+            while (true) {
+                if (bits == 0) {
+                    if (pos + 4 <= end) {
+                        c = (c << 32) | (buffer.getInt(pos) & 0xFFFFFFFFL);
+                        pos += 4;
+                        bits = 32;
+                    } else if (pos < end) {
+                        c = (c << 8) | (buffer.get(pos++) & 0xFF);
+                        bits = 8;
+                    } else {
+                        throw new IOException("프레임이 잘렸습니다");
+                    }
+                }
+                long valid = c << (64 - bits);
+                if (valid != 0) {
+                    int zeros = Long.numberOfLeadingZeros(valid);
+                    quotient += zeros;
+                    bits -= zeros + 1;
+                    break;
+                }
+                quotient += bits;
+                bits = 0;
+            }
+            // 나머지: parameter 비트
+            if (bits < parameter) {
+                if (pos + 4 <= end) {
+                    c = (c << 32) | (buffer.getInt(pos) & 0xFFFFFFFFL);
+                    pos += 4;
+                    bits += 32;
+                } else {
+                    while (bits < parameter && pos < end) {
+                        c = (c << 8) | (buffer.get(pos++) & 0xFF);
+                        bits += 8;
+                    }
+                    if (bits < parameter) {
+                        throw new IOException("프레임이 잘렸습니다");
+                    }
+                }
+            }
+            bits -= parameter;
+            int low = parameter == 0 ? 0 : (int) ((c >>> bits) & ((1L << parameter) - 1));
+            int value = (quotient << parameter) | low;
+            out[i] = (value >>> 1) ^ -(value & 1);
+        }
+        cache = c;
+        cacheBits = bits;
+        bytePos = pos;
+    }
+
+    private static void restoreFixed(int[] s, int order, int n) {
+        switch (order) {
+            case 1 -> {
+                for (int i = 1; i < n; i++) {
+                    s[i] += s[i - 1];
+                }
+            }
+            case 2 -> {
+                for (int i = 2; i < n; i++) {
+                    s[i] += 2 * s[i - 1] - s[i - 2];
+                }
+            }
+            case 3 -> {
+                for (int i = 3; i < n; i++) {
+                    s[i] += 3 * (s[i - 1] - s[i - 2]) + s[i - 3];
+                }
+            }
+            case 4 -> {
+                for (int i = 4; i < n; i++) {
+                    s[i] += 4 * (s[i - 1] + s[i - 3]) - 6 * s[i - 2] - s[i - 4];
+                }
+            }
+            default -> {
+                // 0차: 잔차가 곧 샘플
+            }
+        }
+    }
+
+    private void restoreLpc(int[] s, int order, int shift, int n) {
+        long[] coef = coefficients;
+        for (int i = order; i < n; i++) {
+            long sum = 0;
+            for (int j = 0; j < order; j++) {
+                sum += coef[j] * s[i - j - 1];
+            }
+            s[i] += (int) (sum >> shift);
+        }
+    }
+
+    private void decorrelate(int assignment) {
+        int[] a = samples[0];
+        int[] b = samples[1];
+        int n = blockSize;
+        switch (assignment) {
+            case 8 -> {
+                // left/side: right = left - side
+                for (int i = 0; i < n; i++) {
+                    b[i] = a[i] - b[i];
+                }
+            }
+            case 9 -> {
+                // side/right: left = side + right
+                for (int i = 0; i < n; i++) {
+                    a[i] += b[i];
+                }
+            }
+            case 10 -> {
+                // mid/side
+                for (int i = 0; i < n; i++) {
+                    int side = b[i];
+                    int mid = (a[i] << 1) | (side & 1);
+                    a[i] = (mid + side) >> 1;
+                    b[i] = (mid - side) >> 1;
+                }
+            }
+            default -> {
+                // 독립 채널
+            }
+        }
+    }
+
+    // ========== 비트 읽기 ==========
+
+    private void reset(ByteBuffer buffer, int offset, int end) {
+        data = buffer;
+        bytePos = offset;
+        limit = end;
+        cache = 0;
+        cacheBits = 0;
+    }
+
+    /**
+     * 부호 없는 n비트 (n ≤ 32)
+     */
+    private int readBits(int n) throws IOException {
+        if (n == 0) {
+            return 0;
+        }
+        if (cacheBits < n) {
+            refill();
+            if (cacheBits < n) {
+                throw new IOException("프레임이 잘렸습니다");
+            }
+        }
+        cacheBits -= n;
+        return (int) ((cache >>> cacheBits) & ((1L << n) - 1));
+    }
+
+    private int readSignedBits(int n) throws IOException {
+        if (n == 0) {
+            return 0;
+        }
+        int value = readBits(n);
+        return (value << (32 - n)) >> (32 - n);
+    }
+
+    private int readUnary() throws IOException {
+        int count = 0;
+        while (readBits(1) == 0) {
+            count++;
+        }
+        return count;
+    }
+
+    private void refill() {
+        if (cacheBits <= 32 && bytePos + 4 <= limit) {
+            cache = (cache << 32) | (data.getInt(bytePos) & 0xFFFFFFFFL);
+            bytePos += 4;
+            cacheBits += 32;
+            return;
+        }
+        while (cacheBits <= 56 && bytePos < limit) {
+            cache = (cache << 8) | (data.get(bytePos++) & 0xFF);
+            cacheBits += 8;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * FLAC 파일의 메타데이터 블록 중 디코딩에 필요한 STREAMINFO와 SEEKTABLE만 파싱한 결과
+ * 나머지 블록(VORBIS_COMMENT, PICTURE 등)은 길이만 보고 건너뛰므로 첫 오디오 프레임 위치까지만 읽습니다.
+ * 출력 PCM은 원본 비트 깊이를 담을 수 있는 가장 작은 little-endian 정수 포맷(16/24/32비트)입니다.
+ */
+public final class FlacMetadata {
+    private static final int MAGIC = 0x664C6143; // "fLaC"
+    private static final int BLOCK_STREAMINFO = 0;
+    private static final int BLOCK_SEEKTABLE = 3;
+    private static final long PLACEHOLDER_SEEK_POINT = -1L;
+
+    private final int minBlockSize;
+    private final int maxBlockSize;
+    private final int sampleRate;
+    private final int channels;
+    private final int bitsPerSample;
+    private final long totalSamples;
+    private final long audioOffset;
+    // 시크 포인트 (샘플 번호 오름차순, 오프셋은 첫 프레임 기준)
+    private final long[] seekSamples;
+    private final long[] seekOffsets;
+
+    private FlacMetadata(int minBlockSize, int maxBlockSize, int sampleRate, int channels, int bitsPerSample,
+            long totalSamples, long audioOffset, long[] seekSamples, long[] seekOffsets) {
+        this.minBlockSize = minBlockSize;
+        this.maxBlockSize = maxBlockSize;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.bitsPerSample = bitsPerSample;
+        this.totalSamples = totalSamples;
+        this.audioOffset = audioOffset;
+        this.seekSamples = seekSamples;
+        this.seekOffsets = seekOffsets;
+    }
+
+    /**
+     * 버퍼의 처음부터 메타데이터 블록을 순회합니다 (앞에 붙은 ID3v2 태그는 건너뜀)
+     *
+     * @throws UnsupportedAudioFileException FLAC 스트림이 아니거나 STREAMINFO가 잘못된 경우
+     */
+    public static FlacMetadata parse(ByteBuffer data) throws IOException, UnsupportedAudioFileException {
+        int pos = skipId3v2(data);
+        if (data.limit() < pos + 8 || data.getInt(pos) != MAGIC) {
+            throw new UnsupportedAudioFileException("FLAC 스트림이 아닙니다");
+        }
+        pos += 4;
+
+        int minBlock = 0;
+        int maxBlock = 0;
+        int rate = 0;
+        int channelCount = 0;
+        int bits = 0;
+        long total = 0;
+        boolean streamInfo = false;
+        long[] samples = new long[0];
+        long[] offsets = new long[0];
+
+        boolean last = false;
+        while (!last) {
+            if (pos + 4 > data.limit()) {
+                throw new IOException("메타데이터 블록이 잘렸습니다");
+            }
+            int header = data.getInt(pos);
+            last = (header >>> 31) != 0;
+            int type = (header >>> 24) & 0x7F;
+            int length = header & 0xFFFFFF;
+            int body = pos + 4;
+            if (body + length > data.limit()) {
+                throw new IOException("메타데이터 블록이 잘렸습니다");
+            }
+            if (type == BLOCK_STREAMINFO && length >= 34) {
+                minBlock = data.getShort(body) & 0xFFFF;
+                maxBlock = data.getShort(body + 2) & 0xFFFF;
+                long packed = data.getLong(body + 10);
+                rate = (int) (packed >>> 44);
+                channelCount = (int) ((packed >>> 41) & 0x7) + 1;
+                bits = (int) ((packed >>> 36) & 0x1F) + 1;
+                total = packed & 0xFFFFFFFFFL;
+                streamInfo = true;
+            } else if (type == BLOCK_SEEKTABLE) {
+                int count = length / 18;
+                long[] s = new long[count];
+                long[] o = new long[count];
+                int n = 0;
+                for (int i = 0; i < count; i++) {
+                    long sample = data.getLong(body + i * 18);
+                    if (sample == PLACEHOLDER_SEEK_POINT) {
+                        continue;
+                    }
+                    s[n] = sample;
+                    o[n] = data.getLong(body + i * 18 + 8);
+                    n++;
+                }
+                samples = Arrays.copyOf(s, n);
+                offsets = Arrays.copyOf(o, n);
+            }
+            pos = body + length;
+        }
+
+        if (!streamInfo || rate <= 0 || maxBlock < 16 || bits < 4) {
+            throw new UnsupportedAudioFileException("FLAC STREAMINFO가 올바르지 않습니다");
+        }
+        return new FlacMetadata(minBlock, maxBlock, rate, channelCount, bits, total, pos, samples, offsets);
+    }
+
+    private static int skipId3v2(ByteBuffer data) {
+        if (data.limit() >= 10 && data.get(0) == 'I' && data.get(1) == 'D' && data.get(2) == '3') {
+            int size = ((data.get(6) & 0x7F) << 21) | ((data.get(7) & 0x7F) << 14)
+                    | ((data.get(8) & 0x7F) << 7) | (data.get(9) & 0x7F);
+            boolean footer = (data.get(5) & 0x10) != 0;
+            return 10 + size + (footer ? 10 : 0);
+        }
+        return 0;
+    }
+
+    /**
+     * 디코딩한 샘플을 내보낼 PCM 포맷 (signed little-endian)
+     */
+    public AudioFormat getPcmFormat() {
+        int outBits = getPcmBits();
+        return new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, sampleRate, outBits, channels,
+                channels * outBits / 8, sampleRate, false);
+    }
+
+    /**
+     * PCM 출력 샘플 크기 (16, 24, 32비트)
+     */
+    public int getPcmBits() {
+        return bitsPerSample <= 16 ? 16 : bitsPerSample <= 24 ? 24 : 32;
+    }
+
+    /**
+     * 가장 가까운 앞쪽 시크 포인트의 인덱스, 없으면 -1
+     */
+    public int findSeekPoint(long sample) {
+        int low = 0;
+        int high = seekSamples.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (seekSamples[mid] <= sample) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    public long getSeekSample(int index) {
+        return seekSamples[index];
+    }
+
+    /**
+     * 시크 포인트의 파일 내 절대 오프셋
+     */
+    public long getSeekOffset(int index) {
+        return audioOffset + seekOffsets[index];
+    }
+
+    public int getMinBlockSize() {
+        return minBlockSize;
+    }
+
+    public int getMaxBlockSize() {
+        return maxBlockSize;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    public int getBitsPerSample() {
+        return bitsPerSample;
+    }
+
+    /**
+     * 채널당 전체 샘플 수, 알 수 없으면 0
+     */
+    public long getTotalSamples() {
+        return totalSamples;
+    }
+
+    /**
+     * 첫 오디오 프레임의 파일 내 오프셋
+     */
+    public long getAudioOffset() {
+        return audioOffset;
+    }
+
+    public int getSeekPointCount() {
+        return seekSamples.length;
+    }
+
+    @Override
+    public String toString() {
+        return sampleRate + "Hz, " + channels + "ch, " + bitsPerSample + "bit, " + totalSamples + " samples, block "
+                + minBlockSize + "-" + maxBlockSize + ", seek points " + seekSamples.length;
+    }
+}
@@ -0,0 +1,286 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * FLAC 파일을 Java Sound SPI 없이 직접 디코딩하여 PCM으로 공급하는 소스
+ * 파일을 메모리 매핑한 뒤 프레임 단위로 필요한 만큼만 디코딩하므로 재생 시작과 메모리 사용량이 파일 크기와 무관합니다.
+ * 탐색은 SEEKTABLE의 가장 가까운 앞쪽 지점(없으면 이분 탐색으로 찾은 프레임)에서 목표 프레임까지 앞으로 디코딩합니다.
+ * {@link #openSegments(File, int)}는 파일을 프레임 경계에서 여러 구간으로 나누어, 분석 작업이 구간별로 병렬 디코딩할 수 있게 합니다.
+ */
+public class FlacSource implements PcmSource {
+    private static final Logger log = LogManager.getLogger(FlacSource.class);
+
+    // 이분 탐색을 멈추고 앞으로 디코딩해 나갈 범위
+    private static final int LINEAR_SEEK_BYTES = 64 * 1024;
+
+    private final File file;
+    private final ByteBuffer data;
+    private final FlacMetadata metadata;
+    private final AudioFormat format;
+    private final int pcmBits;
+    private final FlacFrameDecoder decoder;
+
+    // 이 소스가 담당하는 구간 (바이트 오프셋, 샘플 번호)
+    private final int startOffset;
+    private final int endOffset;
+    private final long startSample;
+    private final long endSample;
+
+    private int nextFrameOffset;
+    // 디코딩된 현재 프레임에서 다음에 내보낼 샘플 위치와 프레임 길이
+    private int frameIndex;
+    private int frameSamples;
+    private long framePosition;
+
+    private FlacSource(File file, ByteBuffer data, FlacMetadata metadata, int startOffset, int endOffset,
+            long startSample, long endSample) {
+        this.file = file;
+        this.data = data;
+        this.metadata = metadata;
+        this.format = metadata.getPcmFormat();
+        this.pcmBits = metadata.getPcmBits();
+        this.decoder = new FlacFrameDecoder(metadata);
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.startSample = startSample;
+        this.endSample = endSample;
+        this.nextFrameOffset = startOffset;
+        this.framePosition = startSample;
+    }
+
+    /**
+     * 파일 전체를 재생하는 소스를 엽니다
+     *
+     * @throws UnsupportedAudioFileException FLAC 스트림이 아니거나 2GB를 넘는 경우
+     */
+    public static FlacSource open(File file) throws IOException, UnsupportedAudioFileException {
+        ByteBuffer data = map(file);
+        FlacMetadata metadata = FlacMetadata.parse(data);
+        log.debug("FLAC 메타데이터 파싱 완료: {} ({})", file.getName(), metadata);
+        long total = metadata.getTotalSamples() > 0 ? metadata.getTotalSamples() : AudioSystem.NOT_SPECIFIED;
+        return new FlacSource(file, data, metadata, (int) metadata.getAudioOffset(), data.limit(), 0, total);
+    }
+
+    /**
+     * 파일을 프레임 경계에서 최대 parts개의 연속 구간으로 나눕니다
+     * 각 구간은 독립적인 디코더를 가지므로 서로 다른 스레드에서 동시에 읽을 수 있으며,
+     * 구간 안의 위치와 길이는 구간 시작 기준입니다 (절대 위치는 {@link #getStartFrame()}).
+     */
+    public static List<FlacSource> openSegments(File file, int parts) throws IOException, UnsupportedAudioFileException {
+        ByteBuffer data = map(file);
+        FlacMetadata metadata = FlacMetadata.parse(data);
+        int audioStart = (int) metadata.getAudioOffset();
+        int audioEnd = data.limit();
+        FlacFrameDecoder probe = new FlacFrameDecoder(metadata);
+
+        List<Integer> offsets = new ArrayList<>();
+        List<Long> samples = new ArrayList<>();
+        offsets.add(audioStart);
+        samples.add(0L);
+        long span = audioEnd - audioStart;
+        for (int i = 1; i < parts; i++) {
+            int guess = (int) (audioStart + span * i / parts);
+            int boundary = syncForward(probe, data, Math.max(guess, offsets.get(offsets.size() - 1) + 1), audioEnd);
+            if (boundary < 0) {
+                break;
+            }
+            long sample = probe.getFirstSample();
+            if (sample > samples.get(samples.size() - 1)) {
+                offsets.add(boundary);
+                samples.add(sample);
+            }
+        }
+
+        long total = metadata.getTotalSamples() > 0 ? metadata.getTotalSamples() : AudioSystem.NOT_SPECIFIED;
+        List<FlacSource> segments = new ArrayList<>(offsets.size());
+        for (int i = 0; i < offsets.size(); i++) {
+            boolean last = i == offsets.size() - 1;
+            segments.add(new FlacSource(file, data, metadata, offsets.get(i), last ? audioEnd : offsets.get(i + 1),
+                    samples.get(i), last ? total : samples.get(i + 1)));
+        }
+        return segments;
+    }
+
+    /**
+     * 파일 확장자로 FLAC 파일 여부를 확인합니다
+     */
+    public static boolean isFlacFile(File file) {
+        return file.getName().toLowerCase().endsWith(".flac");
+    }
+
+    private static ByteBuffer map(File file) throws IOException, UnsupportedAudioFileException {
+        // 매핑은 채널을 닫아도 유효하므로 열린 파일 핸들을 남기지 않음
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new UnsupportedAudioFileException("2GB를 넘는 FLAC 파일은 지원하지 않습니다: " + file.getName());
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    // ========== PcmSource ==========
+
+    @Override
+    public int read(byte[] dst, int off, int len) throws IOException {
+        int frameSize = format.getFrameSize();
+        int wanted = len / frameSize;
+        if (endSample != AudioSystem.NOT_SPECIFIED) {
+            wanted = (int) Math.min(wanted, endSample - framePosition);
+        }
+        int copied = 0;
+        while (copied < wanted) {
+            if (frameIndex >= frameSamples && !decodeNextFrame()) {
+                break;
+            }
+            int n = Math.min(wanted - copied, frameSamples - frameIndex);
+            decoder.writePcm(dst, off + copied * frameSize, frameIndex, n, pcmBits);
+            frameIndex += n;
+            copied += n;
+            framePosition += n;
+        }
+        if (copied == 0 && len >= frameSize) {
+            return -1;
+        }
+        return copied * frameSize;
+    }
+
+    /**
+     * 지정한 프레임(구간 시작 기준)으로 이동합니다
+     */
+    @Override
+    public void seekToFrame(long frame) throws IOException {
+        long target = startSample + Math.max(0, frame);
+        if (endSample != AudioSystem.NOT_SPECIFIED) {
+            target = Math.min(target, endSample);
+        }
+
+        // 목표보다 앞에 있는 것이 확실한 프레임 위치에서 시작
+        int low = startOffset;
+        int point = metadata.findSeekPoint(target);
+        if (point >= 0 && metadata.getSeekSample(point) >= startSample) {
+            long offset = metadata.getSeekOffset(point);
+            if (offset >= startOffset && offset < endOffset) {
+                low = (int) offset;
+            }
+        }
+        int high = endOffset;
+        while (high - low > LINEAR_SEEK_BYTES) {
+            int mid = low + (high - low) / 2;
+            int found = syncForward(decoder, data, mid, high);
+            if (found < 0 || decoder.getFirstSample() > target) {
+                high = mid;
+            } else {
+                low = found;
+            }
+        }
+
+        // 목표 샘플이 들어 있는 프레임까지 앞으로 디코딩
+        nextFrameOffset = low;
+        frameIndex = 0;
+        frameSamples = 0;
+        while (decodeNextFrame()) {
+            long first = decoder.getFirstSample();
+            if (target < first + frameSamples) {
+                frameIndex = (int) Math.max(0, target - first);
+                framePosition = first + frameIndex;
+                return;
+            }
+        }
+        framePosition = target;
+    }
+
+    @Override
+    public long getFramePosition() {
+        return framePosition - startSample;
+    }
+
+    @Override
+    public long getFrameLength() {
+        return endSample == AudioSystem.NOT_SPECIFIED ? AudioSystem.NOT_SPECIFIED : endSample - startSample;
+    }
+
+    /**
+     * 이 구간의 첫 샘플 번호 (파일 전체 기준)
+     */
+    public long getStartFrame() {
+        return startSample;
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    public FlacMetadata getMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public String getName() {
+        return file.getName();
+    }
+
+    @Override
+    public void close() {
+        // 매핑 해제는 GC에 맡김
+    }
+
+    // ========== 내부 ==========
+
+    /**
+     * 다음 프레임을 디코딩합니다. 손상된 프레임은 다음 동기 코드까지 건너뜁니다.
+     *
+     * @return 구간 끝이면 false
+     */
+    private boolean decodeNextFrame() {
+        while (nextFrameOffset < endOffset) {
+            int offset = nextFrameOffset;
+            try {
+                nextFrameOffset = decoder.decode(data, offset, endOffset);
+                frameSamples = decoder.getBlockSize();
+                frameIndex = 0;
+                return true;
+            } catch (IOException e) {
+                int resync = syncForward(decoder, data, offset + 1, endOffset);
+                log.debug("손상된 FLAC 프레임 건너뜀: {} @{} - {}", file.getName(), offset, e.getMessage());
+                if (resync < 0) {
+                    break;
+                }
+                nextFrameOffset = resync;
+            }
+        }
+        nextFrameOffset = endOffset;
+        frameSamples = 0;
+        frameIndex = 0;
+        return false;
+    }
+
+    /**
+     * from 이후 처음으로 CRC까지 맞는 프레임 헤더의 오프셋, 없으면 -1
+     * 성공하면 decoder의 프레임 헤더 정보(첫 샘플 번호 등)가 그 프레임으로 바뀝니다.
+     */
+    private static int syncForward(FlacFrameDecoder decoder, ByteBuffer data, int from, int to) {
+        for (int i = from; i < to - 1; i++) {
+            if ((data.get(i) & 0xFF) == 0xFF && (data.get(i + 1) & 0xFE) == 0xF8
+                    && decoder.probeHeader(data, i, to) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,146 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * WAV 파일의 샘플 데이터를 메모리 매핑하여 PCM을 그대로 제공하는 소스
+ * 전체 파일을 힙으로 복사하지 않으며, 탐색은 오프셋 계산만으로 O(1)에 처리됩니다.
+ * 하나의 MappedByteBuffer는 2GB를 넘을 수 없으므로 프레임 경계에 맞춘 세그먼트 단위로 필요할 때 매핑합니다.
+ */
+public class MappedWavSource implements PcmSource {
+    private static final Logger log = LogManager.getLogger(MappedWavSource.class);
+
+    // 세그먼트당 최대 매핑 크기 (1GB)
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private final File file;
+    private final FileChannel channel;
+    private final WavHeader header;
+    private final long segmentBytes;
+    private final MappedByteBuffer[] segments;
+
+    // 데이터 청크 내 현재 읽기 위치 (바이트)
+    private long position;
+
+    private MappedWavSource(File file, FileChannel channel, WavHeader header) {
+        this.file = file;
+        this.channel = channel;
+        this.header = header;
+        int frameSize = header.getFormat().getFrameSize();
+        this.segmentBytes = MAX_SEGMENT_BYTES - (MAX_SEGMENT_BYTES % frameSize);
+        int segmentCount = (int) ((header.getDataLength() + segmentBytes - 1) / segmentBytes);
+        this.segments = new MappedByteBuffer[Math.max(segmentCount, 1)];
+    }
+
+    /**
+     * WAV 파일을 열고 헤더를 파싱합니다. 샘플 데이터는 읽는 시점에 매핑됩니다.
+     */
+    public static MappedWavSource open(File file) throws IOException, UnsupportedAudioFileException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            WavHeader header = WavHeader.parse(channel);
+            log.debug("WAV 헤더 파싱 완료: {} ({})", file.getName(), header);
+            return new MappedWavSource(file, channel, header);
+        } catch (IOException | UnsupportedAudioFileException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 파일 확장자로 WAV 파일 여부를 확인합니다
+     */
+    public static boolean isWavFile(File file) {
+        String name = file.getName().toLowerCase();
+        return name.endsWith(".wav") || name.endsWith(".wave");
+    }
+
+    @Override
+    public int read(byte[] dst, int off, int len) throws IOException {
+        long remaining = header.getDataLength() - position;
+        if (remaining <= 0) {
+            return -1;
+        }
+        int frameSize = header.getFormat().getFrameSize();
+        int toRead = (int) Math.min(len - (len % frameSize), remaining);
+        int copied = 0;
+
+        while (copied < toRead) {
+            int segmentIndex = (int) (position / segmentBytes);
+            int segmentOffset = (int) (position % segmentBytes);
+            MappedByteBuffer segment = segment(segmentIndex);
+
+            int n = Math.min(toRead - copied, segment.capacity() - segmentOffset);
+            segment.get(segmentOffset, dst, off + copied, n);
+            copied += n;
+            position += n;
+        }
+        return copied;
+    }
+
+    /**
+     * 지정한 프레임으로 이동합니다 (데이터를 읽지 않는 O(1) 연산)
+     */
+    @Override
+    public void seekToFrame(long frame) {
+        long clamped = Math.max(0, Math.min(frame, header.getFrameLength()));
+        position = clamped * header.getFormat().getFrameSize();
+    }
+
+    @Override
+    public long getFramePosition() {
+        return position / header.getFormat().getFrameSize();
+    }
+
+    @Override
+    public long getFrameLength() {
+        return header.getFrameLength();
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return header.getFormat();
+    }
+
+    public WavHeader getHeader() {
+        return header;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public String getName() {
+        return file.getName();
+    }
+
+    private MappedByteBuffer segment(int index) throws IOException {
+        MappedByteBuffer segment = segments[index];
+        if (segment == null) {
+            long start = (long) index * segmentBytes;
+            long size = Math.min(segmentBytes, header.getDataLength() - start);
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, header.getDataOffset() + start, size);
+            segments[index] = segment;
+            log.trace("WAV 세그먼트 매핑: {} #{} ({} bytes)", file.getName(), index, size);
+        }
+        return segment;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // 매핑 해제는 GC에 맡기고 채널만 닫음 (매핑은 채널이 닫혀도 유효함)
+        channel.close();
+    }
+}
@@ -0,0 +1,432 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.audio.AudioHeaderProbe;
+import ac.cwnu.synctune.sdk.log.LogManager;
+import javazoom.jl.decoder.Bitstream;
+import javazoom.jl.decoder.BitstreamException;
+import javazoom.jl.decoder.Decoder;
+import javazoom.jl.decoder.DecoderException;
+import javazoom.jl.decoder.Header;
+import javazoom.jl.decoder.Obuffer;
+
+/**
+ * MP3 파일을 jlayer 디코더로 직접 디코딩하여 PCM으로 공급하는 소스
+ * mp3spi를 거치면 프레임마다 속성 맵 갱신, 순환 버퍼 복사, 샘플 변환용 배열 할당이 일어나지만,
+ * 여기서는 jlayer의 합성 필터 출력을 받는 버퍼를 직접 구현하여 16비트 PCM을 호출자의 버퍼에 바로 씁니다.
+ * 호출자 버퍼에 MP3 프레임 하나가 들어갈 공간이 없을 때만 재사용하는 내부 프레임 버퍼를 거치므로, 재생 중 할당이 없습니다.
+ * 탐색은 목표 직전까지 프레임 헤더만 읽고 건너뛴 뒤, 비트 저장소와 합성 필터를 채우기 위해 몇 프레임을 디코딩해서 버립니다.
+ */
+public class Mp3Source implements PcmSource {
+    private static final Logger log = LogManager.getLogger(Mp3Source.class);
+
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    // Layer III는 앞 프레임의 데이터(비트 저장소)를 참조하므로 목표보다 앞에서부터 디코딩
+    private static final int PREROLL_FRAMES = 2;
+
+    /**
+     * 처음부터 읽는 입력 스트림을 여는 방법 (탐색으로 되감을 때마다 다시 엶)
+     */
+    @FunctionalInterface
+    interface InputOpener {
+        InputStream open() throws IOException;
+    }
+
+    private final String name;
+    private final InputOpener opener;
+    private final AudioFormat format;
+    private final int samplesPerFrame;
+    private final long frameLength;
+    private final PcmFrameBuffer output;
+
+    private InputStream input;
+    private Bitstream bitstream;
+    private Decoder decoder;
+    // 읽었지만 아직 디코딩하지 않은 첫 프레임 헤더 (포맷 확인용으로 미리 읽은 것)
+    private Header pendingHeader;
+    // 다음에 디코딩할 MP3 프레임의 첫 샘플 번호
+    private long nextFrameSample;
+    private long framePosition;
+
+    private Mp3Source(String name, InputOpener opener, Header first, long frameLength) {
+        this.name = name;
+        this.opener = opener;
+        int channels = first.mode() == Header.SINGLE_CHANNEL ? 1 : 2;
+        float sampleRate = first.frequency();
+        this.format = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, sampleRate, 16, channels, channels * 2,
+                sampleRate, false);
+        this.samplesPerFrame = samplesPerFrame(first);
+        this.frameLength = frameLength;
+        this.output = new PcmFrameBuffer(channels, samplesPerFrame);
+    }
+
+    /**
+     * 파일을 열고 첫 프레임 헤더로 포맷을 확인합니다
+     *
+     * @throws UnsupportedAudioFileException MPEG 오디오 프레임을 찾지 못한 경우
+     */
+    public static Mp3Source open(File file) throws IOException, UnsupportedAudioFileException {
+        AudioHeaderProbe.Info info = AudioHeaderProbe.probe(file);
+        Mp3Source source = open(file.getName(), () -> new FileInputStream(file), info);
+        log.debug("MP3 열기: {} ({}, {}ms)", file.getName(), source.format,
+                info != null ? info.durationMillis() : "길이 모름");
+        return source;
+    }
+
+    /**
+     * 입력 스트림을 여는 방법으로 소스를 엽니다
+     *
+     * @param info 헤더 조사 결과 (길이와 샘플레이트 확인용, 없으면 null)
+     */
+    static Mp3Source open(String name, InputOpener opener, AudioHeaderProbe.Info info)
+            throws IOException, UnsupportedAudioFileException {
+        InputStream input = new BufferedInputStream(opener.open(), READ_BUFFER_BYTES);
+        Bitstream bitstream = new Bitstream(input);
+        Header first;
+        try {
+            first = bitstream.readFrame();
+        } catch (BitstreamException e) {
+            first = null;
+        }
+        // 다른 형식의 파일에서 우연히 맞는 동기 코드를 프레임으로 오인하지 않도록 헤더 조사 결과와 대조
+        if (first == null || (info != null && info.sampleRate() > 0 && info.sampleRate() != first.frequency())) {
+            closeQuietly(bitstream, input);
+            throw new UnsupportedAudioFileException("MPEG 오디오 프레임을 찾을 수 없습니다: " + name);
+        }
+        long frameLength = info != null && info.durationMillis() > 0
+                ? info.durationMillis() * first.frequency() / 1000 : AudioSystem.NOT_SPECIFIED;
+        Mp3Source source = new Mp3Source(name, opener, first, frameLength);
+        source.attach(input, bitstream, first);
+        return source;
+    }
+
+    /**
+     * 파일 확장자로 MP3 파일 여부를 확인합니다
+     */
+    public static boolean isMp3File(File file) {
+        return file.getName().toLowerCase().endsWith(".mp3");
+    }
+
+    private static int samplesPerFrame(Header header) {
+        if (header.layer() == 1) {
+            return 384;
+        }
+        return header.layer() == 3 && header.version() != Header.MPEG1 ? 576 : 1152;
+    }
+
+    private void attach(InputStream input, Bitstream bitstream, Header first) {
+        this.input = input;
+        this.bitstream = bitstream;
+        this.pendingHeader = first;
+        this.decoder = new Decoder();
+        this.decoder.setOutputBuffer(output);
+        this.nextFrameSample = 0;
+        this.framePosition = 0;
+        output.discard();
+    }
+
+    /**
+     * 처음부터 다시 읽도록 입력과 디코더를 새로 엽니다 (뒤로 탐색할 때)
+     */
+    private void reopen() throws IOException {
+        closeQuietly(bitstream, input);
+        InputStream newInput = new BufferedInputStream(opener.open(), READ_BUFFER_BYTES);
+        Bitstream newBitstream = new Bitstream(newInput);
+        attach(newInput, newBitstream, null);
+    }
+
+    // ========== PcmSource ==========
+
+    @Override
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public int read(byte[] dst, int off, int len) throws IOException {
+        int frameSize = format.getFrameSize();
+        int wanted = len - (len % frameSize);
+        int written = 0;
+        while (written < wanted) {
+            if (output.pendingBytes() > 0) {
+                written += output.drainTo(dst, off + written, wanted - written);
+                continue;
+            }
+            // 남은 공간에 프레임 하나가 통째로 들어가면 호출자 버퍼에 바로 디코딩
+            int n = wanted - written >= output.maxFrameBytes()
+                    ? decodeFrame(dst, off + written) : decodeFrame(null, 0);
+            if (n < 0) {
+                break;
+            }
+            if (output.pendingBytes() == 0) {
+                written += n;
+            }
+        }
+        if (written == 0 && wanted > 0) {
+            return -1;
+        }
+        framePosition += written / frameSize;
+        return written;
+    }
+
+    @Override
+    public void seekToFrame(long frame) throws IOException {
+        long target = Math.max(0, frame);
+        if (frameLength != AudioSystem.NOT_SPECIFIED) {
+            target = Math.min(target, frameLength);
+        }
+        output.discard();
+        if (target < nextFrameSample) {
+            reopen();
+        }
+
+        // 목표 직전 몇 프레임 앞까지는 헤더만 읽고 건너뜀
+        long skipUntil = target - (long) PREROLL_FRAMES * samplesPerFrame;
+        while (nextFrameSample + samplesPerFrame <= skipUntil && skipFrame()) {
+            // 건너뛰기만 함
+        }
+        // 목표 샘플이 들어 있는 프레임까지 디코딩하고, 그 프레임 안에서 목표 위치까지 버림
+        while (true) {
+            long frameStart = nextFrameSample;
+            if (decodeFrame(null, 0) < 0) {
+                framePosition = nextFrameSample;
+                break;
+            }
+            if (target < nextFrameSample) {
+                output.skip((int) (target - frameStart) * format.getFrameSize());
+                framePosition = target;
+                break;
+            }
+            output.discard();
+        }
+        log.trace("MP3 탐색: {} -> {} 프레임", name, framePosition);
+    }
+
+    @Override
+    public long getFramePosition() {
+        return framePosition;
+    }
+
+    @Override
+    public long getFrameLength() {
+        return frameLength;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeQuietly(bitstream, input);
+    }
+
+    // ========== 내부 ==========
+
+    /**
+     * 다음 MP3 프레임을 디코딩합니다. target이 null이면 내부 프레임 버퍼에 디코딩하여 이후 read()가 가져가게 합니다.
+     * 손상된 프레임은 건너뜁니다.
+     *
+     * @return 디코딩한 바이트 수, 스트림 끝이면 -1
+     */
+    private int decodeFrame(byte[] target, int offset) throws IOException {
+        while (true) {
+            Header header = nextHeader();
+            if (header == null) {
+                return -1;
+            }
+            output.setTarget(target, offset);
+            try {
+                decoder.decodeFrame(header, bitstream);
+            } catch (DecoderException e) {
+                log.debug("손상된 MP3 프레임 건너뜀: {} @{} - {}", name, nextFrameSample, e.getMessage());
+                bitstream.closeFrame();
+                nextFrameSample += samplesPerFrame;
+                continue;
+            }
+            bitstream.closeFrame();
+            int bytes = output.frameBytes();
+            nextFrameSample += bytes / format.getFrameSize();
+            if (target == null) {
+                output.setPending(bytes);
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * 다음 프레임을 디코딩하지 않고 건너뜁니다
+     *
+     * @return 스트림 끝이면 false
+     */
+    private boolean skipFrame() throws IOException {
+        Header header = nextHeader();
+        if (header == null) {
+            return false;
+        }
+        bitstream.closeFrame();
+        nextFrameSample += samplesPerFrame(header);
+        return true;
+    }
+
+    private Header nextHeader() throws IOException {
+        Header header = pendingHeader;
+        if (header != null) {
+            pendingHeader = null;
+            return header;
+        }
+        try {
+            return bitstream.readFrame();
+        } catch (BitstreamException e) {
+            // 잘리거나 깨진 파일은 마지막으로 읽은 프레임에서 끝냄
+            log.debug("MP3 비트스트림 오류로 재생을 끝냅니다: {} @{} - {}", name, nextFrameSample, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void closeQuietly(Bitstream bitstream, InputStream input) {
+        try {
+            if (bitstream != null) {
+                bitstream.close();
+            }
+        } catch (BitstreamException e) {
+            log.debug("MP3 비트스트림 닫기 실패: {}", e.getMessage());
+        }
+        try {
+            if (input != null) {
+                input.close();
+            }
+        } catch (IOException e) {
+            log.debug("MP3 입력 닫기 실패: {}", e.getMessage());
+        }
+    }
+
+    // ========== PCM 출력 버퍼 ==========
+
+    /**
+     * jlayer 합성 필터의 출력을 16비트 little-endian 인터리브 PCM으로 바로 쓰는 출력 버퍼
+     * 대상 배열은 프레임마다 호출자 버퍼 또는 내부 프레임 버퍼로 바뀌며, 채널마다 쓰기 위치를 따로 둡니다.
+     */
+    private static final class PcmFrameBuffer extends Obuffer {
+        private final int channels;
+        private final int stride;
+        private final byte[] frame;
+        private final int[] writeIndex;
+
+        private byte[] target;
+        private int targetOffset;
+        // 내부 프레임 버퍼에 남아 있는 바이트 구간
+        private int pendingStart;
+        private int pendingEnd;
+
+        PcmFrameBuffer(int channels, int samplesPerFrame) {
+            this.channels = channels;
+            this.stride = channels * 2;
+            this.frame = new byte[samplesPerFrame * stride];
+            this.writeIndex = new int[channels];
+        }
+
+        int maxFrameBytes() {
+            return frame.length;
+        }
+
+        void setTarget(byte[] target, int offset) {
+            this.target = target != null ? target : frame;
+            this.targetOffset = target != null ? offset : 0;
+        }
+
+        int frameBytes() {
+            return writeIndex[0] - targetOffset;
+        }
+
+        void setPending(int bytes) {
+            pendingStart = 0;
+            pendingEnd = bytes;
+        }
+
+        int pendingBytes() {
+            return pendingEnd - pendingStart;
+        }
+
+        int drainTo(byte[] dst, int off, int len) {
+            int n = Math.min(len, pendingBytes());
+            System.arraycopy(frame, pendingStart, dst, off, n);
+            pendingStart += n;
+            return n;
+        }
+
+        void skip(int bytes) {
+            pendingStart = Math.min(pendingEnd, pendingStart + bytes);
+        }
+
+        void discard() {
+            pendingStart = 0;
+            pendingEnd = 0;
+        }
+
+        @Override
+        public void clear_buffer() {
+            for (int ch = 0; ch < channels; ch++) {
+                writeIndex[ch] = targetOffset + ch * 2;
+            }
+        }
+
+        @Override
+        public void append(int channel, short value) {
+            if (channel >= channels) {
+                return;
+            }
+            int i = writeIndex[channel];
+            if (i + 1 >= target.length) {
+                return;
+            }
+            target[i] = (byte) value;
+            target[i + 1] = (byte) (value >> 8);
+            writeIndex[channel] = i + stride;
+        }
+
+        @Override
+        public void appendSamples(int channel, float[] samples) {
+            if (channel >= channels) {
+                return;
+            }
+            byte[] out = target;
+            int i = writeIndex[channel];
+            // 합성 필터는 32샘플씩 내보냄 (프레임 도중 채널 모드가 바뀐 손상 프레임은 버퍼 끝에서 자름)
+            int count = Math.min(32, (out.length - i + stride - 2) / stride);
+            for (int s = 0; s < count; s++) {
+                float sample = samples[s];
+                int value = sample > 32767.0f ? 32767 : sample < -32768.0f ? -32768 : (int) sample;
+                out[i] = (byte) value;
+                out[i + 1] = (byte) (value >> 8);
+                i += stride;
+            }
+            writeIndex[channel] = i;
+        }
+
+        @Override
+        public void write_buffer(int val) {
+            // 샘플은 append 시점에 이미 대상 버퍼에 있음
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void set_stop_flag() {
+        }
+    }
+}
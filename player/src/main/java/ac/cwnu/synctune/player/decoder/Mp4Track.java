@@ -0,0 +1,519 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * MP4/M4A 파일의 첫 오디오 트랙 정보와 샘플 테이블
+ * moov 박스만 한 번 읽어 stsz/stco(co64)/stsc/stts를 샘플별 오프셋·크기·시작 시각 배열로 펼쳐 두므로,
+ * 재생 중에는 샘플 번호로 파일 위치를 바로 찾고 시각으로 샘플 번호를 이분 탐색합니다. mdat은 읽지 않습니다.
+ */
+public final class Mp4Track implements AacTrack {
+    // moov가 이보다 크거나 샘플이 이보다 많으면 손상된 파일로 간주
+    private static final long MAX_MOOV_BYTES = 64L * 1024 * 1024;
+    private static final int MAX_SAMPLES = 1 << 25;
+
+    private static final int OBJECT_TYPE_SBR = 5;
+    private static final int OBJECT_TYPE_PS = 29;
+    private static final int[] SAMPLE_RATES = {
+        96000, 88200, 64000, 48000, 44100, 32000, 24000, 22050, 16000, 12000, 11025, 8000, 7350
+    };
+
+    private final String codec;
+    private final int channels;
+    private final int sampleRate;
+    private final long timescale;
+    private final byte[] decoderConfig;
+    // AudioSpecificConfig에서 읽은 값 (AAC가 아니면 0, -1, 0)
+    private final int objectType;
+    private final int samplingFrequencyIndex;
+    private final int channelConfiguration;
+
+    // 샘플(액세스 유닛)별 파일 오프셋, 크기, 시작 시각(timescale 단위). sampleTimes는 끝 시각을 하나 더 가짐
+    private final long[] sampleOffsets;
+    private final int[] sampleSizes;
+    private final long[] sampleTimes;
+    private final int maxSampleSize;
+
+    private Mp4Track(String codec, int channels, int sampleRate, long timescale, byte[] decoderConfig,
+            long[] sampleOffsets, int[] sampleSizes, long[] sampleTimes) {
+        this.codec = codec;
+        this.channels = channels;
+        this.sampleRate = sampleRate;
+        this.timescale = timescale;
+        this.decoderConfig = decoderConfig;
+        this.sampleOffsets = sampleOffsets;
+        this.sampleSizes = sampleSizes;
+        this.sampleTimes = sampleTimes;
+
+        int max = 0;
+        for (int size : sampleSizes) {
+            max = Math.max(max, size);
+        }
+        this.maxSampleSize = max;
+
+        int[] asc = decoderConfig != null ? parseAudioSpecificConfig(decoderConfig) : new int[] { 0, -1, 0 };
+        this.objectType = asc[0];
+        this.samplingFrequencyIndex = asc[1];
+        this.channelConfiguration = asc[2];
+    }
+
+    /**
+     * 채널에서 최상위 박스를 훑어 moov를 찾고 첫 오디오 트랙을 파싱합니다
+     *
+     * @throws UnsupportedAudioFileException MP4 파일이 아니거나 오디오 트랙이 없는 경우
+     */
+    public static Mp4Track parse(FileChannel channel) throws IOException, UnsupportedAudioFileException {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(16);
+        long pos = 0;
+        boolean first = true;
+        while (pos + 8 <= size) {
+            header.clear();
+            readFully(channel, header, pos);
+            header.flip();
+            long boxSize = header.getInt() & 0xFFFFFFFFL;
+            int type = header.getInt();
+            int headerSize = 8;
+            if (boxSize == 1) {
+                if (header.remaining() < 8) {
+                    break;
+                }
+                boxSize = header.getLong();
+                headerSize = 16;
+            } else if (boxSize == 0) {
+                boxSize = size - pos;
+            }
+            if (first && type != fourcc("ftyp") && type != fourcc("moov") && type != fourcc("wide")
+                    && type != fourcc("free") && type != fourcc("mdat")) {
+                throw new UnsupportedAudioFileException("MP4 파일이 아닙니다");
+            }
+            first = false;
+            if (boxSize < headerSize || pos + boxSize > size) {
+                break;
+            }
+            if (type == fourcc("moov")) {
+                if (boxSize > MAX_MOOV_BYTES) {
+                    throw new IOException("moov 박스가 너무 큽니다: " + boxSize);
+                }
+                ByteBuffer moov = ByteBuffer.allocate((int) (boxSize - headerSize));
+                readFully(channel, moov, pos + headerSize);
+                moov.flip();
+                return parseMoov(moov);
+            }
+            pos += boxSize;
+        }
+        throw new UnsupportedAudioFileException("moov 박스를 찾을 수 없습니다");
+    }
+
+    private static Mp4Track parseMoov(ByteBuffer moov) throws IOException, UnsupportedAudioFileException {
+        for (int trak = findBox(moov, 0, moov.limit(), "trak"); trak >= 0;
+                trak = findBox(moov, boxEnd(moov, trak), moov.limit(), "trak")) {
+            int mdia = findChild(moov, trak, "mdia");
+            int hdlr = findChild(moov, mdia, "hdlr");
+            if (hdlr < 0 || moov.getInt(hdlr + 8 + 8) != fourcc("soun")) {
+                continue;
+            }
+            return parseAudioTrack(moov, mdia);
+        }
+        throw new UnsupportedAudioFileException("오디오 트랙이 없습니다");
+    }
+
+    private static Mp4Track parseAudioTrack(ByteBuffer moov, int mdia) throws IOException, UnsupportedAudioFileException {
+        int mdhd = findChild(moov, mdia, "mdhd");
+        if (mdhd < 0) {
+            throw new IOException("mdhd 박스가 없습니다");
+        }
+        int version = moov.get(mdhd + 8) & 0xFF;
+        long timescale = moov.getInt(mdhd + 8 + (version == 1 ? 20 : 12)) & 0xFFFFFFFFL;
+
+        int stbl = findChild(moov, findChild(moov, mdia, "minf"), "stbl");
+        int stsd = findChild(moov, stbl, "stsd");
+        if (stsd < 0 || timescale == 0) {
+            throw new IOException("샘플 테이블이 올바르지 않습니다");
+        }
+
+        // 첫 번째 샘플 엔트리 (AudioSampleEntry)
+        int entry = stsd + 8 + 8;
+        String codec = fourccString(moov.getInt(entry + 4));
+        int qtVersion = moov.getShort(entry + 16) & 0xFFFF;
+        int channels = moov.getShort(entry + 24) & 0xFFFF;
+        int sampleRate = (int) ((moov.getInt(entry + 32) & 0xFFFFFFFFL) >>> 16);
+        int childStart = entry + 36 + (qtVersion == 1 ? 16 : qtVersion == 2 ? 36 : 0);
+        int entryEnd = boxEnd(moov, entry);
+
+        byte[] decoderConfig = null;
+        int esds = findBox(moov, childStart, entryEnd, "esds");
+        if (esds < 0) {
+            // QuickTime 형식은 wave 박스 안에 esds를 둠
+            int wave = findBox(moov, childStart, entryEnd, "wave");
+            esds = wave >= 0 ? findBox(moov, wave + 8, boxEnd(moov, wave), "esds") : -1;
+        }
+        if (esds >= 0) {
+            decoderConfig = parseEsds(moov, esds + 12, boxEnd(moov, esds));
+        }
+
+        int count = sampleCount(moov, stbl);
+        int[] sizes = readSampleSizes(moov, stbl, count);
+        long[] offsets = readSampleOffsets(moov, stbl, sizes);
+        long[] times = readSampleTimes(moov, stbl, count);
+        return new Mp4Track(codec, channels, sampleRate, timescale, decoderConfig, offsets, sizes, times);
+    }
+
+    // ========== 샘플 테이블 ==========
+
+    private static int sampleCount(ByteBuffer moov, int stbl) throws IOException {
+        int stsz = findChild(moov, stbl, "stsz");
+        if (stsz < 0) {
+            stsz = findChild(moov, stbl, "stz2");
+        }
+        if (stsz < 0) {
+            throw new IOException("stsz 박스가 없습니다");
+        }
+        int count = moov.getInt(stsz + 16);
+        if (count < 0 || count > MAX_SAMPLES) {
+            throw new IOException("샘플 수가 올바르지 않습니다: " + count);
+        }
+        return count;
+    }
+
+    private static int[] readSampleSizes(ByteBuffer moov, int stbl, int count) throws IOException {
+        int[] sizes = new int[count];
+        int stsz = findChild(moov, stbl, "stsz");
+        if (stsz >= 0) {
+            int uniform = moov.getInt(stsz + 12);
+            if (uniform == 0) {
+                checkEntries(moov, stsz, 20, count, 4);
+            }
+            for (int i = 0; i < count; i++) {
+                sizes[i] = uniform != 0 ? uniform : moov.getInt(stsz + 20 + i * 4);
+            }
+            return sizes;
+        }
+        int stz2 = findChild(moov, stbl, "stz2");
+        int fieldSize = moov.get(stz2 + 15) & 0xFF;
+        int base = stz2 + 20;
+        checkEntries(moov, stz2, 20, (count * fieldSize + 7) / 8, 1);
+        for (int i = 0; i < count; i++) {
+            sizes[i] = switch (fieldSize) {
+                case 4 -> ((moov.get(base + i / 2) & 0xFF) >>> ((i & 1) == 0 ? 4 : 0)) & 0x0F;
+                case 8 -> moov.get(base + i) & 0xFF;
+                case 16 -> moov.getShort(base + i * 2) & 0xFFFF;
+                default -> throw new IOException("stz2 필드 크기가 올바르지 않습니다: " + fieldSize);
+            };
+        }
+        return sizes;
+    }
+
+    private static long[] readSampleOffsets(ByteBuffer moov, int stbl, int[] sizes) throws IOException {
+        int stco = findChild(moov, stbl, "stco");
+        boolean wide = stco < 0;
+        if (wide) {
+            stco = findChild(moov, stbl, "co64");
+        }
+        int stsc = findChild(moov, stbl, "stsc");
+        if (stco < 0 || stsc < 0) {
+            throw new IOException("청크 오프셋 테이블이 없습니다");
+        }
+        int chunkCount = checkEntries(moov, stco, 16, moov.getInt(stco + 12), wide ? 8 : 4);
+        int runCount = checkEntries(moov, stsc, 16, moov.getInt(stsc + 12), 12);
+
+        long[] offsets = new long[sizes.length];
+        int sample = 0;
+        for (int run = 0; run < runCount && sample < sizes.length; run++) {
+            int firstChunk = moov.getInt(stsc + 16 + run * 12) - 1;
+            int samplesPerChunk = moov.getInt(stsc + 16 + run * 12 + 4);
+            int lastChunk = run + 1 < runCount ? moov.getInt(stsc + 16 + (run + 1) * 12) - 1 : chunkCount;
+            for (int chunk = firstChunk; chunk < Math.min(lastChunk, chunkCount) && sample < sizes.length; chunk++) {
+                long offset = wide ? moov.getLong(stco + 16 + chunk * 8) : moov.getInt(stco + 16 + chunk * 4) & 0xFFFFFFFFL;
+                for (int i = 0; i < samplesPerChunk && sample < sizes.length; i++) {
+                    offsets[sample] = offset;
+                    offset += sizes[sample];
+                    sample++;
+                }
+            }
+        }
+        if (sample < sizes.length) {
+            throw new IOException("청크 테이블이 샘플 수보다 짧습니다: " + sample + "/" + sizes.length);
+        }
+        return offsets;
+    }
+
+    private static long[] readSampleTimes(ByteBuffer moov, int stbl, int count) throws IOException {
+        int stts = findChild(moov, stbl, "stts");
+        if (stts < 0) {
+            throw new IOException("stts 박스가 없습니다");
+        }
+        int runCount = checkEntries(moov, stts, 16, moov.getInt(stts + 12), 8);
+        long[] times = new long[count + 1];
+        int sample = 0;
+        long time = 0;
+        long delta = 0;
+        for (int run = 0; run < runCount && sample < count; run++) {
+            int runLength = moov.getInt(stts + 16 + run * 8);
+            delta = moov.getInt(stts + 16 + run * 8 + 4) & 0xFFFFFFFFL;
+            for (int i = 0; i < runLength && sample < count; i++) {
+                times[sample++] = time;
+                time += delta;
+            }
+        }
+        // stts가 짧으면 마지막 간격으로 채움
+        while (sample < count) {
+            times[sample++] = time;
+            time += delta;
+        }
+        times[count] = time;
+        return times;
+    }
+
+    // ========== 코덱 설정 ==========
+
+    /**
+     * ES_Descriptor에서 DecoderSpecificInfo(AudioSpecificConfig)를 꺼냅니다
+     */
+    private static byte[] parseEsds(ByteBuffer moov, int pos, int end) {
+        while (pos + 2 <= end) {
+            int tag = moov.get(pos++) & 0xFF;
+            int length = 0;
+            for (int i = 0; i < 4 && pos < end; i++) {
+                int b = moov.get(pos++) & 0xFF;
+                length = (length << 7) | (b & 0x7F);
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+            }
+            switch (tag) {
+                case 0x03 -> {
+                    // ES_ID(2), 플래그(1) 뒤 선택 필드를 건너뛰고 하위 디스크립터로 진입
+                    int flags = moov.get(pos + 2) & 0xFF;
+                    pos += 3;
+                    if ((flags & 0x80) != 0) {
+                        pos += 2;
+                    }
+                    if ((flags & 0x40) != 0) {
+                        pos += 1 + (moov.get(pos) & 0xFF);
+                    }
+                    if ((flags & 0x20) != 0) {
+                        pos += 2;
+                    }
+                }
+                // objectTypeIndication, streamType, bufferSize, 비트레이트 13바이트 뒤 하위 디스크립터
+                case 0x04 -> pos += 13;
+                case 0x05 -> {
+                    if (pos + length > end) {
+                        return null;
+                    }
+                    byte[] config = new byte[length];
+                    moov.get(pos, config);
+                    return config;
+                }
+                default -> pos += length;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return {코어 objectType, 코어 samplingFrequencyIndex(명시적 레이트면 -1), channelConfiguration}
+     */
+    private static int[] parseAudioSpecificConfig(byte[] config) {
+        long bits = 0;
+        for (int i = 0; i < Math.min(8, config.length); i++) {
+            bits |= (config[i] & 0xFFL) << (56 - i * 8);
+        }
+        int pos = 0;
+        int objectType = (int) (bits >>> (59 - pos)) & 0x1F;
+        pos += 5;
+        if (objectType == 31) {
+            objectType = 32 + ((int) (bits >>> (58 - pos)) & 0x3F);
+            pos += 6;
+        }
+        int frequencyIndex = (int) (bits >>> (60 - pos)) & 0x0F;
+        pos += 4;
+        if (frequencyIndex == 15) {
+            pos += 24;
+        }
+        int channelConfig = (int) (bits >>> (60 - pos)) & 0x0F;
+        pos += 4;
+        if (objectType == OBJECT_TYPE_SBR || objectType == OBJECT_TYPE_PS) {
+            // HE-AAC 명시적 신호: 확장 레이트 뒤에 코어(AAC-LC) objectType이 옴
+            int extensionIndex = (int) (bits >>> (60 - pos)) & 0x0F;
+            pos += extensionIndex == 15 ? 28 : 4;
+            objectType = (int) (bits >>> (59 - pos)) & 0x1F;
+        }
+        return new int[] { objectType, frequencyIndex == 15 ? -1 : frequencyIndex, channelConfig };
+    }
+
+    // ========== 조회 ==========
+
+    /**
+     * 주어진 시각(timescale 단위)이 포함된 샘플 번호
+     */
+    @Override
+    public int findSample(long time) {
+        if (time <= 0) {
+            return 0;
+        }
+        int low = 0;
+        int high = sampleSizes.length - 1;
+        int found = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (sampleTimes[mid] <= time) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public int getSampleCount() {
+        return sampleSizes.length;
+    }
+
+    @Override
+    public long getSampleOffset(int index) {
+        return sampleOffsets[index];
+    }
+
+    @Override
+    public int getSampleSize(int index) {
+        return sampleSizes[index];
+    }
+
+    /**
+     * 샘플의 시작 시각 (timescale 단위), index가 샘플 수이면 트랙 끝
+     */
+    @Override
+    public long getSampleTime(int index) {
+        return sampleTimes[index];
+    }
+
+    @Override
+    public int getMaxSampleSize() {
+        return maxSampleSize;
+    }
+
+    /**
+     * 트랙 길이 (timescale 단위)
+     */
+    @Override
+    public long getDuration() {
+        return sampleTimes[sampleSizes.length];
+    }
+
+    public long getDurationMillis() {
+        return getDuration() * 1000 / timescale;
+    }
+
+    @Override
+    public long getTimescale() {
+        return timescale;
+    }
+
+    /**
+     * 샘플 엔트리 코덱 (mp4a, alac 등)
+     */
+    public String getCodec() {
+        return codec;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public byte[] getDecoderConfig() {
+        return decoderConfig != null ? decoderConfig.clone() : null;
+    }
+
+    /**
+     * AudioSpecificConfig가 있는 AAC(Main/LC/SSR/LTP 코어, HE-AAC 포함) 트랙인지
+     */
+    public boolean isAac() {
+        return "mp4a".equals(codec) && decoderConfig != null && objectType >= 1 && objectType <= 4;
+    }
+
+    /**
+     * AudioSpecificConfig 기준 코어 샘플레이트, 알 수 없으면 샘플 엔트리의 값
+     */
+    public int getCoreSampleRate() {
+        return samplingFrequencyIndex >= 0 && samplingFrequencyIndex < SAMPLE_RATES.length
+                ? SAMPLE_RATES[samplingFrequencyIndex] : sampleRate;
+    }
+
+    @Override
+    public String toString() {
+        return codec + " (AOT " + objectType + "), " + getCoreSampleRate() + "Hz, " + channels + "ch, "
+                + sampleSizes.length + " samples, " + getDurationMillis() + "ms";
+    }
+
+    // ========== 박스 탐색 ==========
+
+    /**
+     * [from, to) 범위의 형제 박스 중 type인 첫 박스의 시작 위치, 없으면 -1
+     */
+    private static int findBox(ByteBuffer buffer, int from, int to, String type) {
+        int wanted = fourcc(type);
+        int pos = from;
+        while (pos + 8 <= to) {
+            long size = buffer.getInt(pos) & 0xFFFFFFFFL;
+            if (buffer.getInt(pos + 4) == wanted) {
+                return pos;
+            }
+            if (size < 8 || pos + size > to) {
+                return -1;
+            }
+            pos += (int) size;
+        }
+        return -1;
+    }
+
+    private static int findChild(ByteBuffer buffer, int parent, String type) {
+        return parent < 0 ? -1 : findBox(buffer, parent + 8, boxEnd(buffer, parent), type);
+    }
+
+    private static int boxEnd(ByteBuffer buffer, int box) {
+        long size = buffer.getInt(box) & 0xFFFFFFFFL;
+        return (int) Math.min(buffer.limit(), box + Math.max(8, size));
+    }
+
+    /**
+     * 테이블 엔트리가 박스 안에 들어 있는지 확인합니다 (손상된 파일의 범위 밖 읽기 방지)
+     */
+    private static int checkEntries(ByteBuffer buffer, int box, int headerSize, int count, int entrySize)
+            throws IOException {
+        if (count < 0 || box + headerSize + (long) count * entrySize > boxEnd(buffer, box)) {
+            throw new IOException("샘플 테이블 엔트리 수가 올바르지 않습니다: " + count);
+        }
+        return count;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                break;
+            }
+        }
+    }
+
+    private static int fourcc(String type) {
+        return (type.charAt(0) << 24) | (type.charAt(1) << 16) | (type.charAt(2) << 8) | type.charAt(3);
+    }
+
+    private static String fourccString(int type) {
+        return new String(new char[] { (char) (type >>> 24), (char) ((type >>> 16) & 0xFF),
+            (char) ((type >>> 8) & 0xFF), (char) (type & 0xFF) });
+    }
+}
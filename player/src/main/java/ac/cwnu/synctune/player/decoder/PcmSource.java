@@ -0,0 +1,44 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.IOException;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * 스트리밍 재생기에 PCM 데이터를 공급하는 소스
+ * 파일 디코더, 무음 생성기 등 재생 가능한 모든 입력이 이 인터페이스로 출력 백엔드와 분리됩니다.
+ */
+public interface PcmSource extends AutoCloseable {
+
+    /**
+     * read()가 반환하는 PCM 데이터의 포맷
+     */
+    AudioFormat getFormat();
+
+    /**
+     * 현재 위치에서 최대 len 바이트를 dst로 복사합니다 (프레임 단위로 잘림)
+     *
+     * @return 복사한 바이트 수, 데이터 끝이면 -1
+     */
+    int read(byte[] dst, int off, int len) throws IOException;
+
+    /**
+     * 지정한 프레임으로 이동합니다
+     */
+    void seekToFrame(long frame) throws IOException;
+
+    long getFramePosition();
+
+    /**
+     * 전체 프레임 수, 알 수 없으면 AudioSystem.NOT_SPECIFIED
+     */
+    long getFrameLength();
+
+    /**
+     * 로그와 스레드 이름에 사용할 소스 이름
+     */
+    String getName();
+
+    @Override
+    void close() throws IOException;
+}
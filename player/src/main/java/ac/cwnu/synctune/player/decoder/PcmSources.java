@@ -0,0 +1,45 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * 파일 형식에 맞는 PCM 소스를 고르는 팩토리
+ * WAV는 메모리 매핑, FLAC은 내장 디코더, MP4/M4A와 ADTS(.aac)는 내장 디먹서와 JAAD 직접 디코딩, MP3는 jlayer 직접 디코딩,
+ * 그 외 형식은 Java Sound SPI 디코딩 스트림을 사용합니다.
+ */
+public final class PcmSources {
+
+    private PcmSources() {
+    }
+
+    public static PcmSource open(File file) throws IOException, UnsupportedAudioFileException {
+        if (MappedWavSource.isWavFile(file)) {
+            return MappedWavSource.open(file);
+        }
+        if (FlacSource.isFlacFile(file)) {
+            return FlacSource.open(file);
+        }
+        if (AacSource.isAacFile(file)) {
+            return AacSource.open(file);
+        }
+        if (Mp3Source.isMp3File(file)) {
+            try {
+                return Mp3Source.open(file);
+            } catch (UnsupportedAudioFileException e) {
+                // 확장자만 .mp3인 다른 형식의 파일은 SPI가 내용으로 판별
+            }
+        }
+        return DecodedStreamSource.open(file);
+    }
+
+    /**
+     * 컨테이너를 직접 읽는 형식인지 (탐색이 빠르고 출력 라인으로 바로 스트리밍할 수 있음)
+     */
+    public static boolean isNativeFormat(File file) {
+        return MappedWavSource.isWavFile(file) || FlacSource.isFlacFile(file) || AacSource.isAacFile(file)
+                || Mp3Source.isMp3File(file);
+    }
+}
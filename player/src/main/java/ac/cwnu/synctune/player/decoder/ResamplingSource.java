@@ -0,0 +1,203 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.player.dsp.PcmConverter;
+import ac.cwnu.synctune.player.dsp.Resampler;
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * 다른 PCM 소스를 출력 장치가 받는 샘플레이트로 변환하여 공급하는 소스
+ * 샘플 크기/채널/바이트 순서는 원본 그대로 두고 레이트만 바꾸며, 위치와 길이는 변환된 레이트의 프레임으로 보고합니다.
+ * 변환에 쓴 CPU 시간을 누적하여 닫을 때 재생 시간 대비 비율을 로그로 남깁니다.
+ */
+public class ResamplingSource implements PcmSource {
+    private static final Logger log = LogManager.getLogger(ResamplingSource.class);
+
+    private static final int BLOCK_FRAMES = 1024;
+
+    private final PcmSource source;
+    private final AudioFormat format;
+    private final PcmConverter inputConverter;
+    private final PcmConverter outputConverter;
+    private final Resampler resampler;
+
+    private final byte[] inputBytes;
+    private final float[] inputSamples;
+    private final float[] outputSamples;
+    private final byte[] outputBytes;
+
+    // 변환된 출력 중 아직 read()로 내보내지 않은 구간
+    private int pendingOffset;
+    private int pendingLength;
+    private boolean drained;
+    private long framePosition;
+
+    private long processingNanos;
+    private long framesProduced;
+
+    private ResamplingSource(PcmSource source, AudioFormat format, PcmConverter inputConverter,
+                             PcmConverter outputConverter, Resampler resampler) {
+        this.source = source;
+        this.format = format;
+        this.inputConverter = inputConverter;
+        this.outputConverter = outputConverter;
+        this.resampler = resampler;
+        int channels = format.getChannels();
+        this.inputBytes = new byte[BLOCK_FRAMES * inputConverter.getFrameSize()];
+        this.inputSamples = new float[BLOCK_FRAMES * channels];
+        int maxOutputFrames = resampler.maxOutputFrames(BLOCK_FRAMES);
+        this.outputSamples = new float[maxOutputFrames * channels];
+        this.outputBytes = new byte[maxOutputFrames * outputConverter.getFrameSize()];
+    }
+
+    /**
+     * 원본을 지정한 샘플레이트로 변환하는 소스를 만듭니다
+     *
+     * @throws IllegalArgumentException 원본 포맷을 float로 변환할 수 없는 경우 ({@link #canResample(AudioFormat)} 확인)
+     */
+    public static ResamplingSource wrap(PcmSource source, float targetRate, Resampler.Quality quality) {
+        AudioFormat in = source.getFormat();
+        PcmConverter inputConverter = PcmConverter.forFormat(in);
+        if (inputConverter == null) {
+            throw new IllegalArgumentException("리샘플링할 수 없는 포맷입니다: " + in);
+        }
+        AudioFormat out = new AudioFormat(in.getEncoding(), targetRate, in.getSampleSizeInBits(), in.getChannels(),
+                in.getFrameSize(), targetRate, in.isBigEndian());
+        Resampler resampler = new Resampler(Math.round(in.getSampleRate()), Math.round(targetRate),
+                in.getChannels(), quality, BLOCK_FRAMES);
+        log.info("리샘플링: {} -> {} Hz ({}, 필터 {}탭)", Math.round(in.getSampleRate()), Math.round(targetRate),
+                quality, resampler.getTaps());
+        return new ResamplingSource(source, out, inputConverter, PcmConverter.forFormat(out), resampler);
+    }
+
+    /**
+     * 샘플레이트를 변환할 수 있는 포맷인지 확인합니다
+     */
+    public static boolean canResample(AudioFormat format) {
+        return format.getSampleRate() > 0 && PcmConverter.forFormat(format) != null;
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public int read(byte[] dst, int off, int len) throws IOException {
+        int frameSize = format.getFrameSize();
+        int toRead = len - (len % frameSize);
+        // 마지막 입력 프레임 뒤의 소수 구간에서 나오는 출력은 보고한 길이에 맞춰 버림
+        long frameLength = getFrameLength();
+        if (frameLength != AudioSystem.NOT_SPECIFIED) {
+            long remaining = frameLength - framePosition;
+            if (remaining <= 0) {
+                return -1;
+            }
+            toRead = (int) Math.min(toRead, remaining * frameSize);
+        }
+        while (pendingLength == 0) {
+            if (!fill()) {
+                return -1;
+            }
+        }
+        int n = Math.min(toRead, pendingLength);
+        System.arraycopy(outputBytes, pendingOffset, dst, off, n);
+        pendingOffset += n;
+        pendingLength -= n;
+        framePosition += n / frameSize;
+        return n;
+    }
+
+    @Override
+    public void seekToFrame(long frame) throws IOException {
+        long target = Math.max(0, frame);
+        long input = resampler.toInputFrames(target);
+        source.seekToFrame(input);
+        long landed = source.getFramePosition();
+        // 원본이 요청과 다른 프레임에 멈추면(길이 밖, 프레임 단위 탐색 등) 그 뒤 첫 출력 프레임부터 이어감
+        long output = landed == input ? target : ceilOutputFrames(landed);
+        resampler.reset(output, landed);
+        pendingOffset = 0;
+        pendingLength = 0;
+        drained = false;
+        framePosition = output;
+    }
+
+    @Override
+    public long getFramePosition() {
+        return framePosition;
+    }
+
+    @Override
+    public long getFrameLength() {
+        long length = source.getFrameLength();
+        return length == AudioSystem.NOT_SPECIFIED ? AudioSystem.NOT_SPECIFIED : resampler.toOutputFrames(length);
+    }
+
+    @Override
+    public String getName() {
+        return source.getName();
+    }
+
+    /**
+     * 재생 시간 대비 변환에 쓴 CPU 시간 비율 (0.01 = 1%)
+     */
+    public double getCpuLoad() {
+        if (framesProduced == 0) {
+            return 0;
+        }
+        double playedNanos = framesProduced * 1_000_000_000.0 / format.getFrameRate();
+        return processingNanos / playedNanos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (framesProduced > 0) {
+            log.debug("리샘플링 CPU 사용률: {} ({}ms / {} 프레임)", String.format("%.2f%%", getCpuLoad() * 100),
+                    TimeUnit.NANOSECONDS.toMillis(processingNanos), framesProduced);
+        }
+        source.close();
+    }
+
+    /**
+     * 입력 프레임 위치 이후(같은 시각 포함)의 첫 출력 프레임
+     */
+    private long ceilOutputFrames(long inFrames) {
+        int inRate = resampler.getInputRate();
+        return (inFrames * resampler.getOutputRate() + inRate - 1) / inRate;
+    }
+
+    /**
+     * 원본에서 블록 하나를 읽어 변환합니다
+     *
+     * @return 더 이상 출력할 것이 없으면 false
+     */
+    private boolean fill() throws IOException {
+        if (drained) {
+            return false;
+        }
+        int n = source.read(inputBytes, 0, inputBytes.length);
+        long started = System.nanoTime();
+        int frames;
+        if (n < 0) {
+            // 원본 끝: 필터에 남은 꼬리를 내보냄
+            frames = resampler.drain(outputSamples);
+            drained = true;
+        } else {
+            int inFrames = inputConverter.toFloat(inputBytes, n, inputSamples);
+            frames = resampler.process(inputSamples, inFrames, outputSamples);
+        }
+        pendingOffset = 0;
+        pendingLength = outputConverter.fromFloat(outputSamples, frames, outputBytes);
+        processingNanos += System.nanoTime() - started;
+        framesProduced += frames;
+        return true;
+    }
+}
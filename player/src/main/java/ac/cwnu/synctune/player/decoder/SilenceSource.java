@@ -0,0 +1,72 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.util.Arrays;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * 지정한 길이만큼 무음을 생성하는 소스
+ * 파일이 없거나 디코딩할 수 없는 곡도 실제 재생 경로(출력 백엔드, 재생 클럭, 곡 끝 이벤트)를 그대로 거치게 합니다.
+ */
+public class SilenceSource implements PcmSource {
+    private static final AudioFormat DEFAULT_FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+
+    private final String name;
+    private final AudioFormat format;
+    private final long frameLength;
+    private long framePosition;
+
+    public SilenceSource(String name, long durationMs) {
+        this(name, DEFAULT_FORMAT, durationMs);
+    }
+
+    public SilenceSource(String name, AudioFormat format, long durationMs) {
+        this.name = name;
+        this.format = format;
+        this.frameLength = (long) (Math.max(0, durationMs) * format.getFrameRate() / 1000.0);
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public int read(byte[] dst, int off, int len) {
+        long remainingFrames = frameLength - framePosition;
+        if (remainingFrames <= 0) {
+            return -1;
+        }
+        int frameSize = format.getFrameSize();
+        int frames = (int) Math.min(len / frameSize, remainingFrames);
+        int bytes = frames * frameSize;
+        Arrays.fill(dst, off, off + bytes, (byte) 0);
+        framePosition += frames;
+        return bytes;
+    }
+
+    @Override
+    public void seekToFrame(long frame) {
+        framePosition = Math.max(0, Math.min(frame, frameLength));
+    }
+
+    @Override
+    public long getFramePosition() {
+        return framePosition;
+    }
+
+    @Override
+    public long getFrameLength() {
+        return frameLength;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void close() {
+        // 해제할 자원 없음
+    }
+}
@@ -0,0 +1,181 @@
+package ac.cwnu.synctune.player.decoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * WAV(RIFF/RF64) 파일의 헤더를 한 번만 파싱하여 샘플 데이터 위치와 포맷을 보관하는 클래스
+ * 샘플 데이터 자체는 읽지 않으므로 파일 크기와 무관하게 수 KB만 읽습니다.
+ */
+public final class WavHeader {
+    private static final int WAVE_FORMAT_PCM = 0x0001;
+    private static final int WAVE_FORMAT_IEEE_FLOAT = 0x0003;
+    private static final int WAVE_FORMAT_EXTENSIBLE = 0xFFFE;
+
+    // 헤더 탐색 시 읽을 최대 범위 (data 청크 이전의 LIST 등 부가 청크 포함)
+    private static final long MAX_HEADER_SCAN_BYTES = 1L << 20;
+
+    private final AudioFormat format;
+    private final long dataOffset;
+    private final long dataLength;
+
+    private WavHeader(AudioFormat format, long dataOffset, long dataLength) {
+        this.format = format;
+        this.dataOffset = dataOffset;
+        this.dataLength = dataLength;
+    }
+
+    /**
+     * 채널의 처음부터 RIFF 청크를 순회하여 fmt/data 청크 정보를 추출합니다
+     *
+     * @throws UnsupportedAudioFileException RIFF/WAVE 파일이 아니거나 지원하지 않는 인코딩인 경우
+     */
+    public static WavHeader parse(FileChannel channel) throws IOException, UnsupportedAudioFileException {
+        long fileSize = channel.size();
+        ByteBuffer buf = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, buf, 0);
+
+        String riffId = fourCC(buf, 0);
+        boolean rf64 = "RF64".equals(riffId);
+        if (!"RIFF".equals(riffId) && !rf64) {
+            throw new UnsupportedAudioFileException("RIFF 헤더가 아닙니다: " + riffId);
+        }
+        if (!"WAVE".equals(fourCC(buf, 8))) {
+            throw new UnsupportedAudioFileException("WAVE 형식이 아닙니다.");
+        }
+
+        AudioFormat format = null;
+        long ds64DataSize = -1;
+        long position = 12;
+        ByteBuffer chunkHeader = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+
+        while (position + 8 <= fileSize && position < MAX_HEADER_SCAN_BYTES) {
+            chunkHeader.clear();
+            readFully(channel, chunkHeader, position);
+            String chunkId = fourCC(chunkHeader, 0);
+            long chunkSize = Integer.toUnsignedLong(chunkHeader.getInt(4));
+            long body = position + 8;
+
+            switch (chunkId) {
+                case "ds64": {
+                    ByteBuffer ds64 = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+                    readFully(channel, ds64, body);
+                    ds64DataSize = ds64.getLong(8);
+                    break;
+                }
+                case "fmt ": {
+                    ByteBuffer fmt = ByteBuffer.allocate((int) Math.min(chunkSize, 64)).order(ByteOrder.LITTLE_ENDIAN);
+                    readFully(channel, fmt, body);
+                    format = parseFormat(fmt);
+                    break;
+                }
+                case "data": {
+                    if (format == null) {
+                        throw new UnsupportedAudioFileException("fmt 청크보다 data 청크가 먼저 나타났습니다.");
+                    }
+                    long length = chunkSize;
+                    if (rf64 && chunkSize == 0xFFFFFFFFL && ds64DataSize >= 0) {
+                        length = ds64DataSize;
+                    }
+                    // 스트리밍 녹음 도중 종료된 파일 등 크기 필드가 잘못된 경우 실제 파일 크기로 보정
+                    if (length == 0 || body + length > fileSize) {
+                        length = fileSize - body;
+                    }
+                    int frameSize = format.getFrameSize();
+                    length -= length % frameSize;
+                    return new WavHeader(format, body, length);
+                }
+                default:
+                    break;
+            }
+            // 청크는 2바이트 단위로 정렬됨
+            position = body + chunkSize + (chunkSize & 1);
+        }
+
+        throw new UnsupportedAudioFileException("data 청크를 찾을 수 없습니다.");
+    }
+
+    private static AudioFormat parseFormat(ByteBuffer fmt) throws UnsupportedAudioFileException {
+        if (fmt.limit() < 16) {
+            throw new UnsupportedAudioFileException("fmt 청크가 너무 짧습니다.");
+        }
+        int formatTag = Short.toUnsignedInt(fmt.getShort(0));
+        int channels = Short.toUnsignedInt(fmt.getShort(2));
+        int sampleRate = fmt.getInt(4);
+        int blockAlign = Short.toUnsignedInt(fmt.getShort(12));
+        int bitsPerSample = Short.toUnsignedInt(fmt.getShort(14));
+
+        if (formatTag == WAVE_FORMAT_EXTENSIBLE && fmt.limit() >= 26) {
+            // SubFormat GUID의 첫 2바이트가 실제 포맷 태그
+            formatTag = Short.toUnsignedInt(fmt.getShort(24));
+        }
+        if (channels <= 0 || sampleRate <= 0 || blockAlign <= 0) {
+            throw new UnsupportedAudioFileException("잘못된 fmt 청크 값입니다.");
+        }
+
+        AudioFormat.Encoding encoding;
+        if (formatTag == WAVE_FORMAT_PCM) {
+            encoding = bitsPerSample <= 8 ? AudioFormat.Encoding.PCM_UNSIGNED : AudioFormat.Encoding.PCM_SIGNED;
+        } else if (formatTag == WAVE_FORMAT_IEEE_FLOAT) {
+            encoding = AudioFormat.Encoding.PCM_FLOAT;
+        } else {
+            throw new UnsupportedAudioFileException("지원하지 않는 WAV 포맷 태그: 0x" + Integer.toHexString(formatTag));
+        }
+
+        return new AudioFormat(encoding, sampleRate, bitsPerSample, channels, blockAlign, sampleRate, false);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = channel.read(buf, position + buf.position());
+            if (n < 0) {
+                throw new IOException("헤더를 읽는 중 파일 끝에 도달했습니다.");
+            }
+        }
+        buf.flip();
+    }
+
+    private static String fourCC(ByteBuffer buf, int offset) {
+        char[] id = new char[4];
+        for (int i = 0; i < 4; i++) {
+            id[i] = (char) (buf.get(offset + i) & 0xFF);
+        }
+        return new String(id);
+    }
+
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * 파일 내 샘플 데이터의 시작 위치 (바이트)
+     */
+    public long getDataOffset() {
+        return dataOffset;
+    }
+
+    /**
+     * 샘플 데이터의 길이 (바이트, 프레임 크기의 배수)
+     */
+    public long getDataLength() {
+        return dataLength;
+    }
+
+    public long getFrameLength() {
+        return dataLength / format.getFrameSize();
+    }
+
+    public long getDurationMillis() {
+        return (long) (getFrameLength() * 1000.0 / format.getFrameRate());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WavHeader{format=%s, dataOffset=%d, dataLength=%d}", format, dataOffset, dataLength);
+    }
+}
@@ -0,0 +1,185 @@
+package ac.cwnu.synctune.player.dsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.audio.AudioProcessor;
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * 디코더와 출력 사이에서 float32 샘플을 순서대로 처리하는 단계 체인
+ * 단계 목록은 변경 시마다 새 배열로 교체(copy-on-write)되므로 렌더 스레드는 잠금 없이 volatile 배열 하나만 읽습니다.
+ * 단계별 처리 시간을 측정하여 오디오 시간 대비 CPU 점유율을 계산합니다.
+ */
+public class DspChain {
+    private static final Logger log = LogManager.getLogger(DspChain.class);
+
+    /**
+     * 단계별 처리 통계
+     *
+     * @param cpuLoad 처리한 오디오 길이 대비 처리 시간 비율 (0.01 = 1%)
+     */
+    public record StageStats(String name, int order, long calls, double averageMicros, double maxMicros, double cpuLoad) {
+    }
+
+    /**
+     * 체인에 등록된 단계와 측정값. 측정값은 렌더 스레드만 기록합니다.
+     */
+    private static final class Stage {
+        final AudioProcessor processor;
+        volatile long calls;
+        volatile long frames;
+        volatile long totalNanos;
+        volatile long maxNanos;
+
+        Stage(AudioProcessor processor) {
+            this.processor = processor;
+        }
+    }
+
+    private static final Comparator<Stage> BY_ORDER = Comparator.comparingInt(s -> s.processor.getOrder());
+
+    private volatile Stage[] stages = new Stage[0];
+
+    // prepare 인자 (configure 이후 등록되는 단계에도 동일하게 적용)
+    private float sampleRate;
+    private int channels;
+    private int maxFrames;
+    private boolean configured;
+
+    /**
+     * 재생 포맷에 맞춰 모든 단계를 준비합니다. 렌더 스레드가 동작하지 않을 때 호출해야 합니다.
+     */
+    public synchronized void configure(float sampleRate, int channels, int maxFrames) {
+        boolean changed = !configured || this.sampleRate != sampleRate || this.channels != channels
+                || this.maxFrames < maxFrames;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.maxFrames = Math.max(this.maxFrames, maxFrames);
+        this.configured = true;
+
+        for (Stage stage : stages) {
+            if (changed) {
+                stage.processor.prepare(sampleRate, channels, this.maxFrames);
+            }
+            stage.processor.reset();
+        }
+        if (changed) {
+            log.debug("DSP 체인 구성: {}Hz, {}ch, 최대 {}프레임, 단계 {}개", sampleRate, channels, this.maxFrames, stages.length);
+        }
+    }
+
+    /**
+     * 단계를 추가합니다. 같은 이름의 단계가 있으면 교체합니다.
+     */
+    public synchronized void register(AudioProcessor processor) {
+        if (configured) {
+            // 렌더 스레드에 노출되기 전에 준비
+            processor.prepare(sampleRate, channels, maxFrames);
+        }
+        List<Stage> next = new ArrayList<>();
+        for (Stage stage : stages) {
+            if (!stage.processor.getName().equals(processor.getName())) {
+                next.add(stage);
+            }
+        }
+        next.add(new Stage(processor));
+        next.sort(BY_ORDER); // 안정 정렬이므로 같은 순서값은 등록 순서 유지
+        stages = next.toArray(new Stage[0]);
+        log.info("DSP 단계 등록: {} (순서 {}, 총 {}개)", processor.getName(), processor.getOrder(), stages.length);
+    }
+
+    /**
+     * 이름으로 단계를 제거합니다
+     *
+     * @return 제거되었으면 true
+     */
+    public synchronized boolean unregister(String name) {
+        Stage[] current = stages;
+        Stage[] next = Arrays.stream(current)
+                .filter(stage -> !stage.processor.getName().equals(name))
+                .toArray(Stage[]::new);
+        if (next.length == current.length) {
+            return false;
+        }
+        stages = next;
+        log.info("DSP 단계 제거: {} (총 {}개)", name, next.length);
+        return true;
+    }
+
+    /**
+     * 신호 불연속(탐색, 곡 전환) 시 모든 단계의 내부 상태를 초기화합니다 (렌더 스레드에서 호출)
+     */
+    public void reset() {
+        for (Stage stage : stages) {
+            stage.processor.reset();
+        }
+    }
+
+    /**
+     * 렌더 스레드에서 샘플을 모든 단계에 통과시킵니다. 예외를 던진 단계는 체인에서 제외됩니다.
+     */
+    public void process(float[] samples, int frames, int channels) {
+        Stage[] current = stages;
+        for (Stage stage : current) {
+            long start = System.nanoTime();
+            try {
+                stage.processor.process(samples, frames, channels);
+            } catch (RuntimeException e) {
+                log.error("DSP 단계 처리 중 오류, 체인에서 제외합니다: {}", stage.processor.getName(), e);
+                unregister(stage.processor.getName());
+                continue;
+            }
+            long elapsed = System.nanoTime() - start;
+            stage.calls++;
+            stage.frames += frames;
+            stage.totalNanos += elapsed;
+            if (elapsed > stage.maxNanos) {
+                stage.maxNanos = elapsed;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return stages.length == 0;
+    }
+
+    /**
+     * 단계별 CPU 사용 통계
+     */
+    public List<StageStats> getStats() {
+        List<StageStats> stats = new ArrayList<>();
+        float rate = sampleRate;
+        for (Stage stage : stages) {
+            long calls = stage.calls;
+            long totalNanos = stage.totalNanos;
+            double audioNanos = rate > 0 ? stage.frames / (double) rate * 1_000_000_000.0 : 0;
+            stats.add(new StageStats(
+                    stage.processor.getName(),
+                    stage.processor.getOrder(),
+                    calls,
+                    calls > 0 ? totalNanos / 1000.0 / calls : 0,
+                    stage.maxNanos / 1000.0,
+                    audioNanos > 0 ? totalNanos / audioNanos : 0));
+        }
+        return stats;
+    }
+
+    /**
+     * 단계별 통계를 디버그 로그로 출력합니다
+     */
+    public void logStats() {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        for (StageStats s : getStats()) {
+            log.debug("DSP 단계 {}: 호출 {}회, 평균 {}us, 최대 {}us, CPU {}%", s.name(), s.calls(),
+                    String.format("%.1f", s.averageMicros()), String.format("%.1f", s.maxMicros()),
+                    String.format("%.3f", s.cpuLoad() * 100));
+        }
+    }
+}
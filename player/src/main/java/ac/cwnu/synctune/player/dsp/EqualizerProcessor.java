@@ -0,0 +1,255 @@
+package ac.cwnu.synctune.player.dsp;
+
+import java.util.Arrays;
+
+import ac.cwnu.synctune.sdk.audio.AudioProcessor;
+import ac.cwnu.synctune.sdk.audio.EqualizerPreset;
+
+/**
+ * 2차 IIR(biquad) 필터 10개로 구성한 파라메트릭 이퀄라이저 단계
+ * 설정 변경은 UI 스레드에서 새 계수 묶음을 만들어 volatile 참조 하나로 넘기므로 렌더 스레드는 잠금도 할당도 하지 않습니다.
+ * 게인이 0dB인 밴드는 계산하지 않으며, 모든 밴드가 0dB이면 샘플을 건드리지 않습니다.
+ */
+public class EqualizerProcessor implements AudioProcessor {
+    public static final String NAME = "equalizer";
+
+    private static final int BANDS = EqualizerPreset.BAND_COUNT;
+    // 1옥타브 간격 밴드에 맞춘 피킹 필터 Q
+    private static final double PEAK_Q = 1.41;
+    // 나이퀴스트에 너무 가까운 밴드는 설계가 불안정하므로 제외
+    private static final double MAX_RELATIVE_FREQUENCY = 0.45;
+    // 무음이 이어질 때 필터 상태가 비정규 실수로 내려가 느려지지 않도록 0으로 내리는 경계
+    private static final double DENORMAL_THRESHOLD = 1e-15;
+
+    /**
+     * 한 번에 교체되는 불변 계수 묶음. 활성 밴드만 담습니다.
+     */
+    private static final class Coefficients {
+        final int[] bands;
+        final double[] b0, b1, b2, a1, a2;
+
+        Coefficients(int[] bands, double[] b0, double[] b1, double[] b2, double[] a1, double[] a2) {
+            this.bands = bands;
+            this.b0 = b0;
+            this.b1 = b1;
+            this.b2 = b2;
+            this.a1 = a1;
+            this.a2 = a2;
+        }
+
+        boolean contains(int band) {
+            for (int b : bands) {
+                if (b == band) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private volatile float[] gainsDb = new float[BANDS];
+    private volatile float sampleRate;
+    private volatile Coefficients coefficients;
+
+    // 렌더 스레드 전용: 채널 × 밴드별 필터 상태 (z1, z2)
+    private double[] state = new double[0];
+    private int channels;
+    private Coefficients applied;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER_EQUALIZER;
+    }
+
+    /**
+     * 밴드별 게인(dB)을 설정합니다 (어느 스레드에서나 호출 가능, ±{@link EqualizerPreset#MAX_GAIN_DB}로 제한)
+     */
+    public void setGainsDb(float[] newGainsDb) {
+        float[] gains = new float[BANDS];
+        for (int b = 0; b < BANDS && b < newGainsDb.length; b++) {
+            gains[b] = Math.max(-EqualizerPreset.MAX_GAIN_DB, Math.min(EqualizerPreset.MAX_GAIN_DB, newGainsDb[b]));
+        }
+        this.gainsDb = gains;
+        publish();
+    }
+
+    public void setPreset(EqualizerPreset preset) {
+        setGainsDb(preset.getGainsDb());
+    }
+
+    public float[] getGainsDb() {
+        return gainsDb.clone();
+    }
+
+    /**
+     * 현재 설정이 샘플을 바꾸는지 (0dB가 아닌 밴드가 있는지)
+     */
+    public boolean isActive() {
+        Coefficients c = coefficients;
+        return c != null && c.bands.length > 0;
+    }
+
+    @Override
+    public void prepare(float sampleRate, int channels, int maxFrames) {
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.state = new double[channels * BANDS * 2];
+        this.applied = null;
+        publish();
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(state, 0);
+    }
+
+    @Override
+    public void process(float[] samples, int frames, int channels) {
+        Coefficients c = coefficients;
+        if (c == null || c.bands.length == 0 || channels != this.channels) {
+            applied = c;
+            return;
+        }
+        if (c != applied) {
+            // 새로 켜진 밴드는 예전 상태가 남아 있지 않도록 초기화
+            for (int band : c.bands) {
+                if (applied == null || !applied.contains(band)) {
+                    for (int ch = 0; ch < channels; ch++) {
+                        int s = (ch * BANDS + band) * 2;
+                        state[s] = 0;
+                        state[s + 1] = 0;
+                    }
+                }
+            }
+            applied = c;
+        }
+
+        int n = frames * channels;
+        for (int k = 0; k < c.bands.length; k++) {
+            double b0 = c.b0[k], b1 = c.b1[k], b2 = c.b2[k], a1 = c.a1[k], a2 = c.a2[k];
+            int band = c.bands[k];
+            if (channels == 2) {
+                processStereo(samples, n, band, b0, b1, b2, a1, a2);
+                continue;
+            }
+            for (int ch = 0; ch < channels; ch++) {
+                int s = (ch * BANDS + band) * 2;
+                double z1 = state[s];
+                double z2 = state[s + 1];
+                // Direct Form II Transposed
+                for (int i = ch; i < n; i += channels) {
+                    double x = samples[i];
+                    double y = b0 * x + z1;
+                    z1 = b1 * x - a1 * y + z2;
+                    z2 = b2 * x - a2 * y;
+                    samples[i] = (float) y;
+                }
+                state[s] = Math.abs(z1) < DENORMAL_THRESHOLD ? 0 : z1;
+                state[s + 1] = Math.abs(z2) < DENORMAL_THRESHOLD ? 0 : z2;
+            }
+        }
+    }
+
+    /**
+     * 스테레오 전용 경로: 두 채널의 필터를 한 루프에서 돌려 서로 독립인 계산이 겹쳐 실행되도록 합니다
+     */
+    private void processStereo(float[] samples, int n, int band,
+                               double b0, double b1, double b2, double a1, double a2) {
+        int sl = band * 2;
+        int sr = (BANDS + band) * 2;
+        double l1 = state[sl], l2 = state[sl + 1];
+        double r1 = state[sr], r2 = state[sr + 1];
+        for (int i = 0; i < n; i += 2) {
+            double xl = samples[i];
+            double xr = samples[i + 1];
+            double yl = b0 * xl + l1;
+            double yr = b0 * xr + r1;
+            l1 = b1 * xl - a1 * yl + l2;
+            r1 = b1 * xr - a1 * yr + r2;
+            l2 = b2 * xl - a2 * yl;
+            r2 = b2 * xr - a2 * yr;
+            samples[i] = (float) yl;
+            samples[i + 1] = (float) yr;
+        }
+        state[sl] = Math.abs(l1) < DENORMAL_THRESHOLD ? 0 : l1;
+        state[sl + 1] = Math.abs(l2) < DENORMAL_THRESHOLD ? 0 : l2;
+        state[sr] = Math.abs(r1) < DENORMAL_THRESHOLD ? 0 : r1;
+        state[sr + 1] = Math.abs(r2) < DENORMAL_THRESHOLD ? 0 : r2;
+    }
+
+    // ========== 계수 설계 ==========
+
+    /**
+     * 현재 게인과 샘플레이트로 계수를 만들어 렌더 스레드에 넘깁니다
+     * 설계 중에 샘플레이트가 바뀌면 새 값으로 다시 설계합니다.
+     */
+    private void publish() {
+        float rate;
+        do {
+            rate = sampleRate;
+            coefficients = rate > 0 ? design(gainsDb, rate) : null;
+        } while (rate != sampleRate);
+    }
+
+    private static Coefficients design(float[] gains, float sampleRate) {
+        int active = 0;
+        int[] bands = new int[BANDS];
+        for (int b = 0; b < BANDS; b++) {
+            if (gains[b] != 0.0f && EqualizerPreset.getBandFrequency(b) < sampleRate * MAX_RELATIVE_FREQUENCY) {
+                bands[active++] = b;
+            }
+        }
+        bands = Arrays.copyOf(bands, active);
+        double[] b0 = new double[active], b1 = new double[active], b2 = new double[active];
+        double[] a1 = new double[active], a2 = new double[active];
+
+        for (int k = 0; k < active; k++) {
+            int band = bands[k];
+            double a = Math.pow(10.0, gains[band] / 40.0);
+            double w0 = 2 * Math.PI * EqualizerPreset.getBandFrequency(band) / sampleRate;
+            double cos = Math.cos(w0);
+            double sin = Math.sin(w0);
+            double nb0, nb1, nb2, na0, na1, na2;
+            if (band == 0 || band == BANDS - 1) {
+                // RBJ 셸빙 필터 (기울기 S = 1)
+                double alpha = sin / 2 * Math.sqrt(2);
+                double sqrtA2alpha = 2 * Math.sqrt(a) * alpha;
+                if (band == 0) {
+                    nb0 = a * ((a + 1) - (a - 1) * cos + sqrtA2alpha);
+                    nb1 = 2 * a * ((a - 1) - (a + 1) * cos);
+                    nb2 = a * ((a + 1) - (a - 1) * cos - sqrtA2alpha);
+                    na0 = (a + 1) + (a - 1) * cos + sqrtA2alpha;
+                    na1 = -2 * ((a - 1) + (a + 1) * cos);
+                    na2 = (a + 1) + (a - 1) * cos - sqrtA2alpha;
+                } else {
+                    nb0 = a * ((a + 1) + (a - 1) * cos + sqrtA2alpha);
+                    nb1 = -2 * a * ((a - 1) + (a + 1) * cos);
+                    nb2 = a * ((a + 1) + (a - 1) * cos - sqrtA2alpha);
+                    na0 = (a + 1) - (a - 1) * cos + sqrtA2alpha;
+                    na1 = 2 * ((a - 1) - (a + 1) * cos);
+                    na2 = (a + 1) - (a - 1) * cos - sqrtA2alpha;
+                }
+            } else {
+                // RBJ 피킹 필터
+                double alpha = sin / (2 * PEAK_Q);
+                nb0 = 1 + alpha * a;
+                nb1 = -2 * cos;
+                nb2 = 1 - alpha * a;
+                na0 = 1 + alpha / a;
+                na1 = -2 * cos;
+                na2 = 1 - alpha / a;
+            }
+            b0[k] = nb0 / na0;
+            b1[k] = nb1 / na0;
+            b2[k] = nb2 / na0;
+            a1[k] = na1 / na0;
+            a2[k] = na2 / na0;
+        }
+        return new Coefficients(bands, b0, b1, b2, a1, a2);
+    }
+}
@@ -0,0 +1,82 @@
+package ac.cwnu.synctune.player.dsp;
+
+import ac.cwnu.synctune.sdk.audio.AudioProcessor;
+
+/**
+ * 볼륨/음소거를 샘플에 직접 적용하는 게인 단계
+ * 게인이 바뀌면 짧은 구간에 걸쳐 선형으로 이동하여 지퍼 노이즈(계단형 잡음)를 막습니다.
+ */
+public class GainProcessor implements AudioProcessor {
+    public static final String NAME = "gain";
+
+    // 게인 변경 시 목표값까지 이동하는 시간
+    private static final float RAMP_MILLIS = 10.0f;
+
+    private final SampleKernels kernels = SampleKernels.get();
+
+    private volatile float targetGain = 1.0f;
+    private float currentGain = 1.0f;
+    private int rampFrames = 441;
+
+    // 진행 중인 램프 (렌더 스레드 전용)
+    private float rampTarget = 1.0f;
+    private float rampStep;
+    private int rampRemaining;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER_GAIN;
+    }
+
+    /**
+     * 목표 선형 게인을 설정합니다 (어느 스레드에서나 호출 가능)
+     */
+    public void setGain(float linearGain) {
+        this.targetGain = Math.max(0.0f, linearGain);
+    }
+
+    public float getGain() {
+        return targetGain;
+    }
+
+    @Override
+    public void prepare(float sampleRate, int channels, int maxFrames) {
+        rampFrames = Math.max(1, (int) (sampleRate * RAMP_MILLIS / 1000.0f));
+    }
+
+    @Override
+    public void reset() {
+        currentGain = targetGain;
+        rampTarget = currentGain;
+        rampRemaining = 0;
+    }
+
+    @Override
+    public void process(float[] samples, int frames, int channels) {
+        float target = targetGain;
+        if (target != rampTarget) {
+            // 새 목표값: 현재 게인에서 rampFrames에 걸쳐 이동
+            rampTarget = target;
+            rampStep = (target - currentGain) / rampFrames;
+            rampRemaining = rampFrames;
+        }
+
+        int done = 0;
+        if (rampRemaining > 0) {
+            done = Math.min(frames, rampRemaining);
+            kernels.ramp(samples, 0, done, channels, currentGain, rampStep);
+            rampRemaining -= done;
+            currentGain = rampRemaining == 0 ? rampTarget : currentGain + rampStep * done;
+        }
+
+        if (done < frames && currentGain != 1.0f) {
+            // 단위 게인은 샘플을 건드리지 않음 (비트 단위 투명)
+            kernels.scale(samples, done * channels, (frames - done) * channels, currentGain);
+        }
+    }
+}
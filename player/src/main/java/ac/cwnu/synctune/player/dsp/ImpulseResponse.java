@@ -0,0 +1,201 @@
+package ac.cwnu.synctune.player.dsp;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.player.decoder.PcmSource;
+import ac.cwnu.synctune.player.decoder.PcmSources;
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * 합성곱 단계에 쓰는 임펄스 응답 (채널별 float 샘플)
+ * 모노 응답은 모든 채널에, 스테레오 응답은 채널별로 적용합니다. 3채널 이상이면 앞의 두 채널만 사용합니다.
+ * 불러올 때 가장 큰 채널의 에너지가 1이 되도록 맞추므로, 잔향 응답을 걸어도 전체 음량이 크게 변하지 않고
+ * 단위 임펄스에 가까운 룸 보정 응답은 거의 그대로 유지됩니다.
+ */
+public final class ImpulseResponse {
+    private static final Logger log = LogManager.getLogger(ImpulseResponse.class);
+
+    // 이보다 긴 응답은 잘라냄 (메모리와 CPU 보호)
+    public static final double MAX_SECONDS = 12.0;
+    private static final int READ_FRAMES = 4096;
+
+    private final String name;
+    private final float sampleRate;
+    private final float[][] channels;
+
+    public ImpulseResponse(String name, float sampleRate, float[][] channels) {
+        if (channels.length == 0 || channels[0].length == 0) {
+            throw new IllegalArgumentException("빈 임펄스 응답입니다: " + name);
+        }
+        this.name = name;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+    }
+
+    /**
+     * 오디오 파일(보통 WAV)에서 임펄스 응답을 읽습니다
+     */
+    public static ImpulseResponse load(File file) throws IOException, UnsupportedAudioFileException {
+        try (PcmSource source = PcmSources.open(file)) {
+            PcmConverter converter = PcmConverter.forFormat(source.getFormat());
+            if (converter == null) {
+                throw new UnsupportedAudioFileException("임펄스 응답으로 쓸 수 없는 포맷입니다: " + source.getFormat());
+            }
+            float rate = source.getFormat().getFrameRate();
+            int channelCount = Math.min(2, converter.getChannels());
+            int maxFrames = (int) (rate * MAX_SECONDS);
+            int frameSize = source.getFormat().getFrameSize();
+
+            byte[] bytes = new byte[READ_FRAMES * frameSize];
+            float[] interleaved = new float[READ_FRAMES * converter.getChannels()];
+            float[][] data = new float[channelCount][rate > 0 ? (int) Math.min(maxFrames, rate * 2) : READ_FRAMES];
+            int frames = 0;
+            int n;
+            while (frames < maxFrames && (n = source.read(bytes, 0, bytes.length)) > 0) {
+                int read = Math.min(converter.toFloat(bytes, n, interleaved), maxFrames - frames);
+                if (frames + read > data[0].length) {
+                    int grown = Math.min(maxFrames, Math.max(frames + read, data[0].length * 2));
+                    for (int c = 0; c < channelCount; c++) {
+                        data[c] = Arrays.copyOf(data[c], grown);
+                    }
+                }
+                for (int f = 0; f < read; f++) {
+                    for (int c = 0; c < channelCount; c++) {
+                        data[c][frames + f] = interleaved[f * converter.getChannels() + c];
+                    }
+                }
+                frames += read;
+            }
+            if (frames >= maxFrames) {
+                log.warn("임펄스 응답이 {}초보다 길어 잘라냅니다: {}", MAX_SECONDS, file.getName());
+            }
+            for (int c = 0; c < channelCount; c++) {
+                data[c] = Arrays.copyOf(data[c], frames);
+            }
+            return new ImpulseResponse(file.getName(), rate, normalize(trimSilence(data)));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public float getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getChannelCount() {
+        return channels.length;
+    }
+
+    public int getLength() {
+        return channels[0].length;
+    }
+
+    /**
+     * 채널 샘플 (복사하지 않으므로 바꾸지 말 것)
+     */
+    public float[] getChannel(int channel) {
+        return channels[Math.min(channel, channels.length - 1)];
+    }
+
+    /**
+     * 재생 샘플레이트에 맞춘 응답. 이미 같으면 자신을 반환합니다.
+     */
+    public ImpulseResponse resampledTo(float targetRate) {
+        if (Math.round(targetRate) == Math.round(sampleRate)) {
+            return this;
+        }
+        int count = channels.length;
+        Resampler resampler = new Resampler(Math.round(sampleRate), Math.round(targetRate), count,
+                Resampler.Quality.STANDARD, READ_FRAMES);
+        float[] in = new float[READ_FRAMES * count];
+        float[] out = new float[resampler.maxOutputFrames(Math.max(READ_FRAMES, resampler.getTaps())) * count];
+        int length = getLength();
+        float[][] result = new float[count][(int) resampler.toOutputFrames(length) + resampler.getTaps() + 2];
+        int produced = 0;
+        for (int start = 0; start < length; start += READ_FRAMES) {
+            int n = Math.min(READ_FRAMES, length - start);
+            for (int f = 0; f < n; f++) {
+                for (int c = 0; c < count; c++) {
+                    in[f * count + c] = channels[c][start + f];
+                }
+            }
+            produced = append(result, out, resampler.process(in, n, out), produced);
+        }
+        produced = append(result, out, resampler.drain(out), produced);
+        // 샘플 간격이 바뀌면 같은 주파수 응답을 위해 탭 값도 레이트 비율만큼 조정
+        float scale = sampleRate / targetRate;
+        for (int c = 0; c < count; c++) {
+            result[c] = Arrays.copyOf(result[c], produced);
+            for (int i = 0; i < produced; i++) {
+                result[c][i] *= scale;
+            }
+        }
+        return new ImpulseResponse(name, targetRate, trimSilence(result));
+    }
+
+    private static int append(float[][] result, float[] interleaved, int frames, int offset) {
+        int count = result.length;
+        int n = Math.min(frames, result[0].length - offset);
+        for (int f = 0; f < n; f++) {
+            for (int c = 0; c < count; c++) {
+                result[c][offset + f] = interleaved[f * count + c];
+            }
+        }
+        return offset + n;
+    }
+
+    /**
+     * 끝쪽의 거의 무음 구간(-90dB 미만)을 잘라 합성곱 분할 수를 줄입니다
+     */
+    private static float[][] trimSilence(float[][] data) {
+        float peak = 0f;
+        for (float[] channel : data) {
+            for (float v : channel) {
+                peak = Math.max(peak, Math.abs(v));
+            }
+        }
+        float threshold = peak * 3.2e-5f;
+        int end = 1;
+        for (float[] channel : data) {
+            for (int i = channel.length - 1; i >= end; i--) {
+                if (Math.abs(channel[i]) > threshold) {
+                    end = i + 1;
+                    break;
+                }
+            }
+        }
+        float[][] trimmed = new float[data.length][];
+        for (int c = 0; c < data.length; c++) {
+            trimmed[c] = Arrays.copyOf(data[c], end);
+        }
+        return trimmed;
+    }
+
+    private static float[][] normalize(float[][] data) {
+        double maxEnergy = 0;
+        for (float[] channel : data) {
+            double energy = 0;
+            for (float v : channel) {
+                energy += (double) v * v;
+            }
+            maxEnergy = Math.max(maxEnergy, energy);
+        }
+        if (maxEnergy > 0) {
+            float scale = (float) (1.0 / Math.sqrt(maxEnergy));
+            for (float[] channel : data) {
+                for (int i = 0; i < channel.length; i++) {
+                    channel[i] *= scale;
+                }
+            }
+        }
+        return data;
+    }
+}
@@ -0,0 +1,177 @@
+package ac.cwnu.synctune.player.dsp;
+
+import ac.cwnu.synctune.sdk.audio.AudioProcessor;
+
+/**
+ * 노래방 단계: 가운데 정위 보컬 줄이기와 ±{@value #MAX_KEY_SHIFT}반음 키 변경
+ * 보컬 줄이기는 스테레오의 가운데(mid) 성분에서 보컬 대역(약 150Hz ~ 7kHz)만 골라 양 채널에서 빼므로,
+ * 가운데에 놓인 베이스와 킥, 심벌즈 고역은 남기고 좌우로 퍼진 반주는 그대로 둡니다. 켜고 끌 때 20ms에 걸쳐 섞습니다.
+ * 키 변경은 {@link PitchShifter}가 맡으며, 그 고정 지연은 {@link #getLatencyMillis()}로 알려 재생 클럭이 보정합니다.
+ * 설정은 어느 스레드에서나 volatile 값으로 바꾸고, 렌더 스레드는 잠금도 할당도 하지 않습니다.
+ */
+public class KaraokeProcessor implements AudioProcessor {
+    public static final String NAME = "karaoke";
+    public static final int MAX_KEY_SHIFT = 6;
+
+    private static final double VOCAL_LOW_HZ = 150.0;
+    private static final double VOCAL_HIGH_HZ = 7000.0;
+    private static final float FADE_MILLIS = 20.0f;
+    private static final double DENORMAL_THRESHOLD = 1e-15;
+
+    private volatile boolean vocalReduction;
+    private volatile int keyShift;
+    private volatile float sampleRate;
+
+    // 렌더 스레드 전용 상태
+    private PitchShifter shifter;
+    private int appliedKeyShift;
+    private float vocalAmount;
+    private float fadeStep;
+    // 고역 통과 → 저역 통과 biquad 계수와 상태 (z1, z2)
+    private double hb0, hb1, hb2, ha1, ha2;
+    private double lb0, lb1, lb2, la1, la2;
+    private double h1, h2, l1, l2;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getOrder() {
+        // 이퀄라이저로 음색을 바꾸기 전의 원래 스테레오 정위로 보컬을 찾음
+        return ORDER_EQUALIZER - 10;
+    }
+
+    public void setVocalReduction(boolean enabled) {
+        this.vocalReduction = enabled;
+    }
+
+    public boolean isVocalReduction() {
+        return vocalReduction;
+    }
+
+    /**
+     * 키 변경 (반음 단위, ±{@value #MAX_KEY_SHIFT}로 제한)
+     */
+    public void setKeyShift(int semitones) {
+        this.keyShift = Math.max(-MAX_KEY_SHIFT, Math.min(MAX_KEY_SHIFT, semitones));
+    }
+
+    public int getKeyShift() {
+        return keyShift;
+    }
+
+    /**
+     * 키 변경으로 생기는 출력 지연 (키 변경이 없으면 0)
+     */
+    public long getLatencyMillis() {
+        // prepare가 sampleRate를 마지막에 기록하므로 먼저 읽어야 shifter가 보임
+        float rate = sampleRate;
+        PitchShifter s = shifter;
+        int key = keyShift;
+        if (s == null || key == 0 || rate <= 0) {
+            return 0;
+        }
+        // 렌더 스레드가 아직 새 키를 적용하지 않았을 수 있으므로 요청된 키의 비율로 계산
+        return Math.round(s.getLatencyFrames(Math.pow(2.0, key / 12.0)) * 1000.0 / rate);
+    }
+
+    @Override
+    public void prepare(float sampleRate, int channels, int maxFrames) {
+        this.shifter = new PitchShifter(sampleRate, channels, maxFrames);
+        this.appliedKeyShift = 0;
+        this.fadeStep = 1.0f / Math.max(1, sampleRate * FADE_MILLIS / 1000.0f);
+        designFilters(sampleRate);
+        this.sampleRate = sampleRate;
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        h1 = h2 = l1 = l2 = 0;
+        vocalAmount = vocalReduction ? 1.0f : 0.0f;
+        if (shifter != null) {
+            shifter.reset();
+        }
+    }
+
+    @Override
+    public void process(float[] samples, int frames, int channels) {
+        if (channels == 2 && (vocalReduction || vocalAmount > 0)) {
+            reduceVocals(samples, frames);
+        }
+
+        int key = keyShift;
+        if (key != appliedKeyShift) {
+            if (appliedKeyShift == 0) {
+                // 새로 켜짐: 이전 곡/이전 사용의 대기열을 비우고 시작
+                shifter.reset();
+            }
+            appliedKeyShift = key;
+            shifter.setSemitones(key);
+        }
+        if (key != 0) {
+            shifter.process(samples, frames);
+        }
+    }
+
+    /**
+     * 가운데 성분의 보컬 대역을 양 채널에서 뺍니다 (목표 강도까지 선형으로 섞음)
+     */
+    private void reduceVocals(float[] samples, int frames) {
+        float target = vocalReduction ? 1.0f : 0.0f;
+        float amount = vocalAmount;
+        double hz1 = h1, hz2 = h2, lz1 = l1, lz2 = l2;
+        for (int i = 0, n = frames * 2; i < n; i += 2) {
+            double mid = 0.5 * (samples[i] + samples[i + 1]);
+            // Direct Form II Transposed, 고역 통과 후 저역 통과
+            double hp = hb0 * mid + hz1;
+            hz1 = hb1 * mid - ha1 * hp + hz2;
+            hz2 = hb2 * mid - ha2 * hp;
+            double band = lb0 * hp + lz1;
+            lz1 = lb1 * hp - la1 * band + lz2;
+            lz2 = lb2 * hp - la2 * band;
+
+            if (amount != target) {
+                amount = amount < target ? Math.min(target, amount + fadeStep) : Math.max(target, amount - fadeStep);
+            }
+            float vocal = (float) (band * amount);
+            samples[i] -= vocal;
+            samples[i + 1] -= vocal;
+        }
+        vocalAmount = amount;
+        h1 = Math.abs(hz1) < DENORMAL_THRESHOLD ? 0 : hz1;
+        h2 = Math.abs(hz2) < DENORMAL_THRESHOLD ? 0 : hz2;
+        l1 = Math.abs(lz1) < DENORMAL_THRESHOLD ? 0 : lz1;
+        l2 = Math.abs(lz2) < DENORMAL_THRESHOLD ? 0 : lz2;
+    }
+
+    // ========== 계수 설계 ==========
+
+    /**
+     * RBJ 2차 버터워스 고역/저역 통과 필터 (Q = 1/√2)
+     */
+    private void designFilters(float rate) {
+        double q = Math.sqrt(0.5);
+        double w0 = 2 * Math.PI * VOCAL_LOW_HZ / rate;
+        double alpha = Math.sin(w0) / (2 * q);
+        double cos = Math.cos(w0);
+        double a0 = 1 + alpha;
+        hb0 = (1 + cos) / 2 / a0;
+        hb1 = -(1 + cos) / a0;
+        hb2 = hb0;
+        ha1 = -2 * cos / a0;
+        ha2 = (1 - alpha) / a0;
+
+        w0 = 2 * Math.PI * Math.min(VOCAL_HIGH_HZ, rate * 0.45) / rate;
+        alpha = Math.sin(w0) / (2 * q);
+        cos = Math.cos(w0);
+        a0 = 1 + alpha;
+        lb0 = (1 - cos) / 2 / a0;
+        lb1 = (1 - cos) / a0;
+        lb2 = lb0;
+        la1 = -2 * cos / a0;
+        la2 = (1 - alpha) / a0;
+    }
+}
@@ -0,0 +1,50 @@
+package ac.cwnu.synctune.player.dsp;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * 시작 시 한 번 {@link SampleKernels} 구현을 고릅니다
+ * jdk.incubator.vector 모듈은 {@code --add-modules jdk.incubator.vector}로 실행했을 때만 로드되므로
+ * 모듈이 없거나 클래스 연결에 실패하면 스칼라 구현을 사용합니다.
+ */
+final class KernelSelector {
+    private static final Logger log = LogManager.getLogger(KernelSelector.class);
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String PROPERTY = "synctune.dsp.vector";
+
+    static final SampleKernels VECTOR = loadVector();
+    static final SampleKernels SELECTED = select();
+
+    private KernelSelector() {
+    }
+
+    private static SampleKernels loadVector() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            if (!VectorKernels.isUseful()) {
+                log.info("SIMD 폭이 좁아 Vector API 커널을 사용하지 않습니다: {}", VectorKernels.describe());
+                return null;
+            }
+            return new VectorKernels();
+        } catch (LinkageError e) {
+            log.warn("Vector API 커널을 불러오지 못했습니다: {}", e.toString());
+            return null;
+        }
+    }
+
+    private static SampleKernels select() {
+        boolean enabled = !"false".equalsIgnoreCase(System.getProperty(PROPERTY));
+        SampleKernels selected = enabled && VECTOR != null ? VECTOR : ScalarKernels.INSTANCE;
+        if (enabled && VECTOR == null) {
+            log.info("{} 모듈이 없어 스칼라 DSP 커널을 사용합니다", VECTOR_MODULE);
+        } else {
+            log.info("DSP 커널: {}", selected.getName());
+        }
+        return selected;
+    }
+}
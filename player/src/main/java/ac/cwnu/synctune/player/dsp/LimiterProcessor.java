@@ -0,0 +1,76 @@
+package ac.cwnu.synctune.player.dsp;
+
+import ac.cwnu.synctune.sdk.audio.AudioProcessor;
+
+/**
+ * 체인 끝에서 클리핑을 막는 피크 리미터
+ * 프레임 단위로 채널을 연동해 즉시 게인을 낮추고 지수 곡선으로 복귀합니다.
+ * 신호가 임계값 아래에 머무는 동안에는 샘플을 전혀 바꾸지 않습니다.
+ */
+public class LimiterProcessor implements AudioProcessor {
+    public static final String NAME = "limiter";
+
+    private static final float RELEASE_MILLIS = 100.0f;
+
+    private final float threshold;
+    private float releaseCoeff;
+    private float envelopeGain = 1.0f;
+
+    /**
+     * @param ceilingDb 출력 상한 (dBFS, 예: -0.3)
+     */
+    public LimiterProcessor(float ceilingDb) {
+        this.threshold = (float) Math.pow(10.0, ceilingDb / 20.0);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER_LIMITER;
+    }
+
+    @Override
+    public void prepare(float sampleRate, int channels, int maxFrames) {
+        releaseCoeff = (float) Math.exp(-1.0 / (sampleRate * RELEASE_MILLIS / 1000.0));
+    }
+
+    @Override
+    public void reset() {
+        envelopeGain = 1.0f;
+    }
+
+    @Override
+    public void process(float[] samples, int frames, int channels) {
+        float gain = envelopeGain;
+        for (int f = 0, base = 0; f < frames; f++, base += channels) {
+            float peak = 0.0f;
+            for (int c = 0; c < channels; c++) {
+                float v = Math.abs(samples[base + c]);
+                if (v > peak) {
+                    peak = v;
+                }
+            }
+
+            float required = peak * gain > threshold ? threshold / peak : gain;
+            if (required < gain) {
+                gain = required; // 즉시 감쇠
+            } else if (gain < 1.0f) {
+                gain = 1.0f - (1.0f - gain) * releaseCoeff; // 천천히 복귀
+                if (peak * gain > threshold) {
+                    gain = threshold / peak;
+                }
+            }
+
+            if (gain < 1.0f) {
+                for (int c = 0; c < channels; c++) {
+                    samples[base + c] *= gain;
+                }
+            }
+        }
+        envelopeGain = gain;
+    }
+}
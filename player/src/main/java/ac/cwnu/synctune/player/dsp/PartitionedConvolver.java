@@ -0,0 +1,373 @@
+package ac.cwnu.synctune.player.dsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 균일 분할 FFT 합성곱 (uniformly partitioned overlap-save)
+ * 임펄스 응답을 블록 크기 B로 나눠 각 조각의 2B 크기 스펙트럼을 미리 만들어 두고({@link Kernel}),
+ * 입력 블록마다 FFT 한 번과 역 FFT 한 번, 그리고 지난 입력 스펙트럼(주파수 영역 지연선)과 조각 스펙트럼의 곱셈 누적으로
+ * 응답 길이와 무관하게 지연 B 프레임으로 합성곱합니다.
+ * 실수 신호 두 채널을 복소수 하나의 실부/허부로 묶어 한 번에 변환하고 켤레 대칭으로 다시 나누므로,
+ * 스테레오도 블록당 FFT/역 FFT가 한 번씩이며 곱셈 누적은 대칭인 절반(B+1개 빈)만 계산합니다.
+ * <p>
+ * 실시간 경로는 한 스레드(렌더 스레드)에서만 사용하며 생성 이후 할당하지 않습니다.
+ * 오프라인 렌더링은 {@link #render}가 입력을 구간으로 나눠 코어마다 따로 합성곱한 뒤 겹치는 꼬리를 더합니다.
+ */
+public final class PartitionedConvolver {
+
+    /**
+     * 블록 크기에 맞춰 분할한 임펄스 응답 스펙트럼 (불변, 여러 합성곱기가 공유)
+     */
+    public static final class Kernel {
+        final int blockSize;
+        final int bins;
+        final int partitions;
+        final int length;
+        // [응답 채널][조각 × bins + 빈]
+        final float[][] re;
+        final float[][] im;
+
+        private Kernel(int blockSize, int partitions, int length, float[][] re, float[][] im) {
+            this.blockSize = blockSize;
+            this.bins = blockSize + 1;
+            this.partitions = partitions;
+            this.length = length;
+            this.re = re;
+            this.im = im;
+        }
+
+        /**
+         * @param blockSize 2의 거듭제곱 (지연과 같음)
+         */
+        public static Kernel create(ImpulseResponse response, int blockSize) {
+            Fft fft = new Fft(blockSize * 2);
+            int length = response.getLength();
+            int partitions = (length + blockSize - 1) / blockSize;
+            int bins = blockSize + 1;
+            int channels = response.getChannelCount();
+            float[][] re = new float[channels][partitions * bins];
+            float[][] im = new float[channels][partitions * bins];
+            float[] tr = new float[blockSize * 2];
+            float[] ti = new float[blockSize * 2];
+            for (int c = 0; c < channels; c++) {
+                float[] h = response.getChannel(c);
+                for (int p = 0; p < partitions; p++) {
+                    Arrays.fill(tr, 0f);
+                    Arrays.fill(ti, 0f);
+                    int start = p * blockSize;
+                    System.arraycopy(h, start, tr, 0, Math.min(blockSize, length - start));
+                    fft.forward(tr, ti);
+                    System.arraycopy(tr, 0, re[c], p * bins, bins);
+                    System.arraycopy(ti, 0, im[c], p * bins, bins);
+                }
+            }
+            return new Kernel(blockSize, partitions, length, re, im);
+        }
+
+        public int getBlockSize() {
+            return blockSize;
+        }
+
+        /**
+         * 임펄스 응답 길이 (프레임)
+         */
+        public int getLength() {
+            return length;
+        }
+
+        public int getPartitions() {
+            return partitions;
+        }
+    }
+
+    private final Kernel kernel;
+    private final int channels;
+    private final int blockSize;
+    private final int fftSize;
+    private final Fft fft;
+
+    // 채널별 직전/현재 입력 블록과 출력 블록 (시간 영역)
+    private float[][] previous;
+    private float[][] current;
+    private final float[][] output;
+    private int position;
+
+    // 채널별 주파수 영역 지연선 [채널][칸 × bins + 빈], head는 가장 최근 칸
+    private final float[][] delayRe;
+    private final float[][] delayIm;
+    private int head;
+
+    // 변환/누적 작업 버퍼
+    private final float[] workRe;
+    private final float[] workIm;
+    private final float[][] sumRe;
+    private final float[][] sumIm;
+
+    public PartitionedConvolver(Kernel kernel, int channels) {
+        this.kernel = kernel;
+        this.channels = channels;
+        this.blockSize = kernel.blockSize;
+        this.fftSize = blockSize * 2;
+        this.fft = new Fft(fftSize);
+        this.previous = new float[channels][blockSize];
+        this.current = new float[channels][blockSize];
+        this.output = new float[channels][blockSize];
+        this.delayRe = new float[channels][kernel.partitions * kernel.bins];
+        this.delayIm = new float[channels][kernel.partitions * kernel.bins];
+        this.workRe = new float[fftSize];
+        this.workIm = new float[fftSize];
+        this.sumRe = new float[2][kernel.bins];
+        this.sumIm = new float[2][kernel.bins];
+    }
+
+    public Kernel getKernel() {
+        return kernel;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    /**
+     * 입력이 출력에 나타나기까지의 지연 (프레임) = 블록 크기
+     */
+    public int getLatencyFrames() {
+        return blockSize;
+    }
+
+    /**
+     * 지연선과 입력 이력을 비웁니다 (탐색, 곡 전환)
+     */
+    public void reset() {
+        for (int c = 0; c < channels; c++) {
+            Arrays.fill(previous[c], 0f);
+            Arrays.fill(current[c], 0f);
+            Arrays.fill(output[c], 0f);
+            Arrays.fill(delayRe[c], 0f);
+            Arrays.fill(delayIm[c], 0f);
+        }
+        position = 0;
+        head = 0;
+    }
+
+    /**
+     * 인터리브된 샘플을 제자리에서 합성곱합니다 (블록 크기만큼 늦게 나옴)
+     *
+     * @param mix 합성곱 결과의 비율 (0 = 원음만, 1 = 결과만). 원음도 같은 만큼 지연되어 섞입니다.
+     */
+    public void process(float[] samples, int frames, float mix) {
+        float dry = 1f - mix;
+        for (int f = 0; f < frames; f++) {
+            int base = f * channels;
+            for (int c = 0; c < channels; c++) {
+                float in = samples[base + c];
+                samples[base + c] = mix * output[c][position] + dry * previous[c][position];
+                current[c][position] = in;
+            }
+            if (++position == blockSize) {
+                processBlock();
+                position = 0;
+            }
+        }
+    }
+
+    // ========== 블록 처리 ==========
+
+    /**
+     * 현재 입력 블록으로 다음 출력 블록을 만듭니다. 현재 블록은 직전 블록이 되어 원음 경로에 쓰입니다.
+     */
+    private void processBlock() {
+        for (int c = 0; c < channels; c += 2) {
+            boolean pair = c + 1 < channels;
+            // [직전 블록 | 현재 블록]을 실부(채널 c)와 허부(채널 c+1)에 묶어 변환
+            System.arraycopy(previous[c], 0, workRe, 0, blockSize);
+            System.arraycopy(current[c], 0, workRe, blockSize, blockSize);
+            if (pair) {
+                System.arraycopy(previous[c + 1], 0, workIm, 0, blockSize);
+                System.arraycopy(current[c + 1], 0, workIm, blockSize, blockSize);
+            } else {
+                Arrays.fill(workIm, 0f);
+            }
+            fft.forward(workRe, workIm);
+            storeSpectra(c, pair);
+
+            accumulate(c, 0);
+            if (pair) {
+                accumulate(c + 1, 1);
+            }
+            combine(pair);
+            fft.inverse(workRe, workIm);
+
+            // overlap-save: 뒤쪽 절반만 유효
+            System.arraycopy(workRe, blockSize, output[c], 0, blockSize);
+            if (pair) {
+                System.arraycopy(workIm, blockSize, output[c + 1], 0, blockSize);
+            }
+        }
+        head = head + 1 == kernel.partitions ? 0 : head + 1;
+
+        float[][] swap = previous;
+        previous = current;
+        current = swap;
+    }
+
+    /**
+     * 묶어서 변환한 스펙트럼 Z를 두 실수 신호의 스펙트럼으로 나눠 지연선의 다음 칸에 기록합니다
+     * X₁[k] = (Z[k] + Z*[N-k]) / 2, X₂[k] = (Z[k] - Z*[N-k]) / 2j
+     */
+    private void storeSpectra(int channel, boolean pair) {
+        int bins = kernel.bins;
+        int slot = (head + 1 == kernel.partitions ? 0 : head + 1) * bins;
+        float[] r1 = delayRe[channel];
+        float[] i1 = delayIm[channel];
+        if (!pair) {
+            System.arraycopy(workRe, 0, r1, slot, bins);
+            System.arraycopy(workIm, 0, i1, slot, bins);
+            return;
+        }
+        float[] r2 = delayRe[channel + 1];
+        float[] i2 = delayIm[channel + 1];
+        for (int k = 0; k < bins; k++) {
+            int m = k == 0 ? 0 : fftSize - k;
+            float zr = workRe[k], zi = workIm[k];
+            float wr = workRe[m], wi = workIm[m];
+            r1[slot + k] = 0.5f * (zr + wr);
+            i1[slot + k] = 0.5f * (zi - wi);
+            r2[slot + k] = 0.5f * (zi + wi);
+            i2[slot + k] = 0.5f * (wr - zr);
+        }
+    }
+
+    /**
+     * 지연선의 입력 스펙트럼과 응답 조각 스펙트럼의 곱을 모두 더합니다
+     */
+    private void accumulate(int channel, int sum) {
+        int bins = kernel.bins;
+        int partitions = kernel.partitions;
+        int responseChannel = Math.min(channel, kernel.re.length - 1);
+        float[] hr = kernel.re[responseChannel];
+        float[] hi = kernel.im[responseChannel];
+        float[] xr = delayRe[channel];
+        float[] xi = delayIm[channel];
+        float[] yr = sumRe[sum];
+        float[] yi = sumIm[sum];
+        Arrays.fill(yr, 0f);
+        Arrays.fill(yi, 0f);
+
+        // 최신 입력 × 첫 조각, 그 이전 입력 × 다음 조각 ...
+        int slot = head + 1 == partitions ? 0 : head + 1;
+        for (int p = 0; p < partitions; p++) {
+            int x = slot * bins;
+            int h = p * bins;
+            for (int k = 0; k < bins; k++) {
+                float ar = xr[x + k], ai = xi[x + k];
+                float br = hr[h + k], bi = hi[h + k];
+                yr[k] += ar * br - ai * bi;
+                yi[k] += ar * bi + ai * br;
+            }
+            slot = slot == 0 ? partitions - 1 : slot - 1;
+        }
+    }
+
+    /**
+     * 두 채널의 결과 스펙트럼 Y₁, Y₂를 W = Y₁ + jY₂로 묶어 전체 N개 빈을 채웁니다 (역변환 한 번으로 두 채널을 얻음)
+     */
+    private void combine(boolean pair) {
+        float[] ar = sumRe[0], ai = sumIm[0];
+        float[] cr = sumRe[1], ci = sumIm[1];
+        for (int k = 0; k <= blockSize; k++) {
+            float dr = pair ? cr[k] : 0f;
+            float di = pair ? ci[k] : 0f;
+            workRe[k] = ar[k] - di;
+            workIm[k] = ai[k] + dr;
+            if (k > 0 && k < blockSize) {
+                // 실수 신호의 켤레 대칭: Y[N-k] = Y*[k]
+                workRe[fftSize - k] = ar[k] + di;
+                workIm[fftSize - k] = dr - ai[k];
+            }
+        }
+    }
+
+    // ========== 오프라인 렌더링 ==========
+
+    /**
+     * 채널별 입력 전체를 여러 코어에서 합성곱합니다
+     * 메모리에 올린 트랙 전체를 한 번에 처리하는 일괄 처리용 API입니다. 재생 경로와 WAV 렌더링 백엔드({@code WavFileOutput})는
+     * DSP 체인을 블록 단위로 흘려보내므로 실시간 경로({@link #process})를 씁니다.
+     * 입력을 작업 수만큼 구간으로 나눠 구간마다 실시간 경로와 같은 합성곱기로 처리한 뒤,
+     * 응답 길이만큼 이어지는 꼬리를 이웃 구간의 결과에 더합니다.
+     *
+     * @param input    [채널][프레임]
+     * @param mix      합성곱 결과의 비율 (실시간 경로와 같음)
+     * @param executor 작업을 실행할 스레드 풀
+     * @param tasks    나눌 구간 수 (보통 코어 수)
+     * @return [채널][입력 길이 + 응답 길이 - 1]
+     */
+    public static float[][] render(float[][] input, Kernel kernel, float mix, ExecutorService executor, int tasks)
+            throws InterruptedException, ExecutionException {
+        int channels = input.length;
+        int length = input[0].length;
+        int outputLength = length + kernel.length - 1;
+        int segment = Math.max(kernel.blockSize, (length + tasks - 1) / Math.max(1, tasks));
+
+        List<Future<float[][]>> parts = new ArrayList<>();
+        for (int start = 0; start < length; start += segment) {
+            int from = start;
+            int count = Math.min(segment, length - start);
+            Callable<float[][]> task = () -> renderSegment(input, from, count, kernel, mix);
+            parts.add(executor.submit(task));
+        }
+
+        float[][] output = new float[channels][outputLength];
+        for (int s = 0; s < parts.size(); s++) {
+            float[][] part = parts.get(s).get();
+            int offset = s * segment;
+            for (int c = 0; c < channels; c++) {
+                int n = Math.min(part[c].length, outputLength - offset);
+                for (int i = 0; i < n; i++) {
+                    output[c][offset + i] += part[c][i];
+                }
+            }
+        }
+        return output;
+    }
+
+    /**
+     * 입력 한 구간과 그 꼬리를 합성곱합니다 (구간 시작이 결과의 0번 프레임)
+     */
+    private static float[][] renderSegment(float[][] input, int from, int count, Kernel kernel, float mix) {
+        int channels = input.length;
+        PartitionedConvolver convolver = new PartitionedConvolver(kernel, channels);
+        int latency = convolver.getLatencyFrames();
+        int total = count + kernel.length - 1;
+        float[][] result = new float[channels][total];
+        int chunk = kernel.blockSize;
+        float[] buffer = new float[chunk * channels];
+        // 지연만큼 더 밀어 넣고 앞쪽 지연 구간은 버림
+        for (int done = 0; done < total + latency; done += chunk) {
+            int n = Math.min(chunk, total + latency - done);
+            for (int f = 0; f < n; f++) {
+                int index = done + f;
+                for (int c = 0; c < channels; c++) {
+                    buffer[f * channels + c] = index < count ? input[c][from + index] : 0f;
+                }
+            }
+            convolver.process(buffer, n, mix);
+            for (int f = 0; f < n; f++) {
+                int out = done + f - latency;
+                if (out >= 0) {
+                    for (int c = 0; c < channels; c++) {
+                        result[c][out] = buffer[f * channels + c];
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,178 @@
+package ac.cwnu.synctune.player.dsp;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * 정수/실수 PCM 바이트와 인터리브 float 샘플(-1.0 ~ 1.0) 사이의 변환기
+ * 포맷별 분기는 루프 밖에서 한 번만 하며, 변환 중 메모리를 할당하지 않습니다. 16비트는 {@link SampleKernels}로 처리합니다.
+ * 16/24비트 정수는 2의 거듭제곱으로만 스케일하므로 처리 단계가 샘플을 바꾸지 않으면 왕복 변환 결과가 원본과 비트 단위로 같습니다.
+ */
+public final class PcmConverter {
+
+    private enum Kind { SIGNED_8, UNSIGNED_8, SIGNED_16, SIGNED_24, SIGNED_32, FLOAT_32 }
+
+    private final Kind kind;
+    private final boolean bigEndian;
+    private final int channels;
+    private final int frameSize;
+    private final SampleKernels kernels = SampleKernels.get();
+
+    private PcmConverter(Kind kind, boolean bigEndian, int channels, int frameSize) {
+        this.kind = kind;
+        this.bigEndian = bigEndian;
+        this.channels = channels;
+        this.frameSize = frameSize;
+    }
+
+    /**
+     * 포맷에 맞는 변환기를 생성합니다
+     *
+     * @return 지원하지 않는 포맷이면 null
+     */
+    public static PcmConverter forFormat(AudioFormat format) {
+        AudioFormat.Encoding encoding = format.getEncoding();
+        int bits = format.getSampleSizeInBits();
+        Kind kind = null;
+        if (AudioFormat.Encoding.PCM_SIGNED.equals(encoding)) {
+            kind = switch (bits) {
+                case 8 -> Kind.SIGNED_8;
+                case 16 -> Kind.SIGNED_16;
+                case 24 -> Kind.SIGNED_24;
+                case 32 -> Kind.SIGNED_32;
+                default -> null;
+            };
+        } else if (AudioFormat.Encoding.PCM_UNSIGNED.equals(encoding) && bits == 8) {
+            kind = Kind.UNSIGNED_8;
+        } else if (AudioFormat.Encoding.PCM_FLOAT.equals(encoding) && bits == 32) {
+            kind = Kind.FLOAT_32;
+        }
+        if (kind == null || format.getChannels() <= 0 || format.getFrameSize() != format.getChannels() * bits / 8) {
+            return null;
+        }
+        return new PcmConverter(kind, format.isBigEndian(), format.getChannels(), format.getFrameSize());
+    }
+
+    /**
+     * PCM 바이트를 float 샘플로 변환합니다
+     *
+     * @return 변환한 프레임 수
+     */
+    public int toFloat(byte[] src, int bytes, float[] dst) {
+        int frames = bytes / frameSize;
+        int samples = frames * channels;
+        switch (kind) {
+            case SIGNED_8 -> {
+                for (int i = 0; i < samples; i++) {
+                    dst[i] = src[i] / 128.0f;
+                }
+            }
+            case UNSIGNED_8 -> {
+                for (int i = 0; i < samples; i++) {
+                    dst[i] = ((src[i] & 0xFF) - 128) / 128.0f;
+                }
+            }
+            case SIGNED_16 -> kernels.int16ToFloat(src, 0, dst, 0, samples, bigEndian);
+            case SIGNED_24 -> {
+                for (int i = 0, b = 0; i < samples; i++, b += 3) {
+                    int v = bigEndian
+                            ? (src[b] << 16) | (src[b + 1] & 0xFF) << 8 | (src[b + 2] & 0xFF)
+                            : (src[b + 2] << 16) | (src[b + 1] & 0xFF) << 8 | (src[b] & 0xFF);
+                    dst[i] = v / 8388608.0f;
+                }
+            }
+            case SIGNED_32 -> {
+                for (int i = 0, b = 0; i < samples; i++, b += 4) {
+                    dst[i] = (float) (readInt(src, b) / 2147483648.0);
+                }
+            }
+            case FLOAT_32 -> {
+                for (int i = 0, b = 0; i < samples; i++, b += 4) {
+                    dst[i] = Float.intBitsToFloat(readInt(src, b));
+                }
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * float 샘플을 PCM 바이트로 변환합니다 (정수 포맷은 범위를 넘는 값을 잘라냄)
+     *
+     * @return 기록한 바이트 수
+     */
+    public int fromFloat(float[] src, int frames, byte[] dst) {
+        int samples = frames * channels;
+        switch (kind) {
+            case SIGNED_8 -> {
+                for (int i = 0; i < samples; i++) {
+                    dst[i] = (byte) clamp(Math.round(src[i] * 128.0f), -128, 127);
+                }
+            }
+            case UNSIGNED_8 -> {
+                for (int i = 0; i < samples; i++) {
+                    dst[i] = (byte) (clamp(Math.round(src[i] * 128.0f), -128, 127) + 128);
+                }
+            }
+            case SIGNED_16 -> kernels.floatToInt16(src, 0, dst, 0, samples, bigEndian);
+            case SIGNED_24 -> {
+                for (int i = 0, b = 0; i < samples; i++, b += 3) {
+                    int v = clamp(Math.round(src[i] * 8388608.0f), -8388608, 8388607);
+                    if (bigEndian) {
+                        dst[b] = (byte) (v >> 16);
+                        dst[b + 1] = (byte) (v >> 8);
+                        dst[b + 2] = (byte) v;
+                    } else {
+                        dst[b] = (byte) v;
+                        dst[b + 1] = (byte) (v >> 8);
+                        dst[b + 2] = (byte) (v >> 16);
+                    }
+                }
+            }
+            case SIGNED_32 -> {
+                for (int i = 0, b = 0; i < samples; i++, b += 4) {
+                    double scaled = Math.rint(src[i] * 2147483648.0);
+                    int v = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, scaled));
+                    writeInt(dst, b, v);
+                }
+            }
+            case FLOAT_32 -> {
+                for (int i = 0, b = 0; i < samples; i++, b += 4) {
+                    writeInt(dst, b, Float.floatToRawIntBits(src[i]));
+                }
+            }
+        }
+        return frames * frameSize;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    private int readInt(byte[] src, int b) {
+        if (bigEndian) {
+            return src[b] << 24 | (src[b + 1] & 0xFF) << 16 | (src[b + 2] & 0xFF) << 8 | (src[b + 3] & 0xFF);
+        }
+        return src[b + 3] << 24 | (src[b + 2] & 0xFF) << 16 | (src[b + 1] & 0xFF) << 8 | (src[b] & 0xFF);
+    }
+
+    private void writeInt(byte[] dst, int b, int v) {
+        if (bigEndian) {
+            dst[b] = (byte) (v >> 24);
+            dst[b + 1] = (byte) (v >> 16);
+            dst[b + 2] = (byte) (v >> 8);
+            dst[b + 3] = (byte) v;
+        } else {
+            dst[b] = (byte) v;
+            dst[b + 1] = (byte) (v >> 8);
+            dst[b + 2] = (byte) (v >> 16);
+            dst[b + 3] = (byte) (v >> 24);
+        }
+    }
+
+    private static int clamp(int v, int min, int max) {
+        return v < min ? min : (v > max ? max : v);
+    }
+}
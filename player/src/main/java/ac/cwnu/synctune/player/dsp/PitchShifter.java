@@ -0,0 +1,159 @@
+package ac.cwnu.synctune.player.dsp;
+
+import java.util.Arrays;
+
+/**
+ * 길이를 유지하며 음높이만 바꾸는 스트리밍 피치 시프터
+ * {@link TimeStretcher}로 길이를 비율 r만큼 늘인 뒤 r 간격으로 다시 읽어(4점 Hermite 보간) 원래 길이로 되돌리므로,
+ * 호출마다 들어온 프레임 수만큼 정확히 내보내 제자리 처리 단계로 쓸 수 있습니다.
+ * 늘인 출력은 구간 절반 단위로 띄엄띄엄 만들어지므로 일정량을 먼저 모은 뒤 내보내며, 그만큼 고정 지연이 생깁니다
+ * ({@link #getLatencyFrames()}).
+ * 한 스레드(렌더 스레드)에서만 사용하며, 생성 이후 처리 중에는 할당하지 않습니다.
+ */
+public final class PitchShifter {
+
+    // ±1옥타브까지 (시간 늘이기 속도 범위 0.5 ~ 2.0 안)
+    public static final double MIN_RATIO = 1 / TimeStretcher.MAX_SPEED;
+    public static final double MAX_RATIO = 1 / TimeStretcher.MIN_SPEED;
+
+    private final int channels;
+    private final TimeStretcher stretcher;
+    // 늘인 출력 대기열: stretched[0]부터 stretchedFrames 프레임이 유효, 읽기 위치는 readPosition (소수 포함)
+    private final float[] stretched;
+    private final int capacityFrames;
+    private final int primeFrames;
+    private int stretchedFrames;
+    private double readPosition;
+    private boolean primed;
+
+    private double ratio = 1.0;
+
+    /**
+     * @param maxFrames 한 번의 {@link #process} 호출에 전달될 최대 프레임 수
+     */
+    public PitchShifter(float sampleRate, int channels, int maxFrames) {
+        this.channels = channels;
+        this.stretcher = new TimeStretcher(sampleRate, channels, maxFrames);
+        int maxConsumed = (int) Math.ceil(maxFrames * MAX_RATIO) + 4;
+        // 한 번 소비할 분량 + 출력이 만들어지는 단위(구간 절반)만큼 쌓인 뒤 내보내면 이후로는 모자라지 않음
+        this.primeFrames = maxConsumed + stretcher.getSegmentFrames() / 2;
+        this.capacityFrames = primeFrames + maxConsumed + 2 * stretcher.getSegmentFrames();
+        this.stretched = new float[capacityFrames * channels];
+        reset();
+    }
+
+    /**
+     * 주파수 비율 (1.0 = 그대로, 2^(반음/12)). 다음 호출부터 적용됩니다.
+     */
+    public void setRatio(double ratio) {
+        this.ratio = Math.max(MIN_RATIO, Math.min(MAX_RATIO, ratio));
+    }
+
+    public void setSemitones(double semitones) {
+        setRatio(Math.pow(2.0, semitones / 12.0));
+    }
+
+    public double getRatio() {
+        return ratio;
+    }
+
+    /**
+     * 입력이 출력에 나타나기까지의 대략적인 지연 (프레임)
+     * 시간 늘이기가 구간 하나와 탐색 범위만큼 입력을 모으는 시간과, 늘인 출력을 미리 모아 두는 분량의 합입니다.
+     */
+    public int getLatencyFrames() {
+        return getLatencyFrames(ratio);
+    }
+
+    /**
+     * 주어진 주파수 비율에서의 지연 (프레임, 어느 스레드에서나 호출 가능)
+     */
+    public int getLatencyFrames(double ratio) {
+        int segment = stretcher.getSegmentFrames();
+        return (int) Math.round(segment + segment / 4.0 + primeFrames / ratio);
+    }
+
+    /**
+     * 내부 버퍼를 비웁니다 (탐색, 곡 전환)
+     */
+    public void reset() {
+        stretcher.reset(0);
+        Arrays.fill(stretched, 0f);
+        stretchedFrames = 0;
+        readPosition = 1; // 보간용으로 앞쪽 한 프레임을 남겨 둠
+        primed = false;
+    }
+
+    /**
+     * 인터리브된 샘플을 제자리에서 음높이만 바꿉니다
+     */
+    public void process(float[] samples, int frames) {
+        stretcher.setSpeed(1 / ratio);
+        stretcher.write(samples, frames);
+        fill();
+
+        double step = ratio;
+        for (int f = 0; f < frames; f++) {
+            int base = (int) readPosition;
+            if (!primed) {
+                primed = stretchedFrames - base >= primeFrames;
+            }
+            // 보간에 필요한 뒤쪽 두 프레임이 없으면 (준비 중 또는 드문 부족) 무음으로 채우고 다시 모음
+            if (!primed || base + 2 >= stretchedFrames) {
+                primed = false;
+                Arrays.fill(samples, f * channels, frames * channels, 0f);
+                break;
+            }
+            float t = (float) (readPosition - base);
+            int p1 = base * channels;
+            int p0 = p1 - channels;
+            int p2 = p1 + channels;
+            int p3 = p2 + channels;
+            int dst = f * channels;
+            for (int c = 0; c < channels; c++) {
+                samples[dst + c] = hermite(stretched[p0 + c], stretched[p1 + c], stretched[p2 + c], stretched[p3 + c], t);
+            }
+            readPosition += step;
+        }
+        compact();
+    }
+
+    // ========== 내부 ==========
+
+    /**
+     * 시간 늘이기 단계의 출력을 대기열 끝에 가능한 만큼 받아 옵니다
+     */
+    private void fill() {
+        while (stretchedFrames < capacityFrames) {
+            int n = stretcher.read(stretched, stretchedFrames, capacityFrames - stretchedFrames);
+            if (n == 0) {
+                break;
+            }
+            stretchedFrames += n;
+        }
+    }
+
+    /**
+     * 읽은 앞쪽을 버립니다 (보간용 한 프레임은 남김)
+     */
+    private void compact() {
+        int drop = Math.min(stretchedFrames, (int) readPosition - 1);
+        if (drop <= 0) {
+            return;
+        }
+        int remaining = stretchedFrames - drop;
+        System.arraycopy(stretched, drop * channels, stretched, 0, remaining * channels);
+        stretchedFrames = remaining;
+        readPosition -= drop;
+    }
+
+    /**
+     * 4점 3차 Hermite 보간 (x1과 x2 사이, t = 0 ~ 1)
+     */
+    private static float hermite(float x0, float x1, float x2, float x3, float t) {
+        float c1 = 0.5f * (x2 - x0);
+        float c2 = x0 - 2.5f * x1 + 2f * x2 - 0.5f * x3;
+        float c3 = 0.5f * (x3 - x0) + 1.5f * (x1 - x2);
+        return ((c3 * t + c2) * t + c1) * t + x1;
+    }
+}
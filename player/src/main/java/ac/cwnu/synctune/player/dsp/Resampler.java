@@ -0,0 +1,280 @@
+package ac.cwnu.synctune.player.dsp;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 임의 비율의 샘플레이트 변환기 (Kaiser 창을 씌운 sinc 필터의 다위상 구현)
+ * 필터를 위상별로 미리 계산해 두고 인접한 두 위상을 선형 보간하므로 48k↔44.1k처럼 비율이 복잡해도 계수 크기가 일정합니다.
+ * 출력 위치는 정수 분수(입력 레이트/출력 레이트)로 누적하므로 긴 곡에서도 위치가 어긋나지 않습니다.
+ * 한 스레드(렌더 스레드)에서만 사용하며, 생성 이후 처리 중에는 할당하지 않습니다.
+ */
+public final class Resampler {
+
+    /**
+     * 품질 프리셋: 필터 길이(영교차 수), 위상 수, 통과 대역 비율, Kaiser 베타
+     */
+    public enum Quality {
+        // 약 -70dB 저지 대역
+        FAST(8, 64, 0.90, 6.0),
+        // 약 -95dB 저지 대역
+        STANDARD(16, 256, 0.94, 8.6),
+        // 약 -130dB 저지 대역
+        HIGH(32, 512, 0.97, 12.0);
+
+        final int zeroCrossings;
+        final int phases;
+        final double passband;
+        final double kaiserBeta;
+
+        Quality(int zeroCrossings, int phases, double passband, double kaiserBeta) {
+            this.zeroCrossings = zeroCrossings;
+            this.phases = phases;
+            this.passband = passband;
+            this.kaiserBeta = kaiserBeta;
+        }
+
+        /**
+         * 이름으로 프리셋을 찾습니다 (대소문자 무시, 알 수 없으면 STANDARD)
+         */
+        public static Quality parse(String value) {
+            if (value != null) {
+                try {
+                    return valueOf(value.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException ignored) {
+                    // 기본값 사용
+                }
+            }
+            return STANDARD;
+        }
+    }
+
+    private final int inRate;
+    private final int outRate;
+    private final int channels;
+    private final Quality quality;
+
+    // 위상 p(0..phases)의 계수는 table[p * taps .. p * taps + taps)
+    private final int taps;
+    private final int halfTaps;
+    private final float[] table;
+    private final float[] frameCoefficients;
+
+    // 인터리브 입력 버퍼: 앞쪽은 이전 블록에서 남긴 필터 이력
+    private final int maxInputFrames;
+    private final float[] buffer;
+    private int bufferedFrames;
+
+    // 다음 출력 위치 = positionFrame + positionRemainder / outRate (버퍼 기준 입력 프레임)
+    private int positionFrame;
+    private long positionRemainder;
+
+    /**
+     * @param maxInputFrames process()에 한 번에 넘길 최대 입력 프레임 수
+     */
+    public Resampler(int inRate, int outRate, int channels, Quality quality, int maxInputFrames) {
+        if (inRate <= 0 || outRate <= 0 || channels <= 0) {
+            throw new IllegalArgumentException("잘못된 리샘플링 설정: " + inRate + " -> " + outRate + " Hz, " + channels + "ch");
+        }
+        this.inRate = inRate;
+        this.outRate = outRate;
+        this.channels = channels;
+        this.quality = quality;
+
+        // 다운샘플링이면 출력 나이퀴스트 아래로 차단 주파수를 내리고 그만큼 필터를 늘림
+        double cutoff = Math.min(1.0, (double) outRate / inRate) * quality.passband;
+        this.halfTaps = (int) Math.ceil(quality.zeroCrossings / cutoff);
+        this.taps = halfTaps * 2;
+        this.table = buildTable(cutoff, quality.phases, halfTaps, quality.kaiserBeta);
+        this.frameCoefficients = new float[taps];
+
+        this.maxInputFrames = maxInputFrames;
+        this.buffer = new float[(taps + maxInputFrames) * channels];
+        reset();
+    }
+
+    /**
+     * 입력을 모두 받아 만들 수 있는 만큼 출력합니다
+     *
+     * @param out {@link #maxOutputFrames(int)} 이상의 프레임을 담을 수 있어야 함
+     * @return 출력 프레임 수
+     */
+    public int process(float[] in, int inFrames, float[] out) {
+        if (inFrames > maxInputFrames) {
+            throw new IllegalArgumentException("입력 블록이 너무 큽니다: " + inFrames + " > " + maxInputFrames);
+        }
+        System.arraycopy(in, 0, buffer, bufferedFrames * channels, inFrames * channels);
+        bufferedFrames += inFrames;
+        return render(out, 0);
+    }
+
+    /**
+     * 입력 끝에서 필터에 남은 꼬리를 무음을 넣어 밀어냅니다
+     *
+     * @param out {@link #maxOutputFrames(int)}({@link #getTaps()}) 이상의 프레임을 담을 수 있어야 함
+     * @return 출력 프레임 수
+     */
+    public int drain(float[] out) {
+        int produced = 0;
+        for (int remaining = halfTaps; remaining > 0; ) {
+            int n = Math.min(remaining, maxInputFrames);
+            Arrays.fill(buffer, bufferedFrames * channels, (bufferedFrames + n) * channels, 0f);
+            bufferedFrames += n;
+            produced += render(out, produced);
+            remaining -= n;
+        }
+        return produced;
+    }
+
+    /**
+     * 필터 이력과 위치를 처음 상태로 되돌립니다
+     */
+    public void reset() {
+        reset(0, 0);
+    }
+
+    /**
+     * 탐색 후 입력 inFrame부터 다시 넣을 때, 다음 출력이 출력 프레임 outFrame의 시각에 오도록 위치를 맞춥니다
+     * 출력 시각이 입력 프레임 사이에 있어도 소수부를 그대로 이어 가므로 탐색 전후로 위치가 어긋나지 않습니다.
+     *
+     * @param outFrame 다음 출력의 프레임 번호 ({@code outFrame}의 시각이 {@code inFrame}보다 앞서면 안 됨)
+     * @param inFrame  다음에 넣을 입력의 프레임 번호
+     */
+    public void reset(long outFrame, long inFrame) {
+        long inputPosition = toInputFrames(outFrame);
+        if (inputPosition < inFrame || inputPosition - inFrame > maxInputFrames) {
+            throw new IllegalArgumentException("출력 프레임 " + outFrame + "은(는) 입력 프레임 " + inFrame + "에서 시작할 수 없습니다");
+        }
+        // 첫 입력 앞에 halfTaps - 1 프레임의 무음 이력을 두고 시작
+        Arrays.fill(buffer, 0);
+        bufferedFrames = halfTaps - 1;
+        positionFrame = halfTaps - 1 + (int) (inputPosition - inFrame);
+        positionRemainder = outFrame * inRate % outRate;
+    }
+
+    /**
+     * 입력 프레임 수에 대한 최대 출력 프레임 수
+     */
+    public int maxOutputFrames(int inFrames) {
+        return (int) (((long) inFrames + taps) * outRate / inRate) + 2;
+    }
+
+    /**
+     * 입력 프레임 위치를 출력 프레임 위치로 변환합니다
+     */
+    public long toOutputFrames(long inFrames) {
+        return inFrames * outRate / inRate;
+    }
+
+    /**
+     * 출력 프레임 위치를 입력 프레임 위치로 변환합니다
+     */
+    public long toInputFrames(long outFrames) {
+        return outFrames * inRate / outRate;
+    }
+
+    public int getInputRate() {
+        return inRate;
+    }
+
+    public int getOutputRate() {
+        return outRate;
+    }
+
+    public Quality getQuality() {
+        return quality;
+    }
+
+    /**
+     * 출력 프레임당 필터 길이 (입력 프레임)
+     */
+    public int getTaps() {
+        return taps;
+    }
+
+    // ========== 변환 ==========
+
+    /**
+     * 버퍼에 쌓인 입력으로 만들 수 있는 출력을 모두 계산하고, 다음 블록에 필요한 이력만 남깁니다
+     */
+    private int render(float[] out, int outOffset) {
+        int produced = 0;
+        int phases = quality.phases;
+        // 출력 하나에는 위치 앞뒤로 halfTaps개의 입력이 필요
+        while (positionFrame + halfTaps < bufferedFrames) {
+            // 소수부 → 위상 번호와 위상 사이 보간 비율
+            long scaled = positionRemainder * phases;
+            int phase = (int) (scaled / outRate);
+            float mix = (float) (scaled - (long) phase * outRate) / outRate;
+            interpolateCoefficients(phase, mix);
+
+            int first = (positionFrame - halfTaps + 1) * channels;
+            int o = (outOffset + produced) * channels;
+            for (int c = 0; c < channels; c++) {
+                float sum = 0;
+                for (int k = 0, i = first + c; k < taps; k++, i += channels) {
+                    sum += frameCoefficients[k] * buffer[i];
+                }
+                out[o + c] = sum;
+            }
+            produced++;
+
+            positionRemainder += inRate;
+            positionFrame += (int) (positionRemainder / outRate);
+            positionRemainder %= outRate;
+        }
+
+        int keepFrom = Math.min(bufferedFrames, Math.max(0, positionFrame - halfTaps + 1));
+        if (keepFrom > 0) {
+            System.arraycopy(buffer, keepFrom * channels, buffer, 0, (bufferedFrames - keepFrom) * channels);
+            bufferedFrames -= keepFrom;
+            positionFrame -= keepFrom;
+        }
+        return produced;
+    }
+
+    // ========== 필터 설계 ==========
+
+    private void interpolateCoefficients(int phase, float mix) {
+        int a = phase * taps;
+        int b = a + taps;
+        for (int k = 0; k < taps; k++) {
+            float ca = table[a + k];
+            frameCoefficients[k] = ca + (table[b + k] - ca) * mix;
+        }
+    }
+
+    /**
+     * 위상 p의 계수 k는 입력 (k - halfTaps + 1) 위치에 곱해지며, 출력 위치는 p / phases만큼 뒤에 있습니다
+     */
+    private static float[] buildTable(double cutoff, int phases, int halfTaps, double beta) {
+        int taps = halfTaps * 2;
+        float[] table = new float[(phases + 1) * taps];
+        double besselBeta = besselI0(beta);
+        for (int p = 0; p <= phases; p++) {
+            double fraction = (double) p / phases;
+            for (int k = 0; k < taps; k++) {
+                double x = (k - halfTaps + 1) - fraction;
+                double sinc = x == 0 ? 1.0 : Math.sin(Math.PI * cutoff * x) / (Math.PI * cutoff * x);
+                double r = x / halfTaps;
+                double window = Math.abs(r) >= 1 ? 0 : besselI0(beta * Math.sqrt(1 - r * r)) / besselBeta;
+                table[p * taps + k] = (float) (cutoff * sinc * window);
+            }
+        }
+        return table;
+    }
+
+    private static double besselI0(double x) {
+        double sum = 1.0;
+        double term = 1.0;
+        double half = x / 2;
+        for (int k = 1; k < 50; k++) {
+            term *= (half / k) * (half / k);
+            sum += term;
+            if (term < sum * 1e-12) {
+                break;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,60 @@
+package ac.cwnu.synctune.player.dsp;
+
+/**
+ * DSP 단계들이 공통으로 사용하는 샘플 단위 내부 루프 모음
+ * 실행 시점에 Vector API(jdk.incubator.vector) 사용 가능 여부를 한 번 확인하여 SIMD 구현이나 스칼라 구현 중 하나를 선택합니다.
+ * 두 구현은 같은 연산 순서를 따르므로 결과가 비트 단위로 같습니다.
+ */
+public interface SampleKernels {
+
+    /**
+     * 시작 시 선택된 구현 ({@code -Dsynctune.dsp.vector=false}이면 항상 스칼라)
+     */
+    static SampleKernels get() {
+        return KernelSelector.SELECTED;
+    }
+
+    /**
+     * 스칼라 구현 (비교/벤치마크용)
+     */
+    static SampleKernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+
+    /**
+     * Vector API 구현. 모듈이 로드되지 않았거나 SIMD 폭이 충분하지 않으면 null.
+     */
+    static SampleKernels vector() {
+        return KernelSelector.VECTOR;
+    }
+
+    String getName();
+
+    /**
+     * 16비트 정수 PCM 바이트를 float 샘플(-1.0 ~ 1.0)로 변환합니다
+     *
+     * @param srcOff  원본 바이트 오프셋
+     * @param samples 변환할 샘플 수 (프레임 수 × 채널 수)
+     */
+    void int16ToFloat(byte[] src, int srcOff, float[] dst, int dstOff, int samples, boolean bigEndian);
+
+    /**
+     * float 샘플을 16비트 정수 PCM 바이트로 변환합니다 (반올림 후 범위를 넘는 값은 잘라냄)
+     */
+    void floatToInt16(float[] src, int srcOff, byte[] dst, int dstOff, int samples, boolean bigEndian);
+
+    /**
+     * 고정 게인을 곱합니다
+     */
+    void scale(float[] buffer, int off, int samples, float gain);
+
+    /**
+     * 프레임마다 게인을 선형으로 바꾸며 곱합니다. f번째 프레임의 게인은 {@code start + step * (f + 1)}.
+     */
+    void ramp(float[] buffer, int off, int frames, int channels, float start, float step);
+
+    /**
+     * 다른 스트림을 게인을 곱해 더합니다 ({@code dst[i] += src[i] * gain})
+     */
+    void mix(float[] dst, int dstOff, float[] src, int srcOff, int samples, float gain);
+}
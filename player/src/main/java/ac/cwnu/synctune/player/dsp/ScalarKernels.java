@@ -0,0 +1,79 @@
+package ac.cwnu.synctune.player.dsp;
+
+/**
+ * 일반 루프로 작성한 {@link SampleKernels} 구현
+ * Vector API 구현은 이 클래스를 상속하여 벡터 폭으로 나누어떨어지지 않는 나머지 구간을 여기에 맡깁니다.
+ */
+class ScalarKernels implements SampleKernels {
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    static final float INT16_SCALE = 32768.0f;
+    static final float INT16_INV_SCALE = 1.0f / 32768.0f;
+
+    ScalarKernels() {
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public void int16ToFloat(byte[] src, int srcOff, float[] dst, int dstOff, int samples, boolean bigEndian) {
+        int hi = bigEndian ? 0 : 1;
+        int lo = 1 - hi;
+        for (int i = 0, b = srcOff; i < samples; i++, b += 2) {
+            dst[dstOff + i] = (short) ((src[b + hi] << 8) | (src[b + lo] & 0xFF)) * INT16_INV_SCALE;
+        }
+    }
+
+    @Override
+    public void floatToInt16(float[] src, int srcOff, byte[] dst, int dstOff, int samples, boolean bigEndian) {
+        int hi = bigEndian ? 0 : 1;
+        int lo = 1 - hi;
+        for (int i = 0, b = dstOff; i < samples; i++, b += 2) {
+            int v = toInt16(src[srcOff + i]);
+            dst[b + hi] = (byte) (v >> 8);
+            dst[b + lo] = (byte) v;
+        }
+    }
+
+    @Override
+    public void scale(float[] buffer, int off, int samples, float gain) {
+        for (int i = off, end = off + samples; i < end; i++) {
+            buffer[i] *= gain;
+        }
+    }
+
+    @Override
+    public void ramp(float[] buffer, int off, int frames, int channels, float start, float step) {
+        rampRange(buffer, off, 0, frames, channels, start, step);
+    }
+
+    @Override
+    public void mix(float[] dst, int dstOff, float[] src, int srcOff, int samples, float gain) {
+        for (int i = 0; i < samples; i++) {
+            dst[dstOff + i] += src[srcOff + i] * gain;
+        }
+    }
+
+    /**
+     * [fromFrame, toFrame) 구간에 램프 게인을 적용합니다 (프레임 번호는 램프 시작 기준)
+     */
+    final void rampRange(float[] buffer, int off, int fromFrame, int toFrame, int channels, float start, float step) {
+        for (int f = fromFrame, i = off + fromFrame * channels; f < toFrame; f++) {
+            float gain = step * (f + 1) + start;
+            for (int c = 0; c < channels; c++, i++) {
+                buffer[i] *= gain;
+            }
+        }
+    }
+
+    /**
+     * 범위를 자른 뒤 반올림 (Math.round와 같은 결과, NaN은 0)
+     */
+    static int toInt16(float sample) {
+        float scaled = Math.min(Math.max(sample * INT16_SCALE, -32768.0f), 32767.0f);
+        return Math.round(scaled);
+    }
+}
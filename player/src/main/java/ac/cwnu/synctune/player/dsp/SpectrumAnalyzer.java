@@ -0,0 +1,140 @@
+package ac.cwnu.synctune.player.dsp;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ac.cwnu.synctune.sdk.audio.AudioProcessor;
+import ac.cwnu.synctune.sdk.audio.SpectrumSource;
+
+/**
+ * 체인 끝에서 출력 직전의 오디오를 스펙트럼 표시용으로 넘겨주는 분석 단계
+ * 렌더 스레드는 모노로 합친 샘플을 단일 생산자/단일 소비자 링 버퍼에 복사하고 쓴 위치만 공개합니다 (잠금, 할당, 대기 없음).
+ * FFT는 화면 쪽 스레드가 조회할 때 가장 최근 {@link #FFT_SIZE}개 샘플로 계산하며,
+ * 복사 도중 생산자가 그 구간을 덮어썼으면 그 조회만 버립니다.
+ */
+public class SpectrumAnalyzer implements AudioProcessor, SpectrumSource {
+    public static final String NAME = "spectrum";
+    public static final int FFT_SIZE = 2048;
+
+    // 링 버퍼 크기 (2의 거듭제곱, FFT 창보다 충분히 크게)
+    private static final int RING_SIZE = 16384;
+    private static final int RING_MASK = RING_SIZE - 1;
+    private static final float MIN_FREQUENCY = 40f;
+    private static final float MAX_FREQUENCY = 16000f;
+
+    private final float[] ring = new float[RING_SIZE];
+    // 지금까지 쓴 샘플 수 (생산자만 증가, release 순서로 공개)
+    private final AtomicLong written = new AtomicLong();
+    private volatile float sampleRate;
+
+    // ===== 소비자(조회 스레드) 전용 상태 =====
+    private final Fft fft = new Fft(FFT_SIZE);
+    private final float[] window = new float[FFT_SIZE];
+    private final float[] re = new float[FFT_SIZE];
+    private final float[] im = new float[FFT_SIZE];
+    private long lastRead = -1;
+    private int[] bandEdges = new int[0];
+    private float bandRate;
+
+    public SpectrumAnalyzer() {
+        for (int i = 0; i < FFT_SIZE; i++) {
+            window[i] = (float) (0.5 - 0.5 * Math.cos(2 * Math.PI * i / (FFT_SIZE - 1)));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER_ANALYSIS;
+    }
+
+    @Override
+    public void prepare(float sampleRate, int channels, int maxFrames) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void process(float[] samples, int frames, int channels) {
+        long w = written.get();
+        if (channels == 1) {
+            for (int f = 0; f < frames; f++) {
+                ring[(int) (w + f) & RING_MASK] = samples[f];
+            }
+        } else {
+            float scale = 1.0f / channels;
+            for (int f = 0, i = 0; f < frames; f++) {
+                float sum = 0;
+                for (int c = 0; c < channels; c++, i++) {
+                    sum += samples[i];
+                }
+                ring[(int) (w + f) & RING_MASK] = sum * scale;
+            }
+        }
+        written.lazySet(w + frames);
+    }
+
+    // ========== 소비자 ==========
+
+    @Override
+    public boolean readSpectrum(float[] levels) {
+        long end = written.get();
+        float rate = sampleRate;
+        if (end == lastRead || end < FFT_SIZE || rate <= 0) {
+            return false;
+        }
+        long start = end - FFT_SIZE;
+        for (int i = 0; i < FFT_SIZE; i++) {
+            re[i] = ring[(int) (start + i) & RING_MASK] * window[i];
+            im[i] = 0;
+        }
+        // 복사하는 동안 생산자가 링을 한 바퀴 돌아 창의 앞부분을 덮어썼으면 버림
+        VarHandle.loadLoadFence();
+        if (written.get() - start > RING_SIZE) {
+            return false;
+        }
+        lastRead = end;
+
+        fft.forward(re, im);
+        if (bandEdges.length != levels.length + 1 || bandRate != rate) {
+            bandEdges = computeBandEdges(levels.length, rate);
+            bandRate = rate;
+        }
+        // Hann 창의 코히어런트 이득(0.5)을 보정하여 최대 크기 사인파가 0dBFS가 되도록 정규화
+        float normalize = 4.0f / FFT_SIZE;
+        float range = getRangeDb();
+        for (int b = 0; b < levels.length; b++) {
+            float peak = 0;
+            for (int k = bandEdges[b]; k < bandEdges[b + 1]; k++) {
+                float power = re[k] * re[k] + im[k] * im[k];
+                if (power > peak) {
+                    peak = power;
+                }
+            }
+            float db = 10f * (float) Math.log10(peak * normalize * normalize + 1e-12f);
+            levels[b] = Math.max(0f, Math.min(1f, (db + range) / range));
+        }
+        return true;
+    }
+
+    /**
+     * 로그 간격 대역의 FFT 빈 경계 (각 대역은 최소 한 빈)
+     */
+    private static int[] computeBandEdges(int bands, float sampleRate) {
+        int[] edges = new int[bands + 1];
+        double binHz = sampleRate / FFT_SIZE;
+        double maxFrequency = Math.min(MAX_FREQUENCY, sampleRate / 2);
+        double ratio = Math.pow(maxFrequency / MIN_FREQUENCY, 1.0 / bands);
+        int previous = Math.max(1, (int) Math.round(MIN_FREQUENCY / binHz));
+        edges[0] = previous;
+        for (int b = 1; b <= bands; b++) {
+            int bin = (int) Math.round(MIN_FREQUENCY * Math.pow(ratio, b) / binHz);
+            previous = Math.min(FFT_SIZE / 2, Math.max(previous + 1, bin));
+            edges[b] = previous;
+        }
+        return edges;
+    }
+}
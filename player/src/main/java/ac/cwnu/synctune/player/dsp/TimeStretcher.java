@@ -0,0 +1,293 @@
+package ac.cwnu.synctune.player.dsp;
+
+import java.util.Arrays;
+
+/**
+ * 음높이를 유지하며 재생 속도를 바꾸는 WSOLA(Waveform Similarity Overlap-Add) 시간 늘이기
+ * 약 25ms 길이의 Hann 창 구간을 출력에서는 절반 간격(Hs)으로 겹쳐 더하고, 입력에서는 Hs × 속도 간격으로 가져오되
+ * 직전 구간의 자연스러운 연속과 가장 비슷한 위치를 ±Hs/2 범위에서 찾아 위상이 어긋나지 않게 합니다.
+ * 유사도는 채널을 합친 모노 신호의 상호상관으로 계산하며, 2샘플 간격으로 대략 찾은 뒤 주변을 다시 확인합니다.
+ * <p>
+ * 출력 프레임의 원본 위치는 구간의 기준 위치에서 속도대로 선형으로 진행하므로 ({@link #getOutputSourceFrame()}),
+ * 재생 위치 보고가 속도와 무관하게 누적 오차 없이 원본 시간과 일치합니다.
+ * 한 스레드(렌더 스레드)에서만 사용하며, 생성 이후 처리 중에는 할당하지 않습니다.
+ */
+public final class TimeStretcher {
+
+    public static final double MIN_SPEED = 0.5;
+    public static final double MAX_SPEED = 2.0;
+
+    private final int channels;
+    // 구간 길이, 출력 간격(구간의 절반), 탐색 범위
+    private final int frameLength;
+    private final int synthesisHop;
+    private final int tolerance;
+    private final float[] window;
+
+    // 입력: input[0]이 원본 프레임 inputStart에 해당 (인터리브), mono는 같은 위치의 채널 합
+    private final float[] input;
+    private final float[] mono;
+    private final int inputCapacity;
+    private long inputStart;
+    private int inputFrames;
+    private boolean endOfInput;
+
+    // 겹쳐 더하기 누산기 (frameLength 프레임), 앞쪽 synthesisHop 프레임이 완성되면 내보냄
+    private final float[] accumulator;
+    private int readyFrames;
+    private int readPosition;
+
+    private double speed = 1.0;
+    // 다음 구간의 명목상 입력 위치와 직전 구간이 실제로 사용한 위치
+    private double analysisPosition;
+    private long previousSegment;
+    private boolean firstSegment;
+    // 내보내는 중인 구간의 원본 기준 위치와 그 구간을 만들 때의 속도
+    private double hopSourceFrame;
+    private double hopSpeed = 1.0;
+
+    /**
+     * @param maxInputFrames 한 번의 {@link #write} 호출에 전달될 최대 프레임 수
+     */
+    public TimeStretcher(float sampleRate, int channels, int maxInputFrames) {
+        this.channels = channels;
+        // 25ms에 가장 가까운 2의 거듭제곱 (44.1k/48k에서 1024)
+        this.frameLength = Integer.highestOneBit(Math.max(64, Math.round(sampleRate * 0.025f * 1.5f)));
+        this.synthesisHop = frameLength / 2;
+        this.tolerance = synthesisHop / 2;
+        this.window = new float[frameLength];
+        for (int i = 0; i < frameLength; i++) {
+            // 주기형 Hann: 절반씩 겹치면 합이 정확히 1
+            window[i] = (float) (0.5 - 0.5 * Math.cos(2 * Math.PI * i / frameLength));
+        }
+        // 직전 구간 연속부터 다음 구간 끝 + 탐색 범위까지, 그리고 새로 들어올 입력
+        this.inputCapacity = maxInputFrames + 4 * frameLength;
+        this.input = new float[inputCapacity * channels];
+        this.mono = new float[inputCapacity];
+        this.accumulator = new float[frameLength * channels];
+        reset(0);
+    }
+
+    /**
+     * 재생 속도 (0.5 ~ 2.0). 다음 구간부터 적용됩니다.
+     */
+    public void setSpeed(double speed) {
+        this.speed = Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed));
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * 버퍼를 비우고 지정한 원본 프레임부터 새로 시작합니다 (탐색, 곡 전환)
+     */
+    public void reset(long sourceFrame) {
+        inputStart = sourceFrame;
+        inputFrames = 0;
+        endOfInput = false;
+        Arrays.fill(accumulator, 0f);
+        readyFrames = 0;
+        readPosition = 0;
+        analysisPosition = sourceFrame;
+        previousSegment = sourceFrame;
+        firstSegment = true;
+        hopSourceFrame = sourceFrame;
+        hopSpeed = speed;
+    }
+
+    /**
+     * 원본 입력을 이어 붙입니다
+     */
+    public void write(float[] samples, int frames) {
+        compact();
+        int count = Math.min(frames, inputCapacity - inputFrames);
+        System.arraycopy(samples, 0, input, inputFrames * channels, count * channels);
+        for (int f = 0; f < count; f++) {
+            float sum = 0f;
+            int base = (inputFrames + f) * channels;
+            for (int c = 0; c < channels; c++) {
+                sum += input[base + c];
+            }
+            mono[inputFrames + f] = sum;
+        }
+        inputFrames += count;
+    }
+
+    /**
+     * 원본이 끝났음을 알립니다. 남은 입력은 뒤를 무음으로 채워 모두 내보냅니다.
+     */
+    public void endOfInput() {
+        endOfInput = true;
+    }
+
+    /**
+     * 늘이거나 줄인 출력을 최대 maxFrames만큼 가져옵니다
+     *
+     * @return 가져온 프레임 수, 입력이 더 필요하거나 모두 내보냈으면 0
+     */
+    public int read(float[] out, int maxFrames) {
+        return read(out, 0, maxFrames);
+    }
+
+    /**
+     * 늘이거나 줄인 출력을 out의 offsetFrames 프레임 위치부터 최대 maxFrames만큼 가져옵니다
+     *
+     * @return 가져온 프레임 수, 입력이 더 필요하거나 모두 내보냈으면 0
+     */
+    public int read(float[] out, int offsetFrames, int maxFrames) {
+        int written = 0;
+        while (written < maxFrames) {
+            if (readPosition >= readyFrames && !nextSegment()) {
+                break;
+            }
+            int n = Math.min(maxFrames - written, readyFrames - readPosition);
+            System.arraycopy(accumulator, readPosition * channels, out, (offsetFrames + written) * channels, n * channels);
+            readPosition += n;
+            written += n;
+        }
+        return written;
+    }
+
+    /**
+     * 다음에 내보낼 출력 프레임의 원본 위치 (프레임, 소수 포함)
+     */
+    public double getOutputSourceFrame() {
+        return hopSourceFrame + readPosition * hopSpeed;
+    }
+
+    /**
+     * 다음에 내보낼 출력 프레임이 원본 1프레임당 진행하는 정도 (= 그 구간의 속도)
+     */
+    public double getOutputSpeed() {
+        return hopSpeed;
+    }
+
+    /**
+     * 겹쳐 더하는 구간 길이 (프레임). 출력은 이 길이의 절반 단위로 만들어집니다.
+     */
+    public int getSegmentFrames() {
+        return frameLength;
+    }
+
+    /**
+     * 입력이 끝난 뒤 내보낼 출력이 더 없는지
+     */
+    public boolean isDrained() {
+        return endOfInput && readPosition >= readyFrames && analysisPosition >= inputStart + inputFrames;
+    }
+
+    // ========== 내부 ==========
+
+    /**
+     * 완성된 앞쪽 출력을 버리고 다음 구간을 겹쳐 더합니다
+     *
+     * @return 입력이 부족하거나 모두 내보냈으면 false
+     */
+    private boolean nextSegment() {
+        long nominal = Math.round(analysisPosition);
+        long inputEnd = inputStart + inputFrames;
+        if (endOfInput ? nominal >= inputEnd : nominal + tolerance + frameLength > inputEnd) {
+            return false;
+        }
+
+        // 이미 내보낸 앞쪽 synthesisHop 프레임을 밀어냄
+        if (readyFrames > 0) {
+            int keep = (frameLength - synthesisHop) * channels;
+            System.arraycopy(accumulator, synthesisHop * channels, accumulator, 0, keep);
+            Arrays.fill(accumulator, keep, accumulator.length, 0f);
+        }
+
+        long segment = firstSegment ? nominal : findBestSegment(nominal);
+        int offset = (int) (segment - inputStart);
+        for (int i = 0; i < frameLength; i++) {
+            // 첫 구간은 앞쪽을 창 없이 그대로 사용 (시작/속도 전환 시 음량이 파이지 않도록)
+            float w = firstSegment && i < synthesisHop ? 1f : window[i];
+            int src = (offset + i) * channels;
+            int dst = i * channels;
+            boolean inside = offset + i < inputFrames;
+            for (int c = 0; c < channels; c++) {
+                accumulator[dst + c] += inside ? input[src + c] * w : 0f;
+            }
+        }
+
+        hopSourceFrame = analysisPosition;
+        hopSpeed = speed;
+        previousSegment = segment;
+        firstSegment = false;
+        analysisPosition += synthesisHop * speed;
+        readyFrames = synthesisHop;
+        readPosition = 0;
+        return true;
+    }
+
+    /**
+     * 직전 구간의 연속(previousSegment + synthesisHop)과 가장 비슷한 시작 위치를 명목 위치 주변에서 찾습니다
+     */
+    private long findBestSegment(long nominal) {
+        long template = previousSegment + synthesisHop;
+        long inputEnd = inputStart + inputFrames;
+        int overlap = frameLength - synthesisHop;
+        long low = Math.max(inputStart, nominal - tolerance);
+        long high = Math.min(nominal + tolerance, inputEnd - overlap);
+        if (template + overlap > inputEnd || high < low) {
+            return Math.max(inputStart, Math.min(nominal, inputEnd - 1));
+        }
+        int templateOffset = (int) (template - inputStart);
+
+        long best = nominal < low ? low : Math.min(nominal, high);
+        double bestScore = -Double.MAX_VALUE;
+        // 2샘플 간격의 대략적 탐색
+        for (long candidate = low; candidate <= high; candidate += 2) {
+            double score = similarity(templateOffset, (int) (candidate - inputStart), overlap, 2);
+            if (score > bestScore) {
+                bestScore = score;
+                best = candidate;
+            }
+        }
+        // 이웃 위치 정밀 확인
+        long coarse = best;
+        bestScore = similarity(templateOffset, (int) (coarse - inputStart), overlap, 1);
+        for (long candidate = Math.max(low, coarse - 1); candidate <= Math.min(high, coarse + 1); candidate++) {
+            if (candidate == coarse) {
+                continue;
+            }
+            double score = similarity(templateOffset, (int) (candidate - inputStart), overlap, 1);
+            if (score > bestScore) {
+                bestScore = score;
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 정규화 상호상관 (후보 구간 에너지로 나눔, 무음 구간에서 0으로 나누지 않도록 작은 값을 더함)
+     */
+    private double similarity(int templateOffset, int candidateOffset, int length, int step) {
+        float dot = 0f;
+        float energy = 1e-9f;
+        for (int i = 0; i < length; i += step) {
+            float c = mono[candidateOffset + i];
+            dot += mono[templateOffset + i] * c;
+            energy += c * c;
+        }
+        return dot / Math.sqrt(energy);
+    }
+
+    /**
+     * 다음 구간 계산에 더 이상 필요 없는 앞쪽 입력을 버립니다
+     */
+    private void compact() {
+        long keepFrom = Math.min(previousSegment + synthesisHop, Math.round(analysisPosition) - tolerance);
+        int drop = (int) Math.min(inputFrames, Math.max(0, keepFrom - inputStart));
+        if (drop == 0) {
+            return;
+        }
+        int remaining = inputFrames - drop;
+        System.arraycopy(input, drop * channels, input, 0, remaining * channels);
+        System.arraycopy(mono, drop, mono, 0, remaining);
+        inputStart += drop;
+        inputFrames = remaining;
+    }
+}
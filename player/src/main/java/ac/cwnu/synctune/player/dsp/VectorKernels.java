@@ -0,0 +1,172 @@
+package ac.cwnu.synctune.player.dsp;
+
+import java.nio.ByteOrder;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * jdk.incubator.vector 기반 {@link SampleKernels} 구현
+ * 벡터 폭 단위로 처리하고 남은 샘플은 스칼라 구현에 맡깁니다.
+ * 이 클래스는 {@link KernelSelector}가 모듈 존재를 확인한 뒤에만 로드합니다.
+ */
+final class VectorKernels extends ScalarKernels {
+
+    private static final VectorSpecies<Float> F = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> I = IntVector.SPECIES_PREFERRED;
+    // float 레인 수만큼의 16비트 샘플을 담는 절반 폭 종(species)
+    private static final VectorSpecies<Short> S =
+            VectorSpecies.of(short.class, VectorShape.forBitSize(F.vectorBitSize() / 2));
+    private static final VectorSpecies<Byte> B =
+            VectorSpecies.of(byte.class, VectorShape.forBitSize(F.vectorBitSize() / 2));
+
+    // 바이트 배열을 short로 재해석할 때 레인 순서가 little-endian 바이트 순서와 같은지
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+    VectorKernels() {
+    }
+
+    /**
+     * SIMD로 이득을 볼 수 있는 폭인지 (float 4레인 미만이면 스칼라가 더 빠름)
+     */
+    static boolean isUseful() {
+        return F.length() >= 4 && I.length() == F.length();
+    }
+
+    static String describe() {
+        return F.vectorBitSize() + "bit x" + F.length();
+    }
+
+    @Override
+    public String getName() {
+        return "vector(" + describe() + ")";
+    }
+
+    @Override
+    public void int16ToFloat(byte[] src, int srcOff, float[] dst, int dstOff, int samples, boolean bigEndian) {
+        if (bigEndian || !LITTLE_ENDIAN) {
+            super.int16ToFloat(src, srcOff, dst, dstOff, samples, bigEndian);
+            return;
+        }
+        int lanes = F.length();
+        int bound = F.loopBound(samples);
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            ShortVector s = ByteVector.fromArray(B, src, srcOff + i * 2).reinterpretAsShorts();
+            FloatVector f = (FloatVector) s.convertShape(VectorOperators.S2F, F, 0);
+            f.mul(INT16_INV_SCALE).intoArray(dst, dstOff + i);
+        }
+        if (i < samples) {
+            super.int16ToFloat(src, srcOff + i * 2, dst, dstOff + i, samples - i, false);
+        }
+    }
+
+    @Override
+    public void floatToInt16(float[] src, int srcOff, byte[] dst, int dstOff, int samples, boolean bigEndian) {
+        if (bigEndian || !LITTLE_ENDIAN) {
+            super.floatToInt16(src, srcOff, dst, dstOff, samples, bigEndian);
+            return;
+        }
+        int lanes = F.length();
+        int bound = F.loopBound(samples);
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            FloatVector scaled = FloatVector.fromArray(F, src, srcOff + i)
+                    .mul(INT16_SCALE)
+                    .max(-32768.0f)
+                    .min(32767.0f);
+            // Math.round와 같은 반올림: 0 방향 절단 후 소수부가 0.5 이상이면 올리고 -0.5 미만이면 내림 (NaN은 0)
+            IntVector truncated = (IntVector) scaled.convertShape(VectorOperators.F2I, I, 0);
+            FloatVector fraction = scaled.sub((FloatVector) truncated.convertShape(VectorOperators.I2F, F, 0));
+            VectorMask<Integer> up = fraction.compare(VectorOperators.GE, 0.5f).cast(I);
+            VectorMask<Integer> down = fraction.compare(VectorOperators.LT, -0.5f).cast(I);
+            IntVector rounded = truncated.add(1, up).sub(1, down);
+            ShortVector s = (ShortVector) rounded.convertShape(VectorOperators.I2S, S, 0);
+            s.reinterpretAsBytes().intoArray(dst, dstOff + i * 2);
+        }
+        if (i < samples) {
+            super.floatToInt16(src, srcOff + i, dst, dstOff + i * 2, samples - i, false);
+        }
+    }
+
+    @Override
+    public void scale(float[] buffer, int off, int samples, float gain) {
+        int lanes = F.length();
+        int bound = F.loopBound(samples);
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            FloatVector.fromArray(F, buffer, off + i).mul(gain).intoArray(buffer, off + i);
+        }
+        if (i < samples) {
+            super.scale(buffer, off + i, samples - i, gain);
+        }
+    }
+
+    @Override
+    public void ramp(float[] buffer, int off, int frames, int channels, float start, float step) {
+        int lanes = F.length();
+        if (channels <= 0 || lanes % channels != 0) {
+            rampRange(buffer, off, 0, frames, channels, start, step);
+            return;
+        }
+        // 한 벡터에 들어가는 프레임 수와 레인별 프레임 번호(1부터)
+        int framesPerVector = lanes / channels;
+        FloatVector laneFrame = FloatVector.fromArray(F, laneFrames(channels), 0);
+        int bound = frames - frames % framesPerVector;
+        int f = 0;
+        for (int i = off; f < bound; f += framesPerVector, i += lanes) {
+            FloatVector gain = laneFrame.add((float) f).mul(step).add(start);
+            FloatVector.fromArray(F, buffer, i).mul(gain).intoArray(buffer, i);
+        }
+        if (f < frames) {
+            rampRange(buffer, off, f, frames, channels, start, step);
+        }
+    }
+
+    @Override
+    public void mix(float[] dst, int dstOff, float[] src, int srcOff, int samples, float gain) {
+        int lanes = F.length();
+        int bound = F.loopBound(samples);
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            FloatVector s = FloatVector.fromArray(F, src, srcOff + i).mul(gain);
+            FloatVector.fromArray(F, dst, dstOff + i).add(s).intoArray(dst, dstOff + i);
+        }
+        if (i < samples) {
+            super.mix(dst, dstOff + i, src, srcOff + i, samples - i, gain);
+        }
+    }
+
+    // ========== 램프 레인 테이블 ==========
+
+    private static final float[][] LANE_FRAMES = new float[9][];
+
+    /**
+     * 레인 k의 프레임 번호 (k / channels + 1). 채널 수별로 한 번만 만듭니다.
+     */
+    private static float[] laneFrames(int channels) {
+        if (channels < LANE_FRAMES.length) {
+            float[] table = LANE_FRAMES[channels];
+            if (table == null) {
+                table = buildLaneFrames(channels);
+                LANE_FRAMES[channels] = table;
+            }
+            return table;
+        }
+        return buildLaneFrames(channels);
+    }
+
+    private static float[] buildLaneFrames(int channels) {
+        float[] table = new float[F.length()];
+        for (int k = 0; k < table.length; k++) {
+            table[k] = k / channels + 1;
+        }
+        return table;
+    }
+}
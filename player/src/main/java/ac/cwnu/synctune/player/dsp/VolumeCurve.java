@@ -0,0 +1,29 @@
+package ac.cwnu.synctune.player.dsp;
+
+/**
+ * UI 볼륨(0.0 ~ 1.0)과 게인 사이의 변환
+ * 볼륨 값을 진폭 배율로 보고 dB = 20 * log10(volume)으로 변환합니다 (1.0 = 0dB, 0.5 = -6dB, 0.1 = -20dB).
+ */
+public final class VolumeCurve {
+
+    private VolumeCurve() {
+    }
+
+    /**
+     * 볼륨을 dB로 변환하여 [minDb, maxDb] 범위로 제한합니다. 0 이하는 minDb(음소거)입니다.
+     */
+    public static float toDecibels(float volume, float minDb, float maxDb) {
+        if (volume <= 0.0f) {
+            return minDb;
+        }
+        float db = 20.0f * (float) Math.log10(volume);
+        return Math.max(minDb, Math.min(maxDb, db));
+    }
+
+    /**
+     * 볼륨에 해당하는 선형 진폭 배율
+     */
+    public static float toLinearGain(float volume) {
+        return Math.max(0.0f, Math.min(1.0f, volume));
+    }
+}
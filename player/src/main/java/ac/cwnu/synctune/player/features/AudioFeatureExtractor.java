@@ -0,0 +1,479 @@
+package ac.cwnu.synctune.player.features;
+
+import java.util.Arrays;
+
+import ac.cwnu.synctune.player.dsp.Fft;
+
+/**
+ * 곡 전체를 흘려보내며 템포, 조성, RMS 에너지, 온셋 밀도를 구하는 특징 추출기
+ * 모노로 합친 신호를 약 11kHz로 낮춘 뒤 두 가지 FFT를 돌립니다.
+ * 512점 FFT(약 12ms 간격)의 로그 스펙트럼 변화량(spectral flux)은 온셋 포락선이 되고,
+ * 포락선의 자기상관에서 템포를, 적응형 임계값을 넘는 봉우리 수에서 온셋 밀도를 얻습니다.
+ * 4096점 FFT(약 190ms 간격)의 크기는 음 이름별(크로마)로 누적하여 Krumhansl-Kessler 장/단조 프로파일과 상관을 비교합니다.
+ * 곡 하나에 하나씩 만들어 한 스레드에서만 사용합니다.
+ */
+public class AudioFeatureExtractor {
+
+    /** 조를 알 수 없음 (무음 등) */
+    public static final int UNKNOWN_KEY = -1;
+
+    private static final String[] PITCH_NAMES = {"C", "C#", "D", "Eb", "E", "F", "F#", "G", "Ab", "A", "Bb", "B"};
+    // Krumhansl-Kessler 조성 프로파일 (으뜸음부터)
+    private static final double[] MAJOR_PROFILE = {6.35, 2.23, 3.48, 2.33, 4.38, 4.09, 2.52, 5.19, 2.39, 3.66, 2.29, 2.88};
+    private static final double[] MINOR_PROFILE = {6.33, 2.68, 3.52, 5.38, 2.60, 3.53, 2.54, 4.75, 3.98, 2.69, 3.34, 3.17};
+
+    private static final float TARGET_RATE = 11025f;
+    private static final int FLUX_SIZE = 512;
+    private static final int HOP = 128;
+    private static final int CHROMA_SIZE = 4096;
+    private static final int CHROMA_EVERY_HOPS = 16;
+    private static final double CHROMA_MIN_HZ = 55.0;
+    private static final double CHROMA_MAX_HZ = 2000.0;
+
+    private static final double MIN_BPM = 60.0;
+    private static final double MAX_BPM = 200.0;
+    // 템포 후보 가중치의 중심과 폭 (옥타브 단위): 두 배/절반 템포 혼동을 줄임
+    private static final double PREFERRED_BPM = 120.0;
+    private static final double TEMPO_SPREAD_OCTAVES = 1.0;
+    // 템포를 구하기 위한 최소 분석 길이 (초)
+    private static final double MIN_TEMPO_SECONDS = 4.0;
+    // 온셋 포락선 최대 길이 (초): 긴 곡은 앞부분만으로 템포/온셋을 구하고 RMS와 조성은 끝까지 계산
+    private static final double MAX_ENVELOPE_SECONDS = 900.0;
+
+    // 무음으로 보지 않을 블록 에너지 (-60 dBFS)
+    private static final double SILENCE_ENERGY = 1e-6;
+
+    private final int channels;
+    private final float sampleRate;
+    private final int decimation;
+    private final double analysisRate;
+    private final Biquad[] antiAlias;
+
+    // 원본 레이트 RMS (약 0.4초 블록 단위, 무음 블록 제외)
+    private final int blockFrames;
+    private double blockEnergy;
+    private int blockFill;
+    private double activeEnergy;
+    private long activeBlocks;
+    private long framesProcessed;
+
+    // 낮춘 레이트의 모노 신호 최근 CHROMA_SIZE개 (원형 버퍼)
+    private final float[] history = new float[CHROMA_SIZE];
+    private long historyCount;
+    private int decimationPhase;
+    private int hopFill;
+    private long hopCount;
+
+    private final Fft fluxFft = new Fft(FLUX_SIZE);
+    private final Fft chromaFft = new Fft(CHROMA_SIZE);
+    private final float[] fluxWindow = hann(FLUX_SIZE);
+    private final float[] chromaWindow = hann(CHROMA_SIZE);
+    private final float[] fluxRe = new float[FLUX_SIZE];
+    private final float[] fluxIm = new float[FLUX_SIZE];
+    private final float[] chromaRe = new float[CHROMA_SIZE];
+    private final float[] chromaIm = new float[CHROMA_SIZE];
+    private final float[] previousMagnitude = new float[FLUX_SIZE / 2];
+
+    private final int chromaFirstBin;
+    private final int[] binPitch;
+    private final double[] chroma = new double[12];
+
+    private final int maxEnvelope;
+    private float[] envelope = new float[4096];
+    private int envelopeLength;
+
+    public AudioFeatureExtractor(float sampleRate, int channels) {
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.decimation = Math.max(1, Math.round(sampleRate / TARGET_RATE));
+        this.analysisRate = (double) sampleRate / decimation;
+        this.antiAlias = decimation > 1
+                ? new Biquad[] {Biquad.lowPass(sampleRate, analysisRate * 0.45, 0.5412),
+                                Biquad.lowPass(sampleRate, analysisRate * 0.45, 1.3066)}
+                : new Biquad[0];
+        this.blockFrames = Math.max(1, Math.round(sampleRate * 0.4f));
+
+        this.chromaFirstBin = Math.max(1, (int) Math.ceil(CHROMA_MIN_HZ * CHROMA_SIZE / analysisRate));
+        int lastBin = Math.min(CHROMA_SIZE / 2 - 1, (int) (CHROMA_MAX_HZ * CHROMA_SIZE / analysisRate));
+        this.binPitch = new int[Math.max(0, lastBin - chromaFirstBin + 1)];
+        for (int i = 0; i < binPitch.length; i++) {
+            double hz = (chromaFirstBin + i) * analysisRate / CHROMA_SIZE;
+            int midi = (int) Math.round(69 + 12 * Math.log(hz / 440.0) / Math.log(2));
+            binPitch[i] = Math.floorMod(midi, 12);
+        }
+        this.maxEnvelope = (int) (MAX_ENVELOPE_SECONDS * getEnvelopeRate());
+    }
+
+    /**
+     * 인터리브 float 샘플을 분석에 반영합니다
+     */
+    public void process(float[] samples, int frames) {
+        float scale = 1.0f / channels;
+        for (int f = 0, i = 0; f < frames; f++) {
+            double mono = 0;
+            double energy = 0;
+            for (int c = 0; c < channels; c++, i++) {
+                float s = samples[i];
+                mono += s;
+                energy += s * s;
+            }
+            blockEnergy += energy * scale;
+            if (++blockFill == blockFrames) {
+                completeBlock();
+            }
+
+            double filtered = mono * scale;
+            for (Biquad filter : antiAlias) {
+                filtered = filter.process(filtered);
+            }
+            if (++decimationPhase == decimation) {
+                decimationPhase = 0;
+                push((float) filtered);
+            }
+        }
+        framesProcessed += frames;
+    }
+
+    public long getFramesProcessed() {
+        return framesProcessed;
+    }
+
+    public double getDurationSeconds() {
+        return sampleRate > 0 ? framesProcessed / (double) sampleRate : 0;
+    }
+
+    /**
+     * 무음 블록을 뺀 평균 RMS (dBFS). 전부 무음이면 {@link Double#NEGATIVE_INFINITY}.
+     */
+    public double getRmsDb() {
+        if (activeBlocks == 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return 10.0 * Math.log10(activeEnergy / activeBlocks);
+    }
+
+    /**
+     * 소리가 나는 구간 1초당 온셋 수
+     */
+    public double getOnsetRate() {
+        double duration = getDurationSeconds();
+        if (duration <= 0) {
+            return 0;
+        }
+        // 포락선 구간 안의 유음 시간은 곡 전체의 유음 비율로 추정
+        double activeFraction = Math.min(1.0, activeBlocks * blockFrames / (double) sampleRate / duration);
+        double activeSeconds = envelopeLength / getEnvelopeRate() * activeFraction;
+        if (activeSeconds < 1.0) {
+            return 0;
+        }
+        return countOnsets(envelope, envelopeLength) / activeSeconds;
+    }
+
+    /**
+     * 온셋 포락선 자기상관으로 구한 템포 (BPM)
+     *
+     * @return 분석 길이가 짧거나 주기성이 없으면 0
+     */
+    public double getTempoBpm() {
+        if (envelopeLength < MIN_TEMPO_SECONDS * getEnvelopeRate()) {
+            return 0;
+        }
+        float[] onset = detrend(envelope, envelopeLength, (int) Math.round(getEnvelopeRate() / 2));
+        double envelopeRate = getEnvelopeRate();
+        int minLag = (int) Math.floor(60.0 * envelopeRate / MAX_BPM);
+        int maxLag = (int) Math.ceil(60.0 * envelopeRate / MIN_BPM);
+        double[] score = new double[maxLag + 2];
+        double zeroLag = autocorrelation(onset, 0);
+        if (zeroLag <= 0) {
+            return 0;
+        }
+        for (int lag = minLag - 1; lag <= maxLag + 1; lag++) {
+            // 두 배 주기의 상관도 더해 박자 단위 주기를 선호
+            double r = autocorrelation(onset, lag) + 0.5 * autocorrelation(onset, 2 * lag);
+            double octaves = Math.log(60.0 * envelopeRate / lag / PREFERRED_BPM) / Math.log(2);
+            score[lag] = r * Math.exp(-0.5 * octaves * octaves / (TEMPO_SPREAD_OCTAVES * TEMPO_SPREAD_OCTAVES));
+        }
+        int best = -1;
+        for (int lag = minLag; lag <= maxLag; lag++) {
+            if (best < 0 || score[lag] > score[best]) {
+                best = lag;
+            }
+        }
+        if (score[best] <= 0.01 * zeroLag) {
+            return 0;
+        }
+        // 포물선 보간으로 정수 지연 사이의 주기 추정
+        double left = score[best - 1];
+        double right = score[best + 1];
+        double denominator = left - 2 * score[best] + right;
+        double offset = denominator < 0 ? 0.5 * (left - right) / denominator : 0;
+        return 60.0 * envelopeRate / (best + Math.max(-0.5, Math.min(0.5, offset)));
+    }
+
+    /**
+     * 크로마와 가장 상관이 높은 조
+     *
+     * @return 0~11은 C~B 장조, 12~23은 C~B 단조, 알 수 없으면 {@link #UNKNOWN_KEY}
+     */
+    public int getKey() {
+        double total = 0;
+        for (double v : chroma) {
+            total += v;
+        }
+        if (total <= 0) {
+            return UNKNOWN_KEY;
+        }
+        int bestKey = UNKNOWN_KEY;
+        double bestCorrelation = Double.NEGATIVE_INFINITY;
+        for (int tonic = 0; tonic < 12; tonic++) {
+            double major = correlation(chroma, MAJOR_PROFILE, tonic);
+            double minor = correlation(chroma, MINOR_PROFILE, tonic);
+            if (major > bestCorrelation) {
+                bestCorrelation = major;
+                bestKey = tonic;
+            }
+            if (minor > bestCorrelation) {
+                bestCorrelation = minor;
+                bestKey = 12 + tonic;
+            }
+        }
+        return bestKey;
+    }
+
+    /**
+     * 조 표기 (예: "C", "F#m")
+     */
+    public static String keyName(int key) {
+        if (key < 0 || key >= 24) {
+            return "-";
+        }
+        return PITCH_NAMES[key % 12] + (key >= 12 ? "m" : "");
+    }
+
+    /**
+     * 5도권에서 두 조 사이의 거리 (같은 조 0, 나란한조/이웃한 5도 1, 최대 7)
+     * 알 수 없는 조가 있으면 중간값 3을 돌려줍니다.
+     */
+    public static int keyDistance(int a, int b) {
+        if (a < 0 || b < 0) {
+            return 3;
+        }
+        int distance = Math.abs(circlePosition(a) - circlePosition(b));
+        distance = Math.min(distance, 12 - distance);
+        return distance + ((a >= 12) != (b >= 12) ? 1 : 0);
+    }
+
+    // ========== 내부 계산 ==========
+
+    private double getEnvelopeRate() {
+        return analysisRate / HOP;
+    }
+
+    private void completeBlock() {
+        double energy = blockEnergy / blockFrames;
+        if (energy > SILENCE_ENERGY) {
+            activeEnergy += energy;
+            activeBlocks++;
+        }
+        blockEnergy = 0;
+        blockFill = 0;
+    }
+
+    private void push(float sample) {
+        history[(int) (historyCount % CHROMA_SIZE)] = sample;
+        historyCount++;
+        if (++hopFill < HOP) {
+            return;
+        }
+        hopFill = 0;
+        hopCount++;
+        if (historyCount >= FLUX_SIZE && envelopeLength < maxEnvelope) {
+            appendEnvelope(spectralFlux());
+        }
+        if (historyCount >= CHROMA_SIZE && hopCount % CHROMA_EVERY_HOPS == 0) {
+            accumulateChroma();
+        }
+    }
+
+    /**
+     * 직전 프레임보다 커진 로그 크기의 합
+     */
+    private float spectralFlux() {
+        copyRecent(fluxRe, fluxWindow);
+        Arrays.fill(fluxIm, 0f);
+        fluxFft.forward(fluxRe, fluxIm);
+        float flux = 0f;
+        for (int k = 1; k < FLUX_SIZE / 2; k++) {
+            float magnitude = (float) Math.log1p(100.0 * Math.sqrt(fluxRe[k] * fluxRe[k] + fluxIm[k] * fluxIm[k]));
+            float rise = magnitude - previousMagnitude[k];
+            if (rise > 0) {
+                flux += rise;
+            }
+            previousMagnitude[k] = magnitude;
+        }
+        return flux;
+    }
+
+    private void accumulateChroma() {
+        copyRecent(chromaRe, chromaWindow);
+        Arrays.fill(chromaIm, 0f);
+        chromaFft.forward(chromaRe, chromaIm);
+        for (int i = 0; i < binPitch.length; i++) {
+            int k = chromaFirstBin + i;
+            chroma[binPitch[i]] += Math.sqrt(chromaRe[k] * chromaRe[k] + chromaIm[k] * chromaIm[k]);
+        }
+    }
+
+    /**
+     * 원형 버퍼의 최근 window.length개 샘플에 창을 곱해 복사
+     */
+    private void copyRecent(float[] target, float[] window) {
+        int size = window.length;
+        long start = historyCount - size;
+        for (int i = 0; i < size; i++) {
+            target[i] = history[(int) ((start + i) % CHROMA_SIZE)] * window[i];
+        }
+    }
+
+    private void appendEnvelope(float value) {
+        if (envelopeLength == envelope.length) {
+            envelope = Arrays.copyOf(envelope, Math.min(maxEnvelope, envelopeLength * 2));
+        }
+        envelope[envelopeLength++] = value;
+    }
+
+    /**
+     * 이동 평균을 빼고 음수를 0으로 만든 온셋 강도
+     */
+    private static float[] detrend(float[] values, int length, int halfWindow) {
+        double[] prefix = prefixSums(values, length);
+        float[] result = new float[length];
+        for (int i = 0; i < length; i++) {
+            int from = Math.max(0, i - halfWindow);
+            int to = Math.min(length, i + halfWindow + 1);
+            double mean = (prefix[to] - prefix[from]) / (to - from);
+            result[i] = (float) Math.max(0, values[i] - mean);
+        }
+        return result;
+    }
+
+    /**
+     * 주변 ±0.5초 평균의 1.5배에 곡 전체 평균을 더한 임계값을 넘는 국소 최대값의 수 (최소 간격 약 60ms)
+     * 전체 평균 항은 조용하고 지속되는 소리의 작은 변화가 온셋으로 세어지지 않게 합니다.
+     */
+    private int countOnsets(float[] values, int length) {
+        int halfWindow = (int) Math.round(getEnvelopeRate() / 2);
+        int neighbourhood = 3;
+        int minGap = (int) Math.round(getEnvelopeRate() * 0.06);
+        double[] prefix = prefixSums(values, length);
+        double globalMean = length > 0 ? prefix[length] / length : 0;
+        int count = 0;
+        int last = -minGap;
+        for (int i = neighbourhood; i < length - neighbourhood; i++) {
+            float v = values[i];
+            int from = Math.max(0, i - halfWindow);
+            int to = Math.min(length, i + halfWindow + 1);
+            double threshold = 1.5 * (prefix[to] - prefix[from]) / (to - from) + globalMean;
+            if (v <= threshold || i - last < minGap) {
+                continue;
+            }
+            boolean peak = true;
+            for (int j = i - neighbourhood; j <= i + neighbourhood && peak; j++) {
+                peak = j == i || values[j] <= v;
+            }
+            if (peak) {
+                count++;
+                last = i;
+            }
+        }
+        return count;
+    }
+
+    private static double[] prefixSums(float[] values, int length) {
+        double[] prefix = new double[length + 1];
+        for (int i = 0; i < length; i++) {
+            prefix[i + 1] = prefix[i] + values[i];
+        }
+        return prefix;
+    }
+
+    private static double autocorrelation(float[] values, int lag) {
+        double sum = 0;
+        for (int i = lag; i < values.length; i++) {
+            sum += values[i] * values[i - lag];
+        }
+        return values.length > lag ? sum / (values.length - lag) : 0;
+    }
+
+    private static double correlation(double[] chroma, double[] profile, int tonic) {
+        double chromaMean = 0;
+        double profileMean = 0;
+        for (int i = 0; i < 12; i++) {
+            chromaMean += chroma[i];
+            profileMean += profile[i];
+        }
+        chromaMean /= 12;
+        profileMean /= 12;
+        double covariance = 0;
+        double chromaVariance = 0;
+        double profileVariance = 0;
+        for (int i = 0; i < 12; i++) {
+            double x = chroma[(tonic + i) % 12] - chromaMean;
+            double y = profile[i] - profileMean;
+            covariance += x * y;
+            chromaVariance += x * x;
+            profileVariance += y * y;
+        }
+        double denominator = Math.sqrt(chromaVariance * profileVariance);
+        return denominator > 0 ? covariance / denominator : 0;
+    }
+
+    /**
+     * 5도권 위치 (단조는 나란한 장조와 같은 위치)
+     */
+    private static int circlePosition(int key) {
+        int major = key >= 12 ? (key - 12 + 3) % 12 : key;
+        return major * 7 % 12;
+    }
+
+    private static float[] hann(int size) {
+        float[] window = new float[size];
+        for (int i = 0; i < size; i++) {
+            window[i] = (float) (0.5 - 0.5 * Math.cos(2 * Math.PI * i / size));
+        }
+        return window;
+    }
+
+    /**
+     * 다운샘플링 앞의 앨리어싱 방지 저역 통과 (Direct Form II Transposed)
+     * 두 단을 Q 0.54, 1.31로 이어 4차 버터워스 특성을 만듭니다.
+     */
+    private static final class Biquad {
+        private final double b0, b1, b2, a1, a2;
+        private double z1, z2;
+
+        private Biquad(double b0, double b1, double b2, double a1, double a2) {
+            this.b0 = b0;
+            this.b1 = b1;
+            this.b2 = b2;
+            this.a1 = a1;
+            this.a2 = a2;
+        }
+
+        static Biquad lowPass(double sampleRate, double cutoff, double q) {
+            double k = Math.tan(Math.PI * cutoff / sampleRate);
+            double a0 = 1.0 + k / q + k * k;
+            double b = k * k / a0;
+            return new Biquad(b, 2 * b, b,
+                    2.0 * (k * k - 1.0) / a0,
+                    (1.0 - k / q + k * k) / a0);
+        }
+
+        double process(double x) {
+            double y = b0 * x + z1;
+            z1 = b1 * x - a1 * y + z2;
+            z2 = b2 * x - a2 * y;
+            return y;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package ac.cwnu.synctune.player.loudness;
+
+import java.util.Arrays;
+
+/**
+ * ITU-R BS.1770-4 / EBU R128 방식의 통합 라우드니스와 트루 피크 측정기
+ * K-가중 필터를 거친 신호를 400ms 블록(100ms 간격)으로 나누어 에너지를 구하고,
+ * 곡 자체의 값은 블록 에너지로 정확히 게이팅하고, 블록 라우드니스는 0.1LU 단위 히스토그램에도 누적합니다.
+ * 히스토그램은 곡끼리 합산할 수 있으므로 앨범 라우드니스도 곡별 결과만으로 다시 게이팅하여 계산할 수 있습니다.
+ */
+public class LoudnessMeter {
+
+    // 히스토그램 범위: 절대 게이트(-70 LUFS)부터 +5 LUFS까지 0.1LU 간격
+    public static final double HISTOGRAM_MIN_LUFS = -70.0;
+    public static final double HISTOGRAM_STEP_LU = 0.1;
+    public static final int HISTOGRAM_BINS = 750;
+
+    private static final double ABSOLUTE_GATE_LUFS = -70.0;
+    private static final double RELATIVE_GATE_LU = -10.0;
+
+    private final int channels;
+    private final double[] channelWeights;
+    private final Biquad[] shelf;
+    private final Biquad[] highPass;
+    private final TruePeakDetector truePeak;
+
+    // 100ms 하위 블록 단위 누적 (400ms 블록 = 최근 하위 블록 4개)
+    private final int subBlockFrames;
+    private final double[] recentSubBlocks = new double[4];
+    private int subBlockCount;
+    private int subBlockFill;
+    private double subBlockEnergy;
+
+    private final int[] histogram = new int[HISTOGRAM_BINS];
+    // 절대 게이트를 통과한 블록 에너지 (3분 곡 기준 약 1800개)
+    private double[] blockEnergies = new double[1024];
+    private int blockCount;
+    private long framesProcessed;
+
+    public LoudnessMeter(float sampleRate, int channels) {
+        this.channels = channels;
+        this.channelWeights = new double[channels];
+        this.shelf = new Biquad[channels];
+        this.highPass = new Biquad[channels];
+        for (int c = 0; c < channels; c++) {
+            channelWeights[c] = channelWeight(c, channels);
+            shelf[c] = Biquad.highShelf(sampleRate);
+            highPass[c] = Biquad.highPass(sampleRate);
+        }
+        this.subBlockFrames = Math.max(1, Math.round(sampleRate / 10));
+        this.truePeak = new TruePeakDetector(sampleRate, channels);
+    }
+
+    /**
+     * 인터리브 float 샘플을 측정에 반영합니다
+     */
+    public void process(float[] samples, int frames) {
+        truePeak.process(samples, frames);
+        for (int f = 0, i = 0; f < frames; f++) {
+            double energy = 0;
+            for (int c = 0; c < channels; c++, i++) {
+                double weighted = highPass[c].process(shelf[c].process(samples[i]));
+                energy += channelWeights[c] * weighted * weighted;
+            }
+            subBlockEnergy += energy;
+            if (++subBlockFill == subBlockFrames) {
+                completeSubBlock();
+            }
+        }
+        framesProcessed += frames;
+    }
+
+    /**
+     * 지금까지 측정한 통합 라우드니스 (LUFS). 게이트를 통과한 블록이 없으면 {@link Double#NEGATIVE_INFINITY}.
+     */
+    public double getIntegratedLoudness() {
+        if (blockCount == 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        double sum = 0;
+        for (int b = 0; b < blockCount; b++) {
+            sum += blockEnergies[b];
+        }
+        double relativeGate = toLoudness(sum / blockCount) + RELATIVE_GATE_LU;
+        double gatedSum = 0;
+        int gatedCount = 0;
+        for (int b = 0; b < blockCount; b++) {
+            if (toLoudness(blockEnergies[b]) > relativeGate) {
+                gatedSum += blockEnergies[b];
+                gatedCount++;
+            }
+        }
+        return gatedCount == 0 ? Double.NEGATIVE_INFINITY : toLoudness(gatedSum / gatedCount);
+    }
+
+    /**
+     * 최대 트루 피크 (dBTP)
+     */
+    public double getTruePeakDb() {
+        return truePeak.getPeakDb();
+    }
+
+    /**
+     * 블록 라우드니스 히스토그램 복사본
+     */
+    public int[] getHistogram() {
+        return histogram.clone();
+    }
+
+    public long getFramesProcessed() {
+        return framesProcessed;
+    }
+
+    /**
+     * 히스토그램(여러 곡을 합친 것도 가능)에서 2단계 게이팅으로 통합 라우드니스를 계산합니다
+     * 블록 에너지를 구간 중앙값으로 근사하므로 오차는 0.05LU 이내입니다.
+     */
+    public static double integratedLoudness(int[] histogram) {
+        // 1단계: 절대 게이트를 통과한 블록 평균으로 상대 게이트 결정
+        double energySum = 0;
+        long count = 0;
+        for (int b = 0; b < histogram.length; b++) {
+            if (histogram[b] > 0) {
+                energySum += histogram[b] * binEnergy(b);
+                count += histogram[b];
+            }
+        }
+        if (count == 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        double relativeGate = toLoudness(energySum / count) + RELATIVE_GATE_LU;
+
+        // 2단계: 상대 게이트 이상인 블록만 평균
+        int firstBin = Math.max(0, binOf(relativeGate));
+        energySum = 0;
+        count = 0;
+        for (int b = firstBin; b < histogram.length; b++) {
+            if (histogram[b] > 0 && binLoudness(b) >= relativeGate) {
+                energySum += histogram[b] * binEnergy(b);
+                count += histogram[b];
+            }
+        }
+        return count == 0 ? Double.NEGATIVE_INFINITY : toLoudness(energySum / count);
+    }
+
+    // ========== 내부 계산 ==========
+
+    private void completeSubBlock() {
+        recentSubBlocks[subBlockCount % 4] = subBlockEnergy / subBlockFrames;
+        subBlockCount++;
+        subBlockEnergy = 0;
+        subBlockFill = 0;
+        if (subBlockCount < 4) {
+            return;
+        }
+        double blockEnergy = (recentSubBlocks[0] + recentSubBlocks[1] + recentSubBlocks[2] + recentSubBlocks[3]) / 4;
+        double loudness = toLoudness(blockEnergy);
+        if (loudness > ABSOLUTE_GATE_LUFS) {
+            histogram[Math.min(HISTOGRAM_BINS - 1, binOf(loudness))]++;
+            if (blockCount == blockEnergies.length) {
+                blockEnergies = Arrays.copyOf(blockEnergies, blockCount * 2);
+            }
+            blockEnergies[blockCount++] = blockEnergy;
+        }
+    }
+
+    private static double toLoudness(double energy) {
+        return -0.691 + 10.0 * Math.log10(energy);
+    }
+
+    private static int binOf(double loudness) {
+        return (int) Math.floor((loudness - HISTOGRAM_MIN_LUFS) / HISTOGRAM_STEP_LU);
+    }
+
+    private static double binLoudness(int bin) {
+        return HISTOGRAM_MIN_LUFS + (bin + 0.5) * HISTOGRAM_STEP_LU;
+    }
+
+    private static double binEnergy(int bin) {
+        return Math.pow(10.0, (binLoudness(bin) + 0.691) / 10.0);
+    }
+
+    /**
+     * BS.1770 채널 가중치: 5.1 배치의 LFE(4번째)는 제외, 서라운드(5, 6번째)는 +1.5dB
+     */
+    private static double channelWeight(int channel, int channels) {
+        if (channels < 5) {
+            return 1.0;
+        }
+        return switch (channel) {
+            case 3 -> 0.0;
+            case 4, 5 -> 1.41;
+            default -> 1.0;
+        };
+    }
+
+    /**
+     * K-가중 필터를 구성하는 2차 IIR (Direct Form II Transposed)
+     * 계수는 BS.1770의 48kHz 계수를 만든 아날로그 원형에서 샘플레이트별로 다시 계산합니다.
+     */
+    private static final class Biquad {
+        private final double b0, b1, b2, a1, a2;
+        private double z1, z2;
+
+        private Biquad(double b0, double b1, double b2, double a1, double a2) {
+            this.b0 = b0;
+            this.b1 = b1;
+            this.b2 = b2;
+            this.a1 = a1;
+            this.a2 = a2;
+        }
+
+        /**
+         * 1단계: 머리 효과를 모델링한 고역 셸빙 (+4dB)
+         */
+        static Biquad highShelf(double sampleRate) {
+            double f0 = 1681.974450955533;
+            double gainDb = 3.999843853973347;
+            double q = 0.7071752369554196;
+            double k = Math.tan(Math.PI * f0 / sampleRate);
+            double vh = Math.pow(10.0, gainDb / 20.0);
+            double vb = Math.pow(vh, 0.4996667741545416);
+            double a0 = 1.0 + k / q + k * k;
+            return new Biquad(
+                    (vh + vb * k / q + k * k) / a0,
+                    2.0 * (k * k - vh) / a0,
+                    (vh - vb * k / q + k * k) / a0,
+                    2.0 * (k * k - 1.0) / a0,
+                    (1.0 - k / q + k * k) / a0);
+        }
+
+        /**
+         * 2단계: RLB 고역 통과 (약 38Hz)
+         */
+        static Biquad highPass(double sampleRate) {
+            double f0 = 38.13547087602444;
+            double q = 0.5003270373238773;
+            double k = Math.tan(Math.PI * f0 / sampleRate);
+            double a0 = 1.0 + k / q + k * k;
+            return new Biquad(1.0, -2.0, 1.0,
+                    2.0 * (k * k - 1.0) / a0,
+                    (1.0 - k / q + k * k) / a0);
+        }
+
+        double process(double x) {
+            double y = b0 * x + z1;
+            z1 = b1 * x - a1 * y + z2;
+            z2 = b2 * x - a2 * y;
+            return y;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ac.cwnu.synctune.player.loudness;
+
+/**
+ * 오버샘플링으로 샘플 사이의 피크까지 찾는 트루 피크 검출기 (BS.1770-4 Annex 2)
+ * 48kHz 이하에서는 4배, 96kHz 이하에서는 2배로 보간하며 그 이상은 샘플 피크를 사용합니다.
+ * 보간 필터는 위상별로 나눈 윈도 싱크 FIR이므로 0이 끼워진 샘플은 계산하지 않습니다.
+ */
+class TruePeakDetector {
+    private static final int TAPS_PER_PHASE = 12;
+
+    private final int channels;
+    private final int factor;
+    // phases[p][k]: 위상 p에서 k샘플 전 입력에 곱할 계수
+    private final double[][] phases;
+    // 채널별 최근 입력 (원형 버퍼)
+    private final double[][] history;
+    private int historyPos;
+    private double peak;
+
+    TruePeakDetector(float sampleRate, int channels) {
+        this.channels = channels;
+        this.factor = sampleRate <= 48000 ? 4 : (sampleRate <= 96000 ? 2 : 1);
+        this.phases = buildPhases(factor);
+        this.history = new double[channels][TAPS_PER_PHASE];
+    }
+
+    void process(float[] samples, int frames) {
+        double max = peak;
+        for (int f = 0, i = 0; f < frames; f++) {
+            historyPos = (historyPos + 1) % TAPS_PER_PHASE;
+            for (int c = 0; c < channels; c++, i++) {
+                double x = samples[i];
+                double[] h = history[c];
+                h[historyPos] = x;
+                max = Math.max(max, Math.abs(x));
+                if (factor == 1) {
+                    continue;
+                }
+                for (int p = 0; p < factor; p++) {
+                    double[] coeffs = phases[p];
+                    double y = 0;
+                    for (int k = 0, idx = historyPos; k < TAPS_PER_PHASE; k++) {
+                        y += coeffs[k] * h[idx];
+                        idx = idx == 0 ? TAPS_PER_PHASE - 1 : idx - 1;
+                    }
+                    max = Math.max(max, Math.abs(y));
+                }
+            }
+        }
+        peak = max;
+    }
+
+    /**
+     * 최대 트루 피크 (dBTP), 무음이면 {@link Double#NEGATIVE_INFINITY}
+     */
+    double getPeakDb() {
+        return peak > 0 ? 20.0 * Math.log10(peak) : Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * 블랙먼 윈도를 씌운 싱크 보간 필터를 위상별로 분해합니다.
+     * 필터 길이가 짝수라 모든 위상이 원래 샘플 사이의 점(4배일 때 1/8, 3/8, 5/8, 7/8 지점)을 계산합니다.
+     */
+    private static double[][] buildPhases(int factor) {
+        int length = factor * TAPS_PER_PHASE;
+        double center = (length - 1) / 2.0;
+        double[][] phases = new double[factor][TAPS_PER_PHASE];
+        for (int n = 0; n < length; n++) {
+            double t = (n - center) / factor;
+            double sinc = t == 0 ? 1.0 : Math.sin(Math.PI * t) / (Math.PI * t);
+            double w = 0.42 - 0.5 * Math.cos(2 * Math.PI * n / (length - 1))
+                    + 0.08 * Math.cos(4 * Math.PI * n / (length - 1));
+            phases[n % factor][n / factor] = sinc * w;
+        }
+        return phases;
+    }
+}
@@ -0,0 +1,198 @@
+package ac.cwnu.synctune.player.metadata;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * 곡별 분석 결과를 탭으로 구분한 텍스트 파일에 보관하는 저장소의 공통 부분
+ * 결과마다 파일 경로, 크기, 수정 시각을 함께 저장하여 크기와 수정 시각이 같을 때만 유효하게 보므로 바뀐 파일만 다시 분석하면 됩니다.
+ * 하위 클래스는 헤더와 한 줄 형식(직렬화/파싱)만 정합니다.
+ *
+ * @param <E> 곡 하나의 분석 결과
+ */
+public abstract class AnalysisStore<E extends AnalysisStore.Result> {
+    private static final Logger log = LogManager.getLogger(AnalysisStore.class);
+
+    /**
+     * 파일 하나의 분석 결과가 갖는 검증 정보
+     */
+    public interface Result {
+        String path();
+
+        long size();
+
+        long modified();
+
+        /**
+         * 분석한 뒤 파일이 바뀌지 않았는지
+         */
+        default boolean matches(File file) {
+            return file.length() == size() && file.lastModified() == modified();
+        }
+    }
+
+    private final Path storePath;
+    private final String label;
+    private final Map<String, E> entries = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    /**
+     * @param label 로그에 표시할 분석 이름
+     */
+    protected AnalysisStore(Path storePath, String label) {
+        this.storePath = storePath;
+        this.label = label;
+    }
+
+    /**
+     * 시스템 속성으로 지정한 경로, 없으면 {@code ~/.synctune} 아래의 파일
+     */
+    protected static Path defaultPath(String property, String fileName) {
+        String configured = System.getProperty(property);
+        return configured != null
+                ? Paths.get(configured)
+                : Paths.get(System.getProperty("user.home"), ".synctune", fileName);
+    }
+
+    /**
+     * 저장소 파일을 읽습니다. 파일이 없거나 손상된 줄은 건너뜁니다.
+     */
+    protected final void load() {
+        try (BufferedReader reader = Files.newBufferedReader(storePath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                E entry = parseLine(line);
+                if (entry != null) {
+                    entries.put(entry.path(), entry);
+                }
+            }
+            log.info("{} 분석 결과 {}개 로드: {}", label, entries.size(), storePath);
+        } catch (NoSuchFileException e) {
+            log.debug("{} 저장소 없음, 새로 만듭니다: {}", label, storePath);
+        } catch (IOException e) {
+            log.warn("{} 저장소 읽기 실패: {} - {}", label, storePath, e.getMessage());
+        }
+    }
+
+    /**
+     * 파일의 현재 크기/수정 시각과 일치하는 결과
+     *
+     * @return 분석한 적이 없거나 파일이 바뀌었으면 null
+     */
+    public E get(File file) {
+        E entry = entries.get(file.getAbsolutePath());
+        return entry != null && entry.matches(file) ? entry : null;
+    }
+
+    /**
+     * 다시 분석할 필요가 없는지
+     */
+    public boolean isCurrent(File file) {
+        return get(file) != null;
+    }
+
+    public void put(E entry) {
+        entries.put(entry.path(), entry);
+        dirty = true;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 저장된 결과 전체 (파일이 바뀐 결과도 포함)
+     */
+    protected Collection<E> entries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    /**
+     * 변경 사항이 있으면 임시 파일에 쓴 뒤 교체합니다
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        List<E> snapshot = new ArrayList<>(entries.values());
+        try {
+            Path parent = storePath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = storePath.resolveSibling(storePath.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(header());
+                writer.newLine();
+                for (E entry : snapshot) {
+                    writer.write(String.join("\t", format(entry)));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, storePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("{} 분석 결과 {}개 저장: {}", label, snapshot.size(), storePath);
+        } catch (IOException e) {
+            dirty = true;
+            log.warn("{} 저장소 쓰기 실패: {} - {}", label, storePath, e.getMessage());
+        }
+    }
+
+    // ========== 한 줄 형식 ==========
+
+    /**
+     * 파일 첫 줄 ({@code #}으로 시작하며 형식 버전과 열 이름을 적음)
+     */
+    protected abstract String header();
+
+    /**
+     * 한 줄의 열 수
+     */
+    protected abstract int fieldCount();
+
+    /**
+     * 결과를 열 값으로 나눕니다 (경로, 크기, 수정 시각이 앞 세 열)
+     */
+    protected abstract String[] format(E entry);
+
+    /**
+     * 열 값으로 결과를 만듭니다
+     *
+     * @throws RuntimeException 값이 손상된 경우 (그 줄은 무시됨)
+     */
+    protected abstract E parse(String[] fields);
+
+    private E parseLine(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != fieldCount()) {
+            return null;
+        }
+        try {
+            return parse(fields);
+        } catch (RuntimeException e) {
+            log.debug("손상된 {} 항목 무시: {}", label, line);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ac.cwnu.synctune.player.metadata;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ac.cwnu.synctune.player.analysis.BackgroundAnalyzer;
+import ac.cwnu.synctune.player.features.AudioFeatureExtractor;
+
+/**
+ * 곡별 오디오 특징(템포, 조, RMS 에너지, 온셋 밀도)을 디스크에 보관하는 저장소
+ * {@link LoudnessStore}와 같이 파일 크기와 수정 시각이 같을 때만 결과를 유효하게 봅니다 ({@link AnalysisStore}).
+ * 결과가 추가될 때마다 버전이 올라가므로 특징으로 만든 색인은 버전을 비교해 다시 만들지 판단합니다.
+ */
+public class AudioFeatureStore extends AnalysisStore<AudioFeatureStore.Entry> {
+
+    private static final String HEADER = "# synctune features v1\tpath\tsize\tmodified\ttempoBpm\tkey\trmsDb\tonsetRate\tseconds";
+
+    /**
+     * 곡 하나의 분석 결과
+     *
+     * @param tempoBpm  템포 (알 수 없으면 0)
+     * @param key       조 (0~11 장조, 12~23 단조, {@link AudioFeatureExtractor#UNKNOWN_KEY})
+     * @param rmsDb     무음을 뺀 평균 RMS (dBFS)
+     * @param onsetRate 유음 구간 1초당 온셋 수
+     * @param seconds   곡 길이
+     */
+    public record Entry(String path, long size, long modified, double tempoBpm, int key, double rmsDb,
+            double onsetRate, double seconds) implements AnalysisStore.Result {
+
+        /**
+         * 0(차분함) ~ 1(역동적) 에너지 점수
+         * 음량(-30 ~ -8 dBFS), 온셋 밀도(초당 0 ~ 6개), 템포(60 ~ 180 BPM)를 0.45 : 0.35 : 0.2로 섞습니다.
+         * 템포를 모르면 중간값으로 봅니다.
+         */
+        public double energy() {
+            double loudness = Double.isInfinite(rmsDb) ? 0 : clamp((rmsDb + 30.0) / 22.0);
+            double density = clamp(onsetRate / 6.0);
+            double tempo = tempoBpm > 0 ? clamp((tempoBpm - 60.0) / 120.0) : 0.5;
+            return 0.45 * loudness + 0.35 * density + 0.2 * tempo;
+        }
+
+        public String keyName() {
+            return AudioFeatureExtractor.keyName(key);
+        }
+
+        private static double clamp(double value) {
+            return Math.max(0.0, Math.min(1.0, value));
+        }
+    }
+
+    private final AtomicLong version = new AtomicLong();
+
+    private AudioFeatureStore(Path storePath) {
+        super(storePath, "오디오 특징");
+    }
+
+    /**
+     * 기본 위치({@code ~/.synctune/features.tsv}, {@code synctune.features.store} 속성으로 변경 가능)의 저장소를 엽니다
+     */
+    public static AudioFeatureStore openDefault() {
+        return open(defaultPath("synctune.features.store", "features.tsv"));
+    }
+
+    /**
+     * 저장소 파일을 읽습니다. 파일이 없거나 손상된 줄은 건너뜁니다.
+     */
+    public static AudioFeatureStore open(Path path) {
+        AudioFeatureStore store = new AudioFeatureStore(path);
+        store.load();
+        return store;
+    }
+
+    /**
+     * {@link BackgroundAnalyzer}에 등록할 곡별 측정 (템포, 조, RMS, 온셋 밀도, 길이)
+     */
+    public static BackgroundAnalyzer.Measurement<Entry> measure(float sampleRate, int channels) {
+        AudioFeatureExtractor extractor = new AudioFeatureExtractor(sampleRate, channels);
+        return new BackgroundAnalyzer.Measurement<>() {
+            @Override
+            public void process(float[] samples, int frames) {
+                extractor.process(samples, frames);
+            }
+
+            @Override
+            public Entry finish(String path, long size, long modified) {
+                return new Entry(path, size, modified, extractor.getTempoBpm(), extractor.getKey(),
+                        extractor.getRmsDb(), extractor.getOnsetRate(), extractor.getDurationSeconds());
+            }
+        };
+    }
+
+    @Override
+    public void put(Entry entry) {
+        super.put(entry);
+        version.incrementAndGet();
+    }
+
+    /**
+     * 결과가 추가될 때마다 증가하는 값 (색인 재생성 판단용)
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    // ========== 내부 메서드 ==========
+
+    @Override
+    protected String header() {
+        return HEADER;
+    }
+
+    @Override
+    protected int fieldCount() {
+        return 8;
+    }
+
+    @Override
+    protected String[] format(Entry entry) {
+        return new String[] {entry.path(), Long.toString(entry.size()), Long.toString(entry.modified()),
+                Double.toString(entry.tempoBpm()), Integer.toString(entry.key()), Double.toString(entry.rmsDb()),
+                Double.toString(entry.onsetRate()), Double.toString(entry.seconds())};
+    }
+
+    @Override
+    protected Entry parse(String[] fields) {
+        return new Entry(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                Double.parseDouble(fields[3]), Integer.parseInt(fields[4]), Double.parseDouble(fields[5]),
+                Double.parseDouble(fields[6]), Double.parseDouble(fields[7]));
+    }
+}
@@ -0,0 +1,169 @@
+package ac.cwnu.synctune.player.metadata;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.OptionalDouble;
+
+import ac.cwnu.synctune.player.analysis.BackgroundAnalyzer;
+import ac.cwnu.synctune.player.loudness.LoudnessMeter;
+
+/**
+ * 곡별 라우드니스 분석 결과를 디스크에 보관하는 저장소
+ * 파일 크기와 수정 시각이 같을 때만 결과를 유효하게 보므로 바뀐 파일만 다시 분석하면 됩니다 ({@link AnalysisStore}).
+ * {@link MetadataExtractor}는 메타데이터를 메모리에만 캐시하므로, 같은 metadata 패키지의 이 저장소가 디스크 파일을 따로 둡니다.
+ * 곡마다 블록 라우드니스 히스토그램을 함께 저장하여 같은 디렉토리(앨범)의 통합 라우드니스를 다시 게이팅해 계산합니다.
+ */
+public class LoudnessStore extends AnalysisStore<LoudnessStore.Entry> {
+
+    private static final String HEADER = "# synctune loudness v1\tpath\tsize\tmodified\tlufs\tpeakDb\thistogram";
+
+    // 트루 피크가 이 값을 넘지 않도록 양의 게인을 제한 (dBTP)
+    private static final double PEAK_CEILING_DB = -1.0;
+
+    /**
+     * 곡 하나의 분석 결과
+     *
+     * @param integratedLufs 통합 라우드니스 (무음이면 NEGATIVE_INFINITY)
+     * @param truePeakDb     트루 피크 (dBTP)
+     * @param histogram      블록 라우드니스 히스토그램 ({@link LoudnessMeter#HISTOGRAM_BINS} 크기)
+     */
+    public record Entry(String path, long size, long modified, double integratedLufs, double truePeakDb,
+            int[] histogram) implements AnalysisStore.Result {
+    }
+
+    private LoudnessStore(Path storePath) {
+        super(storePath, "라우드니스");
+    }
+
+    /**
+     * 기본 위치({@code ~/.synctune/loudness.tsv}, {@code synctune.loudness.store} 속성으로 변경 가능)의 저장소를 엽니다
+     */
+    public static LoudnessStore openDefault() {
+        return open(defaultPath("synctune.loudness.store", "loudness.tsv"));
+    }
+
+    /**
+     * 저장소 파일을 읽습니다. 파일이 없거나 손상된 줄은 건너뜁니다.
+     */
+    public static LoudnessStore open(Path path) {
+        LoudnessStore store = new LoudnessStore(path);
+        store.load();
+        return store;
+    }
+
+    /**
+     * {@link BackgroundAnalyzer}에 등록할 곡별 측정 (통합 라우드니스, 트루 피크, 블록 히스토그램)
+     */
+    public static BackgroundAnalyzer.Measurement<Entry> measure(float sampleRate, int channels) {
+        LoudnessMeter meter = new LoudnessMeter(sampleRate, channels);
+        return new BackgroundAnalyzer.Measurement<>() {
+            @Override
+            public void process(float[] samples, int frames) {
+                meter.process(samples, frames);
+            }
+
+            @Override
+            public Entry finish(String path, long size, long modified) {
+                return new Entry(path, size, modified, meter.getIntegratedLoudness(), meter.getTruePeakDb(),
+                        meter.getHistogram());
+            }
+        };
+    }
+
+    /**
+     * 곡 단위 정규화 게인 (dB)
+     *
+     * @param targetLufs 목표 라우드니스
+     * @return 분석 결과가 없으면 빈 값
+     */
+    public OptionalDouble getTrackGainDb(File file, double targetLufs) {
+        Entry entry = get(file);
+        if (entry == null || Double.isInfinite(entry.integratedLufs())) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(limitGain(targetLufs - entry.integratedLufs(), entry.truePeakDb()));
+    }
+
+    /**
+     * 같은 디렉토리의 분석된 곡 전체를 한 앨범으로 보고 계산한 정규화 게인 (dB)
+     * 곡별 조회와 같이 크기/수정 시각이 저장된 값과 다른 곡의 결과는 쓰지 않습니다.
+     *
+     * @return 이 곡이 아직 분석되지 않았으면 빈 값
+     */
+    public OptionalDouble getAlbumGainDb(File file, double targetLufs) {
+        if (get(file) == null) {
+            return OptionalDouble.empty();
+        }
+        String directory = file.getAbsoluteFile().getParent();
+        int[] merged = new int[LoudnessMeter.HISTOGRAM_BINS];
+        double peak = Double.NEGATIVE_INFINITY;
+        for (Entry entry : entries()) {
+            File track = new File(entry.path());
+            // 분석 뒤 바뀌었거나 지워진 곡은 앨범 값에서 제외 (다시 분석되면 포함)
+            if (!directory.equals(track.getParent()) || !entry.matches(track)) {
+                continue;
+            }
+            int[] h = entry.histogram();
+            for (int b = 0; b < merged.length && b < h.length; b++) {
+                merged[b] += h[b];
+            }
+            peak = Math.max(peak, entry.truePeakDb());
+        }
+        double album = LoudnessMeter.integratedLoudness(merged);
+        if (Double.isInfinite(album)) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(limitGain(targetLufs - album, peak));
+    }
+
+    // ========== 내부 메서드 ==========
+
+    private static double limitGain(double gainDb, double truePeakDb) {
+        if (Double.isInfinite(truePeakDb)) {
+            return gainDb;
+        }
+        return Math.min(gainDb, PEAK_CEILING_DB - truePeakDb);
+    }
+
+    @Override
+    protected String header() {
+        return HEADER;
+    }
+
+    @Override
+    protected int fieldCount() {
+        return 6;
+    }
+
+    @Override
+    protected String[] format(Entry entry) {
+        StringBuilder histogram = new StringBuilder();
+        int[] h = entry.histogram();
+        for (int b = 0; b < h.length; b++) {
+            if (h[b] > 0) {
+                if (histogram.length() > 0) {
+                    histogram.append(',');
+                }
+                histogram.append(b).append(':').append(h[b]);
+            }
+        }
+        return new String[] {entry.path(), Long.toString(entry.size()), Long.toString(entry.modified()),
+                Double.toString(entry.integratedLufs()), Double.toString(entry.truePeakDb()), histogram.toString()};
+    }
+
+    @Override
+    protected Entry parse(String[] fields) {
+        int[] histogram = new int[LoudnessMeter.HISTOGRAM_BINS];
+        if (!fields[5].isEmpty()) {
+            for (String pair : fields[5].split(",")) {
+                int colon = pair.indexOf(':');
+                int bin = Integer.parseInt(pair.substring(0, colon));
+                if (bin >= 0 && bin < histogram.length) {
+                    histogram[bin] = Integer.parseInt(pair.substring(colon + 1));
+                }
+            }
+        }
+        return new Entry(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                Double.parseDouble(fields[3]), Double.parseDouble(fields[4]), histogram);
+    }
+}
@@ -1,5 +1,7 @@
 package ac.cwnu.synctune.player.metadata;
 
+import ac.cwnu.synctune.player.decoder.CodecRegistry;
+import ac.cwnu.synctune.sdk.audio.AudioHeaderProbe;
 import ac.cwnu.synctune.sdk.log.LogManager;
 import ac.cwnu.synctune.sdk.model.MusicInfo;
 import org.slf4j.Logger;
@@ -224,26 +226,34 @@ public class MetadataExtractor {
             String title = extractTitleFromFileName(fileName);
             String artist = extractArtistFromFileName(fileName);
             
-            // 오디오 파일 포맷 정보 (Java 기본 지원 범위 내에서)
+            // 오디오 포맷 정보 (헤더만 읽어 계산, 모르는 형식만 Java Sound로 확인)
             Long duration = null;
             Integer sampleRate = null;
+            Integer bitrate = null;
             
-            try {
-                AudioFileFormat audioFormat = AudioSystem.getAudioFileFormat(musicFile);
-                
-                // 재생 시간 계산 (프레임 수 기반)
-                if (audioFormat.getFrameLength() != AudioSystem.NOT_SPECIFIED &&
-                    audioFormat.getFormat().getFrameRate() != AudioSystem.NOT_SPECIFIED) {
-                    duration = (long) (audioFormat.getFrameLength() / audioFormat.getFormat().getFrameRate() * 1000);
-                }
-                
-                // 샘플 레이트
-                if (audioFormat.getFormat().getSampleRate() != AudioSystem.NOT_SPECIFIED) {
-                    sampleRate = (int) audioFormat.getFormat().getSampleRate();
+            AudioHeaderProbe.Info headerInfo = AudioHeaderProbe.probe(musicFile);
+            if (headerInfo != null) {
+                duration = headerInfo.durationMillis();
+                sampleRate = headerInfo.sampleRate() > 0 ? headerInfo.sampleRate() : null;
+                bitrate = headerInfo.bitrateKbps() > 0 ? headerInfo.bitrateKbps() : null;
+            } else {
+                try {
+                    AudioFileFormat audioFormat = CodecRegistry.getAudioFileFormat(musicFile);
+                    
+                    // 재생 시간 계산 (프레임 수 기반)
+                    if (audioFormat.getFrameLength() != AudioSystem.NOT_SPECIFIED &&
+                        audioFormat.getFormat().getFrameRate() != AudioSystem.NOT_SPECIFIED) {
+                        duration = (long) (audioFormat.getFrameLength() / audioFormat.getFormat().getFrameRate() * 1000);
+                    }
+                    
+                    // 샘플 레이트
+                    if (audioFormat.getFormat().getSampleRate() != AudioSystem.NOT_SPECIFIED) {
+                        sampleRate = (int) audioFormat.getFormat().getSampleRate();
+                    }
+                    
+                } catch (Exception e) {
+                    log.debug("오디오 포맷 정보 추출 실패: {} ({})", musicFile.getName(), e.getMessage());
                 }
-                
-            } catch (Exception e) {
-                log.debug("오디오 포맷 정보 추출 실패: {} ({})", musicFile.getName(), e.getMessage());
             }
             
             // TODO: ID3 태그 추출은 향후 전용 라이브러리 추가 시 구현
@@ -259,7 +269,7 @@ public class MetadataExtractor {
                 duration,        // 재생 시간
                 fileSize,        // 파일 크기
                 format,          // 파일 형식
-                null,            // 비트레이트 (ID3 태그 필요)
+                bitrate,         // 평균 비트레이트
                 sampleRate       // 샘플 레이트
             );
             
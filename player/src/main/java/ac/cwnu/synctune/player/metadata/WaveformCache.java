@@ -0,0 +1,143 @@
+package ac.cwnu.synctune.player.metadata;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.audio.WaveformData;
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * 곡별 파형 개요를 작은 바이너리 파일로 보관하는 디스크 캐시
+ * 파일 이름은 곡 경로의 해시이고, 헤더에 경로/크기/수정 시각을 함께 기록하여 파일이 바뀌었거나 해시가 겹치면 무시합니다.
+ * 3분 곡이 약 60KB이며 파일 하나를 한 번에 읽어 바로 개요를 만들므로 다시 여는 데 수십 마이크로초면 충분합니다.
+ * <pre>
+ * int magic 'STWF' | short version | long size | long modified | float sampleRate | long totalFrames
+ * | int framesPerPeak | int peakCount | short pathLength | byte[] path(UTF-8) | byte[] min | byte[] max
+ * </pre>
+ */
+public class WaveformCache {
+    private static final Logger log = LogManager.getLogger(WaveformCache.class);
+
+    private static final int MAGIC = 0x53545746; // "STWF"
+    private static final short VERSION = 1;
+    private static final String EXTENSION = ".wfm";
+    private static final int HEADER_BYTES = 44;
+
+    private final Path directory;
+
+    private WaveformCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 기본 위치({@code ~/.synctune/waveforms}, {@code synctune.waveform.cache} 속성으로 변경 가능)의 캐시를 엽니다
+     */
+    public static WaveformCache openDefault() {
+        String configured = System.getProperty("synctune.waveform.cache");
+        Path path = configured != null
+                ? Paths.get(configured)
+                : Paths.get(System.getProperty("user.home"), ".synctune", "waveforms");
+        return new WaveformCache(path);
+    }
+
+    public static WaveformCache open(Path directory) {
+        return new WaveformCache(directory);
+    }
+
+    /**
+     * 파일의 현재 크기/수정 시각과 일치하는 캐시 항목을 읽습니다
+     *
+     * @return 없거나 오래되었거나 손상되었으면 null
+     */
+    public WaveformData get(File file) {
+        Path cached = cachePath(file);
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(cached);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.debug("파형 캐시 읽기 실패: {} - {}", cached, e.getMessage());
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                return null;
+            }
+            long size = buffer.getLong();
+            long modified = buffer.getLong();
+            float sampleRate = buffer.getFloat();
+            long totalFrames = buffer.getLong();
+            int framesPerPeak = buffer.getInt();
+            int peakCount = buffer.getInt();
+            byte[] path = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(path);
+            if (size != file.length() || modified != file.lastModified()
+                    || !file.getAbsolutePath().equals(new String(path, StandardCharsets.UTF_8))) {
+                return null;
+            }
+            byte[] min = new byte[peakCount];
+            byte[] max = new byte[peakCount];
+            buffer.get(min);
+            buffer.get(max);
+            return new WaveformData(sampleRate, totalFrames, framesPerPeak, min, max, peakCount, true);
+        } catch (RuntimeException e) {
+            log.debug("손상된 파형 캐시 무시: {} - {}", cached, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 완성된 파형 개요를 기록합니다 (임시 파일에 쓴 뒤 교체)
+     */
+    public void put(File file, WaveformData waveform) {
+        if (!waveform.isComplete()) {
+            return;
+        }
+        byte[] path = file.getAbsolutePath().getBytes(StandardCharsets.UTF_8);
+        byte[] min = waveform.getMinPeaks();
+        byte[] max = waveform.getMaxPeaks();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + path.length + min.length * 2);
+        buffer.putInt(MAGIC)
+                .putShort(VERSION)
+                .putLong(file.length())
+                .putLong(file.lastModified())
+                .putFloat(waveform.getSampleRate())
+                .putLong(waveform.getTotalFrames())
+                .putInt(waveform.getFramesPerPeak(0))
+                .putInt(min.length)
+                .putShort((short) path.length)
+                .put(path)
+                .put(min)
+                .put(max);
+
+        Path target = cachePath(file);
+        try {
+            Files.createDirectories(directory);
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            Files.write(tmp, buffer.array());
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("파형 캐시 저장 실패: {} - {}", target, e.getMessage());
+        }
+    }
+
+    private Path cachePath(File file) {
+        // 경로의 64비트 FNV-1a 해시 (충돌은 헤더의 경로로 판별)
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : file.getAbsolutePath().getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001b3L;
+        }
+        return directory.resolve(String.format("%016x", hash) + EXTENSION);
+    }
+}
@@ -0,0 +1,82 @@
+package ac.cwnu.synctune.player.output;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.FloatControl;
+import javax.sound.sampled.LineUnavailableException;
+
+/**
+ * 재생기가 PCM을 내보내는 출력 백엔드
+ * SourceDataLine과 같은 의미(블로킹 write, start/stop/flush/drain, 누적 프레임 위치)를 가지므로
+ * 실제 사운드 카드와 가상 백엔드를 재생 로직 변경 없이 교체할 수 있습니다.
+ */
+public interface AudioOutput extends AutoCloseable {
+
+    /**
+     * 주어진 포맷으로 출력을 엽니다
+     *
+     * @param bufferMillis 출력 버퍼 길이 (밀리초)
+     * @throws LineUnavailableException 포맷을 지원하지 않거나 장치를 사용할 수 없는 경우
+     */
+    void open(AudioFormat format, int bufferMillis) throws LineUnavailableException;
+
+    AudioFormat getFormat();
+
+    void start();
+
+    /**
+     * 출력을 멈춥니다. write()에서 대기 중인 스레드는 쓴 만큼만 반환합니다.
+     */
+    void stop();
+
+    /**
+     * 아직 출력되지 않은 버퍼 데이터를 버립니다
+     */
+    void flush();
+
+    /**
+     * 버퍼의 데이터가 모두 출력될 때까지 대기합니다 (멈춘 상태면 즉시 반환)
+     */
+    void drain();
+
+    /**
+     * 버퍼에 공간이 생길 때까지 대기하며 데이터를 씁니다
+     *
+     * @return 실제로 쓴 바이트 수
+     */
+    int write(byte[] buffer, int off, int len);
+
+    /**
+     * 출력을 연 이후 실제로 출력된 누적 프레임 수 (flush로 초기화되지 않음)
+     */
+    long getFramePosition();
+
+    /**
+     * 출력 버퍼 크기 (프레임), 버퍼가 없는 백엔드는 0
+     */
+    default int getBufferFrames() {
+        return 0;
+    }
+
+    /**
+     * 버퍼에 쓰였지만 아직 출력되지 않은 프레임 수, 알 수 없으면 -1
+     */
+    default int getQueuedFrames() {
+        return -1;
+    }
+
+    /**
+     * 하드웨어 게인 컨트롤, 지원하지 않으면 null
+     */
+    FloatControl getGainControl();
+
+    /**
+     * 벽시계 1초 동안 진행되는 미디어 시간(초)
+     * 재생 클럭의 보간에 사용되며, 벽시계와 무관하게 진행되는 백엔드는 0을 반환합니다.
+     */
+    double getClockRate();
+
+    String getName();
+
+    @Override
+    void close();
+}
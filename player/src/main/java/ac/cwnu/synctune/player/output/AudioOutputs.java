@@ -0,0 +1,243 @@
+package ac.cwnu.synctune.player.output;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.DataLine;
+import javax.sound.sampled.Line;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.player.dsp.Resampler;
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * 시스템 속성에 따라 출력 백엔드를 생성하는 팩토리
+ * 사운드 장치가 없는 환경(헤드리스 CI 등)에서는 설정과 관계없이 가상 출력을 사용합니다.
+ * <ul>
+ *   <li>{@code synctune.audio.output}: {@code javasound}(기본), {@code virtual} 또는 {@code file}</li>
+ *   <li>{@code synctune.audio.virtualSpeed}: 가상 클럭 배속 ({@code 1.0}(기본), {@code 8}, {@code max}, {@code manual})</li>
+ *   <li>{@code synctune.audio.renderPath}: {@code file} 출력 경로. 디렉토리면 곡마다 파일을 만들고,
+ *       파일이면 모든 곡을 하나의 WAV에 이어서 기록 (기본 {@code render/synctune-render.wav})</li>
+ *   <li>{@code synctune.audio.sampleRate}: 모든 곡을 이 샘플레이트로 변환하여 출력 (기본은 출력이 원본 레이트를 받지 못할 때만 변환)</li>
+ *   <li>{@code synctune.audio.resampleQuality}: 샘플레이트 변환 품질 ({@code fast}, {@code standard}(기본), {@code high})</li>
+ * </ul>
+ */
+public final class AudioOutputs {
+    private static final Logger log = LogManager.getLogger(AudioOutputs.class);
+
+    public static final String OUTPUT_PROPERTY = "synctune.audio.output";
+    public static final String VIRTUAL_SPEED_PROPERTY = "synctune.audio.virtualSpeed";
+    public static final String RENDER_PATH_PROPERTY = "synctune.audio.renderPath";
+    public static final String SAMPLE_RATE_PROPERTY = "synctune.audio.sampleRate";
+    public static final String RESAMPLE_QUALITY_PROPERTY = "synctune.audio.resampleQuality";
+
+    // 장치 레이트 탐색 순서 (원본과 같은 계열의 레이트를 먼저 시도)
+    private static final float[] RATES_44K = {44100f, 88200f, 48000f, 96000f};
+    private static final float[] RATES_48K = {48000f, 96000f, 44100f, 88200f};
+
+    private static volatile VirtualClock virtualClock;
+    private static volatile Boolean soundDeviceAvailable;
+    private static WavFileWriter sharedRenderWriter;
+
+    private AudioOutputs() {
+    }
+
+    /**
+     * 설정된 기본 출력 백엔드를 생성합니다
+     *
+     * @param trackName 곡별 렌더링 파일 이름에 사용할 곡 이름
+     */
+    public static AudioOutput create(String trackName) {
+        if (isFileSelected()) {
+            return createFileOutput(trackName);
+        }
+        return usesSoundDevice() ? new JavaSoundOutput() : createVirtual();
+    }
+
+    /**
+     * 공유 가상 클럭을 사용하는 가상 출력 백엔드를 생성합니다
+     */
+    public static AudioOutput createVirtual() {
+        return new VirtualClockOutput(virtualClock());
+    }
+
+    /**
+     * 설정된 렌더링 경로로 WAV 파일 출력을 생성합니다
+     */
+    public static AudioOutput createFileOutput(String trackName) {
+        Path renderPath = Path.of(System.getProperty(RENDER_PATH_PROPERTY, "render/synctune-render.wav"));
+        File target = renderPath.toFile();
+        if (target.isDirectory() || !target.getName().toLowerCase().endsWith(".wav")) {
+            String baseName = trackName == null ? "track" : trackName.replaceAll("[\\\\/:*?\"<>|]", "_");
+            return WavFileOutput.toFile(renderPath.resolve(baseName + ".wav"));
+        }
+        return new WavFileOutput(format -> sharedRenderWriter(renderPath, format), false);
+    }
+
+    public static boolean isVirtualSelected() {
+        return "virtual".equalsIgnoreCase(System.getProperty(OUTPUT_PROPERTY, "javasound"));
+    }
+
+    public static boolean isFileSelected() {
+        return "file".equalsIgnoreCase(System.getProperty(OUTPUT_PROPERTY, "javasound"));
+    }
+
+    /**
+     * 기본 출력이 실제 사운드 장치인지 여부 (가상/파일 출력을 선택했거나 장치가 없으면 false)
+     * false이면 Clip 경로를 건너뛰고 모든 곡을 스트리밍 경로로 출력 백엔드에 흘려보내야 합니다.
+     */
+    public static boolean usesSoundDevice() {
+        return !isVirtualSelected() && !isFileSelected() && hasSoundDevice();
+    }
+
+    /**
+     * 설정으로 고정한 출력 샘플레이트, 설정이 없거나 잘못되면 0
+     */
+    public static float configuredSampleRate() {
+        String value = System.getProperty(SAMPLE_RATE_PROPERTY);
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Float.parseFloat(value.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 출력 샘플레이트 '{}', 원본 레이트로 출력합니다.", value);
+            return 0;
+        }
+    }
+
+    public static Resampler.Quality resampleQuality() {
+        return Resampler.Quality.parse(System.getProperty(RESAMPLE_QUALITY_PROPERTY));
+    }
+
+    /**
+     * 출력이 원본 포맷을 받지 못할 때 변환할 샘플레이트를 고릅니다
+     * 설정값이 있으면 그 값을, 공유 렌더링 파일이 열려 있으면 파일의 레이트를,
+     * 그 외에는 사운드 장치가 같은 샘플 형식으로 받는 레이트를 사용합니다.
+     *
+     * @return 적당한 레이트가 없으면 0
+     */
+    public static float preferredSampleRate(AudioFormat format) {
+        float configured = configuredSampleRate();
+        if (configured > 0) {
+            return configured;
+        }
+        if (isFileSelected()) {
+            synchronized (AudioOutputs.class) {
+                return sharedRenderWriter != null ? sharedRenderWriter.getFormat().getSampleRate() : 0;
+            }
+        }
+        if (!usesSoundDevice()) {
+            return 0;
+        }
+        float[] candidates = Math.round(format.getSampleRate()) % 11025 == 0 ? RATES_44K : RATES_48K;
+        for (float rate : candidates) {
+            AudioFormat candidate = new AudioFormat(format.getEncoding(), rate, format.getSampleSizeInBits(),
+                    format.getChannels(), format.getFrameSize(), rate, format.isBigEndian());
+            if (AudioSystem.isLineSupported(new DataLine.Info(SourceDataLine.class, candidate))) {
+                return rate;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 여러 곡이 이어서 기록되는 공유 렌더링 파일. 첫 곡의 포맷으로 만들어지며, 포맷이 다른 곡은 기록할 수 없습니다.
+     */
+    private static synchronized WavFileWriter sharedRenderWriter(Path path, AudioFormat format)
+            throws IOException, LineUnavailableException {
+        if (sharedRenderWriter == null) {
+            sharedRenderWriter = WavFileWriter.create(path, format);
+        } else if (!sharedRenderWriter.getFormat().matches(format)) {
+            throw new LineUnavailableException("렌더링 파일의 포맷과 다릅니다: " + format
+                    + " (파일: " + sharedRenderWriter.getFormat() + ")");
+        }
+        return sharedRenderWriter;
+    }
+
+    /**
+     * 곡 사이에 열어 둔 출력 라인과 공유 렌더링 파일을 닫습니다 (플레이어 종료 시 호출)
+     */
+    public static synchronized void closeSharedOutputs() {
+        int lines = SourceLinePool.closeAll();
+        if (lines > 0) {
+            log.debug("보관 중이던 출력 라인 {}개 닫음", lines);
+        }
+        if (sharedRenderWriter != null) {
+            try {
+                sharedRenderWriter.close();
+                log.info("렌더링 파일 저장 완료: {} ({} 프레임)", sharedRenderWriter.getPath(),
+                        sharedRenderWriter.getFramesWritten());
+            } catch (IOException e) {
+                log.warn("렌더링 파일 닫기 실패: {}", e.getMessage());
+            }
+            sharedRenderWriter = null;
+        }
+    }
+
+    /**
+     * 출력용 SourceDataLine을 제공하는 믹서가 있는지 확인합니다 (최초 1회만 조회)
+     */
+    public static boolean hasSoundDevice() {
+        Boolean available = soundDeviceAvailable;
+        if (available == null) {
+            try {
+                available = AudioSystem.getSourceLineInfo(new Line.Info(SourceDataLine.class)).length > 0;
+            } catch (RuntimeException e) {
+                available = false;
+            }
+            soundDeviceAvailable = available;
+            if (!available) {
+                log.info("사용 가능한 사운드 장치가 없어 가상 출력을 사용합니다.");
+            }
+        }
+        return available;
+    }
+
+    /**
+     * 모든 가상 출력이 공유하는 클럭. 수동 모드에서는 테스트 코드가 이 클럭을 진행시킵니다.
+     */
+    public static VirtualClock virtualClock() {
+        VirtualClock clock = virtualClock;
+        if (clock == null) {
+            synchronized (AudioOutputs.class) {
+                clock = virtualClock;
+                if (clock == null) {
+                    clock = parseVirtualClock(System.getProperty(VIRTUAL_SPEED_PROPERTY, "1.0"));
+                    virtualClock = clock;
+                    log.info("가상 오디오 클럭 설정: {}", clock);
+                }
+            }
+        }
+        return clock;
+    }
+
+    /**
+     * 이후 생성되는 가상 출력이 사용할 클럭을 지정합니다 (테스트/벤치마크용)
+     */
+    public static void setVirtualClock(VirtualClock clock) {
+        virtualClock = clock;
+    }
+
+    private static VirtualClock parseVirtualClock(String value) {
+        String speed = value.trim().toLowerCase();
+        if ("max".equals(speed) || "unlimited".equals(speed)) {
+            return VirtualClock.unlimited();
+        }
+        if ("manual".equals(speed)) {
+            return VirtualClock.manual();
+        }
+        try {
+            return VirtualClock.scaled(Double.parseDouble(speed));
+        } catch (IllegalArgumentException e) {
+            log.warn("잘못된 가상 클럭 배속 '{}', 실시간으로 진행합니다.", value);
+            return VirtualClock.scaled(1.0);
+        }
+    }
+}
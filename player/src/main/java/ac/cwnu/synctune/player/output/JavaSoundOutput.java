@@ -0,0 +1,94 @@
+package ac.cwnu.synctune.player.output;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.FloatControl;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * 시스템 기본 믹서의 SourceDataLine으로 출력하는 백엔드
+ * 라인은 {@link SourceLinePool}에서 빌려 오므로, 닫으면 장치를 놓지 않고 같은 포맷의 다음 곡이 그대로 이어 씁니다.
+ */
+public class JavaSoundOutput implements AudioOutput {
+    private SourceDataLine line;
+    private int bufferBytes;
+    private boolean released;
+
+    @Override
+    public void open(AudioFormat format, int bufferMillis) throws LineUnavailableException {
+        int requestedBytes = (int) (format.getFrameRate() * bufferMillis / 1000) * format.getFrameSize();
+        line = SourceLinePool.acquire(format, requestedBytes);
+        bufferBytes = requestedBytes;
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return line.getFormat();
+    }
+
+    @Override
+    public void start() {
+        line.start();
+    }
+
+    @Override
+    public void stop() {
+        line.stop();
+    }
+
+    @Override
+    public void flush() {
+        line.flush();
+    }
+
+    @Override
+    public void drain() {
+        line.drain();
+    }
+
+    @Override
+    public int write(byte[] buffer, int off, int len) {
+        return line.write(buffer, off, len);
+    }
+
+    @Override
+    public long getFramePosition() {
+        return line.getLongFramePosition();
+    }
+
+    @Override
+    public int getBufferFrames() {
+        return line.getBufferSize() / line.getFormat().getFrameSize();
+    }
+
+    @Override
+    public int getQueuedFrames() {
+        return (line.getBufferSize() - line.available()) / line.getFormat().getFrameSize();
+    }
+
+    @Override
+    public FloatControl getGainControl() {
+        if (line.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
+            return (FloatControl) line.getControl(FloatControl.Type.MASTER_GAIN);
+        }
+        return null;
+    }
+
+    @Override
+    public double getClockRate() {
+        return 1.0;
+    }
+
+    @Override
+    public String getName() {
+        return "JavaSound";
+    }
+
+    @Override
+    public void close() {
+        if (line != null && !released) {
+            released = true;
+            SourceLinePool.release(line, bufferBytes);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package ac.cwnu.synctune.player.output;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.DataLine;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * 곡이 바뀌어도 닫지 않고 다시 쓰는 SourceDataLine 보관소
+ * ALSA/PulseAudio 믹서에서 라인을 여는 데 수십 ms가 걸리고 연속으로 열고 닫으면 LineUnavailableException이 나기도 하므로,
+ * 다 쓴 라인은 멈추고 비운 뒤 포맷별로 하나씩 열린 채로 보관하고 같은 포맷의 다음 곡에 그대로 넘깁니다.
+ * 포맷이 바뀌면 가장 오래된 라인부터 닫습니다.
+ */
+final class SourceLinePool {
+    private static final Logger log = LogManager.getLogger(SourceLinePool.class);
+
+    // 열린 채로 보관할 포맷 수 (장치가 동시에 열 수 있는 라인 수가 적은 경우가 많음)
+    private static final int MAX_IDLE_LINES = 2;
+
+    private record Key(String encoding, float sampleRate, int sampleSizeInBits, int channels, int frameSize,
+            boolean bigEndian, int bufferBytes) {
+        static Key of(AudioFormat format, int bufferBytes) {
+            return new Key(format.getEncoding().toString(), format.getSampleRate(), format.getSampleSizeInBits(),
+                    format.getChannels(), format.getFrameSize(), format.isBigEndian(), bufferBytes);
+        }
+    }
+
+    // 접근 순서로 정렬하여 가장 오래 쓰지 않은 라인이 앞에 옴
+    private static final Map<Key, SourceDataLine> idleLines = new LinkedHashMap<>(4, 0.75f, true);
+    private static long reused;
+    private static long opened;
+
+    private SourceLinePool() {
+    }
+
+    /**
+     * 포맷과 버퍼 크기가 같은 보관 중인 라인을 꺼내고, 없으면 새로 엽니다
+     *
+     * @throws LineUnavailableException 포맷을 지원하지 않거나 장치를 사용할 수 없는 경우
+     */
+    static SourceDataLine acquire(AudioFormat format, int bufferBytes) throws LineUnavailableException {
+        Key key = Key.of(format, bufferBytes);
+        synchronized (SourceLinePool.class) {
+            SourceDataLine line = idleLines.remove(key);
+            if (line != null && line.isOpen()) {
+                reused++;
+                log.debug("출력 라인 재사용: {} (재사용 {}회, 새로 열기 {}회)", format, reused, opened);
+                return line;
+            }
+        }
+
+        DataLine.Info info = new DataLine.Info(SourceDataLine.class, format);
+        if (!AudioSystem.isLineSupported(info)) {
+            throw new LineUnavailableException("출력 라인이 포맷을 지원하지 않습니다: " + format);
+        }
+        SourceDataLine line = (SourceDataLine) AudioSystem.getLine(info);
+        try {
+            line.open(format, bufferBytes);
+        } catch (LineUnavailableException e) {
+            // 다른 포맷으로 열어 둔 라인이 장치를 잡고 있을 수 있으므로 모두 닫고 한 번 더 시도
+            if (closeAll() == 0) {
+                throw e;
+            }
+            line.open(format, bufferBytes);
+        }
+        synchronized (SourceLinePool.class) {
+            opened++;
+        }
+        return line;
+    }
+
+    /**
+     * 다 쓴 라인을 멈추고 비워 보관합니다. 같은 포맷의 라인이 이미 있거나 보관 한도를 넘으면 닫습니다.
+     */
+    static void release(SourceDataLine line, int bufferBytes) {
+        if (!line.isOpen()) {
+            return;
+        }
+        line.stop();
+        line.flush();
+        Key key = Key.of(line.getFormat(), bufferBytes);
+        SourceDataLine toClose;
+        synchronized (SourceLinePool.class) {
+            toClose = idleLines.put(key, line);
+            if (toClose == null && idleLines.size() > MAX_IDLE_LINES) {
+                Iterator<SourceDataLine> eldest = idleLines.values().iterator();
+                toClose = eldest.next();
+                eldest.remove();
+            }
+        }
+        if (toClose != null && toClose != line) {
+            toClose.close();
+        }
+    }
+
+    /**
+     * 보관 중인 라인을 모두 닫습니다 (플레이어 종료 시 호출)
+     *
+     * @return 닫은 라인 수
+     */
+    static int closeAll() {
+        SourceDataLine[] lines;
+        synchronized (SourceLinePool.class) {
+            lines = idleLines.values().toArray(new SourceDataLine[0]);
+            idleLines.clear();
+        }
+        for (SourceDataLine line : lines) {
+            line.close();
+        }
+        return lines.length;
+    }
+}
@@ -0,0 +1,99 @@
+package ac.cwnu.synctune.player.output;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가상 출력 백엔드가 사용하는 시간원
+ * 실제 시간 배속, 수동 진행(테스트에서 advance로만 시간이 흐름), 무제한(즉시 소비) 모드를 지원합니다.
+ */
+public final class VirtualClock {
+    private static final double MANUAL = 0.0;
+
+    private final double speed;
+    private final long realOrigin = System.nanoTime();
+    private final AtomicLong manualNanos = new AtomicLong();
+
+    private VirtualClock(double speed) {
+        this.speed = speed;
+    }
+
+    /**
+     * 실제 시간의 speed배로 흐르는 클럭 (1.0 = 실시간)
+     */
+    public static VirtualClock scaled(double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("배속은 0보다 커야 합니다: " + speed);
+        }
+        return new VirtualClock(speed);
+    }
+
+    /**
+     * advance() 호출로만 흐르는 결정적 클럭
+     */
+    public static VirtualClock manual() {
+        return new VirtualClock(MANUAL);
+    }
+
+    /**
+     * 출력이 데이터를 받는 즉시 소비하는 클럭 (벤치마크용)
+     */
+    public static VirtualClock unlimited() {
+        return new VirtualClock(Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * 현재 가상 시간 (나노초). 무제한 모드에서는 의미가 없으므로 0을 반환합니다.
+     */
+    public long nanoTime() {
+        if (isManual()) {
+            return manualNanos.get();
+        }
+        if (isUnlimited()) {
+            return 0;
+        }
+        return (long) ((System.nanoTime() - realOrigin) * speed);
+    }
+
+    /**
+     * 수동 모드에서 가상 시간을 진행합니다
+     */
+    public void advance(long nanos) {
+        if (!isManual()) {
+            throw new IllegalStateException("수동 모드에서만 시간을 진행할 수 있습니다.");
+        }
+        manualNanos.addAndGet(Math.max(0, nanos));
+    }
+
+    public void advanceMillis(long millis) {
+        advance(millis * 1_000_000L);
+    }
+
+    /**
+     * 가상 시간 virtualNanos가 흐르는 데 걸리는 실제 시간 (나노초), 실제 시간과 무관하면 -1
+     */
+    long realNanosFor(long virtualNanos) {
+        if (isManual() || isUnlimited()) {
+            return -1;
+        }
+        return (long) (virtualNanos / speed);
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public boolean isManual() {
+        return speed == MANUAL;
+    }
+
+    public boolean isUnlimited() {
+        return Double.isInfinite(speed);
+    }
+
+    @Override
+    public String toString() {
+        if (isManual()) return "manual";
+        if (isUnlimited()) return "unlimited";
+        return speed + "x";
+    }
+}
@@ -0,0 +1,214 @@
+package ac.cwnu.synctune.player.output;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.FloatControl;
+import javax.sound.sampled.LineUnavailableException;
+
+/**
+ * 사운드 카드 없이 가상 클럭 속도로 PCM을 소비하는 출력 백엔드
+ * 버퍼 크기, 블로킹 write, drain, 프레임 위치가 SourceDataLine과 같은 방식으로 동작하므로
+ * 헤드리스 CI에서도 재생 → 가사 → UI로 이어지는 이벤트 흐름을 그대로 검증하고 측정할 수 있습니다.
+ * 수동 클럭을 사용하면 출력 위치는 advance() 호출에만 의존하므로 결과가 결정적입니다.
+ */
+public class VirtualClockOutput implements AudioOutput {
+    // 실제 시간과 무관한 클럭(수동)에서 공간을 기다릴 때의 재확인 간격
+    private static final long POLL_NANOS = 1_000_000L;
+
+    private final VirtualClock clock;
+    private final Object lock = new Object();
+
+    private AudioFormat format;
+    private int frameSize;
+    private float frameRate;
+    private long bufferFrames;
+
+    private boolean open;
+    private boolean running;
+    private long flushEpoch;
+
+    // 누적 기록 프레임, 마지막 기준점의 출력 프레임과 가상 시각
+    private long writtenFrames;
+    private long playedBase;
+    private long baseNanos;
+
+    public VirtualClockOutput(VirtualClock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void open(AudioFormat format, int bufferMillis) throws LineUnavailableException {
+        if (format.getFrameSize() <= 0 || format.getFrameRate() <= 0) {
+            throw new LineUnavailableException("프레임 크기/속도를 알 수 없는 포맷입니다: " + format);
+        }
+        synchronized (lock) {
+            this.format = format;
+            this.frameSize = format.getFrameSize();
+            this.frameRate = format.getFrameRate();
+            this.bufferFrames = Math.max(1, (long) (frameRate * bufferMillis / 1000));
+            this.open = true;
+            this.writtenFrames = 0;
+            this.playedBase = 0;
+            this.baseNanos = clock.nanoTime();
+        }
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public void start() {
+        synchronized (lock) {
+            if (!running) {
+                running = true;
+                baseNanos = clock.nanoTime();
+                lock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        synchronized (lock) {
+            if (running) {
+                playedBase = playedFrames();
+                running = false;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        synchronized (lock) {
+            playedBase = playedFrames();
+            baseNanos = clock.nanoTime();
+            writtenFrames = playedBase;
+            flushEpoch++;
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public void drain() {
+        synchronized (lock) {
+            long epoch = flushEpoch;
+            while (open && running && epoch == flushEpoch && playedFrames() < writtenFrames
+                    && !Thread.currentThread().isInterrupted()) {
+                awaitFrames(writtenFrames - playedFrames());
+            }
+        }
+    }
+
+    @Override
+    public int write(byte[] buffer, int off, int len) {
+        int frames = len / frameSize;
+        synchronized (lock) {
+            long epoch = flushEpoch;
+            int remaining = frames;
+            while (remaining > 0 && open && !Thread.currentThread().isInterrupted()) {
+                long space = bufferFrames - (writtenFrames - playedFrames());
+                if (space > 0) {
+                    int accepted = (int) Math.min(space, remaining);
+                    writtenFrames += accepted;
+                    remaining -= accepted;
+                    continue;
+                }
+                if (!running || epoch != flushEpoch) {
+                    break;
+                }
+                awaitFrames(1);
+            }
+            return (frames - remaining) * frameSize;
+        }
+    }
+
+    @Override
+    public long getFramePosition() {
+        synchronized (lock) {
+            return playedFrames();
+        }
+    }
+
+    @Override
+    public int getBufferFrames() {
+        synchronized (lock) {
+            return (int) bufferFrames;
+        }
+    }
+
+    @Override
+    public int getQueuedFrames() {
+        synchronized (lock) {
+            return (int) (writtenFrames - playedFrames());
+        }
+    }
+
+    @Override
+    public FloatControl getGainControl() {
+        return null;
+    }
+
+    @Override
+    public double getClockRate() {
+        return clock.isManual() || clock.isUnlimited() ? 0.0 : clock.getSpeed();
+    }
+
+    @Override
+    public String getName() {
+        return "Virtual(" + clock + ")";
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            open = false;
+            running = false;
+            lock.notifyAll();
+        }
+    }
+
+    public VirtualClock getClock() {
+        return clock;
+    }
+
+    // ========== 내부 계산 (lock 보유 상태에서 호출) ==========
+
+    /**
+     * 가상 시간 기준으로 지금까지 출력된 프레임 수
+     * 실시간 클럭에서는 버퍼가 비어 출력이 멈춘 동안(언더런) 위치가 앞서가지 않도록 기준점을 다시 잡습니다.
+     * 수동 클럭에서는 진행시킨 시간을 기록 속도와 무관하게 모두 소비하여 결과가 스레드 속도에 좌우되지 않게 합니다.
+     */
+    private long playedFrames() {
+        if (!running) {
+            return playedBase;
+        }
+        if (clock.isUnlimited()) {
+            playedBase = writtenFrames;
+            return playedBase;
+        }
+        long now = clock.nanoTime();
+        long elapsedFrames = (long) ((now - baseNanos) * (double) frameRate / 1_000_000_000L);
+        long played = playedBase + elapsedFrames;
+        if (played >= writtenFrames) {
+            if (clock.isManual()) {
+                return writtenFrames;
+            }
+            playedBase = writtenFrames;
+            baseNanos = now;
+            return writtenFrames;
+        }
+        return played;
+    }
+
+    private void awaitFrames(long frames) {
+        long realNanos = clock.realNanosFor((long) (frames * 1_000_000_000L / (double) frameRate));
+        long waitNanos = realNanos < 0 ? POLL_NANOS : Math.max(realNanos, 100_000L);
+        try {
+            lock.wait(waitNanos / 1_000_000L, (int) (waitNanos % 1_000_000L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
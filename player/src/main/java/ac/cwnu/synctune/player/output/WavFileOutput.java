@@ -0,0 +1,158 @@
+package ac.cwnu.synctune.player.output;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.FloatControl;
+import javax.sound.sampled.LineUnavailableException;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * 재생기의 최종 PCM(디코딩, DSP 체인 처리 이후)을 WAV 파일로 기록하는 오프라인 출력 백엔드
+ * 장치 타이밍 없이 CPU가 허용하는 속도로 데이터를 받으므로 디코딩/DSP 처리량을 실시간 대비 배율로 측정하고,
+ * 곡 전환 결과를 비트 단위로 검증하거나 믹스를 내보내는 데 사용합니다. 사운드 장치가 없어도 동작합니다.
+ */
+public class WavFileOutput implements AudioOutput {
+    private static final Logger log = LogManager.getLogger(WavFileOutput.class);
+
+    /**
+     * 출력 포맷에 맞는 라이터를 제공합니다 (곡별 파일 또는 여러 곡이 이어지는 공유 파일)
+     */
+    @FunctionalInterface
+    public interface WriterProvider {
+        WavFileWriter open(AudioFormat format) throws IOException, LineUnavailableException;
+    }
+
+    private final WriterProvider provider;
+    private final boolean ownsWriter;
+
+    private WavFileWriter writer;
+    private AudioFormat format;
+    private volatile long framesWritten;
+    private long openedNanos;
+
+    /**
+     * @param ownsWriter true면 close() 시 라이터를 닫고, false면 헤더만 갱신하고 다음 곡이 이어서 기록하도록 둡니다
+     */
+    public WavFileOutput(WriterProvider provider, boolean ownsWriter) {
+        this.provider = provider;
+        this.ownsWriter = ownsWriter;
+    }
+
+    /**
+     * 지정한 파일 하나에 기록하는 출력
+     */
+    public static WavFileOutput toFile(Path path) {
+        return new WavFileOutput(format -> WavFileWriter.create(path, format), true);
+    }
+
+    @Override
+    public void open(AudioFormat format, int bufferMillis) throws LineUnavailableException {
+        try {
+            this.writer = provider.open(format);
+        } catch (IOException e) {
+            LineUnavailableException lue = new LineUnavailableException("WAV 파일을 열 수 없습니다: " + e.getMessage());
+            lue.initCause(e);
+            throw lue;
+        }
+        this.format = format;
+        this.framesWritten = 0;
+        this.openedNanos = System.nanoTime();
+        log.info("WAV 렌더링 시작: {} ({})", writer.getPath(), format);
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public void start() {
+        // 장치 타이밍이 없으므로 상태 변화 없음
+    }
+
+    @Override
+    public void stop() {
+        // 장치 타이밍이 없으므로 상태 변화 없음
+    }
+
+    @Override
+    public void flush() {
+        // 기록된 데이터는 이미 "출력"된 것이므로 버릴 대상이 없음
+    }
+
+    @Override
+    public void drain() {
+        try {
+            writer.updateHeader();
+        } catch (IOException e) {
+            log.warn("WAV 헤더 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public int write(byte[] buffer, int off, int len) {
+        int bytes = len - (len % format.getFrameSize());
+        if (bytes <= 0) {
+            return 0;
+        }
+        try {
+            writer.write(buffer, off, bytes);
+            framesWritten += bytes / format.getFrameSize();
+            return bytes;
+        } catch (IOException e) {
+            log.error("WAV 기록 실패: {} - {}", writer.getPath(), e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public long getFramePosition() {
+        return framesWritten;
+    }
+
+    /**
+     * 볼륨은 DSP 체인의 게인 단계가 적용하므로 별도 컨트롤이 없음
+     */
+    @Override
+    public FloatControl getGainControl() {
+        return null;
+    }
+
+    @Override
+    public double getClockRate() {
+        return 0.0;
+    }
+
+    @Override
+    public String getName() {
+        return "WavFile(" + (writer != null ? writer.getPath().getFileName() : "-") + ")";
+    }
+
+    @Override
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            if (ownsWriter) {
+                writer.close();
+            } else {
+                writer.updateHeader();
+            }
+        } catch (IOException e) {
+            log.warn("WAV 파일 마무리 실패: {} - {}", writer.getPath(), e.getMessage());
+        }
+
+        double mediaSeconds = framesWritten / format.getFrameRate();
+        double wallSeconds = (System.nanoTime() - openedNanos) / 1_000_000_000.0;
+        log.info("WAV 렌더링 완료: {} ({}초 분량, {}초 소요, 실시간 대비 {}배)", writer.getPath(),
+                String.format("%.2f", mediaSeconds), String.format("%.2f", wallSeconds),
+                String.format("%.1f", wallSeconds > 0 ? mediaSeconds / wallSeconds : 0));
+        writer = null;
+    }
+}
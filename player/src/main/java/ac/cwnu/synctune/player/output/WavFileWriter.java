@@ -0,0 +1,167 @@
+package ac.cwnu.synctune.player.output;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * little-endian PCM을 WAV 파일로 기록하는 라이터
+ * 헤더 뒤에 ds64 크기의 JUNK 청크를 예약해 두므로 4GB를 넘으면 파일을 다시 쓰지 않고 RF64로 전환합니다.
+ * 헤더의 크기 필드는 {@link #updateHeader()} 호출 시점마다 갱신되어 기록 도중에도 유효한 파일을 유지합니다.
+ */
+public class WavFileWriter implements Closeable {
+    private static final int WAVE_FORMAT_PCM = 0x0001;
+    private static final int WAVE_FORMAT_IEEE_FLOAT = 0x0003;
+
+    private static final int BUFFER_BYTES = 256 * 1024;
+    // RIFF(12) + JUNK/ds64(8+28) + fmt(8+18) + fact(8+4) + data(8)
+    private static final int HEADER_BYTES = 12 + 36 + 26 + 12 + 8;
+    private static final long RIFF_LIMIT = 0xFFFFFFFFL;
+
+    private final Path path;
+    private final AudioFormat format;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long dataBytes;
+
+    private WavFileWriter(Path path, AudioFormat format, FileChannel channel) {
+        this.path = path;
+        this.format = format;
+        this.channel = channel;
+    }
+
+    /**
+     * 파일을 새로 만들고 헤더를 기록합니다
+     *
+     * @param format 기록할 포맷 (little-endian 정수 PCM, 8비트 unsigned, 32비트 float만 허용)
+     */
+    public static WavFileWriter create(Path path, AudioFormat format) throws IOException {
+        boolean isFloat = AudioFormat.Encoding.PCM_FLOAT.equals(format.getEncoding());
+        boolean isSigned = AudioFormat.Encoding.PCM_SIGNED.equals(format.getEncoding());
+        boolean isUnsigned8 = AudioFormat.Encoding.PCM_UNSIGNED.equals(format.getEncoding())
+                && format.getSampleSizeInBits() == 8;
+        if (!(isFloat || isSigned || isUnsigned8) || (format.isBigEndian() && format.getSampleSizeInBits() > 8)) {
+            throw new IOException("WAV로 기록할 수 없는 포맷입니다: " + format);
+        }
+        if (path.getParent() != null) {
+            path.getParent().toFile().mkdirs();
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        WavFileWriter writer = new WavFileWriter(path, format, channel);
+        try {
+            writer.writeHeader();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return writer;
+    }
+
+    /**
+     * PCM 데이터를 기록합니다 (내부 버퍼가 가득 차면 파일로 씀)
+     */
+    public synchronized void write(byte[] data, int off, int len) throws IOException {
+        while (len > 0) {
+            int n = Math.min(len, buffer.remaining());
+            buffer.put(data, off, n);
+            off += n;
+            len -= n;
+            dataBytes += n;
+            if (!buffer.hasRemaining()) {
+                flushBuffer();
+            }
+        }
+    }
+
+    /**
+     * 버퍼를 비우고 헤더의 크기 필드를 현재 기록량으로 갱신합니다
+     */
+    public synchronized void updateHeader() throws IOException {
+        flushBuffer();
+        writeHeader();
+    }
+
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public synchronized long getFramesWritten() {
+        return dataBytes / format.getFrameSize();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            updateHeader();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        long position = channel.size();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+    }
+
+    private void writeHeader() throws IOException {
+        boolean isFloat = AudioFormat.Encoding.PCM_FLOAT.equals(format.getEncoding());
+        long frames = dataBytes / format.getFrameSize();
+        long riffSize = HEADER_BYTES - 8 + dataBytes;
+        boolean rf64 = riffSize > RIFF_LIMIT;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(ascii(rf64 ? "RF64" : "RIFF")).putInt((int) (rf64 ? RIFF_LIMIT : riffSize)).put(ascii("WAVE"));
+
+        // ds64 예약 영역: 일반 RIFF에서는 읽기 도구가 무시하는 JUNK 청크
+        header.put(ascii(rf64 ? "ds64" : "JUNK")).putInt(28);
+        if (rf64) {
+            header.putLong(riffSize).putLong(dataBytes).putLong(frames).putInt(0);
+        } else {
+            header.put(new byte[28]);
+        }
+
+        int channels = format.getChannels();
+        int blockAlign = format.getFrameSize();
+        int sampleRate = (int) format.getSampleRate();
+        header.put(ascii("fmt ")).putInt(18)
+                .putShort((short) (isFloat ? WAVE_FORMAT_IEEE_FLOAT : WAVE_FORMAT_PCM))
+                .putShort((short) channels)
+                .putInt(sampleRate)
+                .putInt(sampleRate * blockAlign)
+                .putShort((short) blockAlign)
+                .putShort((short) format.getSampleSizeInBits())
+                .putShort((short) 0);
+
+        header.put(ascii("fact")).putInt(4).putInt((int) Math.min(frames, RIFF_LIMIT));
+        header.put(ascii("data")).putInt((int) (rf64 ? RIFF_LIMIT : dataBytes));
+
+        header.flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+
+    private static byte[] ascii(String id) {
+        return id.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -3,18 +3,19 @@ package ac.cwnu.synctune.player.playback;
 import java.io.File;
 import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.Clip;
 import javax.sound.sampled.FloatControl;
+import javax.sound.sampled.LineEvent;
 import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.UnsupportedAudioFileException;
 
 import org.slf4j.Logger;
 
+import ac.cwnu.synctune.player.dsp.VolumeCurve;
 import ac.cwnu.synctune.sdk.event.EventPublisher;
 import ac.cwnu.synctune.sdk.event.PlaybackStatusEvent;
 import ac.cwnu.synctune.sdk.log.LogManager;
@@ -34,10 +35,6 @@ public class AudioEngine {
     private AudioInputStream audioInputStream;
     private Clip audioClip;
     private FloatControl volumeControl;
-    
-    // 재생 완료 감지
-    private final AtomicBoolean shouldMonitor = new AtomicBoolean(false);
-    private Thread monitorThread;
 
     public AudioEngine(EventPublisher eventPublisher, PlaybackStateManager stateManager) {
         this.eventPublisher = eventPublisher;
@@ -93,6 +90,10 @@ public class AudioEngine {
             audioClip = AudioSystem.getClip();
             audioClip.open(audioInputStream);
             
+            // 재생 완료 감지는 폴링 대신 라인 이벤트로 처리
+            Clip loadedClip = audioClip;
+            audioClip.addLineListener(event -> onLineEvent(loadedClip, event));
+            
             // 볼륨 컨트롤 설정
             setupVolumeControl();
             
@@ -147,9 +148,6 @@ public class AudioEngine {
             audioClip.start();
             stateManager.setState(PlaybackStateManager.PlaybackState.PLAYING);
         
-            // 재생 완료 모니터링 시작
-            startPlaybackMonitoring();
-        
             log.info("실제 오디오 재생 시작: {}", stateManager.getCurrentMusic().getTitle());
             return true;
         
@@ -172,12 +170,12 @@ public class AudioEngine {
             // 현재 재생 위치를 정확히 업데이트하고 저장
             updateCurrentPosition();
         
+            // 상태를 먼저 바꿔 STOP 이벤트가 재생 완료로 오인되지 않도록 함
+            stateManager.setState(PlaybackStateManager.PlaybackState.PAUSED);
+        
             // 오디오 클립 정지
             audioClip.stop();
         
-            // 모니터링 정지
-            stopPlaybackMonitoring();
-        
             log.info("실제 오디오 일시정지됨 (위치: {}ms)", stateManager.getCurrentPosition());
             return true;
         
@@ -197,7 +195,6 @@ public class AudioEngine {
             }
             
             stateManager.setState(PlaybackStateManager.PlaybackState.STOPPED);
-            stopPlaybackMonitoring();
             
             log.info("실제 오디오 재생 정지됨");
             return true;
@@ -221,9 +218,7 @@ public class AudioEngine {
         
         // 재생 시작
         audioClip.start();
-        
-        // 모니터링 재시작
-        startPlaybackMonitoring();
+        stateManager.setState(PlaybackStateManager.PlaybackState.PLAYING);
         
         log.info("실제 오디오 재개됨 (위치: {}ms)", pausePosition);
         return true;
@@ -342,15 +337,9 @@ public class AudioEngine {
         try {
             float effectiveVolume = stateManager.getEffectiveVolume();
             
-            // 볼륨을 데시벨로 변환 (0.0 ~ 1.0 -> dB)
-            float gainDB;
-            if (effectiveVolume <= 0.0f) {
-                gainDB = volumeControl.getMinimum();
-            } else {
-                // 로그 스케일 변환
-                float range = volumeControl.getMaximum() - volumeControl.getMinimum();
-                gainDB = volumeControl.getMinimum() + (range * effectiveVolume);
-            }
+            // 볼륨을 진폭 배율로 보고 dB로 변환 (0.0 ~ 1.0 -> 음소거 ~ 0dB)
+            float gainDB = VolumeCurve.toDecibels(effectiveVolume,
+                volumeControl.getMinimum(), volumeControl.getMaximum());
             
             volumeControl.setValue(gainDB);
             return true;
@@ -374,47 +363,28 @@ public class AudioEngine {
         audioClip.setFramePosition((int) framePosition);
     }
     
-    private void startPlaybackMonitoring() {
-        shouldMonitor.set(true);
-        
-        monitorThread = new Thread(() -> {
-            while (shouldMonitor.get() && !Thread.currentThread().isInterrupted()) {
-                try {
-                    // 재생 위치 업데이트
-                    updateCurrentPosition();
-                    
-                    // 재생 완료 감지
-                    if (stateManager.isPlaying() && !isAudioClipRunning()) {
-                        handlePlaybackCompleted();
-                        break;
-                    }
-                    
-                    Thread.sleep(100); // 100ms마다 체크
-                    
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                } catch (Exception e) {
-                    log.error("재생 모니터링 중 오류", e);
-                }
+    /**
+     * Clip의 START/STOP 이벤트 처리
+     * 재생 중 상태에서 끝 프레임에 도달해 발생한 STOP만 재생 완료로 간주합니다.
+     */
+    private void onLineEvent(Clip clip, LineEvent event) {
+        if (clip != audioClip) {
+            return; // 이미 교체된 이전 곡의 이벤트
+        }
+        if (event.getType() == LineEvent.Type.START) {
+            if (stateManager.isPaused()) {
+                stateManager.setState(PlaybackStateManager.PlaybackState.PLAYING);
+            }
+        } else if (event.getType() == LineEvent.Type.STOP) {
+            if (stateManager.isPlaying() && event.getFramePosition() >= clip.getFrameLength()) {
+                handlePlaybackCompleted();
             }
-        }, "AudioEngine-PlaybackMonitor");
-        
-        monitorThread.setDaemon(true);
-        monitorThread.start();
-    }
-    
-    private void stopPlaybackMonitoring() {
-        shouldMonitor.set(false);
-        if (monitorThread != null && monitorThread.isAlive()) {
-            monitorThread.interrupt();
         }
     }
     
     private void handlePlaybackCompleted() {
         log.info("실제 오디오 재생 완료: {}", stateManager.getCurrentMusic().getTitle());
         stateManager.setState(PlaybackStateManager.PlaybackState.STOPPED);
-        shouldMonitor.set(false);
         
         // 재생 완료 이벤트 발행
         eventPublisher.publish(new PlaybackStatusEvent.PlaybackStoppedEvent());
@@ -0,0 +1,165 @@
+package ac.cwnu.synctune.player.playback;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import ac.cwnu.synctune.sdk.audio.PlaybackClock;
+
+/**
+ * 출력 라인의 프레임 위치와 System.nanoTime 보간을 결합한 고해상도 재생 클럭
+ * 라인 위치는 장치 버퍼 단위로 띄엄띄엄 갱신되므로, 마지막으로 관측한 위치(앵커)에서 경과한 벽시계 시간을 더해
+ * 임의의 시점에 밀리초 이하 정밀도로 미디어 시간을 계산합니다.
+ * 상태는 불변 앵커 하나로 표현되어 읽기 측은 잠금 없이 조회하며, 앵커 재동기화도 CAS로만 처리합니다.
+ * 가상 출력처럼 벽시계와 다른 속도로 진행하는 백엔드는 진행 속도(rate)로 보간하며, 0이면 보간 없이 매번 측정합니다.
+ */
+public class InterpolatedPlaybackClock implements PlaybackClock {
+
+    // 라인 위치로 앵커를 다시 맞추는 최소 간격
+    private static final long RESYNC_INTERVAL_NANOS = 10_000_000L;
+    // 이 범위 안에서 측정값이 보간값보다 뒤처지면 되감지 않고 측정값이 따라올 때까지 유지 (단조 증가 보장)
+    private static final long BACKWARD_TOLERANCE_MICROS = 50_000L;
+
+    /**
+     * 클럭 상태 스냅샷
+     *
+     * @param mediaMicros 앵커 시점의 미디어 시간
+     * @param wallNanos   앵커 시점의 System.nanoTime
+     * @param floorMicros 보고할 최소 미디어 시간 (되감기 방지)
+     * @param running     진행 여부
+     * @param rate        벽시계 1초당 미디어 시간 진행량 (0이면 보간하지 않음)
+     * @param source      라인 기준 미디어 위치 (마이크로초), 라인이 없으면 null
+     */
+    private record Anchor(long mediaMicros, long wallNanos, long floorMicros, boolean running, double rate,
+            LongSupplier source) {
+
+        Anchor moveTo(long media, long floor, boolean running) {
+            return new Anchor(media, System.nanoTime(), floor, running, rate, source);
+        }
+    }
+
+    private final AtomicReference<Anchor> anchor =
+            new AtomicReference<>(new Anchor(0, System.nanoTime(), 0, false, 1.0, null));
+
+    // 라인 위치 이후에 남는 외부 출력 지연 (블루투스/외장 DAC 등)
+    private volatile long outputLatencyMicros;
+
+    /**
+     * 새 곡의 위치 소스를 연결합니다. 클럭은 정지 상태로 0에서 시작합니다.
+     *
+     * @param source 라인 기준 미디어 위치(마이크로초)를 반환하는 함수
+     * @param rate   출력 백엔드의 벽시계 대비 진행 속도 (실제 장치는 1.0)
+     */
+    public void attach(LongSupplier source, double rate) {
+        anchor.set(new Anchor(0, System.nanoTime(), 0, false, rate, source));
+    }
+
+    /**
+     * 연결된 소스를 해제하고 0으로 초기화합니다
+     */
+    public void detach() {
+        anchor.set(new Anchor(0, System.nanoTime(), 0, false, 1.0, null));
+    }
+
+    /**
+     * 라인 재생 시작/재개 직후 호출합니다
+     */
+    public void start() {
+        Anchor a = anchor.get();
+        long media = a.source() != null ? measure(a.source()) : a.mediaMicros();
+        anchor.set(a.moveTo(media, media, true));
+    }
+
+    /**
+     * 현재 위치에서 클럭을 멈춥니다
+     */
+    public void pause() {
+        Anchor a = anchor.get();
+        long media = a.source() != null ? measure(a.source()) : estimate(a, System.nanoTime());
+        anchor.set(a.moveTo(media, media, false));
+    }
+
+    /**
+     * 진행 속도를 바꿉니다 (재생 속도 변경). 현재 위치를 새 앵커로 삼아 이후부터 새 속도로 보간합니다.
+     *
+     * @param rate 벽시계 1초당 미디어 시간 진행량 (0이면 보간하지 않음)
+     */
+    public void setRate(double rate) {
+        Anchor a = anchor.get();
+        long now = System.nanoTime();
+        long media = a.mediaMicros();
+        long floor = a.floorMicros();
+        if (a.running()) {
+            long estimate = estimate(a, now);
+            media = a.source() != null ? measure(a.source()) : estimate;
+            // 이미 보고한 시간보다 되감지 않음
+            floor = Math.max(media, Math.min(estimate, media + BACKWARD_TOLERANCE_MICROS));
+        }
+        anchor.set(new Anchor(media, now, floor, a.running(), rate, a.source()));
+    }
+
+    /**
+     * 탐색 등 불연속 지점에서 미디어 시간을 직접 지정합니다 (되감기 방지 하한도 초기화)
+     */
+    public void seek(long positionMs) {
+        Anchor a = anchor.get();
+        long media = Math.max(0, positionMs) * 1000L;
+        anchor.set(a.moveTo(media, media, a.running()));
+    }
+
+    public void setOutputLatencyMillis(long latencyMs) {
+        this.outputLatencyMicros = Math.max(0, latencyMs) * 1000L;
+    }
+
+    @Override
+    public long getMediaTimeMillis() {
+        return getMediaTimeMicros() / 1000L;
+    }
+
+    /**
+     * 현재 미디어 시간 (마이크로초)
+     */
+    public long getMediaTimeMicros() {
+        Anchor a = anchor.get();
+        if (!a.running()) {
+            return a.mediaMicros();
+        }
+        if (a.rate() <= 0) {
+            // 벽시계와 무관한 백엔드: 출력 위치가 곧 미디어 시간
+            return a.source() != null ? measure(a.source()) : a.mediaMicros();
+        }
+        long now = System.nanoTime();
+        long estimate = estimate(a, now);
+
+        if (a.source() != null && now - a.wallNanos() >= RESYNC_INTERVAL_NANOS) {
+            long measured = measure(a.source());
+            long floor = 0;
+            if (measured < estimate && estimate - measured <= BACKWARD_TOLERANCE_MICROS) {
+                // 라인 위치 갱신 지연으로 인한 작은 역행은 보고하지 않음
+                floor = estimate;
+            }
+            // 다른 스레드가 먼저 갱신했다면 그 앵커를 그대로 사용
+            anchor.compareAndSet(a, new Anchor(measured, now, floor, true, a.rate(), a.source()));
+            return Math.max(measured, floor);
+        }
+        return estimate;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return anchor.get().running();
+    }
+
+    @Override
+    public double getRate() {
+        return anchor.get().rate();
+    }
+
+    private long estimate(Anchor a, long now) {
+        long interpolated = a.mediaMicros() + (long) ((now - a.wallNanos()) / 1000L * a.rate());
+        return Math.max(interpolated, a.floorMicros());
+    }
+
+    private long measure(LongSupplier source) {
+        return Math.max(0, source.getAsLong() - outputLatencyMicros);
+    }
+}
@@ -0,0 +1,219 @@
+package ac.cwnu.synctune.player.playback;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * 여러 스레드가 넣은 명령을 단일 플레이어 스레드가 순서대로 실행하는 명령 루프
+ * 이벤트 디스패처, 스케줄러, 라인/렌더 스레드는 명령을 넣기만 하고, 재생 엔진 상태는 루프 스레드만 변경하므로 잠금이 필요 없습니다.
+ * 큐는 잠금 없는 다중 생산자/단일 소비자 연결 큐이며, 생산자는 tail 교환 한 번으로 명령을 넣습니다.
+ * 명령마다 큐 대기 시간과 실행 시간을 기록하여 {@link #sample()}로 조회할 수 있습니다.
+ */
+public final class PlayerCommandLoop implements AutoCloseable {
+    private static final Logger log = LogManager.getLogger(PlayerCommandLoop.class);
+
+    // 이보다 오래 걸린 명령은 로그로 남김
+    private static final long SLOW_COMMAND_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int SPINS_BEFORE_PARK = 64;
+
+    /**
+     * 구간 측정값
+     *
+     * @param commands       구간 중 실행한 명령 수
+     * @param queued         조회 시점에 실행을 기다리는 명령 수
+     * @param avgWaitMicros  큐에 들어간 뒤 실행되기까지의 평균 대기 시간
+     * @param maxWaitMicros  가장 길었던 대기 시간
+     * @param maxRunMicros   가장 길었던 실행 시간
+     * @param failures       구간 중 예외로 끝난 명령 수
+     */
+    public record Stats(long commands, long queued, long avgWaitMicros, long maxWaitMicros, long maxRunMicros,
+            long failures) {
+    }
+
+    private static final class Node {
+        final String name;
+        final long enqueuedNanos;
+        Runnable command;
+        volatile Node next;
+
+        Node(String name, Runnable command) {
+            this.name = name;
+            this.command = command;
+            this.enqueuedNanos = System.nanoTime();
+        }
+    }
+
+    private final Thread thread;
+    // 생산자가 교환하는 마지막 노드
+    private final AtomicReference<Node> tail;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    // closed 확인을 통과해 아직 노드를 연결하고 있는 생산자 수 (닫힌 뒤 루프는 0이 될 때까지 끝내지 않음)
+    private final AtomicInteger linking = new AtomicInteger();
+    private volatile boolean waiting;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong executed = new AtomicLong();
+
+    // ===== 루프 스레드 전용 상태 =====
+    // 이미 실행한 마지막 노드 (다음 명령은 head.next)
+    private Node head;
+
+    // 구간값 (sample()에서 초기화)
+    private final AtomicLong windowCommands = new AtomicLong();
+    private final AtomicLong windowWaitNanos = new AtomicLong();
+    private final AtomicLong windowMaxWaitNanos = new AtomicLong();
+    private final AtomicLong windowMaxRunNanos = new AtomicLong();
+    private final AtomicLong windowFailures = new AtomicLong();
+
+    public PlayerCommandLoop(String threadName) {
+        Node stub = new Node("stub", null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+        this.thread = new Thread(this::run, threadName);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * 루프 스레드를 시작합니다. 생성이 끝난 뒤 한 번만 호출하며, 그 전에 넣은 명령은 시작 후 순서대로 실행됩니다.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * 명령을 큐 끝에 넣습니다. 호출한 스레드는 기다리지 않습니다.
+     *
+     * @param name 로그와 측정에 쓰는 명령 이름
+     * @return 루프가 이미 닫혀 명령을 받지 않으면 false
+     */
+    public boolean submit(String name, Runnable command) {
+        // closed를 읽기 전에 등록해야 close() 직전에 통과한 생산자의 노드를 루프가 기다렸다가 실행함
+        linking.incrementAndGet();
+        try {
+            if (closed.get()) {
+                log.debug("명령 루프가 닫혀 명령을 무시합니다: {}", name);
+                return false;
+            }
+            Node node = new Node(name, command);
+            submitted.incrementAndGet();
+            Node previous = tail.getAndSet(node);
+            previous.next = node;
+            if (waiting) {
+                LockSupport.unpark(thread);
+            }
+            return true;
+        } finally {
+            linking.decrementAndGet();
+        }
+    }
+
+    /**
+     * 현재 스레드가 루프 스레드인지
+     */
+    public boolean isLoopThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * 이미 들어온 명령을 모두 실행한 뒤 루프 스레드를 끝냅니다. 이후의 submit은 무시됩니다.
+     * 닫기와 겹친 submit도 true를 반환했다면 그 명령은 루프가 끝나기 전에 실행됩니다.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        if (isLoopThread()) {
+            return;
+        }
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("명령 루프가 제시간에 끝나지 않았습니다: {}", thread.getName());
+        }
+    }
+
+    /**
+     * 직전 조회 이후 구간의 측정값을 가져오고 구간을 새로 시작합니다
+     */
+    public Stats sample() {
+        long commands = windowCommands.getAndSet(0);
+        long waitNanos = windowWaitNanos.getAndSet(0);
+        long queued = Math.max(0, submitted.get() - executed.get());
+        return new Stats(commands, queued, commands > 0 ? waitNanos / commands / 1000 : 0,
+                windowMaxWaitNanos.getAndSet(0) / 1000, windowMaxRunNanos.getAndSet(0) / 1000,
+                windowFailures.getAndSet(0));
+    }
+
+    // ========== 루프 스레드 ==========
+
+    private void run() {
+        int idle = 0;
+        while (true) {
+            Node next = head.next;
+            if (next != null) {
+                head = next;
+                execute(next);
+                idle = 0;
+                continue;
+            }
+            if (tail.get() != head) {
+                // 생산자가 tail을 바꾸고 next를 연결하기 직전
+                Thread.onSpinWait();
+                continue;
+            }
+            if (closed.get()) {
+                // 닫히기 전에 closed 확인을 통과한 생산자가 연결을 마치고, 그 명령까지 실행한 뒤에 끝냄
+                if (linking.get() == 0 && head.next == null && tail.get() == head) {
+                    break;
+                }
+                Thread.onSpinWait();
+                continue;
+            }
+            if (idle++ < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+                continue;
+            }
+            waiting = true;
+            if (head.next == null && tail.get() == head && !closed.get()) {
+                LockSupport.park(this);
+            }
+            waiting = false;
+        }
+        log.debug("명령 루프 종료: {}", thread.getName());
+    }
+
+    private void execute(Node node) {
+        Runnable command = node.command;
+        node.command = null; // 이미 실행한 노드가 head로 남으므로 참조를 끊음
+        long started = System.nanoTime();
+        long wait = started - node.enqueuedNanos;
+        try {
+            command.run();
+        } catch (Throwable t) {
+            windowFailures.incrementAndGet();
+            log.error("플레이어 명령 실행 중 오류: {}", node.name, t);
+        }
+        long elapsed = System.nanoTime() - started;
+        executed.incrementAndGet();
+        windowCommands.incrementAndGet();
+        windowWaitNanos.addAndGet(wait);
+        windowMaxWaitNanos.accumulateAndGet(wait, Math::max);
+        windowMaxRunNanos.accumulateAndGet(elapsed, Math::max);
+        if (elapsed > SLOW_COMMAND_NANOS) {
+            log.debug("느린 플레이어 명령: {} ({}ms, 대기 {}ms)", node.name,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), TimeUnit.NANOSECONDS.toMillis(wait));
+        }
+    }
+}
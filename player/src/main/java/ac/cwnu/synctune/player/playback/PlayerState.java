@@ -0,0 +1,30 @@
+package ac.cwnu.synctune.player.playback;
+
+import ac.cwnu.synctune.player.playback.PlaybackStateManager.PlaybackState;
+import ac.cwnu.synctune.sdk.model.MusicInfo;
+
+/**
+ * 플레이어 스레드가 명령을 처리할 때마다 발행하는 불변 상태 스냅샷
+ * 다른 스레드는 잠금 없이 가장 최근 스냅샷을 읽으며, 한 스냅샷 안의 값은 항상 같은 시점의 상태입니다.
+ * 재생 위치는 계속 바뀌므로 포함하지 않고 {@link ac.cwnu.synctune.sdk.audio.PlaybackClock}으로 조회합니다.
+ *
+ * @param status         재생 상태
+ * @param music          현재 곡, 없으면 null
+ * @param durationMillis 현재 곡 길이
+ * @param simulation     파일 대신 무음을 재생 중인지
+ * @param volume         사용자 볼륨 (0~1)
+ * @param muted          음소거 여부
+ * @param speed          재생 속도 (1.0이 원래 속도)
+ * @param generation     곡이 바뀔 때마다 증가하는 번호
+ */
+public record PlayerState(PlaybackState status, MusicInfo music, long durationMillis, boolean simulation,
+        float volume, boolean muted, float speed, long generation) {
+
+    public boolean isPlaying() {
+        return status == PlaybackState.PLAYING;
+    }
+
+    public boolean isPaused() {
+        return status == PlaybackState.PAUSED;
+    }
+}
@@ -0,0 +1,209 @@
+package ac.cwnu.synctune.player.playback;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.log.LogManager;
+import ac.cwnu.synctune.sdk.model.MusicInfo;
+
+/**
+ * 다음에 재생될 곡들의 오디오, 가사(.lrc), 폴더 커버 이미지를 미리 읽어 OS 페이지 캐시를 데우는 백그라운드 작업
+ * 곡이 바뀌는 순간 디코더 열기, 가사 파싱, 커버 로드가 느린 디스크나 네트워크 드라이브에서 멈추지 않게 합니다.
+ * 읽은 내용은 버리고 순차 읽기만 하므로 힙을 쓰지 않으며, 한 번 요청에서 읽는 양은 바이트 예산으로 제한합니다.
+ * 가까운 곡의 작은 부속 파일을 먼저 읽고, 예산이 모자라면 오디오 파일은 앞부분만 읽습니다.
+ */
+public class TrackPrefetcher implements AutoCloseable {
+    private static final Logger log = LogManager.getLogger(TrackPrefetcher.class);
+
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+    // 같은 파일을 곡이 바뀔 때마다 다시 읽지 않도록 기억하는 항목 수
+    private static final int WARMED_HISTORY = 256;
+    private static final List<String> COVER_FILE_NAMES = List.of("cover", "folder", "album", "front", "artwork");
+    private static final List<String> COVER_EXTENSIONS = List.of(".jpg", ".jpeg", ".png");
+
+    private final long budgetBytes;
+    private final ExecutorService executor;
+    private final AtomicLong requestGeneration = new AtomicLong();
+
+    // ===== 작업 스레드 전용 상태 =====
+    private ByteBuffer buffer;
+    // 경로 → 읽을 당시 수정 시각 (접근 순서 LRU)
+    private final Map<String, Long> warmed = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > WARMED_HISTORY;
+        }
+    };
+
+    /**
+     * @param budgetBytes 요청 한 번에 읽을 최대 바이트 수
+     */
+    public TrackPrefetcher(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "TrackPrefetcher");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    /**
+     * 주어진 곡들(가까운 순서)의 파일을 미리 읽습니다. 진행 중이던 이전 요청은 다음 읽기 단위에서 중단됩니다.
+     */
+    public void prefetch(List<MusicInfo> upcoming) {
+        long generation = requestGeneration.incrementAndGet();
+        if (upcoming.isEmpty() || budgetBytes <= 0 || executor.isShutdown()) {
+            return;
+        }
+        List<MusicInfo> tracks = List.copyOf(upcoming);
+        executor.execute(() -> run(tracks, generation));
+    }
+
+    /**
+     * 진행 중인 요청을 취소합니다
+     */
+    public void cancel() {
+        requestGeneration.incrementAndGet();
+    }
+
+    @Override
+    public void close() {
+        cancel();
+        executor.shutdownNow();
+    }
+
+    // ========== 작업 스레드 ==========
+
+    private void run(List<MusicInfo> tracks, long generation) {
+        long started = System.nanoTime();
+        long remaining = budgetBytes;
+        long total = 0;
+        int files = 0;
+
+        // 부속 파일은 작으므로 가까운 곡 순서로 먼저 읽고, 남은 예산으로 오디오 파일을 읽음
+        List<File> audioFiles = new ArrayList<>();
+        for (MusicInfo music : tracks) {
+            File audio = new File(music.getFilePath());
+            if (!audio.isFile()) {
+                continue;
+            }
+            audioFiles.add(audio);
+            for (File sidecar : sidecarFiles(music, audio)) {
+                long read = warm(sidecar, remaining, generation);
+                if (read < 0) {
+                    return;
+                }
+                remaining -= read;
+                total += read;
+                files += read > 0 ? 1 : 0;
+            }
+        }
+        for (File audio : audioFiles) {
+            if (remaining <= 0) {
+                break;
+            }
+            long read = warm(audio, remaining, generation);
+            if (read < 0) {
+                return;
+            }
+            remaining -= read;
+            total += read;
+            files += read > 0 ? 1 : 0;
+        }
+        if (files > 0) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            log.debug("다음 곡 {}개 미리 읽기 완료: 파일 {}개, {}KB ({}ms)", tracks.size(), files, total / 1024, millis);
+        }
+    }
+
+    /**
+     * 파일을 최대 limit 바이트까지 순차로 읽습니다. 이미 같은 버전을 끝까지 읽었으면 건너뜁니다.
+     *
+     * @return 읽은 바이트 수, 요청이 취소되었으면 -1
+     */
+    private long warm(File file, long limit, long generation) {
+        String key = file.getAbsolutePath();
+        long modified = file.lastModified();
+        Long previous = warmed.get(key);
+        if ((previous != null && previous == modified) || limit <= 0) {
+            return 0;
+        }
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(READ_BUFFER_BYTES);
+        }
+        long read = 0;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long target = Math.min(channel.size(), limit);
+            while (read < target) {
+                if (generation != requestGeneration.get() || Thread.currentThread().isInterrupted()) {
+                    return -1;
+                }
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), target - read));
+                int n = channel.read(buffer, read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            if (read >= channel.size()) {
+                warmed.put(key, modified);
+            }
+        } catch (IOException e) {
+            log.debug("미리 읽기 실패: {} - {}", file.getName(), e.getMessage());
+        }
+        return read;
+    }
+
+    /**
+     * 곡과 함께 열리는 부속 파일: 가사 파일과 같은 폴더의 커버 이미지
+     */
+    private static List<File> sidecarFiles(MusicInfo music, File audio) {
+        List<File> result = new ArrayList<>();
+        File parent = audio.getAbsoluteFile().getParentFile();
+        String name = audio.getName();
+        int dot = name.lastIndexOf('.');
+        String baseName = dot > 0 ? name.substring(0, dot) : name;
+
+        if (music.getLrcPath() != null) {
+            addIfFile(result, new File(music.getLrcPath()));
+        } else {
+            addIfFile(result, new File(parent, baseName + ".lrc"));
+            addIfFile(result, new File(parent, "lyrics" + File.separator + baseName + ".lrc"));
+        }
+
+        String[] entries = parent != null ? parent.list() : null;
+        if (entries != null) {
+            for (String entry : entries) {
+                String lower = entry.toLowerCase(Locale.ROOT);
+                int extension = lower.lastIndexOf('.');
+                if (extension > 0 && COVER_EXTENSIONS.contains(lower.substring(extension))
+                        && COVER_FILE_NAMES.contains(lower.substring(0, extension))) {
+                    addIfFile(result, new File(parent, entry));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void addIfFile(List<File> files, File file) {
+        if (file.isFile()) {
+            files.add(file);
+        }
+    }
+}
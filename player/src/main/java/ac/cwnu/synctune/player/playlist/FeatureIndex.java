@@ -0,0 +1,165 @@
+package ac.cwnu.synctune.player.playlist;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import ac.cwnu.synctune.player.features.AudioFeatureExtractor;
+import ac.cwnu.synctune.player.metadata.AudioFeatureStore;
+import ac.cwnu.synctune.sdk.model.MusicInfo;
+
+/**
+ * 플레이리스트 한 개의 곡들을 에너지 점수 순으로 정렬해 둔 색인
+ * 만들 때 한 번 저장소를 조회(O(n log n))해 두면, 셔플할 때마다 목록을 훑지 않고
+ * 목표 에너지에 가까운 곡을 {@link NavigableMap}의 floor/ceiling 탐색으로 O(log n)에 찾습니다.
+ * 분석 결과가 없는 곡은 따로 모아 둡니다. 플레이리스트와 저장소 버전이 같으면 다시 만들지 않습니다.
+ */
+final class FeatureIndex {
+
+    private final PlaylistManager.PlaylistInfo playlist;
+    private final long storeVersion;
+
+    // 플레이리스트 인덱스별 특징 (분석되지 않은 곡은 NaN / 0 / UNKNOWN_KEY)
+    private final double[] energies;
+    private final double[] tempos;
+    private final int[] keys;
+
+    // 에너지 점수 -> 같은 점수의 플레이리스트 인덱스들
+    private final NavigableMap<Double, int[]> byEnergy;
+    private final List<Integer> unanalyzed;
+
+    private FeatureIndex(PlaylistManager.PlaylistInfo playlist, long storeVersion, double[] energies,
+            double[] tempos, int[] keys, NavigableMap<Double, int[]> byEnergy, List<Integer> unanalyzed) {
+        this.playlist = playlist;
+        this.storeVersion = storeVersion;
+        this.energies = energies;
+        this.tempos = tempos;
+        this.keys = keys;
+        this.byEnergy = byEnergy;
+        this.unanalyzed = unanalyzed;
+    }
+
+    static FeatureIndex build(PlaylistManager.PlaylistInfo playlist, AudioFeatureStore store) {
+        long version = store.getVersion();
+        List<MusicInfo> songs = playlist.getSongs();
+        int size = songs.size();
+        double[] energies = new double[size];
+        double[] tempos = new double[size];
+        int[] keys = new int[size];
+        TreeMap<Double, List<Integer>> grouped = new TreeMap<>();
+        List<Integer> unanalyzed = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            String path = songs.get(i).getFilePath();
+            AudioFeatureStore.Entry entry = path != null ? store.get(new File(path)) : null;
+            if (entry == null) {
+                energies[i] = Double.NaN;
+                keys[i] = AudioFeatureExtractor.UNKNOWN_KEY;
+                unanalyzed.add(i);
+                continue;
+            }
+            energies[i] = entry.energy();
+            tempos[i] = entry.tempoBpm();
+            keys[i] = entry.key();
+            grouped.computeIfAbsent(energies[i], e -> new ArrayList<>()).add(i);
+        }
+        TreeMap<Double, int[]> byEnergy = new TreeMap<>();
+        for (Map.Entry<Double, List<Integer>> e : grouped.entrySet()) {
+            byEnergy.put(e.getKey(), e.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        return new FeatureIndex(playlist, version, energies, tempos, keys, byEnergy, List.copyOf(unanalyzed));
+    }
+
+    /**
+     * 같은 플레이리스트 객체이고 이후 저장소에 결과가 추가되지 않았는지
+     */
+    boolean isCurrent(PlaylistManager.PlaylistInfo playlist, AudioFeatureStore store) {
+        return this.playlist == playlist && storeVersion == store.getVersion();
+    }
+
+    int analyzedCount() {
+        return energies.length - unanalyzed.size();
+    }
+
+    List<Integer> unanalyzed() {
+        return unanalyzed;
+    }
+
+    double energy(int index) {
+        return energies[index];
+    }
+
+    double tempo(int index) {
+        return tempos[index];
+    }
+
+    int key(int index) {
+        return keys[index];
+    }
+
+    /**
+     * 곡을 하나씩 꺼내 쓸 수 있는 에너지 색인 사본 (O(n), 꺼낼 때마다 O(log n))
+     */
+    Remaining remaining() {
+        TreeMap<Double, ArrayDeque<Integer>> copy = new TreeMap<>();
+        for (Map.Entry<Double, int[]> e : byEnergy.entrySet()) {
+            ArrayDeque<Integer> tracks = new ArrayDeque<>(e.getValue().length);
+            for (int index : e.getValue()) {
+                tracks.add(index);
+            }
+            copy.put(e.getKey(), tracks);
+        }
+        return new Remaining(copy);
+    }
+
+    /**
+     * 셔플 한 번 동안 아직 순서에 넣지 않은 분석된 곡들
+     */
+    static final class Remaining {
+        private final TreeMap<Double, ArrayDeque<Integer>> tracks;
+
+        private Remaining(TreeMap<Double, ArrayDeque<Integer>> tracks) {
+            this.tracks = tracks;
+        }
+
+        boolean isEmpty() {
+            return tracks.isEmpty();
+        }
+
+        /**
+         * 목표 에너지에 가까운 순서로 최대 limit개 후보 (목표 아래/위를 번갈아 넓혀 가며 탐색)
+         */
+        List<Integer> nearest(double target, int limit) {
+            List<Integer> result = new ArrayList<>(limit);
+            Map.Entry<Double, ArrayDeque<Integer>> below = tracks.floorEntry(target);
+            Map.Entry<Double, ArrayDeque<Integer>> above = tracks.higherEntry(target);
+            while (result.size() < limit && (below != null || above != null)) {
+                boolean takeBelow = above == null
+                        || (below != null && target - below.getKey() <= above.getKey() - target);
+                Map.Entry<Double, ArrayDeque<Integer>> e = takeBelow ? below : above;
+                for (int index : e.getValue()) {
+                    if (result.size() == limit) {
+                        break;
+                    }
+                    result.add(index);
+                }
+                if (takeBelow) {
+                    below = tracks.lowerEntry(below.getKey());
+                } else {
+                    above = tracks.higherEntry(above.getKey());
+                }
+            }
+            return result;
+        }
+
+        void remove(int index, double energy) {
+            ArrayDeque<Integer> group = tracks.get(energy);
+            if (group != null && group.remove(index) && group.isEmpty()) {
+                tracks.remove(energy);
+            }
+        }
+    }
+}
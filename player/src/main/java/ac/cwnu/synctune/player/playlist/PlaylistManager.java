@@ -1,5 +1,6 @@
 package ac.cwnu.synctune.player.playlist;
 
+import ac.cwnu.synctune.player.metadata.AudioFeatureStore;
 import ac.cwnu.synctune.sdk.event.EventPublisher;
 import ac.cwnu.synctune.sdk.log.LogManager;
 import ac.cwnu.synctune.sdk.model.MusicInfo;
@@ -83,8 +84,15 @@ public class PlaylistManager {
     }
     
     public PlaylistManager(EventPublisher eventPublisher) {
+        this(eventPublisher, null);
+    }
+    
+    /**
+     * @param featureStore 에너지/시간대 셔플에 쓸 오디오 특징 저장소 (null이면 해당 셔플은 일반 셔플로 대체)
+     */
+    public PlaylistManager(EventPublisher eventPublisher, AudioFeatureStore featureStore) {
         this.eventPublisher = eventPublisher;
-        this.shuffler = new TrackShuffler();
+        this.shuffler = new TrackShuffler(featureStore);
         
         // 기본 플레이리스트 생성
         createDefaultPlaylists();
@@ -151,6 +159,25 @@ public class PlaylistManager {
         return new ArrayList<>(playlists.keySet());
     }
     
+    /**
+     * 다른 모듈(UI)이 가진 곡 목록으로 같은 이름의 플레이리스트를 맞추고 현재 플레이리스트로 설정합니다
+     * 곡 구성이 같으면(순서만 다르면) 기존 객체를 그대로 두어 셔플러가 특징 색인을 다시 만들지 않게 합니다.
+     *
+     * @return 현재 플레이리스트가 된 플레이리스트
+     */
+    public PlaylistInfo syncPlaylist(String name, List<MusicInfo> songs) {
+        String normalizedName = name.trim();
+        PlaylistInfo existing = playlists.get(normalizedName);
+        PlaylistInfo playlist = existing;
+        if (existing == null || !hasSameSongs(existing, songs)) {
+            playlist = new PlaylistInfo(normalizedName, songs);
+            playlists.put(normalizedName, playlist);
+            log.debug("플레이리스트 동기화: {} ({}곡)", normalizedName, songs.size());
+        }
+        setCurrentPlaylist(playlist);
+        return playlist;
+    }
+    
     /**
      * 플레이리스트를 삭제합니다
      */
@@ -302,6 +329,28 @@ public class PlaylistManager {
         }
     }
     
+    /**
+     * 현재 플레이리스트를 목표 에너지 레벨에 가까운 곡부터 섞고 셔플 모드로 전환합니다
+     *
+     * @return 섞은 순서의 곡 목록 (현재 플레이리스트가 없으면 빈 목록)
+     */
+    public List<MusicInfo> shuffleByEnergyLevel(TrackShuffler.EnergyLevel level) {
+        playMode.set(PlayMode.SHUFFLE);
+        PlaylistInfo playlist = currentPlaylist.get();
+        return songsInOrder(playlist, shuffler.shuffleByEnergyLevel(playlist, level));
+    }
+    
+    /**
+     * 현재 플레이리스트를 시간대에 맞는 에너지 순으로 섞고 셔플 모드로 전환합니다
+     *
+     * @return 섞은 순서의 곡 목록 (현재 플레이리스트가 없으면 빈 목록)
+     */
+    public List<MusicInfo> shuffleByTimeOfDay() {
+        playMode.set(PlayMode.SHUFFLE);
+        PlaylistInfo playlist = currentPlaylist.get();
+        return songsInOrder(playlist, shuffler.shuffleByTimeOfDay(playlist));
+    }
+    
     /**
      * 현재 재생 모드를 반환합니다
      */
@@ -328,6 +377,23 @@ public class PlaylistManager {
     
     // ========== Private 헬퍼 메서드들 ==========
     
+    private static boolean hasSameSongs(PlaylistInfo playlist, List<MusicInfo> songs) {
+        List<MusicInfo> current = playlist.getSongs();
+        return current.size() == songs.size() && new HashSet<>(current).equals(new HashSet<>(songs));
+    }
+    
+    private static List<MusicInfo> songsInOrder(PlaylistInfo playlist, List<Integer> order) {
+        if (playlist == null) {
+            return new ArrayList<>();
+        }
+        List<MusicInfo> songs = playlist.getSongs();
+        List<MusicInfo> ordered = new ArrayList<>(order.size());
+        for (int index : order) {
+            ordered.add(songs.get(index));
+        }
+        return ordered;
+    }
+    
     private void createDefaultPlaylists() {
         createPlaylist("즐겨찾기");
         createPlaylist("최근 재생");
@@ -1,5 +1,7 @@
 package ac.cwnu.synctune.player.playlist;
 
+import ac.cwnu.synctune.player.features.AudioFeatureExtractor;
+import ac.cwnu.synctune.player.metadata.AudioFeatureStore;
 import ac.cwnu.synctune.sdk.log.LogManager;
 import ac.cwnu.synctune.sdk.model.Playlist;
 import org.slf4j.Logger;
@@ -10,10 +12,23 @@ import java.util.concurrent.ThreadLocalRandom;
 /**
  * 곡 순서 섞기 등 부가 기능을 제공하는 클래스
  * 스마트 셔플, 히스토리 기반 셔플 등 다양한 셔플 알고리즘을 지원합니다.
+ * 오디오 특징 저장소가 있으면 에너지/시간대 셔플이 분석 결과(템포, 조, 에너지)로 곡을 고릅니다.
  */
 public class TrackShuffler {
     private static final Logger log = LogManager.getLogger(TrackShuffler.class);
     
+    // 에너지 셔플: 목표 에너지 주변에서 매번 흔드는 폭, 한 번에 비교할 후보 수
+    private static final double ENERGY_JITTER = 0.08;
+    private static final int ENERGY_CANDIDATES = 4;
+    // 이전 곡과의 연결 비용 가중치 (5도권 거리 1당, 템포 비율 1옥타브당), 최근 재생 곡 벌점
+    private static final double KEY_WEIGHT = 0.03;
+    private static final double TEMPO_WEIGHT = 0.4;
+    private static final double RECENT_PENALTY = 0.5;
+    
+    // 곡별 오디오 특징 (없으면 에너지/시간대 셔플은 일반 셔플로 대체)
+    private final AudioFeatureStore featureStore;
+    private FeatureIndex featureIndex;
+    
     // 셔플 히스토리 (최근 재생된 곡들의 인덱스)
     private final Deque<Integer> shuffleHistory = new ArrayDeque<>();
     
@@ -24,6 +39,17 @@ public class TrackShuffler {
     private ShuffleMode shuffleMode = ShuffleMode.SMART;
     private int maxHistorySize = 50; // 최대 히스토리 크기
     
+    public TrackShuffler() {
+        this(null);
+    }
+    
+    /**
+     * @param featureStore 에너지/시간대 셔플에 쓸 오디오 특징 저장소 (null 가능)
+     */
+    public TrackShuffler(AudioFeatureStore featureStore) {
+        this.featureStore = featureStore;
+    }
+    
     /**
      * 셔플 모드
      */
@@ -320,31 +346,159 @@ public class TrackShuffler {
     }
     
     /**
-     * 시간대별 분위기에 맞는 셔플 (TODO: 향후 구현)
+     * 시간대별 분위기에 맞는 셔플
+     * 현재 시각의 목표 에너지({@link #targetEnergyForHour(int)})에 가까운 곡부터 재생합니다.
      */
     public List<Integer> shuffleByTimeOfDay(PlaylistManager.PlaylistInfo playlist) {
-        // TODO: 시간대별 음악 분위기 분석 기능 추가 시 구현
-        int hour = Calendar.getInstance().get(Calendar.HOUR_OF_DAY);
-        log.debug("시간대별 셔플 (미구현): 현재 시간={}", hour);
-        return shufflePlaylist(playlist);
+        return shuffleByTimeOfDay(playlist, Calendar.getInstance().get(Calendar.HOUR_OF_DAY));
+    }
+    
+    /**
+     * 주어진 시각(0~23시)의 목표 에너지로 시간대별 셔플
+     */
+    public List<Integer> shuffleByTimeOfDay(PlaylistManager.PlaylistInfo playlist, int hour) {
+        double target = targetEnergyForHour(hour);
+        List<Integer> order = orderByEnergy(playlist, target);
+        if (order == null) {
+            log.debug("시간대별 셔플: 분석된 곡이 없어 일반 셔플 사용 (현재 시간={})", hour);
+            return shufflePlaylist(playlist);
+        }
+        log.debug("시간대별 셔플됨: {} (현재 시간={}, 목표 에너지={})", playlist.getName(), hour,
+            String.format("%.2f", target));
+        return order;
     }
     
     /**
-     * 에너지 레벨 기반 셔플 (TODO: 향후 구현)
+     * 에너지 레벨 기반 셔플
+     * 목표 레벨에 가까운 곡부터, 이전 곡과 조/템포가 잘 이어지는 곡을 우선하여 순서를 만들고
+     * 아직 분석되지 않은 곡은 뒤에 무작위로 붙입니다.
      */
     public List<Integer> shuffleByEnergyLevel(PlaylistManager.PlaylistInfo playlist, EnergyLevel targetLevel) {
-        // TODO: 곡의 BPM, 음성 분석 데이터 등을 활용한 에너지 레벨 기반 셔플
-        log.debug("에너지 레벨 기반 셔플 (미구현): 목표 레벨={}", targetLevel);
-        return shufflePlaylist(playlist);
+        List<Integer> order = orderByEnergy(playlist, targetLevel.getTargetEnergy());
+        if (order == null) {
+            log.debug("에너지 레벨 셔플: 분석된 곡이 없어 일반 셔플 사용 (목표 레벨={})", targetLevel);
+            return shufflePlaylist(playlist);
+        }
+        log.debug("에너지 레벨 셔플됨: {} (목표 레벨={})", playlist.getName(), targetLevel);
+        return order;
+    }
+    
+    /**
+     * 시간대별 목표 에너지 (0 ~ 1): 새벽은 차분하게, 오후에 가장 높고, 밤에는 다시 낮아집니다
+     */
+    public static double targetEnergyForHour(int hour) {
+        if (hour < 6) {
+            return 0.2;
+        } else if (hour < 9) {
+            return 0.45;
+        } else if (hour < 12) {
+            return 0.6;
+        } else if (hour < 18) {
+            return 0.7;
+        } else if (hour < 21) {
+            return 0.55;
+        }
+        return 0.35;
     }
     
     /**
-     * 에너지 레벨 열거형 (향후 사용)
+     * 에너지 레벨 열거형
      */
     public enum EnergyLevel {
-        LOW,     // 차분한 음악
-        MEDIUM,  // 보통 에너지
-        HIGH     // 역동적인 음악
+        LOW(0.2),     // 차분한 음악
+        MEDIUM(0.5),  // 보통 에너지
+        HIGH(0.8);    // 역동적인 음악
+        
+        private final double targetEnergy;
+        
+        EnergyLevel(double targetEnergy) {
+            this.targetEnergy = targetEnergy;
+        }
+        
+        /**
+         * 이 레벨의 중심 에너지 점수 ({@link AudioFeatureStore.Entry#energy()} 기준)
+         */
+        public double getTargetEnergy() {
+            return targetEnergy;
+        }
+    }
+    
+    /**
+     * 목표 에너지에 가까운 곡부터 순서를 만듭니다
+     * 매 단계 목표를 조금씩 흔든 뒤 에너지 색인에서 가까운 후보 몇 개를 O(log n)에 꺼내고,
+     * 그중 이전 곡과 조/템포 연결이 좋고 최근에 재생되지 않은 곡을 고릅니다.
+     *
+     * @return 특징 저장소가 없거나 분석된 곡이 없으면 null
+     */
+    private List<Integer> orderByEnergy(PlaylistManager.PlaylistInfo playlist, double target) {
+        if (playlist == null || playlist.isEmpty()) {
+            return null;
+        }
+        FeatureIndex index = featureIndexFor(playlist);
+        if (index == null || index.analyzedCount() == 0) {
+            return null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        FeatureIndex.Remaining remaining = index.remaining();
+        List<Integer> order = new ArrayList<>(playlist.size());
+        int previous = -1;
+        while (!remaining.isEmpty()) {
+            double probe = target + random.nextDouble(-ENERGY_JITTER, ENERGY_JITTER);
+            int next = -1;
+            double bestCost = Double.POSITIVE_INFINITY;
+            for (int candidate : remaining.nearest(probe, ENERGY_CANDIDATES)) {
+                double cost = Math.abs(index.energy(candidate) - probe) + transitionCost(index, previous, candidate);
+                if (wasRecentlyPlayed(candidate)) {
+                    cost += RECENT_PENALTY;
+                }
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    next = candidate;
+                }
+            }
+            remaining.remove(next, index.energy(next));
+            order.add(next);
+            previous = next;
+        }
+        List<Integer> rest = new ArrayList<>(index.unanalyzed());
+        Collections.shuffle(rest, random);
+        order.addAll(rest);
+        
+        currentShuffleOrder = new ArrayList<>(order);
+        return order;
+    }
+    
+    /**
+     * 이전 곡 다음에 이어 재생할 때의 어색함 (5도권 거리 + 두 배/절반을 같은 박으로 본 템포 차이)
+     */
+    private double transitionCost(FeatureIndex index, int previous, int next) {
+        if (previous < 0) {
+            return 0;
+        }
+        double cost = KEY_WEIGHT * AudioFeatureExtractor.keyDistance(index.key(previous), index.key(next));
+        double fromTempo = index.tempo(previous);
+        double toTempo = index.tempo(next);
+        if (fromTempo > 0 && toTempo > 0) {
+            double octaves = Math.abs(Math.log(toTempo / fromTempo) / Math.log(2));
+            double folded = octaves - Math.floor(octaves);
+            cost += TEMPO_WEIGHT * Math.min(folded, 1 - folded);
+        }
+        return cost;
+    }
+    
+    /**
+     * 플레이리스트의 특징 색인 (플레이리스트가 바뀌었거나 새 분석 결과가 있을 때만 다시 만듦)
+     */
+    private FeatureIndex featureIndexFor(PlaylistManager.PlaylistInfo playlist) {
+        if (featureStore == null) {
+            return null;
+        }
+        if (featureIndex == null || !featureIndex.isCurrent(playlist, featureStore)) {
+            featureIndex = FeatureIndex.build(playlist, featureStore);
+            log.debug("특징 색인 생성: {} (분석된 곡 {}/{})", playlist.getName(), featureIndex.analyzedCount(),
+                playlist.size());
+        }
+        return featureIndex;
     }
     
     // ========== 유틸리티 메서드들 ==========
@@ -355,6 +509,7 @@ public class TrackShuffler {
     public void reset() {
         clearHistory();
         currentShuffleOrder.clear();
+        featureIndex = null;
         log.debug("셔플러 상태 초기화됨");
     }
     
@@ -0,0 +1,68 @@
+package ac.cwnu.synctune.player.streaming;
+
+/**
+ * 출력 라인 프레임과 원본 프레임의 대응 기록
+ * 렌더 스레드가 청크를 쓸 때마다 "이 라인 프레임부터 원본 몇 번째 프레임을 몇 배속으로 내보냄"을 남기고,
+ * 다른 스레드는 라인이 실제로 출력한 프레임 위치로 가장 최근 기록을 찾아 원본 위치를 계산합니다.
+ * 속도가 바뀌거나 시간 늘이기 단계의 지연이 있어도 라인 버퍼에 들어 있는 청크마다 대응이 따로 기록되므로 위치가 정확합니다.
+ * <p>
+ * 쓰기는 렌더 스레드 하나만 하며, 기록 배열을 채운 뒤 volatile 개수를 늘려 공개합니다.
+ * 읽는 도중 같은 칸이 덮어쓰이려면 라인 버퍼보다 훨씬 긴 분량의 청크가 먼저 쓰여야 하므로 잠금을 두지 않습니다.
+ */
+final class PositionTimeline {
+    // 라인 버퍼(200ms)를 채우는 청크 수보다 충분히 크게
+    private static final int CAPACITY = 128;
+
+    private final long[] lineFrames = new long[CAPACITY];
+    private final double[] sourceFrames = new double[CAPACITY];
+    private final double[] speeds = new double[CAPACITY];
+    private volatile long count;
+    // 이 번호 이전의 기록은 탐색 전 것이므로 무시
+    private volatile long validFrom;
+
+    /**
+     * 대응 기록을 남깁니다 (렌더 스레드 전용)
+     *
+     * @param lineFrame   청크의 첫 프레임이 라인에서 출력될 누적 프레임 위치
+     * @param sourceFrame 그 프레임의 원본 위치
+     * @param speed       라인 1프레임당 원본이 진행하는 프레임 수
+     */
+    void append(long lineFrame, double sourceFrame, double speed) {
+        long next = count;
+        int index = (int) (next % CAPACITY);
+        lineFrames[index] = lineFrame;
+        sourceFrames[index] = sourceFrame;
+        speeds[index] = speed;
+        count = next + 1;
+    }
+
+    /**
+     * 이전 기록을 모두 무효로 하고 새 기준점을 남깁니다 (탐색, 렌더 스레드 전용)
+     */
+    void restart(long lineFrame, double sourceFrame, double speed) {
+        long next = count;
+        append(lineFrame, sourceFrame, speed);
+        validFrom = next;
+    }
+
+    /**
+     * 라인이 출력한 프레임 위치에 해당하는 원본 위치
+     *
+     * @return 기록이 없으면 -1
+     */
+    double toSourceFrame(long playedLineFrame) {
+        long end = count;
+        long start = Math.max(validFrom, end - CAPACITY + 1);
+        long oldest = -1;
+        for (long i = end - 1; i >= start; i--) {
+            int index = (int) (i % CAPACITY);
+            long line = lineFrames[index];
+            if (line <= playedLineFrame) {
+                return sourceFrames[index] + (playedLineFrame - line) * speeds[index];
+            }
+            oldest = index;
+        }
+        // 가장 오래된 기록보다 앞 (탐색 직후 아직 출력 전): 그 기록의 시작 위치
+        return oldest >= 0 ? sourceFrames[(int) oldest] : -1;
+    }
+}
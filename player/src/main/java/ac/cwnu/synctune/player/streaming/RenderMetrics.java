@@ -0,0 +1,153 @@
+package ac.cwnu.synctune.player.streaming;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스트리밍 렌더 스레드의 출력 버퍼 상태와 처리 시간 측정값
+ * 렌더 스레드가 청크마다 기록하고, 다른 스레드는 {@link #sample()}로 직전 조회 이후 구간의 값을 잠금 없이 가져갑니다.
+ * 언더런은 라인을 채운 적이 있는데 다음 청크를 쓰기 직전에 출력 버퍼가 비어 있던 경우이며,
+ * 지터는 청크를 쓰는 주기가 청크 길이(실시간 예산)에서 벗어난 정도입니다.
+ */
+public class RenderMetrics {
+
+    /**
+     * 구간 측정값
+     *
+     * @param bufferFrames       출력 버퍼 크기 (프레임), 알 수 없으면 0
+     * @param queuedFrames       마지막으로 관측한 버퍼 잔량 (프레임), 알 수 없으면 -1
+     * @param minQueuedFrames    구간 중 가장 낮았던 버퍼 잔량, 알 수 없으면 -1
+     * @param underruns          재생 시작 이후 누적 언더런 횟수
+     * @param newUnderruns       구간 중 발생한 언더런 횟수
+     * @param chunks             구간 중 처리한 청크 수
+     * @param budgetMicros       청크 하나의 실시간 예산 (청크 길이)
+     * @param avgProcessMicros   청크당 평균 디코딩+DSP 시간
+     * @param maxProcessMicros   구간 중 가장 길었던 디코딩+DSP 시간
+     * @param maxJitterMicros    구간 중 쓰기 주기가 예산에서 가장 많이 벗어난 정도
+     */
+    public record Snapshot(int bufferFrames, int queuedFrames, int minQueuedFrames, long underruns, long newUnderruns,
+            long chunks, long budgetMicros, long avgProcessMicros, long maxProcessMicros, long maxJitterMicros) {
+
+        /**
+         * 버퍼 채움 비율 (0~1), 알 수 없으면 -1
+         */
+        public double fillRatio() {
+            return bufferFrames > 0 && queuedFrames >= 0 ? Math.min(1.0, (double) queuedFrames / bufferFrames) : -1;
+        }
+
+        /**
+         * 평균 처리 시간의 예산 대비 비율 (1 이상이면 실시간을 따라가지 못함)
+         */
+        public double load() {
+            return budgetMicros > 0 ? (double) avgProcessMicros / budgetMicros : 0;
+        }
+    }
+
+    private static final int UNKNOWN = -1;
+
+    private final long budgetNanos;
+    private final int chunkFrames;
+    private final int bufferFrames;
+
+    // 누적값
+    private final AtomicLong underruns = new AtomicLong();
+
+    // 구간값 (sample()에서 초기화)
+    private final AtomicLong windowUnderruns = new AtomicLong();
+    private final AtomicLong windowChunks = new AtomicLong();
+    private final AtomicLong windowProcessNanos = new AtomicLong();
+    private final AtomicLong windowMaxProcessNanos = new AtomicLong();
+    private final AtomicLong windowMaxJitterNanos = new AtomicLong();
+    private final AtomicInteger windowMinQueued = new AtomicInteger(Integer.MAX_VALUE);
+    private final AtomicInteger queuedFrames = new AtomicInteger(UNKNOWN);
+
+    // ===== 렌더 스레드 전용 상태 =====
+    private long lastCycleNanos;
+    private boolean primed;
+    // 직전 쓰기가 버퍼 공간을 기다렸는지 (버퍼를 채우는 중에는 주기가 예산보다 짧은 것이 정상)
+    private boolean paced;
+
+    /**
+     * @param chunkFrames  렌더 스레드가 한 번에 쓰는 프레임 수
+     * @param frameRate    초당 프레임 수
+     * @param bufferFrames 출력 버퍼 크기 (프레임), 알 수 없으면 0
+     */
+    public RenderMetrics(int chunkFrames, float frameRate, int bufferFrames) {
+        this.budgetNanos = (long) (chunkFrames * 1_000_000_000.0 / frameRate);
+        this.chunkFrames = chunkFrames;
+        this.bufferFrames = bufferFrames;
+    }
+
+    // ========== 렌더 스레드 ==========
+
+    /**
+     * 새 청크 처리를 시작합니다
+     *
+     * @return 시작 시각 (System.nanoTime)
+     */
+    long beginCycle() {
+        long now = System.nanoTime();
+        if (lastCycleNanos != 0 && paced) {
+            long jitter = Math.abs(now - lastCycleNanos - budgetNanos);
+            windowMaxJitterNanos.accumulateAndGet(jitter, Math::max);
+        }
+        lastCycleNanos = now;
+        return now;
+    }
+
+    /**
+     * 청크의 디코딩과 DSP 처리가 끝나 출력 직전일 때 호출합니다
+     *
+     * @param cycleStart {@link #beginCycle()}의 반환값
+     * @param queued     쓰기 직전 출력 버퍼 잔량 (프레임), 알 수 없으면 음수
+     */
+    void chunkReady(long cycleStart, int queued) {
+        long elapsed = System.nanoTime() - cycleStart;
+        windowChunks.incrementAndGet();
+        windowProcessNanos.addAndGet(elapsed);
+        windowMaxProcessNanos.accumulateAndGet(elapsed, Math::max);
+        if (queued >= 0) {
+            queuedFrames.lazySet(queued);
+            if (primed) {
+                windowMinQueued.accumulateAndGet(queued, Math::min);
+                if (queued == 0) {
+                    underruns.incrementAndGet();
+                    windowUnderruns.incrementAndGet();
+                }
+            }
+        }
+        primed = true;
+        paced = queued < 0 || bufferFrames == 0 || queued + chunkFrames > bufferFrames;
+    }
+
+    /**
+     * 버퍼가 비는 것이 정상인 시점(시작, 탐색, 일시정지 후 재개)에 호출하여 다음 쓰기를 언더런으로 세지 않고
+     * 대기한 시간을 지터로 세지 않게 합니다
+     */
+    void rearm() {
+        primed = false;
+        paced = false;
+        lastCycleNanos = 0;
+    }
+
+    // ========== 조회 ==========
+
+    public long getUnderruns() {
+        return underruns.get();
+    }
+
+    /**
+     * 직전 조회 이후 구간의 측정값을 가져오고 구간을 새로 시작합니다
+     */
+    public Snapshot sample() {
+        long chunks = windowChunks.getAndSet(0);
+        long processNanos = windowProcessNanos.getAndSet(0);
+        long maxProcessNanos = windowMaxProcessNanos.getAndSet(0);
+        long maxJitterNanos = windowMaxJitterNanos.getAndSet(0);
+        long newUnderruns = windowUnderruns.getAndSet(0);
+        int minQueued = windowMinQueued.getAndSet(Integer.MAX_VALUE);
+        return new Snapshot(bufferFrames, queuedFrames.get(), minQueued == Integer.MAX_VALUE ? UNKNOWN : minQueued,
+                underruns.get(), newUnderruns, chunks, budgetNanos / 1000,
+                chunks > 0 ? processNanos / chunks / 1000 : 0, maxProcessNanos / 1000, maxJitterNanos / 1000);
+    }
+}
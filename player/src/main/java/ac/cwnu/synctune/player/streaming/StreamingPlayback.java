@@ -0,0 +1,441 @@
+package ac.cwnu.synctune.player.streaming;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.FloatControl;
+import javax.sound.sampled.LineUnavailableException;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.player.decoder.PcmSource;
+import ac.cwnu.synctune.player.dsp.DspChain;
+import ac.cwnu.synctune.player.dsp.PcmConverter;
+import ac.cwnu.synctune.player.dsp.TimeStretcher;
+import ac.cwnu.synctune.player.output.AudioOutput;
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * PCM 소스를 작은 청크 단위로 출력 백엔드에 흘려보내는 스트리밍 재생기
+ * 각 청크는 출력 전에 float32로 변환되어 DSP 체인(게인, 리미터, 모듈이 등록한 단계)을 거칩니다.
+ * Clip처럼 파일 전체를 힙에 올리지 않으므로 수 GB 크기의 녹음 파일도 즉시 재생을 시작하고,
+ * 메모리 매핑된 WAV 소스의 탐색은 매핑 오프셋만 옮기므로 파일 크기와 무관하게 O(1)입니다.
+ * 재생 속도를 1배가 아닌 값으로 바꾸면 DSP 체인 앞에서 {@link TimeStretcher}가 음높이를 유지한 채 길이를 바꾸며,
+ * 청크마다 라인 프레임과 원본 프레임의 대응을 기록하여 속도와 처리 지연에 관계없이 원본 기준 위치를 보고합니다.
+ */
+public class StreamingPlayback implements AutoCloseable {
+    private static final Logger log = LogManager.getLogger(StreamingPlayback.class);
+
+    // 출력 라인 버퍼 길이와 한 번에 쓰는 청크 길이 (밀리초)
+    private static final int LINE_BUFFER_MILLIS = 200;
+    private static final int CHUNK_MILLIS = 20;
+    private static final long NO_SEEK = -1L;
+
+    private final PcmSource source;
+    private final AudioOutput line;
+    private final byte[] chunk;
+    private final float frameRate;
+    private final RenderMetrics metrics;
+
+    // DSP 체인 처리용 변환기와 미리 할당한 float 버퍼 (포맷을 변환할 수 없으면 null)
+    private final DspChain dspChain;
+    private final PcmConverter converter;
+    private final float[] samples;
+
+    // 재생 속도 조절 단계와 그 출력 버퍼 (포맷을 변환할 수 없으면 null)
+    private final TimeStretcher stretcher;
+    private final float[] stretched;
+    private final int chunkFrames;
+    private final int frameSize;
+    private volatile double targetSpeed = 1.0;
+    private final PositionTimeline timeline = new PositionTimeline();
+
+    private final Object lock = new Object();
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final AtomicLong pendingSeekFrame = new AtomicLong(NO_SEEK);
+
+    // 재생 위치 계산용 기준점: 마지막 탐색 시점의 소스 프레임과 라인 프레임
+    private volatile long baseSourceFrame = 0;
+    private volatile long baseLineFrame = 0;
+
+    private volatile Runnable endOfStreamListener;
+    private Thread renderThread;
+
+    // ===== 렌더 스레드 전용 상태 =====
+    // 시간 늘이기 단계를 거치는 중인지 (1배로 돌아와도 다음 탐색까지는 거쳐서 이미 받은 입력을 이어 냄)
+    private boolean stretching;
+    // 다음에 쓸 청크의 첫 프레임이 라인에서 출력될 누적 프레임 위치
+    private long lineCursor;
+
+    private StreamingPlayback(PcmSource source, AudioOutput line, DspChain dspChain) {
+        this.source = source;
+        this.line = line;
+        AudioFormat format = source.getFormat();
+        this.frameRate = format.getFrameRate();
+        int frameSize = format.getFrameSize();
+        int chunkFrames = Math.max(1, (int) (frameRate * CHUNK_MILLIS / 1000));
+        this.chunkFrames = chunkFrames;
+        this.frameSize = frameSize;
+        this.chunk = new byte[chunkFrames * frameSize];
+        this.metrics = new RenderMetrics(chunkFrames, frameRate, line.getBufferFrames());
+        // 재사용한 출력 라인은 이전 곡에서 누적된 프레임 위치에서 시작
+        this.baseLineFrame = line.getFramePosition();
+        this.lineCursor = baseLineFrame;
+
+        PcmConverter pcmConverter = PcmConverter.forFormat(format);
+        if (dspChain != null && pcmConverter == null) {
+            log.warn("DSP 체인이 지원하지 않는 포맷이라 처리 없이 재생합니다: {}", format);
+        }
+        this.dspChain = pcmConverter != null ? dspChain : null;
+        this.converter = pcmConverter;
+        this.samples = pcmConverter != null ? new float[chunkFrames * format.getChannels()] : null;
+        this.stretcher = pcmConverter != null ? new TimeStretcher(frameRate, format.getChannels(), chunkFrames) : null;
+        this.stretched = pcmConverter != null ? new float[chunkFrames * format.getChannels()] : null;
+        if (this.dspChain != null) {
+            this.dspChain.configure(frameRate, format.getChannels(), chunkFrames);
+        }
+    }
+
+    /**
+     * 소스의 포맷으로 출력 백엔드를 엽니다. 백엔드가 포맷을 지원하지 않으면 예외가 발생하며,
+     * 이 경우 소스와 출력은 호출자가 닫아야 합니다.
+     *
+     * @param dspChain 출력 전에 샘플을 통과시킬 처리 체인 (없으면 null)
+     */
+    public static StreamingPlayback open(PcmSource source, AudioOutput output, DspChain dspChain)
+            throws LineUnavailableException {
+        output.open(source.getFormat(), LINE_BUFFER_MILLIS);
+        return new StreamingPlayback(source, output, dspChain);
+    }
+
+    /**
+     * 처음부터 재생을 시작합니다
+     */
+    public void start() {
+        synchronized (lock) {
+            if (renderThread == null) {
+                renderThread = new Thread(this::renderLoop, "StreamingPlayback-" + source.getName());
+                renderThread.setDaemon(true);
+                renderThread.setPriority(Thread.MAX_PRIORITY);
+                renderThread.start();
+            }
+            running.set(true);
+            line.start();
+            lock.notifyAll();
+        }
+    }
+
+    public void pause() {
+        synchronized (lock) {
+            running.set(false);
+            line.stop();
+        }
+    }
+
+    public void resume() {
+        start();
+    }
+
+    /**
+     * 지정한 위치로 탐색합니다. 실제 이동은 렌더 스레드가 다음 청크를 쓰기 전에 수행합니다.
+     */
+    public void seekTo(long positionMs) {
+        long frame = (long) (Math.max(0, positionMs) * frameRate / 1000.0);
+        if (source.getFrameLength() != AudioSystem.NOT_SPECIFIED) {
+            frame = Math.min(frame, source.getFrameLength());
+        }
+        pendingSeekFrame.set(frame);
+        // 보고되는 위치를 즉시 반영
+        baseSourceFrame = frame;
+        baseLineFrame = line.getFramePosition();
+        synchronized (lock) {
+            // 라인 버퍼가 가득 차 write()에서 대기 중인 렌더 스레드를 깨움
+            line.flush();
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * 현재 재생 위치 (밀리초) - 라인이 실제로 출력한 프레임 기준
+     */
+    public long getPositionMillis() {
+        return getPositionMicros() / 1000L;
+    }
+
+    /**
+     * 현재 재생 위치 (마이크로초) - 재생 클럭의 기준값
+     * 라인이 실제로 출력한 프레임이 원본의 어느 프레임이었는지로 계산하므로 재생 속도와 무관하게 원본 시간입니다.
+     */
+    public long getPositionMicros() {
+        long playedLine = line.getFramePosition();
+        double frame = pendingSeekFrame.get() == NO_SEEK ? timeline.toSourceFrame(playedLine) : -1;
+        if (frame < 0) {
+            // 탐색 요청 직후 또는 첫 청크 출력 전
+            frame = baseSourceFrame + Math.max(0, playedLine - baseLineFrame) * targetSpeed;
+        }
+        if (source.getFrameLength() != AudioSystem.NOT_SPECIFIED) {
+            frame = Math.min(frame, source.getFrameLength());
+        }
+        return (long) (frame * 1_000_000.0 / frameRate);
+    }
+
+    /**
+     * 음높이를 유지한 채 재생 속도를 바꿉니다 (0.5 ~ 2.0, 다음 청크부터 적용)
+     *
+     * @return 포맷을 변환할 수 없어 속도 조절을 지원하지 않으면 false
+     */
+    public boolean setSpeed(double speed) {
+        if (stretcher == null) {
+            return speed == 1.0;
+        }
+        targetSpeed = Math.max(TimeStretcher.MIN_SPEED, Math.min(TimeStretcher.MAX_SPEED, speed));
+        return true;
+    }
+
+    public double getSpeed() {
+        return targetSpeed;
+    }
+
+    /**
+     * 전체 길이 (밀리초), 소스가 길이를 모르면 -1
+     */
+    public long getDurationMillis() {
+        if (source.getFrameLength() == AudioSystem.NOT_SPECIFIED) {
+            return -1;
+        }
+        return (long) (source.getFrameLength() * 1000.0 / frameRate);
+    }
+
+    public boolean isRunning() {
+        return running.get() && !closed.get();
+    }
+
+    public AudioFormat getFormat() {
+        return source.getFormat();
+    }
+
+    /**
+     * 출력 백엔드의 MASTER_GAIN 컨트롤 (지원되지 않으면 null)
+     */
+    public FloatControl getGainControl() {
+        return line.getGainControl();
+    }
+
+    /**
+     * 출력 백엔드의 벽시계 대비 진행 속도 (재생 클럭 보간용)
+     */
+    public double getClockRate() {
+        return line.getClockRate();
+    }
+
+    /**
+     * 출력 버퍼 상태와 청크 처리 시간 측정값
+     */
+    public RenderMetrics getMetrics() {
+        return metrics;
+    }
+
+    public String getOutputName() {
+        return line.getName();
+    }
+
+    /**
+     * 모든 샘플이 출력된 뒤 렌더 스레드에서 호출될 리스너를 설정합니다
+     */
+    public void setEndOfStreamListener(Runnable listener) {
+        this.endOfStreamListener = listener;
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (lock) {
+            running.set(false);
+            line.stop();
+            line.flush();
+            lock.notifyAll();
+        }
+        if (renderThread != null) {
+            renderThread.interrupt();
+            try {
+                renderThread.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        line.close();
+        try {
+            source.close();
+        } catch (IOException e) {
+            log.debug("PCM 소스 닫기 실패: {}", e.getMessage());
+        }
+    }
+
+    // ========== 렌더 스레드 ==========
+
+    private void renderLoop() {
+        log.debug("스트리밍 렌더 스레드 시작: {}", source.getName());
+        try {
+            while (!closed.get()) {
+                if (!awaitRunning()) {
+                    break;
+                }
+                applyPendingSeek();
+
+                long cycleStart = metrics.beginCycle();
+                long chunkSourceFrame = source.getFramePosition();
+                int n = source.read(chunk, 0, chunk.length);
+                if (n > 0) {
+                    updateStretching(chunkSourceFrame);
+                    if (stretching) {
+                        stretcher.write(samples, converter.toFloat(chunk, n, samples));
+                        writeStretched(cycleStart);
+                    } else {
+                        n = process(n);
+                        metrics.chunkReady(cycleStart, line.getQueuedFrames());
+                        writeChunk(n, chunkSourceFrame, 1.0);
+                    }
+                    continue;
+                }
+
+                // 소스 끝: 시간 늘이기 단계에 남은 입력과 라인에 남은 데이터를 모두 출력한 뒤 종료 알림
+                if (stretching && !stretcher.isDrained()) {
+                    stretcher.endOfInput();
+                    writeStretched(cycleStart);
+                }
+                line.drain();
+                metrics.rearm();
+                if (closed.get() || pendingSeekFrame.get() != NO_SEEK) {
+                    continue;
+                }
+                if (!running.get()) {
+                    // 일시정지 중에는 drain()이 즉시 반환되므로 재개를 기다렸다가 다시 확인
+                    continue;
+                }
+                synchronized (lock) {
+                    running.set(false);
+                    line.stop();
+                }
+                log.debug("스트리밍 재생 완료: {}", source.getName());
+                Runnable listener = endOfStreamListener;
+                if (listener != null) {
+                    listener.run();
+                }
+                // 탐색 등으로 다시 시작될 때까지 대기
+            }
+        } catch (IOException e) {
+            log.error("스트리밍 재생 중 읽기 오류: {}", source.getName(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.debug("스트리밍 렌더 스레드 종료: {}", source.getName());
+    }
+
+    /**
+     * 재생 중이거나 탐색 요청이 있을 때까지 대기합니다 (일시정지 중 탐색 시에는 라인 버퍼를 미리 채움)
+     */
+    private boolean awaitRunning() throws InterruptedException {
+        synchronized (lock) {
+            if (!running.get() && !closed.get() && pendingSeekFrame.get() == NO_SEEK) {
+                // 멈춰 있던 시간은 지터로 세지 않음
+                metrics.rearm();
+            }
+            while (!running.get() && !closed.get() && pendingSeekFrame.get() == NO_SEEK) {
+                lock.wait();
+            }
+        }
+        return !closed.get();
+    }
+
+    /**
+     * 청크를 float32로 변환해 DSP 체인을 통과시킨 뒤 같은 버퍼에 다시 기록합니다
+     *
+     * @return 출력할 바이트 수
+     */
+    private int process(int bytes) {
+        if (dspChain == null || dspChain.isEmpty()) {
+            return bytes;
+        }
+        int frames = converter.toFloat(chunk, bytes, samples);
+        dspChain.process(samples, frames, converter.getChannels());
+        return converter.fromFloat(samples, frames, chunk);
+    }
+
+    /**
+     * 요청된 속도가 1배가 아니면 시간 늘이기 단계를 켭니다 (다음 입력 청크의 원본 위치부터 시작)
+     */
+    private void updateStretching(long chunkSourceFrame) {
+        double speed = targetSpeed;
+        if (stretcher == null) {
+            return;
+        }
+        if (!stretching && speed != 1.0) {
+            stretcher.reset(chunkSourceFrame);
+            stretching = true;
+        }
+        stretcher.setSpeed(speed);
+    }
+
+    /**
+     * 시간 늘이기 단계에서 나올 수 있는 출력을 모두 DSP 체인에 통과시켜 라인에 씁니다
+     */
+    private void writeStretched(long cycleStart) {
+        boolean first = true;
+        while (!closed.get() && pendingSeekFrame.get() == NO_SEEK) {
+            double sourceFrame = stretcher.getOutputSourceFrame();
+            double speed = stretcher.getOutputSpeed();
+            int frames = stretcher.read(stretched, chunkFrames);
+            if (frames == 0) {
+                break;
+            }
+            if (dspChain != null && !dspChain.isEmpty()) {
+                dspChain.process(stretched, frames, converter.getChannels());
+            }
+            int bytes = converter.fromFloat(stretched, frames, chunk);
+            if (first) {
+                metrics.chunkReady(cycleStart, line.getQueuedFrames());
+                first = false;
+            }
+            writeChunk(bytes, sourceFrame, speed);
+        }
+    }
+
+    /**
+     * 청크를 라인에 쓰고, 청크의 첫 프레임이 원본의 어느 위치인지 기록합니다
+     */
+    private void writeChunk(int bytes, double sourceFrame, double speed) {
+        timeline.append(lineCursor, sourceFrame, speed);
+        int written = line.write(chunk, 0, bytes);
+        lineCursor += written / frameSize;
+    }
+
+    private void applyPendingSeek() {
+        long frame = pendingSeekFrame.getAndSet(NO_SEEK);
+        if (frame == NO_SEEK) {
+            return;
+        }
+        // flush 이후 write() 대기에서 풀리며 써진 청크 잔여분을 버림
+        line.flush();
+        try {
+            source.seekToFrame(frame);
+        } catch (IOException e) {
+            log.warn("탐색 실패, 현재 위치에서 계속 재생: {} - {}", source.getName(), e.getMessage());
+        }
+        baseSourceFrame = source.getFramePosition();
+        baseLineFrame = line.getFramePosition();
+        lineCursor = baseLineFrame;
+        timeline.restart(lineCursor, baseSourceFrame, targetSpeed);
+        // 다음 청크에서 속도에 따라 시간 늘이기 단계를 새 위치부터 다시 시작
+        stretching = false;
+        metrics.rearm();
+        if (dspChain != null) {
+            dspChain.reset();
+        }
+    }
+}
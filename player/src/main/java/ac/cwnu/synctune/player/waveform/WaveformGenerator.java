@@ -0,0 +1,186 @@
+package ac.cwnu.synctune.player.waveform;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javax.sound.sampled.AudioSystem;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.player.decoder.PcmSource;
+import ac.cwnu.synctune.player.decoder.PcmSources;
+import ac.cwnu.synctune.player.dsp.PcmConverter;
+import ac.cwnu.synctune.player.metadata.WaveformCache;
+import ac.cwnu.synctune.sdk.audio.WaveformData;
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * 곡을 디코딩하며 파형 개요를 만드는 백그라운드 생성기
+ * 캐시에 있으면 바로 돌려주고, 없으면 디코더를 끝까지 흘려보내며 일정 간격으로 중간 결과를 알린 뒤 완성본을 캐시에 저장합니다.
+ * 새 곡을 요청하면 진행 중이던 곡의 계산은 다음 청크에서 중단됩니다.
+ */
+public class WaveformGenerator implements AutoCloseable {
+    private static final Logger log = LogManager.getLogger(WaveformGenerator.class);
+
+    // 가장 세밀한 단계의 피크 하나가 담는 프레임 수 (44.1kHz에서 약 5.8ms)
+    public static final int FRAMES_PER_PEAK = 256;
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+    private static final long PUBLISH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final WaveformCache cache;
+    private final ExecutorService executor;
+    private final AtomicLong requestGeneration = new AtomicLong();
+
+    public WaveformGenerator(WaveformCache cache) {
+        this.cache = cache;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "WaveformGenerator");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    /**
+     * 파형 개요를 요청합니다. 리스너는 생성기 스레드에서 중간 결과마다, 마지막으로 완성본과 함께 호출됩니다.
+     * 이전 요청은 취소되어 더 이상 리스너가 호출되지 않습니다.
+     */
+    public void request(File file, Consumer<WaveformData> listener) {
+        long generation = requestGeneration.incrementAndGet();
+        if (executor.isShutdown()) {
+            return;
+        }
+        executor.execute(() -> {
+            if (generation != requestGeneration.get()) {
+                return;
+            }
+            long started = System.nanoTime();
+            WaveformData cached = cache.get(file);
+            if (cached != null) {
+                log.debug("파형 캐시 사용: {} ({}us)", file.getName(),
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started));
+                listener.accept(cached);
+                return;
+            }
+            WaveformData waveform = generate(file, generation, listener);
+            if (waveform != null) {
+                cache.put(file, waveform);
+                log.debug("파형 생성 완료: {} ({}ms)", file.getName(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            }
+        });
+    }
+
+    /**
+     * 진행 중인 요청을 취소합니다
+     */
+    public void cancel() {
+        requestGeneration.incrementAndGet();
+    }
+
+    @Override
+    public void close() {
+        cancel();
+        executor.shutdownNow();
+    }
+
+    // ========== 생성 ==========
+
+    /**
+     * @return 완성된 개요, 디코딩할 수 없거나 취소되면 null
+     */
+    private WaveformData generate(File file, long generation, Consumer<WaveformData> listener) {
+        try (PcmSource source = PcmSources.open(file)) {
+            PcmConverter converter = PcmConverter.forFormat(source.getFormat());
+            if (converter == null) {
+                log.debug("파형 생성 불가 포맷: {} ({})", file.getName(), source.getFormat());
+                return null;
+            }
+            float sampleRate = source.getFormat().getFrameRate();
+            int channels = converter.getChannels();
+            long expectedFrames = source.getFrameLength();
+            int capacity = expectedFrames != AudioSystem.NOT_SPECIFIED
+                    ? (int) (expectedFrames / FRAMES_PER_PEAK) + 1
+                    : 4096;
+            byte[] min = new byte[capacity];
+            byte[] max = new byte[capacity];
+            int peakCount = 0;
+
+            int frameSize = converter.getFrameSize();
+            byte[] bytes = new byte[CHUNK_BYTES - CHUNK_BYTES % frameSize];
+            float[] samples = new float[bytes.length / frameSize * channels];
+            // 피크 하나가 청크 경계에 걸칠 수 있으므로 진행 중인 구간 값을 유지
+            float peakMin = Float.MAX_VALUE;
+            float peakMax = -Float.MAX_VALUE;
+            int peakFill = 0;
+            long totalFrames = 0;
+            long lastPublish = System.nanoTime();
+
+            while (true) {
+                if (generation != requestGeneration.get() || Thread.currentThread().isInterrupted()) {
+                    return null;
+                }
+                int n = source.read(bytes, 0, bytes.length);
+                if (n < 0) {
+                    break;
+                }
+                int frames = converter.toFloat(bytes, n, samples);
+                for (int f = 0, i = 0; f < frames; f++) {
+                    for (int c = 0; c < channels; c++, i++) {
+                        float v = samples[i];
+                        if (v < peakMin) {
+                            peakMin = v;
+                        }
+                        if (v > peakMax) {
+                            peakMax = v;
+                        }
+                    }
+                    if (++peakFill == FRAMES_PER_PEAK) {
+                        if (peakCount == min.length) {
+                            min = Arrays.copyOf(min, peakCount * 2);
+                            max = Arrays.copyOf(max, peakCount * 2);
+                        }
+                        min[peakCount] = WaveformData.quantize(peakMin, false);
+                        max[peakCount] = WaveformData.quantize(peakMax, true);
+                        peakCount++;
+                        peakMin = Float.MAX_VALUE;
+                        peakMax = -Float.MAX_VALUE;
+                        peakFill = 0;
+                    }
+                }
+                totalFrames += frames;
+
+                long now = System.nanoTime();
+                if (now - lastPublish >= PUBLISH_INTERVAL_NANOS) {
+                    lastPublish = now;
+                    long estimate = Math.max(totalFrames, expectedFrames);
+                    listener.accept(new WaveformData(sampleRate, estimate, FRAMES_PER_PEAK, min, max, peakCount, false));
+                }
+            }
+
+            if (peakFill > 0) {
+                if (peakCount == min.length) {
+                    min = Arrays.copyOf(min, peakCount + 1);
+                    max = Arrays.copyOf(max, peakCount + 1);
+                }
+                min[peakCount] = WaveformData.quantize(peakMin, false);
+                max[peakCount] = WaveformData.quantize(peakMax, true);
+                peakCount++;
+            }
+            WaveformData waveform = new WaveformData(sampleRate, totalFrames, FRAMES_PER_PEAK, min, max, peakCount, true);
+            if (generation == requestGeneration.get()) {
+                listener.accept(waveform);
+            }
+            return waveform;
+        } catch (Exception e) {
+            log.debug("파형 생성 실패: {} - {}", file.getName(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -2,6 +2,13 @@ module synctune.player.main {
     requires transitive synctune.sdk.main;
     requires org.slf4j;
     requires java.desktop;  // AudioEngine에서 javax.sound.sampled 사용
+    // jlayer(Mp3Source가 MP3 프레임을 직접 디코딩)와 JAAD(AacSource가 AAC 액세스 유닛을 직접 디코딩)는
+    // 모듈 정보가 없어 클래스패스에 놓이므로 build.gradle에서 --add-reads로 읽음
+    requires static jdk.incubator.vector;  // DSP SIMD 커널 (실행 시 --add-modules로 활성화, 없으면 스칼라)
+    
+    // CodecRegistry가 Java Sound 제공자 목록을 직접 불러옴
+    uses javax.sound.sampled.spi.AudioFileReader;
+    uses javax.sound.sampled.spi.FormatConversionProvider;
     
     exports ac.cwnu.synctune.player;
     exports ac.cwnu.synctune.player.playback;
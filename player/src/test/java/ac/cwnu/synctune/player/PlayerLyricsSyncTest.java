@@ -0,0 +1,267 @@
+package ac.cwnu.synctune.player;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ac.cwnu.synctune.lyrics.LyricsModule;
+import ac.cwnu.synctune.player.output.AudioOutputs;
+import ac.cwnu.synctune.player.output.VirtualClock;
+import ac.cwnu.synctune.sdk.annotation.EventListener;
+import ac.cwnu.synctune.sdk.audio.PlaybackClock;
+import ac.cwnu.synctune.sdk.event.BaseEvent;
+import ac.cwnu.synctune.sdk.event.EventPublisher;
+import ac.cwnu.synctune.sdk.event.LyricsEvent;
+import ac.cwnu.synctune.sdk.event.MediaControlEvent;
+import ac.cwnu.synctune.sdk.event.PlaybackStatusEvent;
+import ac.cwnu.synctune.sdk.model.MusicInfo;
+import ac.cwnu.synctune.sdk.module.SyncTuneModule;
+
+/**
+ * 가상 출력으로 PlayerModule과 LyricsModule을 함께 구동하여 재생 → 가사 이벤트 흐름 검증
+ * 수동 클럭을 일정 간격으로 진행시키며, 가사 라인이 바뀌는 이벤트가 클럭이 그 라인 시각을 지난 첫 단계에서 발행되는지 확인합니다.
+ * 수동 클럭은 테스트가 진행시킬 때만 흐르므로 이벤트 발행 시점의 미디어 시간은 스레드 속도와 무관하게 정해집니다.
+ */
+class PlayerLyricsSyncTest {
+
+    // 44.1kHz 스테레오 16비트 무음 곡
+    private static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+    private static final long SONG_MS = 5000;
+    // 라인 시각에 딱 맞지 않는 간격 (1000 → 1050, 2500 → 2550, 4000 → 4050에서 바뀌어야 함)
+    private static final long STEP_MS = 150;
+    private static final long[] LINE_TIMES = {0, 1000, 2500, 4000};
+    private static final long TIMEOUT_MS = 5000;
+
+    // 가상 무제한 클럭에서 기대하는 최소 배속
+    private static final long THROUGHPUT_SONG_MS = 60_000;
+    private static final double MIN_SPEEDUP = 10.0;
+
+    @TempDir
+    Path dir;
+
+    private ModuleBus bus;
+    private PlayerModule player;
+    private LyricsModule lyrics;
+
+    @BeforeEach
+    void setUp() {
+        // 분석/캐시 파일은 임시 디렉토리에, 백그라운드 작업은 끄고 가상 출력으로 재생
+        System.setProperty(AudioOutputs.OUTPUT_PROPERTY, "virtual");
+        System.setProperty("synctune.loudness.store", dir.resolve("loudness.tsv").toString());
+        System.setProperty("synctune.features.store", dir.resolve("features.tsv").toString());
+        System.setProperty("synctune.waveform.cache", dir.resolve("waveforms").toString());
+        System.setProperty("synctune.loudness.mode", "off");
+        System.setProperty("synctune.features.analyze", "false");
+        System.setProperty("synctune.prefetch.tracks", "0");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (lyrics != null) {
+            lyrics.stop();
+        }
+        if (player != null) {
+            player.stop();
+        }
+        AudioOutputs.setVirtualClock(null);
+        for (String property : List.of(AudioOutputs.OUTPUT_PROPERTY, "synctune.loudness.store",
+                "synctune.features.store", "synctune.waveform.cache", "synctune.loudness.mode",
+                "synctune.features.analyze", "synctune.prefetch.tracks")) {
+            System.clearProperty(property);
+        }
+    }
+
+    @Test
+    void lyricsFollowSteppedClock() throws Exception {
+        VirtualClock virtualClock = VirtualClock.manual();
+        MusicInfo song = writeSong("stepped", SONG_MS, LINE_TIMES);
+        startModules(virtualClock);
+
+        bus.publish(new MediaControlEvent.RequestPlayEvent(song));
+        // 가사를 읽으면 첫 라인을 바로 발행하고 동기화를 시작함 (클럭은 아직 0)
+        bus.await(LyricsEvent.NextLyricsEvent.class, e -> e.getStartTimeMillis() == 0);
+        PlaybackClock clock = bus.clock();
+        assertNotNull(clock, "재생 클럭이 제공되지 않았습니다");
+        assertEquals(0.0, clock.getRate(), "수동 클럭은 벽시계와 무관하게 진행해야 합니다");
+
+        int nextLine = 1;
+        for (long position = STEP_MS; position <= SONG_MS - STEP_MS; position += STEP_MS) {
+            virtualClock.advanceMillis(STEP_MS);
+            long expected = position;
+            awaitCondition(() -> clock.getMediaTimeMillis() == expected, "클럭이 " + expected + "ms에 도달하지 않았습니다");
+            if (nextLine < LINE_TIMES.length && position >= LINE_TIMES[nextLine]) {
+                // 다음 단계로 넘어가기 전에 이 단계에서 라인이 바뀌어야 함
+                long lineTime = LINE_TIMES[nextLine++];
+                bus.await(LyricsEvent.NextLyricsEvent.class, e -> e.getStartTimeMillis() == lineTime);
+            }
+        }
+
+        // (라인 시각, 발행 시점의 미디어 시간): 라인 시각을 지난 첫 단계에서 한 번씩
+        assertEquals(List.of("0@0", "1000@1050", "2500@2550", "4000@4050"), bus.lyricsTimeline());
+    }
+
+    @Test
+    void unlimitedClockPlaysFasterThanRealTime() throws Exception {
+        MusicInfo song = writeSong("throughput", THROUGHPUT_SONG_MS, LINE_TIMES);
+        startModules(VirtualClock.unlimited());
+
+        long started = System.nanoTime();
+        bus.publish(new MediaControlEvent.RequestPlayEvent(song));
+        bus.await(PlaybackStatusEvent.PlaybackStartedEvent.class, e -> true);
+        int startedIndex = bus.size();
+        // 재생 시작 전 기존 곡 정리로 발행되는 정지 이벤트는 건너뜀
+        bus.awaitAfter(startedIndex, PlaybackStatusEvent.PlaybackStoppedEvent.class, THROUGHPUT_SONG_MS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        double speedup = THROUGHPUT_SONG_MS / (double) Math.max(1, elapsedMs);
+        assertTrue(speedup >= MIN_SPEEDUP,
+                String.format("%dms 곡을 %dms에 재생 (%.1f배속, 기대 %.0f배속 이상)", THROUGHPUT_SONG_MS, elapsedMs,
+                        speedup, MIN_SPEEDUP));
+        assertEquals(THROUGHPUT_SONG_MS, bus.clock().getMediaTimeMillis());
+    }
+
+    // ========== 보조 메서드 ==========
+
+    private void startModules(VirtualClock virtualClock) {
+        AudioOutputs.setVirtualClock(virtualClock);
+        player = new PlayerModule();
+        lyrics = new LyricsModule();
+        bus = new ModuleBus(player, lyrics);
+        player.start(bus);
+        lyrics.start(bus);
+    }
+
+    /**
+     * 무음 WAV와 같은 이름의 LRC 파일을 만듭니다
+     */
+    private MusicInfo writeSong(String name, long durationMs, long[] lineTimes) throws IOException {
+        long frames = (long) FORMAT.getFrameRate() * durationMs / 1000;
+        byte[] pcm = new byte[(int) (frames * FORMAT.getFrameSize())];
+        File wav = dir.resolve(name + ".wav").toFile();
+        try (AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(pcm), FORMAT, frames)) {
+            AudioSystem.write(stream, AudioFileFormat.Type.WAVE, wav);
+        }
+
+        StringBuilder lrc = new StringBuilder();
+        for (int i = 0; i < lineTimes.length; i++) {
+            long t = lineTimes[i];
+            lrc.append(String.format("[%02d:%02d.%02d] line %d%n", t / 60_000, t / 1000 % 60, t % 1000 / 10, i));
+        }
+        Files.writeString(dir.resolve(name + ".lrc"), lrc, StandardCharsets.UTF_8);
+        return new MusicInfo(name, "artist", "album", wav.getAbsolutePath(), durationMs);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MS);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * 코어 EventBus처럼 {@link EventListener} 메서드에 이벤트를 동기 전달하고, 발행된 이벤트를 순서대로 기록하는 버스
+     * 가사 이벤트는 발행 순간의 재생 클럭 값과 함께 기록합니다.
+     */
+    private static final class ModuleBus implements EventPublisher {
+        private final List<SyncTuneModule> modules;
+        private final List<BaseEvent> events = new ArrayList<>();
+        private final List<String> lyricsTimeline = new ArrayList<>();
+        private volatile PlaybackClock clock;
+
+        ModuleBus(SyncTuneModule... modules) {
+            this.modules = List.of(modules);
+        }
+
+        @Override
+        public void publish(BaseEvent event) {
+            if (event instanceof PlaybackStatusEvent.PlaybackClockAvailableEvent available) {
+                clock = available.getClock();
+            }
+            synchronized (this) {
+                if (event instanceof LyricsEvent.NextLyricsEvent next) {
+                    PlaybackClock c = clock;
+                    lyricsTimeline.add(next.getStartTimeMillis() + "@" + (c == null ? -1 : c.getMediaTimeMillis()));
+                }
+                events.add(event);
+                notifyAll();
+            }
+            for (SyncTuneModule module : modules) {
+                for (Method method : module.getClass().getMethods()) {
+                    if (method.isAnnotationPresent(EventListener.class) && method.getParameterCount() == 1
+                            && method.getParameterTypes()[0].isInstance(event)) {
+                        try {
+                            method.invoke(module, event);
+                        } catch (IllegalAccessException | InvocationTargetException e) {
+                            throw new AssertionError(method.getName() + " 처리 실패: " + event, e);
+                        }
+                    }
+                }
+            }
+        }
+
+        PlaybackClock clock() {
+            return clock;
+        }
+
+        synchronized int size() {
+            return events.size();
+        }
+
+        synchronized List<String> lyricsTimeline() {
+            return List.copyOf(lyricsTimeline);
+        }
+
+        <T extends BaseEvent> T await(Class<T> type, Predicate<T> condition) throws InterruptedException {
+            return awaitAfter(0, type, condition, TIMEOUT_MS);
+        }
+
+        <T extends BaseEvent> T awaitAfter(int from, Class<T> type, long timeoutMs) throws InterruptedException {
+            return awaitAfter(from, type, e -> true, timeoutMs);
+        }
+
+        /**
+         * from번째 이후에 발행된 이벤트 중 조건에 맞는 첫 이벤트를 기다립니다
+         */
+        synchronized <T extends BaseEvent> T awaitAfter(int from, Class<T> type, Predicate<T> condition,
+                long timeoutMs) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            int checked = from;
+            while (true) {
+                for (; checked < events.size(); checked++) {
+                    BaseEvent event = events.get(checked);
+                    if (type.isInstance(event) && condition.test(type.cast(event))) {
+                        return type.cast(event);
+                    }
+                }
+                long remaining = deadline - System.nanoTime();
+                assertTrue(remaining > 0, type.getSimpleName() + " 이벤트가 시간 안에 발행되지 않았습니다");
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+    }
+}
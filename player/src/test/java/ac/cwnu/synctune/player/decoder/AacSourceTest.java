@@ -0,0 +1,133 @@
+package ac.cwnu.synctune.player.decoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import org.junit.jupiter.api.Test;
+
+import ac.cwnu.synctune.player.output.VirtualClock;
+import ac.cwnu.synctune.player.output.VirtualClockOutput;
+import ac.cwnu.synctune.player.streaming.StreamingPlayback;
+
+/**
+ * 내장 AAC 경로(MP4 디먹서, ADTS 프레임 테이블, JAAD 디코딩)를 다른 디코더의 출력과 비교
+ * 픽스처는 src/test/resources/aac에 있습니다.
+ * <ul>
+ * <li>{@code stereo.aac}: AAC-LC 44.1kHz 스테레오(왼쪽 440Hz, 오른쪽 660Hz), 액세스 유닛 27개(27648샘플).
+ *     PNS(잡음 대체)는 디코더가 난수로 채우므로 결과를 비트 단위로 비교할 수 있도록 끄고 인코딩</li>
+ * <li>{@code stereo.m4a}: 같은 액세스 유닛을 MP4로 다시 담은 파일</li>
+ * <li>{@code stereo.wav}: 같은 스트림을 ffmpeg 내장 AAC 디코더로 디코딩한 참조 PCM</li>
+ * </ul>
+ * AAC 디코더는 부동소수점 연산이라 구현마다 최하위 비트가 다를 수 있으므로 참조와는 신호 대 오차비로 비교합니다.
+ */
+class AacSourceTest {
+
+    private static final long UNIT_FRAMES = 27648;
+    private static final double MIN_SNR_DB = 60;
+    // 프레임 크기의 배수가 아닌 버퍼로 읽어 프레임 경계를 가로지르는 복사도 확인
+    private static final int SMALL_BUFFER = 3001;
+    private static final int LARGE_BUFFER = 65537;
+
+    @Test
+    void decodesMp4TrackCloseToReference() throws Exception {
+        try (AacSource source = AacSource.open(fixture("stereo.m4a"))) {
+            AudioFormat format = source.getFormat();
+            assertEquals(44100f, format.getSampleRate());
+            assertEquals(2, format.getChannels());
+            assertEquals(UNIT_FRAMES, source.getFrameLength());
+            assertSnr(referencePcm(), readAll(source, LARGE_BUFFER));
+        }
+    }
+
+    @Test
+    void adtsAndMp4DecodeIdentically() throws Exception {
+        try (AacSource mp4 = AacSource.open(fixture("stereo.m4a"));
+                AacSource adts = AacSource.open(fixture("stereo.aac"))) {
+            assertInstanceOf(AdtsTrack.class, adts.getTrack());
+            assertEquals(mp4.getFormat().toString(), adts.getFormat().toString());
+            assertEquals(UNIT_FRAMES, adts.getFrameLength());
+            // 큰 버퍼(호출자 버퍼에 바로 디코딩)와 작은 버퍼(내부 버퍼 경유)의 결과도 같아야 함
+            assertArrayEquals(readAll(mp4, LARGE_BUFFER), readAll(adts, SMALL_BUFFER));
+        }
+    }
+
+    @Test
+    void seekMatchesContinuousDecode() throws Exception {
+        try (AacSource source = AacSource.open(fixture("stereo.aac"))) {
+            byte[] whole = readAll(source, LARGE_BUFFER);
+            int frameSize = source.getFormat().getFrameSize();
+            // 유닛 경계, 유닛 중간, 첫 유닛 안, 마지막 유닛, 되감기
+            for (long frame : new long[] {10240, 5000, 700, 27000, 0}) {
+                source.seekToFrame(frame);
+                assertEquals(frame, source.getFramePosition());
+                byte[] tail = Arrays.copyOfRange(whole, (int) frame * frameSize, whole.length);
+                // 앞 유닛 하나로 중첩 구간을 채우므로 탐색 뒤에도 처음부터 디코딩한 것과 같아야 함
+                assertArrayEquals(tail, readAll(source, SMALL_BUFFER), "탐색 위치 " + frame);
+            }
+        }
+    }
+
+    @Test
+    void m4aPlaysThroughStreamingPlayback() throws Exception {
+        PcmSource source = PcmSources.open(fixture("stereo.m4a"));
+        assertInstanceOf(AacSource.class, source);
+        VirtualClockOutput output = new VirtualClockOutput(VirtualClock.unlimited());
+        CountDownLatch ended = new CountDownLatch(1);
+        try (StreamingPlayback playback = StreamingPlayback.open(source, output, null)) {
+            playback.setEndOfStreamListener(ended::countDown);
+            playback.start();
+            assertTrue(ended.await(5, TimeUnit.SECONDS), "곡 끝 알림이 오지 않았습니다");
+            assertEquals(UNIT_FRAMES, output.getFramePosition());
+            assertEquals(UNIT_FRAMES * 1000 / 44100, playback.getPositionMillis());
+        }
+    }
+
+    // ========== 보조 메서드 ==========
+
+    private static File fixture(String name) throws Exception {
+        return new File(AacSourceTest.class.getResource("/aac/" + name).toURI());
+    }
+
+    private static byte[] referencePcm() throws Exception {
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(fixture("stereo.wav"))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static void assertSnr(byte[] expected, byte[] actual) {
+        assertEquals(expected.length, actual.length);
+        double signal = 0;
+        double noise = 0;
+        for (int i = 0; i < expected.length; i += 2) {
+            int e = (short) ((expected[i] & 0xFF) | (expected[i + 1] << 8));
+            int a = (short) ((actual[i] & 0xFF) | (actual[i + 1] << 8));
+            signal += (double) e * e;
+            noise += (double) (e - a) * (e - a);
+        }
+        double snr = 10 * Math.log10(signal / Math.max(noise, 1));
+        assertTrue(snr >= MIN_SNR_DB, "참조와의 신호 대 오차비가 낮습니다: " + snr + "dB");
+    }
+
+    private static byte[] readAll(PcmSource source, int bufferSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[bufferSize];
+        int n;
+        while ((n = source.read(buffer, 0, buffer.length)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
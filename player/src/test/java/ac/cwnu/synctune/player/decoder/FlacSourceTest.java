@@ -0,0 +1,109 @@
+package ac.cwnu.synctune.player.decoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 내장 FLAC 디코더를 참조 PCM(WAV)과 바이트 단위로 비교
+ * 픽스처는 src/test/resources/flac에 있으며 두 파일 모두 별도 디코더(jflac)로 같은 PCM이 나오는 것을 확인해 두었습니다.
+ * <ul>
+ * <li>{@code subframes.flac}: 16비트 스테레오 44.1kHz, 1024샘플 프레임 8개와 500샘플 마지막 프레임.
+ *     프레임마다 CONSTANT/VERBATIM, 고정 예측 0~4차, LPC 2~32차(계수 정밀도 12~15비트),
+ *     left/side, right/side, mid/side, wasted bits(1~3비트, side 채널 포함), Rice/Rice2 파라미터,
+ *     escape 파티션(원시 비트 0 포함), 파티션 차수 0~5를 나누어 담은 손으로 만든 스트림</li>
+ * <li>{@code encoder24.flac}: 24비트 스테레오 48kHz, 다른 인코더(javaFlacEncoder)로 만든 LPC 스트림</li>
+ * </ul>
+ */
+class FlacSourceTest {
+
+    @Test
+    void decodesHandBuiltSubframesBitExact() throws Exception {
+        byte[] expected = referencePcm("subframes.wav");
+        try (FlacSource source = FlacSource.open(fixture("subframes.flac"))) {
+            AudioFormat format = source.getFormat();
+            assertEquals(16, format.getSampleSizeInBits());
+            assertEquals(2, format.getChannels());
+            assertEquals(8692, source.getFrameLength());
+            assertArrayEquals(expected, readAll(source));
+        }
+    }
+
+    @Test
+    void decodesEncoderOutputBitExact() throws Exception {
+        byte[] expected = referencePcm("encoder24.wav");
+        try (FlacSource source = FlacSource.open(fixture("encoder24.flac"))) {
+            assertEquals(24, source.getFormat().getSampleSizeInBits());
+            assertEquals(4608, source.getFrameLength());
+            assertArrayEquals(expected, readAll(source));
+        }
+    }
+
+    @Test
+    void seekLandsOnExactSample() throws Exception {
+        byte[] expected = referencePcm("subframes.wav");
+        try (FlacSource source = FlacSource.open(fixture("subframes.flac"))) {
+            int frameSize = source.getFormat().getFrameSize();
+            // 프레임 경계, 프레임 중간, wasted bits 프레임, 짧은 마지막 프레임, 되감기
+            for (long frame : new long[] {5000, 1024, 1023, 6200, 8500, 0}) {
+                source.seekToFrame(frame);
+                assertEquals(frame, source.getFramePosition());
+                byte[] actual = readAll(source);
+                byte[] tail = Arrays.copyOfRange(expected, (int) frame * frameSize, expected.length);
+                assertArrayEquals(tail, actual, "탐색 위치 " + frame);
+            }
+        }
+    }
+
+    @Test
+    void segmentsConcatenateToWholeStream() throws Exception {
+        byte[] expected = referencePcm("subframes.wav");
+        List<FlacSource> segments = FlacSource.openSegments(fixture("subframes.flac"), 3);
+        assertTrue(segments.size() > 1, "구간이 나누어지지 않았습니다");
+        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+        long nextStart = 0;
+        for (FlacSource segment : segments) {
+            try (segment) {
+                assertEquals(nextStart, segment.getStartFrame());
+                nextStart += segment.getFrameLength();
+                joined.write(readAll(segment));
+            }
+        }
+        assertArrayEquals(expected, joined.toByteArray());
+    }
+
+    // ========== 보조 메서드 ==========
+
+    private static File fixture(String name) throws Exception {
+        return new File(FlacSourceTest.class.getResource("/flac/" + name).toURI());
+    }
+
+    private static byte[] referencePcm(String name) throws Exception {
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(fixture(name))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] readAll(PcmSource source) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // 프레임 크기의 배수가 아닌 버퍼로 읽어 프레임 경계를 가로지르는 복사도 확인
+        byte[] buffer = new byte[4001];
+        int n;
+        while ((n = source.read(buffer, 0, buffer.length)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
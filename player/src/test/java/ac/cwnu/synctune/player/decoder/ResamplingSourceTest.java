@@ -0,0 +1,177 @@
+package ac.cwnu.synctune.player.decoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import javax.sound.sampled.AudioFormat;
+
+import org.junit.jupiter.api.Test;
+
+import ac.cwnu.synctune.player.dsp.Resampler;
+
+/**
+ * 리샘플링 소스의 길이 보고, 끝까지 읽은 프레임 수, 탐색 후 위치와 내용 검증
+ * 원본은 시각이 프레임 번호로 정해지는 16비트 스테레오 사인이므로, 탐색한 위치에서 읽은 출력이 그 시각의 사인과 같은지로 위치를 확인합니다.
+ */
+class ResamplingSourceTest {
+
+    private static final double FREQUENCY = 1000;
+    private static final double AMPLITUDE = 0.5;
+    // 탐색 직후 필터가 무음 이력에서 벗어나는 데 필요한 출력 프레임 수
+    private static final int WARM_UP_FRAMES = 100;
+    private static final int COMPARE_FRAMES = 2000;
+    // 통과 대역 리플 + 16비트 양자화
+    private static final double TOLERANCE = 2e-3;
+
+    @Test
+    void lengthMatchesToOutputFrames() throws IOException {
+        int[][] conversions = {{44100, 48000}, {96000, 44100}};
+        for (int[] rates : conversions) {
+            for (long frames : new long[] {rates[0], rates[0] + 7L, 12345}) {
+                Resampler reference = new Resampler(rates[0], rates[1], 2, Resampler.Quality.STANDARD, 1024);
+                try (ResamplingSource source = wrap(rates[0], frames, rates[1])) {
+                    long expected = reference.toOutputFrames(frames);
+                    assertEquals(expected, source.getFrameLength());
+                    assertEquals(expected, readToEnd(source), rates[0] + " -> " + rates[1] + ", " + frames + "프레임");
+                    assertEquals(expected, source.getFramePosition());
+                }
+            }
+        }
+    }
+
+    @Test
+    void seekIsPositionExact44100To48000() throws IOException {
+        assertSeeksExact(44100, 48000);
+    }
+
+    @Test
+    void seekIsPositionExact96000To44100() throws IOException {
+        assertSeeksExact(96000, 44100);
+    }
+
+    // ========== 보조 메서드 ==========
+
+    private static void assertSeeksExact(int inRate, int outRate) throws IOException {
+        try (ResamplingSource source = wrap(inRate, inRate * 3L, outRate)) {
+            long length = source.getFrameLength();
+            // 입력 프레임과 딱 맞는 위치, 입력 프레임 사이에 떨어지는 위치, 되감기
+            for (long target : new long[] {outRate, 1000, 12345, 33333, outRate * 2L + 1, 0}) {
+                source.seekToFrame(target);
+                assertEquals(target, source.getFramePosition(), target + "로 탐색");
+
+                float[] read = readFrames(source, WARM_UP_FRAMES + COMPARE_FRAMES);
+                assertEquals(target + WARM_UP_FRAMES + COMPARE_FRAMES, source.getFramePosition());
+                double maxError = 0;
+                for (int f = WARM_UP_FRAMES; f < WARM_UP_FRAMES + COMPARE_FRAMES; f++) {
+                    double expected = AMPLITUDE * Math.sin(2 * Math.PI * FREQUENCY * (target + f) / outRate);
+                    maxError = Math.max(maxError, Math.abs(read[f] - expected));
+                }
+                assertTrue(maxError < TOLERANCE, inRate + " -> " + outRate + ", " + target + "로 탐색 후 최대 오차 " + maxError);
+            }
+
+            // 끝까지 읽으면 보고한 길이에서 멈춤
+            source.seekToFrame(length - 10);
+            assertEquals(length - 10, source.getFramePosition());
+            assertEquals(10, readToEnd(source));
+            assertEquals(length, source.getFramePosition());
+
+            // 길이 밖으로 탐색하면 끝에 머묾
+            source.seekToFrame(length + 1000);
+            assertEquals(-1, source.read(new byte[64], 0, 64));
+        }
+    }
+
+    private static ResamplingSource wrap(int inRate, long frames, int outRate) {
+        return ResamplingSource.wrap(new SineSource(inRate, frames), outRate, Resampler.Quality.STANDARD);
+    }
+
+    /**
+     * 첫 채널의 샘플을 frames 프레임만큼 읽습니다 (홀수 바이트 요청으로 나누어 읽음)
+     */
+    private static float[] readFrames(PcmSource source, int frames) throws IOException {
+        float[] samples = new float[frames];
+        byte[] buffer = new byte[4 * 333 + 3];
+        int frame = 0;
+        while (frame < frames) {
+            int n = source.read(buffer, 0, Math.min(buffer.length, (frames - frame) * 4));
+            assertTrue(n > 0, "원본 끝에 너무 일찍 도달했습니다");
+            for (int i = 0; i < n; i += 4, frame++) {
+                samples[frame] = (short) ((buffer[i + 1] << 8) | (buffer[i] & 0xFF)) / 32768f;
+            }
+        }
+        return samples;
+    }
+
+    private static long readToEnd(PcmSource source) throws IOException {
+        byte[] buffer = new byte[4 * 1000];
+        long frames = 0;
+        int n;
+        while ((n = source.read(buffer, 0, buffer.length)) >= 0) {
+            frames += n / 4;
+        }
+        return frames;
+    }
+
+    /**
+     * 프레임 번호로 값이 정해지는 16비트 스테레오 사인 소스
+     */
+    private static final class SineSource implements PcmSource {
+        private final AudioFormat format;
+        private final long frameLength;
+        private long framePosition;
+
+        SineSource(int rate, long frameLength) {
+            this.format = new AudioFormat(rate, 16, 2, true, false);
+            this.frameLength = frameLength;
+        }
+
+        @Override
+        public AudioFormat getFormat() {
+            return format;
+        }
+
+        @Override
+        public int read(byte[] dst, int off, int len) {
+            long frames = Math.min(len / 4, frameLength - framePosition);
+            if (frames <= 0) {
+                return -1;
+            }
+            for (int f = 0, b = off; f < frames; f++) {
+                double t = (framePosition + f) / (double) format.getFrameRate();
+                int v = (int) Math.round(AMPLITUDE * 32767 * Math.sin(2 * Math.PI * FREQUENCY * t));
+                for (int c = 0; c < 2; c++, b += 2) {
+                    dst[b] = (byte) v;
+                    dst[b + 1] = (byte) (v >> 8);
+                }
+            }
+            framePosition += frames;
+            return (int) frames * 4;
+        }
+
+        @Override
+        public void seekToFrame(long frame) {
+            framePosition = Math.max(0, Math.min(frame, frameLength));
+        }
+
+        @Override
+        public long getFramePosition() {
+            return framePosition;
+        }
+
+        @Override
+        public long getFrameLength() {
+            return frameLength;
+        }
+
+        @Override
+        public String getName() {
+            return "sine";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
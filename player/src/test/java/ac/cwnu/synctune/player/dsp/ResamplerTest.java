@@ -0,0 +1,181 @@
+package ac.cwnu.synctune.player.dsp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 사인파를 변환하여 리샘플러의 출력 길이, 주파수, 진폭, 위상(첫 출력이 첫 입력 위치에 오는지) 검증
+ * 필터가 무음 이력으로 시작하고 끝에서 무음으로 밀어내는 앞뒤 구간은 제외하고, 남은 구간을 출력 레이트의 이상적인 사인과 비교합니다.
+ */
+class ResamplerTest {
+
+    private static final int CHANNELS = 2;
+    // 호출자가 나누어 넘기는 것처럼 레이트와 나누어떨어지지 않는 블록 크기
+    private static final int BLOCK_FRAMES = 1000;
+    private static final double AMPLITUDE = 0.5;
+    // 필터 통과 대역 리플 + float 누적 오차
+    private static final double TOLERANCE = 1e-3;
+
+    @Test
+    void upsample44100To48000() {
+        for (Resampler.Quality quality : Resampler.Quality.values()) {
+            assertSineConverted(44100, 48000, 1000, quality);
+        }
+    }
+
+    @Test
+    void downsample96000To44100() {
+        for (Resampler.Quality quality : Resampler.Quality.values()) {
+            assertSineConverted(96000, 44100, 1000, quality);
+        }
+    }
+
+    @Test
+    void outputLengthFollowsToOutputFrames() {
+        int[][] conversions = {{44100, 48000}, {96000, 44100}, {48000, 44100}};
+        for (int[] rates : conversions) {
+            // 나누어떨어지는 길이 (1초)와 소수 프레임이 남는 길이
+            for (int frames : new int[] {rates[0], rates[0] + 7, 12345}) {
+                Resampler resampler = new Resampler(rates[0], rates[1], CHANNELS, Resampler.Quality.STANDARD,
+                        BLOCK_FRAMES);
+                float[] out = resample(resampler, sine(rates[0], 440, frames));
+                long exact = resampler.toOutputFrames(frames);
+                // 마지막 입력 프레임 뒤 소수 구간의 출력 한 프레임이 더 나올 수 있음 (출력 시각 < 입력 끝)
+                long expected = (long) frames * rates[1] % rates[0] == 0 ? exact : exact + 1;
+                assertEquals(expected, out.length / CHANNELS, rates[0] + " -> " + rates[1] + ", " + frames + "프레임");
+            }
+        }
+    }
+
+    @Test
+    void downsamplingRemovesToneAboveOutputNyquist() {
+        // 30kHz는 44.1kHz 출력에서 14.1kHz로 접혀 들어오므로 필터가 걸러야 함
+        Resampler resampler = new Resampler(96000, 44100, CHANNELS, Resampler.Quality.STANDARD, BLOCK_FRAMES);
+        float[] out = resample(resampler, sine(96000, 30000, 96000));
+        int skip = resampler.getTaps();
+        assertTrue(peak(out, skip, out.length / CHANNELS - skip) < TOLERANCE, "나이퀴스트 위 성분이 남았습니다");
+    }
+
+    @Test
+    void toInputAndOutputFramesRoundDown() {
+        Resampler resampler = new Resampler(44100, 48000, CHANNELS, Resampler.Quality.FAST, BLOCK_FRAMES);
+        assertEquals(48000, resampler.toOutputFrames(44100));
+        assertEquals(1088, resampler.toOutputFrames(1000));   // 1088.4
+        assertEquals(918, resampler.toInputFrames(1000));     // 918.75
+        assertEquals(44100, resampler.toInputFrames(48000));
+    }
+
+    // ========== 보조 메서드 ==========
+
+    private static void assertSineConverted(int inRate, int outRate, double frequency, Resampler.Quality quality) {
+        String label = inRate + " -> " + outRate + " " + quality;
+        int inFrames = inRate; // 1초
+        Resampler resampler = new Resampler(inRate, outRate, CHANNELS, quality, BLOCK_FRAMES);
+        float[] out = resample(resampler, sine(inRate, frequency, inFrames));
+        int outFrames = out.length / CHANNELS;
+        assertEquals(outRate, outFrames, label + " 출력 길이");
+
+        // 필터 길이만큼 앞뒤를 빼고 이상적인 사인과 비교 (주파수/진폭/위상이 모두 맞아야 오차가 작음)
+        int skip = (int) ((long) resampler.getTaps() * outRate / inRate) + 1;
+        double maxError = 0;
+        for (int f = skip; f < outFrames - skip; f++) {
+            double expected = AMPLITUDE * Math.sin(2 * Math.PI * frequency * f / outRate);
+            for (int c = 0; c < CHANNELS; c++) {
+                maxError = Math.max(maxError, Math.abs(out[f * CHANNELS + c] - expected));
+            }
+        }
+        assertTrue(maxError < TOLERANCE, label + " 최대 오차 " + maxError);
+
+        // 같은 구간에서 따로 잰 진폭과 주파수
+        assertEquals(AMPLITUDE, fitAmplitude(out, skip, outFrames - skip, frequency, outRate), TOLERANCE,
+                label + " 진폭");
+        assertEquals(frequency, estimateFrequency(out, skip, outFrames - skip, outRate), 0.5, label + " 주파수");
+    }
+
+    /**
+     * 블록 단위로 넣고 끝에서 꼬리를 밀어낸 전체 출력
+     */
+    private static float[] resample(Resampler resampler, float[] in) {
+        int inFrames = in.length / CHANNELS;
+        float[] block = new float[BLOCK_FRAMES * CHANNELS];
+        float[] out = new float[resampler.maxOutputFrames(BLOCK_FRAMES) * CHANNELS];
+        float[] result = new float[(int) (resampler.toOutputFrames(inFrames) + 2) * CHANNELS];
+        int produced = 0;
+        for (int frame = 0; frame < inFrames; frame += BLOCK_FRAMES) {
+            int frames = Math.min(BLOCK_FRAMES, inFrames - frame);
+            System.arraycopy(in, frame * CHANNELS, block, 0, frames * CHANNELS);
+            int n = resampler.process(block, frames, out);
+            System.arraycopy(out, 0, result, produced * CHANNELS, n * CHANNELS);
+            produced += n;
+        }
+        float[] tail = new float[resampler.maxOutputFrames(resampler.getTaps()) * CHANNELS];
+        int n = resampler.drain(tail);
+        System.arraycopy(tail, 0, result, produced * CHANNELS, n * CHANNELS);
+        produced += n;
+        return Arrays.copyOf(result, produced * CHANNELS);
+    }
+
+    /**
+     * 두 채널에 같은 사인을 담은 인터리브 샘플
+     */
+    private static float[] sine(int rate, double frequency, int frames) {
+        float[] samples = new float[frames * CHANNELS];
+        for (int f = 0; f < frames; f++) {
+            float s = (float) (AMPLITUDE * Math.sin(2 * Math.PI * frequency * f / rate));
+            for (int c = 0; c < CHANNELS; c++) {
+                samples[f * CHANNELS + c] = s;
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * 첫 채널을 주어진 주파수의 사인/코사인에 투영한 진폭
+     */
+    private static double fitAmplitude(float[] samples, int from, int to, double frequency, int rate) {
+        double sin = 0;
+        double cos = 0;
+        for (int f = from; f < to; f++) {
+            double w = 2 * Math.PI * frequency * f / rate;
+            sin += samples[f * CHANNELS] * Math.sin(w);
+            cos += samples[f * CHANNELS] * Math.cos(w);
+        }
+        int n = to - from;
+        return 2 * Math.hypot(sin, cos) / n;
+    }
+
+    /**
+     * 첫 채널의 상승 영교차 사이 간격(선형 보간)으로 구한 주파수
+     */
+    private static double estimateFrequency(float[] samples, int from, int to, int rate) {
+        double first = -1;
+        double last = -1;
+        int crossings = 0;
+        for (int f = from + 1; f < to; f++) {
+            float a = samples[(f - 1) * CHANNELS];
+            float b = samples[f * CHANNELS];
+            if (a < 0 && b >= 0) {
+                double at = f - 1 + a / (double) (a - b);
+                if (first < 0) {
+                    first = at;
+                } else {
+                    crossings++;
+                }
+                last = at;
+            }
+        }
+        return crossings * rate / (last - first);
+    }
+
+    private static double peak(float[] samples, int fromFrame, int toFrame) {
+        double peak = 0;
+        for (int i = fromFrame * CHANNELS; i < toFrame * CHANNELS; i++) {
+            peak = Math.max(peak, Math.abs(samples[i]));
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,149 @@
+package ac.cwnu.synctune.player.dsp;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Vector API 커널이 스칼라 커널과 비트 단위로 같은 결과를 내는지 무작위 데이터로 검증
+ * 길이는 벡터 레인 수로 나누어떨어지지 않는 값을 섞어 나머지 구간 처리를, 오프셋은 0이 아닌 값으로 정렬되지 않은 접근을 함께 확인합니다.
+ * Vector API 모듈이 없거나 SIMD 폭이 좁은 환경에서는 건너뜁니다.
+ */
+class SampleKernelsTest {
+
+    private static final int[] LENGTHS = {0, 1, 3, 7, 15, 17, 31, 33, 63, 65, 127, 1000, 4099};
+    private static final int OFFSET = 3;
+
+    private final Random random = new Random(42);
+    private SampleKernels scalar;
+    private SampleKernels vector;
+
+    @BeforeEach
+    void setUp() {
+        scalar = SampleKernels.scalar();
+        vector = SampleKernels.vector();
+        assumeTrue(vector != null, "Vector API 커널을 사용할 수 없습니다 (--add-modules jdk.incubator.vector 필요)");
+    }
+
+    @Test
+    void int16ToFloatMatchesScalar() {
+        for (boolean bigEndian : new boolean[] {false, true}) {
+            for (int n : LENGTHS) {
+                byte[] pcm = new byte[(OFFSET + n) * 2];
+                random.nextBytes(pcm);
+                float[] expected = new float[OFFSET + n];
+                float[] actual = new float[OFFSET + n];
+
+                scalar.int16ToFloat(pcm, OFFSET * 2, expected, OFFSET, n, bigEndian);
+                vector.int16ToFloat(pcm, OFFSET * 2, actual, OFFSET, n, bigEndian);
+                assertArrayEquals(expected, actual, describe("int16ToFloat", n, bigEndian));
+            }
+        }
+    }
+
+    @Test
+    void floatToInt16MatchesScalar() {
+        for (boolean bigEndian : new boolean[] {false, true}) {
+            for (int n : LENGTHS) {
+                float[] samples = edgeSamples(OFFSET + n);
+                byte[] expected = new byte[(OFFSET + n) * 2];
+                byte[] actual = new byte[(OFFSET + n) * 2];
+
+                scalar.floatToInt16(samples, OFFSET, expected, OFFSET * 2, n, bigEndian);
+                vector.floatToInt16(samples, OFFSET, actual, OFFSET * 2, n, bigEndian);
+                assertArrayEquals(expected, actual, describe("floatToInt16", n, bigEndian));
+            }
+        }
+    }
+
+    @Test
+    void int16RoundTripIsLossless() {
+        for (boolean bigEndian : new boolean[] {false, true}) {
+            byte[] pcm = new byte[4099 * 2];
+            random.nextBytes(pcm);
+            float[] samples = new float[4099];
+            byte[] back = new byte[pcm.length];
+
+            vector.int16ToFloat(pcm, 0, samples, 0, samples.length, bigEndian);
+            vector.floatToInt16(samples, 0, back, 0, samples.length, bigEndian);
+            assertArrayEquals(pcm, back, bigEndian ? "big-endian" : "little-endian");
+        }
+    }
+
+    @Test
+    void scaleMatchesScalar() {
+        for (int n : LENGTHS) {
+            float[] expected = randomSamples(OFFSET + n);
+            float[] actual = expected.clone();
+            float gain = random.nextFloat() * 2;
+
+            scalar.scale(expected, OFFSET, n, gain);
+            vector.scale(actual, OFFSET, n, gain);
+            assertArrayEquals(expected, actual, describe("scale", n, false));
+        }
+    }
+
+    @Test
+    void rampMatchesScalar() {
+        // 레인 수를 나누는 채널 수는 벡터 경로, 나머지(3, 5)는 스칼라 경로
+        for (int channels : new int[] {1, 2, 3, 4, 5, 8}) {
+            for (int frames : LENGTHS) {
+                float[] expected = randomSamples(OFFSET + frames * channels);
+                float[] actual = expected.clone();
+                float start = random.nextFloat();
+                float step = (random.nextFloat() - 0.5f) / Math.max(1, frames);
+
+                scalar.ramp(expected, OFFSET, frames, channels, start, step);
+                vector.ramp(actual, OFFSET, frames, channels, start, step);
+                assertArrayEquals(expected, actual, "ramp " + channels + "채널 " + frames + "프레임");
+            }
+        }
+    }
+
+    @Test
+    void mixMatchesScalar() {
+        for (int n : LENGTHS) {
+            float[] expected = randomSamples(OFFSET + n);
+            float[] actual = expected.clone();
+            float[] other = randomSamples(n + 1);
+            float gain = random.nextFloat() * 2 - 1;
+
+            scalar.mix(expected, OFFSET, other, 1, n, gain);
+            vector.mix(actual, OFFSET, other, 1, n, gain);
+            assertArrayEquals(expected, actual, describe("mix", n, false));
+        }
+    }
+
+    // ========== 보조 메서드 ==========
+
+    private float[] randomSamples(int n) {
+        float[] samples = new float[n];
+        for (int i = 0; i < n; i++) {
+            samples[i] = random.nextFloat() * 2 - 1;
+        }
+        return samples;
+    }
+
+    /**
+     * 무작위 샘플에 반올림 경계(±0.5 LSB), 범위 밖 값, NaN을 섞은 배열
+     */
+    private float[] edgeSamples(int n) {
+        float[] samples = randomSamples(n);
+        float[] edges = {0.5f / 32768, -0.5f / 32768, 2.5f / 32768, -2.5f / 32768, 1.0f, -1.0f, 1.5f, -1.5f,
+                32767.5f / 32768, -32768.5f / 32768, Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY};
+        for (int i = 0; i < n; i++) {
+            if (random.nextInt(4) == 0) {
+                samples[i] = edges[random.nextInt(edges.length)];
+            }
+        }
+        return samples;
+    }
+
+    private static String describe(String kernel, int n, boolean bigEndian) {
+        return kernel + " " + n + "샘플 " + (bigEndian ? "big-endian" : "little-endian");
+    }
+}
@@ -0,0 +1,148 @@
+package ac.cwnu.synctune.player.features;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 합성 신호로 특징 추출기의 템포, 조, RMS, 온셋 밀도 검증
+ * 신호는 모두 44.1kHz 스테레오로 만들고, 호출자가 나누어 넘기는 것처럼 홀수 크기 묶음으로 처리합니다.
+ */
+class AudioFeatureExtractorTest {
+
+    private static final float RATE = 44100f;
+    private static final int CHANNELS = 2;
+    private static final int CHUNK_FRAMES = 4099;
+
+    // 가온 다(C4) 주파수 (화음의 음 높이 기준)
+    private static final double C4 = 261.63;
+
+    @Test
+    void clickTrackTempo() {
+        for (double bpm : new double[] {90, 120, 140}) {
+            AudioFeatureExtractor extractor = analyze(clickTrack(bpm, 20));
+            assertEquals(bpm, extractor.getTempoBpm(), 1.5, "클릭 " + bpm + " BPM");
+            // 배경음이 깔려 있어 곡 전체가 유음 구간이므로 클릭마다 온셋 하나
+            assertEquals(bpm / 60.0, extractor.getOnsetRate(), bpm / 60.0 * 0.15, "클릭 " + bpm + " BPM 온셋 밀도");
+        }
+    }
+
+    @Test
+    void majorProgressionKey() {
+        // C - F - G - C (I-IV-V-I)
+        AudioFeatureExtractor extractor = analyze(progression(new int[][] {{0, 4, 7}, {5, 9, 12}, {7, 11, 14}, {0, 4, 7}}, 2.0));
+        assertEquals("C", AudioFeatureExtractor.keyName(extractor.getKey()));
+    }
+
+    @Test
+    void minorProgressionKey() {
+        // Am - Dm - E - Am (화성 단음계의 G#이 단조를 알려줌), 으뜸음 A = 9
+        AudioFeatureExtractor extractor = analyze(progression(new int[][] {{9, 12, 16}, {2, 5, 9}, {4, 8, 11}, {9, 12, 16}}, 2.0));
+        assertEquals(12 + 9, extractor.getKey());
+        assertEquals("Am", AudioFeatureExtractor.keyName(extractor.getKey()));
+    }
+
+    @Test
+    void sineRmsAndDuration() {
+        int frames = (int) (RATE * 3);
+        float[] samples = new float[frames * CHANNELS];
+        for (int f = 0; f < frames; f++) {
+            float s = (float) (0.5 * Math.sin(2 * Math.PI * 1000 * f / RATE));
+            samples[f * CHANNELS] = s;
+            samples[f * CHANNELS + 1] = s;
+        }
+        AudioFeatureExtractor extractor = analyze(samples);
+        // 진폭 0.5 사인의 RMS = 0.5 / sqrt(2)
+        assertEquals(20 * Math.log10(0.5 / Math.sqrt(2)), extractor.getRmsDb(), 0.05);
+        assertEquals(3.0, extractor.getDurationSeconds(), 1e-9);
+        // 템포를 구하기에는 짧음
+        assertEquals(0.0, extractor.getTempoBpm());
+    }
+
+    @Test
+    void silenceHasNoFeatures() {
+        AudioFeatureExtractor extractor = analyze(new float[(int) (RATE * 6) * CHANNELS]);
+        assertEquals(Double.NEGATIVE_INFINITY, extractor.getRmsDb());
+        assertEquals(AudioFeatureExtractor.UNKNOWN_KEY, extractor.getKey());
+        assertEquals(0.0, extractor.getTempoBpm());
+        assertEquals(0.0, extractor.getOnsetRate());
+    }
+
+    @Test
+    void keyDistanceFollowsCircleOfFifths() {
+        assertEquals(0, AudioFeatureExtractor.keyDistance(0, 0));
+        assertEquals(1, AudioFeatureExtractor.keyDistance(0, 7));   // C - G
+        assertEquals(6, AudioFeatureExtractor.keyDistance(0, 6));   // C - F#
+        assertEquals(1, AudioFeatureExtractor.keyDistance(0, 21));  // C - Am (나란한조)
+        assertEquals(4, AudioFeatureExtractor.keyDistance(0, 12));  // C - Cm (Eb 자리 + 장/단)
+        assertEquals(3, AudioFeatureExtractor.keyDistance(0, AudioFeatureExtractor.UNKNOWN_KEY));
+        assertEquals("-", AudioFeatureExtractor.keyName(AudioFeatureExtractor.UNKNOWN_KEY));
+    }
+
+    // ========== 보조 메서드 ==========
+
+    private static AudioFeatureExtractor analyze(float[] samples) {
+        AudioFeatureExtractor extractor = new AudioFeatureExtractor(RATE, CHANNELS);
+        int totalFrames = samples.length / CHANNELS;
+        float[] chunk = new float[CHUNK_FRAMES * CHANNELS];
+        for (int frame = 0; frame < totalFrames; frame += CHUNK_FRAMES) {
+            int frames = Math.min(CHUNK_FRAMES, totalFrames - frame);
+            System.arraycopy(samples, frame * CHANNELS, chunk, 0, frames * CHANNELS);
+            extractor.process(chunk, frames);
+        }
+        return extractor;
+    }
+
+    /**
+     * 박마다 20ms 길이로 감쇠하는 잡음 클릭 (-32 dBFS 사인 배경음 위)
+     */
+    private static float[] clickTrack(double bpm, double seconds) {
+        int frames = (int) (RATE * seconds);
+        float[] samples = new float[frames * CHANNELS];
+        Random random = new Random(42);
+        double period = RATE * 60.0 / bpm;
+        int clickFrames = (int) (RATE * 0.02);
+        for (int f = 0; f < frames; f++) {
+            float s = (float) (0.025 * Math.sin(2 * Math.PI * 220 * f / RATE));
+            samples[f * CHANNELS] = s;
+            samples[f * CHANNELS + 1] = s;
+        }
+        for (double start = 0; start < frames; start += period) {
+            int first = (int) Math.round(start);
+            for (int i = 0; i < clickFrames && first + i < frames; i++) {
+                float s = (float) ((random.nextDouble() * 2 - 1) * 0.8 * Math.exp(-i / (RATE * 0.004)));
+                samples[(first + i) * CHANNELS] += s;
+                samples[(first + i) * CHANNELS + 1] += s;
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * 화음 진행 (음은 C4 기준 반음 수, 화음마다 두 옥타브 아래 근음을 더함)
+     */
+    private static float[] progression(int[][] chords, double secondsPerChord) {
+        int chordFrames = (int) (RATE * secondsPerChord);
+        float[] samples = new float[chordFrames * chords.length * CHANNELS];
+        for (int c = 0; c < chords.length; c++) {
+            int[] notes = chords[c];
+            for (int f = 0; f < chordFrames; f++) {
+                double t = f / (double) RATE;
+                double s = 0.2 * Math.sin(2 * Math.PI * frequency(notes[0] - 24) * t);
+                for (int note : notes) {
+                    s += 0.2 * Math.sin(2 * Math.PI * frequency(note) * t);
+                }
+                int frame = c * chordFrames + f;
+                samples[frame * CHANNELS] = (float) s;
+                samples[frame * CHANNELS + 1] = (float) s;
+            }
+        }
+        return samples;
+    }
+
+    private static double frequency(int semitonesFromC4) {
+        return C4 * Math.pow(2, semitonesFromC4 / 12.0);
+    }
+}
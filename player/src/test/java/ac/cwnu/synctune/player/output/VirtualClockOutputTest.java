@@ -0,0 +1,114 @@
+package ac.cwnu.synctune.player.output;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import javax.sound.sampled.AudioFormat;
+
+import org.junit.jupiter.api.Test;
+
+import ac.cwnu.synctune.player.decoder.SilenceSource;
+import ac.cwnu.synctune.player.playback.InterpolatedPlaybackClock;
+import ac.cwnu.synctune.player.streaming.StreamingPlayback;
+
+/**
+ * 스트리밍 재생기가 PCM 소스를 가상 클럭 출력으로 흘려보낼 때의 위치와 곡 끝 알림 검증
+ * 재생 클럭은 PlayerModule과 같은 방식(출력 위치 + 백엔드 진행 속도)으로 연결하고,
+ * 진행 업데이트 작업처럼 단계마다 클럭 값을 위치 이벤트로 모읍니다.
+ */
+class VirtualClockOutputTest {
+
+    // 8kHz 모노 16비트 1초: 라인 버퍼 200ms = 1600프레임, 청크 20ms = 160프레임
+    private static final AudioFormat FORMAT = new AudioFormat(8000f, 16, 1, true, false);
+    private static final long DURATION_MS = 1000;
+    private static final long TOTAL_FRAMES = 8000;
+    private static final long STEP_MS = 100;
+    private static final long TIMEOUT_MS = 5000;
+
+    @Test
+    void unlimitedClockConsumesWholeSourceAndSignalsEnd() throws Exception {
+        VirtualClockOutput output = new VirtualClockOutput(VirtualClock.unlimited());
+        CountDownLatch ended = new CountDownLatch(1);
+
+        try (StreamingPlayback playback = StreamingPlayback.open(new SilenceSource("silence", FORMAT, DURATION_MS),
+                output, null)) {
+            InterpolatedPlaybackClock clock = attachClock(playback);
+            playback.setEndOfStreamListener(ended::countDown);
+            playback.start();
+            clock.start();
+
+            assertTrue(ended.await(TIMEOUT_MS, TimeUnit.MILLISECONDS), "곡 끝 알림이 오지 않았습니다");
+            assertEquals(0.0, output.getClockRate());
+            assertEquals(TOTAL_FRAMES, output.getFramePosition());
+            assertEquals(0, output.getQueuedFrames());
+            assertEquals(DURATION_MS, playback.getPositionMillis());
+            assertEquals(DURATION_MS, clock.getMediaTimeMillis());
+        }
+    }
+
+    @Test
+    void manualClockAdvancesOnlyWhenStepped() throws Exception {
+        VirtualClock virtualClock = VirtualClock.manual();
+        VirtualClockOutput output = new VirtualClockOutput(virtualClock);
+        CountDownLatch ended = new CountDownLatch(1);
+        List<Long> positionEvents = new ArrayList<>();
+
+        try (StreamingPlayback playback = StreamingPlayback.open(new SilenceSource("silence", FORMAT, DURATION_MS),
+                output, null)) {
+            InterpolatedPlaybackClock clock = attachClock(playback);
+            playback.setEndOfStreamListener(ended::countDown);
+            playback.start();
+            clock.start();
+
+            // 시간을 진행하지 않으면 버퍼만 채우고 위치는 그대로
+            awaitCondition(() -> output.getQueuedFrames() == output.getBufferFrames());
+            assertEquals(0, output.getFramePosition());
+            assertEquals(0, clock.getMediaTimeMillis());
+
+            long steps = DURATION_MS / STEP_MS;
+            for (long step = 1; step <= steps; step++) {
+                long remainingFrames = TOTAL_FRAMES - output.getFramePosition();
+                awaitCondition(() -> output.getQueuedFrames() == Math.min(output.getBufferFrames(), remainingFrames));
+                assertEquals(1, ended.getCount(), "곡 끝 알림이 너무 일찍 왔습니다 (단계 " + step + ")");
+
+                virtualClock.advanceMillis(STEP_MS);
+                assertEquals(step * STEP_MS * TOTAL_FRAMES / DURATION_MS, output.getFramePosition());
+                positionEvents.add(clock.getMediaTimeMillis());
+            }
+
+            assertTrue(ended.await(TIMEOUT_MS, TimeUnit.MILLISECONDS), "곡 끝 알림이 오지 않았습니다");
+            assertEquals(List.of(100L, 200L, 300L, 400L, 500L, 600L, 700L, 800L, 900L, 1000L), positionEvents);
+            assertEquals(TOTAL_FRAMES, output.getFramePosition());
+
+            // 곡이 끝난 뒤 시간을 더 진행해도 위치는 곡 길이에 머묾
+            virtualClock.advanceMillis(STEP_MS);
+            assertEquals(TOTAL_FRAMES, output.getFramePosition());
+            assertEquals(DURATION_MS, playback.getPositionMillis());
+        }
+    }
+
+    // ========== 보조 메서드 ==========
+
+    private static InterpolatedPlaybackClock attachClock(StreamingPlayback playback) {
+        InterpolatedPlaybackClock clock = new InterpolatedPlaybackClock();
+        clock.attach(playback::getPositionMicros, playback.getClockRate());
+        return clock;
+    }
+
+    /**
+     * 렌더 스레드가 조건을 만들 때까지 실제 시간으로 기다립니다 (수동 클럭은 진행하지 않음)
+     */
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MS);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "렌더 스레드가 시간 안에 출력 버퍼를 채우지 못했습니다");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ac.cwnu.synctune.player.playback;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 플레이어 명령 루프의 생산자별 순서, 대기 중인 루프 깨우기, 닫기와 겹친 submit 처리 검증
+ * 명령은 루프 스레드에서만 실행되므로 기록용 리스트는 잠금 없이 쓰고, close()의 join 이후에 읽습니다.
+ */
+class PlayerCommandLoopTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int COMMANDS_PER_PRODUCER = 20_000;
+    private static final long TIMEOUT_MS = 5000;
+
+    @Test
+    void commandsFromEachProducerRunInSubmitOrder() throws InterruptedException {
+        PlayerCommandLoop loop = new PlayerCommandLoop("test-loop");
+        loop.start();
+        List<Long> executed = new ArrayList<>();
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            long producer = p;
+            producers.add(startThread("producer-" + p, () -> {
+                awaitQuietly(go);
+                for (int seq = 0; seq < COMMANDS_PER_PRODUCER; seq++) {
+                    long id = producer << 32 | seq;
+                    if (!loop.submit("cmd", () -> executed.add(id))) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        go.countDown();
+        joinAll(producers);
+        loop.close();
+
+        assertEquals(0, rejected.get());
+        assertEquals(PRODUCERS * COMMANDS_PER_PRODUCER, executed.size());
+        int[] nextSeq = new int[PRODUCERS];
+        for (long id : executed) {
+            int producer = (int) (id >>> 32);
+            int seq = (int) id;
+            assertEquals(nextSeq[producer]++, seq, producer + "번 생산자의 명령 순서가 바뀌었습니다");
+        }
+        assertEquals(0, loop.sample().queued());
+    }
+
+    @Test
+    void parkedLoopWakesForEveryCommand() throws InterruptedException {
+        PlayerCommandLoop loop = new PlayerCommandLoop("test-loop");
+        loop.start();
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 2000; i++) {
+                // 루프가 스핀을 마치고 잠들었거나 잠드는 중일 때 넣도록 간격을 흔듦
+                LockSupport.parkNanos(random.nextLong(0, 200_000));
+                CountDownLatch ran = new CountDownLatch(1);
+                assertTrue(loop.submit("wake", ran::countDown));
+                assertTrue(ran.await(TIMEOUT_MS, TimeUnit.MILLISECONDS), i + "번째 명령에서 루프가 깨어나지 않았습니다");
+            }
+        } finally {
+            loop.close();
+        }
+    }
+
+    @Test
+    void acceptedCommandsRunEvenWhenCloseRaces() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            PlayerCommandLoop loop = new PlayerCommandLoop("test-loop");
+            loop.start();
+            AtomicLong accepted = new AtomicLong();
+            AtomicLong executed = new AtomicLong();
+            CountDownLatch go = new CountDownLatch(1);
+
+            List<Thread> producers = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                producers.add(startThread("producer-" + p, () -> {
+                    awaitQuietly(go);
+                    while (loop.submit("cmd", executed::incrementAndGet)) {
+                        accepted.incrementAndGet();
+                    }
+                }));
+            }
+            go.countDown();
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(0, 500_000));
+            loop.close();
+            joinAll(producers);
+
+            // close()가 돌아온 뒤에는 true를 받은 명령이 모두 실행되어 있어야 함
+            assertEquals(accepted.get(), executed.get(), round + "회차: 받아들인 명령이 실행되지 않았습니다");
+            assertFalse(loop.submit("late", executed::incrementAndGet));
+        }
+    }
+
+    @Test
+    void closeFromCommandRunsRemainingCommands() throws InterruptedException {
+        PlayerCommandLoop loop = new PlayerCommandLoop("test-loop");
+        List<String> executed = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        loop.submit("first", () -> executed.add("first"));
+        loop.submit("close", () -> {
+            loop.close();
+            executed.add("close");
+        });
+        loop.submit("after", () -> {
+            executed.add("after");
+            done.countDown();
+        });
+        loop.start();
+
+        // 루프 스레드에서 닫으면 기다리지 않고 돌아오며, 이미 들어온 명령은 계속 실행됨
+        assertTrue(done.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(List.of("first", "close", "after"), executed);
+        assertFalse(loop.submit("rejected", () -> executed.add("rejected")));
+    }
+
+    // ========== 보조 메서드 ==========
+
+    private static Thread startThread(String name, Runnable body) {
+        Thread thread = new Thread(body, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void joinAll(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join(TIMEOUT_MS);
+            assertFalse(thread.isAlive(), thread.getName() + "이(가) 끝나지 않았습니다");
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ac.cwnu.synctune.player.playlist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ac.cwnu.synctune.player.features.AudioFeatureExtractor;
+import ac.cwnu.synctune.player.metadata.AudioFeatureStore;
+import ac.cwnu.synctune.sdk.model.MusicInfo;
+
+/**
+ * 특징 색인의 생성(분석된 곡/안 된 곡 분리), 재생성 판단, 가까운 에너지 탐색 검증
+ * 저장소 결과는 파일 크기/수정 시각이 맞아야 유효하므로 임시 디렉토리에 실제 파일을 만들어 씁니다.
+ */
+class FeatureIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void buildSeparatesUnanalyzedSongs() throws IOException {
+        AudioFeatureStore store = AudioFeatureStore.open(dir.resolve("features.tsv"));
+        List<MusicInfo> songs = songs(4);
+        put(store, songs.get(0), 0.3, 7);
+        put(store, songs.get(2), 0.9, 21);
+
+        FeatureIndex index = FeatureIndex.build(new PlaylistManager.PlaylistInfo("test", songs), store);
+
+        assertEquals(2, index.analyzedCount());
+        assertEquals(List.of(1, 3), index.unanalyzed());
+        assertEquals(0.3, index.energy(0), 1e-9);
+        assertEquals(0.9, index.energy(2), 1e-9);
+        assertTrue(Double.isNaN(index.energy(1)));
+        assertEquals(7, index.key(0));
+        assertEquals(AudioFeatureExtractor.UNKNOWN_KEY, index.key(3));
+        assertEquals(60 + 120 * 0.9, index.tempo(2), 1e-9);
+    }
+
+    @Test
+    void changedFileIsUnanalyzed() throws IOException {
+        AudioFeatureStore store = AudioFeatureStore.open(dir.resolve("features.tsv"));
+        List<MusicInfo> songs = songs(2);
+        put(store, songs.get(0), 0.5, 0);
+        put(store, songs.get(1), 0.5, 0);
+        // 분석 뒤 내용이 바뀐 파일의 결과는 쓰지 않음
+        Files.write(Path.of(songs.get(1).getFilePath()), new byte[] {1, 2, 3, 4});
+
+        FeatureIndex index = FeatureIndex.build(new PlaylistManager.PlaylistInfo("test", songs), store);
+
+        assertEquals(1, index.analyzedCount());
+        assertEquals(List.of(1), index.unanalyzed());
+    }
+
+    @Test
+    void isCurrentUntilPlaylistOrStoreChanges() throws IOException {
+        AudioFeatureStore store = AudioFeatureStore.open(dir.resolve("features.tsv"));
+        List<MusicInfo> songs = songs(3);
+        put(store, songs.get(0), 0.5, 0);
+        PlaylistManager.PlaylistInfo playlist = new PlaylistManager.PlaylistInfo("test", songs);
+
+        FeatureIndex index = FeatureIndex.build(playlist, store);
+        assertTrue(index.isCurrent(playlist, store));
+        // 이름이 같아도 다른 플레이리스트 객체면 곡 구성이 다를 수 있으므로 다시 만듦
+        assertFalse(index.isCurrent(new PlaylistManager.PlaylistInfo("test", songs), store));
+
+        put(store, songs.get(1), 0.7, 0);
+        assertFalse(index.isCurrent(playlist, store));
+        assertEquals(2, FeatureIndex.build(playlist, store).analyzedCount());
+    }
+
+    @Test
+    void nearestReturnsClosestEnergiesFirst() throws IOException {
+        AudioFeatureStore store = AudioFeatureStore.open(dir.resolve("features.tsv"));
+        double[] energies = {0.1, 0.35, 0.5, 0.5, 0.62, 0.9};
+        List<MusicInfo> songs = songs(energies.length);
+        for (int i = 0; i < energies.length; i++) {
+            put(store, songs.get(i), energies[i], 0);
+        }
+        FeatureIndex index = FeatureIndex.build(new PlaylistManager.PlaylistInfo("test", songs), store);
+        FeatureIndex.Remaining remaining = index.remaining();
+
+        // 0.55에서 거리: 0.5(두 곡) 0.05, 0.62 0.07, 0.35 0.2, 0.9 0.35
+        assertEquals(List.of(2, 3, 4, 1), remaining.nearest(0.55, 4));
+        assertEquals(List.of(5), remaining.nearest(1.2, 1));
+        assertEquals(List.of(0, 1), remaining.nearest(-1, 2));
+
+        // 꺼낸 곡은 다시 후보가 되지 않음
+        remaining.remove(2, index.energy(2));
+        remaining.remove(4, index.energy(4));
+        assertEquals(List.of(3, 1), remaining.nearest(0.55, 2));
+
+        for (int i : new int[] {0, 1, 3, 5}) {
+            remaining.remove(i, index.energy(i));
+        }
+        assertTrue(remaining.isEmpty());
+        assertEquals(List.of(), remaining.nearest(0.5, 4));
+        // 사본이므로 색인에서 새로 꺼내면 모든 곡이 다시 후보
+        assertEquals(energies.length, index.remaining().nearest(0.5, 10).size());
+    }
+
+    // ========== 보조 메서드 ==========
+
+    private List<MusicInfo> songs(int count) throws IOException {
+        List<MusicInfo> songs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            File file = Files.write(dir.resolve("song" + i + ".wav"), new byte[16 + i]).toFile();
+            songs.add(new MusicInfo("song" + i, "artist", "album", file.getAbsolutePath(), 1000));
+        }
+        return songs;
+    }
+
+    /**
+     * 에너지 점수가 정확히 energy가 되도록 음량, 온셋 밀도, 템포를 같은 비율로 맞춘 결과를 넣습니다
+     */
+    static void put(AudioFeatureStore store, MusicInfo song, double energy, int key) {
+        File file = new File(song.getFilePath());
+        store.put(new AudioFeatureStore.Entry(file.getAbsolutePath(), file.length(), file.lastModified(),
+                60 + 120 * energy, key, -30 + 22 * energy, 6 * energy, 180));
+    }
+}
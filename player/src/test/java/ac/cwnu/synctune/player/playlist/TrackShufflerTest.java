@@ -0,0 +1,163 @@
+package ac.cwnu.synctune.player.playlist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ac.cwnu.synctune.player.metadata.AudioFeatureStore;
+import ac.cwnu.synctune.sdk.model.MusicInfo;
+
+/**
+ * 에너지 레벨/시간대 셔플의 곡 선택 검증
+ * 0.0 ~ 1.0 에너지의 곡 11개(0.1 간격)를 두고, 매 단계 목표를 흔드는 무작위성이 있으므로
+ * 정확한 순서 대신 첫 곡과 앞부분이 목표 근처인지, 순서가 모든 곡을 한 번씩 담는지 확인합니다.
+ */
+class TrackShufflerTest {
+
+    private static final int ANALYZED = 11;
+    // 흔드는 폭(0.08) + 곡 간격의 절반
+    private static final double FIRST_PICK_TOLERANCE = 0.13;
+
+    @TempDir
+    Path dir;
+
+    private AudioFeatureStore store;
+    // 분석된 곡의 에너지 (플레이리스트 인덱스 순)
+    private final List<Double> energies = new ArrayList<>();
+
+    @RepeatedTest(20)
+    void energyLevelStartsNearTarget() throws IOException {
+        PlaylistManager.PlaylistInfo playlist = analyzedPlaylist(0);
+        for (TrackShuffler.EnergyLevel level : TrackShuffler.EnergyLevel.values()) {
+            TrackShuffler shuffler = new TrackShuffler(store);
+            List<Integer> order = shuffler.shuffleByEnergyLevel(playlist, level);
+
+            assertPermutation(order, ANALYZED);
+            assertEquals(level.getTargetEnergy(), energyOf(order.get(0)), FIRST_PICK_TOLERANCE, level.name());
+            // 앞 세 곡은 목표에서 멀리 벗어나지 않음 (후보 4개 안에서 고르므로)
+            for (int i = 0; i < 3; i++) {
+                assertEquals(level.getTargetEnergy(), energyOf(order.get(i)), 0.3, level + " " + i + "번째");
+            }
+            assertEquals(order, shuffler.getCurrentShuffleOrder());
+        }
+    }
+
+    @Test
+    void unanalyzedSongsGoLast() throws IOException {
+        PlaylistManager.PlaylistInfo playlist = analyzedPlaylist(3);
+        List<Integer> order = new TrackShuffler(store).shuffleByEnergyLevel(playlist, TrackShuffler.EnergyLevel.HIGH);
+
+        assertPermutation(order, ANALYZED + 3);
+        assertEquals(Set.of(11, 12, 13), new HashSet<>(order.subList(ANALYZED, ANALYZED + 3)));
+    }
+
+    @RepeatedTest(20)
+    void recentlyPlayedSongIsAvoided() throws IOException {
+        PlaylistManager.PlaylistInfo playlist = analyzedPlaylist(0);
+        TrackShuffler shuffler = new TrackShuffler(store);
+        // 목표(0.8)와 에너지가 같은 곡이라도 방금 재생했으면 첫 곡으로 고르지 않음
+        shuffler.addToHistory(8);
+        List<Integer> order = shuffler.shuffleByEnergyLevel(playlist, TrackShuffler.EnergyLevel.HIGH);
+        assertTrue(order.get(0) != 8, "최근 재생한 곡이 첫 곡으로 선택됨: " + order);
+    }
+
+    @RepeatedTest(10)
+    void timeOfDayFollowsHourTarget() throws IOException {
+        PlaylistManager.PlaylistInfo playlist = analyzedPlaylist(0);
+        for (int hour : new int[] {3, 7, 10, 15, 19, 23}) {
+            List<Integer> order = new TrackShuffler(store).shuffleByTimeOfDay(playlist, hour);
+
+            assertPermutation(order, ANALYZED);
+            assertEquals(TrackShuffler.targetEnergyForHour(hour), energyOf(order.get(0)), FIRST_PICK_TOLERANCE,
+                    hour + "시");
+        }
+    }
+
+    @Test
+    void targetEnergyByHour() {
+        assertEquals(0.2, TrackShuffler.targetEnergyForHour(0));
+        assertEquals(0.2, TrackShuffler.targetEnergyForHour(5));
+        assertEquals(0.45, TrackShuffler.targetEnergyForHour(6));
+        assertEquals(0.6, TrackShuffler.targetEnergyForHour(9));
+        assertEquals(0.7, TrackShuffler.targetEnergyForHour(12));
+        assertEquals(0.7, TrackShuffler.targetEnergyForHour(17));
+        assertEquals(0.55, TrackShuffler.targetEnergyForHour(18));
+        assertEquals(0.35, TrackShuffler.targetEnergyForHour(21));
+        assertEquals(0.35, TrackShuffler.targetEnergyForHour(23));
+    }
+
+    @Test
+    void withoutFeaturesFallsBackToPlainShuffle() throws IOException {
+        PlaylistManager.PlaylistInfo playlist = analyzedPlaylist(2);
+        assertPermutation(new TrackShuffler().shuffleByEnergyLevel(playlist, TrackShuffler.EnergyLevel.LOW),
+                ANALYZED + 2);
+
+        AudioFeatureStore empty = AudioFeatureStore.open(dir.resolve("empty.tsv"));
+        assertPermutation(new TrackShuffler(empty).shuffleByTimeOfDay(playlist, 12), ANALYZED + 2);
+    }
+
+    @Test
+    void newResultsAreUsedOnNextShuffle() throws IOException {
+        PlaylistManager.PlaylistInfo playlist = analyzedPlaylist(1);
+        TrackShuffler shuffler = new TrackShuffler(store);
+        assertEquals(ANALYZED, shuffler.shuffleByEnergyLevel(playlist, TrackShuffler.EnergyLevel.HIGH)
+                .get(ANALYZED));
+
+        // 같은 플레이리스트라도 저장소에 결과가 추가되면 색인을 다시 만들어 새 곡도 에너지 순서에 넣음
+        FeatureIndexTest.put(store, playlist.getSongs().get(ANALYZED), 0.85, 0);
+        energies.add(0.85);
+        for (int attempt = 0; attempt < 20; attempt++) {
+            List<Integer> order = shuffler.shuffleByEnergyLevel(playlist, TrackShuffler.EnergyLevel.HIGH);
+            if (order.indexOf(ANALYZED) < ANALYZED) {
+                return;
+            }
+        }
+        throw new AssertionError("새로 분석된 곡이 에너지 순서에 들어가지 않았습니다");
+    }
+
+    // ========== 보조 메서드 ==========
+
+    /**
+     * 에너지 0.0 ~ 1.0 (0.1 간격) 곡 11개 뒤에 분석되지 않은 곡을 붙인 플레이리스트
+     */
+    private PlaylistManager.PlaylistInfo analyzedPlaylist(int unanalyzed) throws IOException {
+        store = AudioFeatureStore.open(dir.resolve("features.tsv"));
+        energies.clear();
+        List<MusicInfo> songs = new ArrayList<>();
+        for (int i = 0; i < ANALYZED + unanalyzed; i++) {
+            File file = Files.write(dir.resolve("song" + i + ".wav"), new byte[16 + i]).toFile();
+            MusicInfo song = new MusicInfo("song" + i, "artist", "album", file.getAbsolutePath(), 1000);
+            songs.add(song);
+            if (i < ANALYZED) {
+                FeatureIndexTest.put(store, song, i / 10.0, 0);
+                energies.add(i / 10.0);
+            }
+        }
+        return new PlaylistManager.PlaylistInfo("test", songs);
+    }
+
+    private double energyOf(int index) {
+        return energies.get(index);
+    }
+
+    private static void assertPermutation(List<Integer> order, int size) {
+        assertEquals(size, order.size());
+        Set<Integer> seen = new HashSet<>(order);
+        assertEquals(size, seen.size());
+        for (int i = 0; i < size; i++) {
+            assertTrue(seen.contains(i), "순서에 " + i + "번 곡이 없습니다: " + order);
+        }
+    }
+}
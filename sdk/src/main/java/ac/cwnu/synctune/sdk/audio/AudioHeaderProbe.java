@@ -0,0 +1,441 @@
+package ac.cwnu.synctune.sdk.audio;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+
+import ac.cwnu.synctune.sdk.log.LogManager;
+
+/**
+ * 오디오 파일의 헤더만 읽어 재생 시간과 기본 포맷 정보를 구하는 유틸리티
+ * 디코더나 Java Sound SPI를 거치지 않고 파일 앞(ID3v2 태그 뒤)과 끝에서 몇 KB만 읽으므로 대량 스캔에 사용할 수 있습니다.
+ * 형식은 확장자가 아니라 내용으로 판별하며, MP3는 Xing/Info/VBRI 헤더(없으면 CBR 비트레이트),
+ * FLAC은 STREAMINFO, WAV는 data 청크 크기, Ogg는 마지막 페이지의 granule position, MP4는 mvhd를 사용합니다.
+ */
+public final class AudioHeaderProbe {
+    private static final Logger log = LogManager.getLogger(AudioHeaderProbe.class);
+
+    private static final int HEAD_BYTES = 4096;
+    private static final int TAIL_BYTES = 8192;
+    // Ogg 페이지 최대 크기 (헤더 27 + 세그먼트 테이블 255 + 본문 255*255)
+    private static final int MAX_OGG_PAGE_BYTES = 65307;
+    private static final int OPUS_GRANULE_RATE = 48000;
+
+    private static final int[][] MP3_BITRATES = {
+        { 0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448 },  // MPEG1 Layer I
+        { 0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384 },     // MPEG1 Layer II
+        { 0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320 },      // MPEG1 Layer III
+        { 0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256 },     // MPEG2/2.5 Layer I
+        { 0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160 }           // MPEG2/2.5 Layer II/III
+    };
+    private static final int[] MP3_SAMPLE_RATES = { 44100, 48000, 32000 };
+
+    /**
+     * 헤더에서 읽은 정보
+     *
+     * @param durationMillis 재생 시간
+     * @param sampleRate     샘플레이트, 헤더에 없으면 0
+     * @param channels       채널 수, 헤더에 없으면 0
+     * @param bitrateKbps    평균 비트레이트, 알 수 없으면 0
+     */
+    public record Info(long durationMillis, int sampleRate, int channels, int bitrateKbps) {
+    }
+
+    private AudioHeaderProbe() {
+    }
+
+    /**
+     * 파일 헤더를 분석합니다
+     *
+     * @return 재생 시간을 정확히 구할 수 없는 형식이거나 헤더가 손상된 경우 null
+     */
+    public static Info probe(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = skipId3v2(channel, size);
+            ByteBuffer head = read(channel, start, HEAD_BYTES);
+            if (head.remaining() < 12) {
+                return null;
+            }
+            int magic = head.getInt(0);
+            if (magic == fourcc("fLaC")) {
+                return probeFlac(head, size - start);
+            }
+            if ((magic == fourcc("RIFF") || magic == fourcc("RF64")) && head.getInt(8) == fourcc("WAVE")) {
+                return probeWav(channel, start, size, magic == fourcc("RF64"));
+            }
+            if (magic == fourcc("OggS")) {
+                return probeOgg(channel, head, size);
+            }
+            if (head.getInt(4) == fourcc("ftyp")) {
+                return probeMp4(channel, start, size);
+            }
+            return probeMp3(channel, head, start, size);
+        } catch (IOException | RuntimeException e) {
+            log.debug("헤더 분석 실패: {} - {}", file.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    // ========== MP3 ==========
+
+    private static Info probeMp3(FileChannel channel, ByteBuffer head, long start, long size) throws IOException {
+        // 다음 프레임 헤더까지 맞는 첫 동기 위치 (태그 뒤 패딩이나 우연한 0xFFE 패턴 배제)
+        int frame = -1;
+        int header = 0;
+        for (int i = 0; i + 4 <= head.limit(); i++) {
+            if ((head.get(i) & 0xFF) != 0xFF) {
+                continue;
+            }
+            int candidate = head.getInt(i);
+            int length = mp3FrameLength(candidate);
+            if (length <= 0) {
+                continue;
+            }
+            ByteBuffer next = read(channel, start + i + length, 4);
+            if (next.remaining() < 4 || !sameStream(candidate, next.getInt(0))) {
+                continue;
+            }
+            frame = i;
+            header = candidate;
+            break;
+        }
+        if (frame < 0) {
+            return null;
+        }
+
+        int version = (header >>> 19) & 3;
+        int layer = (header >>> 17) & 3;
+        boolean mpeg1 = version == 3;
+        boolean mono = ((header >>> 6) & 3) == 3;
+        int sampleRate = MP3_SAMPLE_RATES[(header >>> 10) & 3] >> (mpeg1 ? 0 : version == 2 ? 1 : 2);
+        int samplesPerFrame = layer == 3 ? 384 : (layer == 1 && !mpeg1) ? 576 : 1152;
+        int bitrate = mp3Bitrate(header);
+        int channels = mono ? 1 : 2;
+
+        // Xing/Info (LAME) 또는 VBRI 헤더의 전체 프레임 수
+        int sideInfo = mpeg1 ? (mono ? 17 : 32) : (mono ? 9 : 17);
+        int xing = frame + 4 + sideInfo;
+        if (xing + 16 <= head.limit() && (head.getInt(xing) == fourcc("Xing") || head.getInt(xing) == fourcc("Info"))) {
+            int flags = head.getInt(xing + 4);
+            int pos = xing + 8;
+            long frames = -1;
+            long bytes = -1;
+            if ((flags & 1) != 0) {
+                frames = head.getInt(pos) & 0xFFFFFFFFL;
+                pos += 4;
+            }
+            if ((flags & 2) != 0) {
+                bytes = head.getInt(pos) & 0xFFFFFFFFL;
+                pos += 4;
+            }
+            pos += ((flags & 4) != 0 ? 100 : 0) + ((flags & 8) != 0 ? 4 : 0);
+            if (frames > 0) {
+                long samples = frames * samplesPerFrame;
+                // LAME 태그의 인코더 지연/패딩을 빼서 무음 없는 실제 길이를 구함
+                if (pos + 24 <= head.limit() && isLameTag(head, pos)) {
+                    int gap = ((head.get(pos + 21) & 0xFF) << 16) | ((head.get(pos + 22) & 0xFF) << 8)
+                            | (head.get(pos + 23) & 0xFF);
+                    samples = Math.max(0, samples - (gap >>> 12) - (gap & 0xFFF));
+                }
+                long millis = samples * 1000 / sampleRate;
+                long audioBytes = bytes > 0 ? bytes : size - start - frame;
+                return new Info(millis, sampleRate, channels, averageKbps(audioBytes, millis));
+            }
+        }
+        int vbri = frame + 4 + 32;
+        if (vbri + 18 <= head.limit() && head.getInt(vbri) == fourcc("VBRI")) {
+            long bytes = head.getInt(vbri + 10) & 0xFFFFFFFFL;
+            long frames = head.getInt(vbri + 14) & 0xFFFFFFFFL;
+            if (frames > 0) {
+                long millis = frames * samplesPerFrame * 1000 / sampleRate;
+                return new Info(millis, sampleRate, channels, averageKbps(bytes, millis));
+            }
+        }
+
+        // VBR 헤더가 없으면 CBR: 오디오 바이트 수를 비트레이트로 나눔 (끝의 ID3v1 태그 제외)
+        long audioBytes = size - start - frame;
+        ByteBuffer tail = read(channel, size - 128, 3);
+        if (tail.remaining() == 3 && tail.get(0) == 'T' && tail.get(1) == 'A' && tail.get(2) == 'G') {
+            audioBytes -= 128;
+        }
+        return new Info(audioBytes * 8 / bitrate, sampleRate, channels, bitrate);
+    }
+
+    /**
+     * MP3 프레임 헤더의 프레임 길이(바이트), 유효한 헤더가 아니면 -1
+     */
+    private static int mp3FrameLength(int header) {
+        if ((header >>> 21) != 0x7FF) {
+            return -1;
+        }
+        int version = (header >>> 19) & 3;
+        int layer = (header >>> 17) & 3;
+        int bitrateIndex = (header >>> 12) & 0xF;
+        int rateIndex = (header >>> 10) & 3;
+        if (version == 1 || layer == 0 || bitrateIndex == 0 || bitrateIndex == 15 || rateIndex == 3) {
+            return -1;
+        }
+        int sampleRate = MP3_SAMPLE_RATES[rateIndex] >> (version == 3 ? 0 : version == 2 ? 1 : 2);
+        int bitrate = mp3Bitrate(header) * 1000;
+        int padding = (header >>> 9) & 1;
+        if (layer == 3) {
+            return (12 * bitrate / sampleRate + padding) * 4;
+        }
+        int samplesPerFrame = (layer == 1 && version != 3) ? 576 : 1152;
+        return samplesPerFrame / 8 * bitrate / sampleRate + padding;
+    }
+
+    private static int mp3Bitrate(int header) {
+        boolean mpeg1 = ((header >>> 19) & 3) == 3;
+        int layer = (header >>> 17) & 3;
+        int table = mpeg1 ? 3 - layer : layer == 3 ? 3 : 4;
+        return MP3_BITRATES[table][(header >>> 12) & 0xF];
+    }
+
+    /**
+     * 버전, 레이어, 샘플레이트가 같은 유효한 프레임 헤더인지
+     */
+    private static boolean sameStream(int header, int next) {
+        return mp3FrameLength(next) > 0 && (header & 0xFFFE0C00) == (next & 0xFFFE0C00);
+    }
+
+    private static boolean isLameTag(ByteBuffer head, int pos) {
+        int tag = head.getInt(pos);
+        return tag == fourcc("LAME") || tag == fourcc("Lavf") || tag == fourcc("Lavc");
+    }
+
+    // ========== FLAC ==========
+
+    private static Info probeFlac(ByteBuffer head, long streamBytes) {
+        // 첫 메타데이터 블록은 항상 STREAMINFO
+        if ((head.get(4) & 0x7F) != 0 || head.limit() < 8 + 34) {
+            return null;
+        }
+        long packed = head.getLong(8 + 10);
+        int sampleRate = (int) (packed >>> 44);
+        int channels = (int) ((packed >>> 41) & 0x7) + 1;
+        long totalSamples = packed & 0xFFFFFFFFFL;
+        if (sampleRate <= 0 || totalSamples <= 0) {
+            return null;
+        }
+        long millis = totalSamples * 1000 / sampleRate;
+        return new Info(millis, sampleRate, channels, averageKbps(streamBytes, millis));
+    }
+
+    // ========== WAV ==========
+
+    private static Info probeWav(FileChannel channel, long start, long size, boolean rf64) throws IOException {
+        long pos = start + 12;
+        long ds64DataSize = -1;
+        int channels = 0;
+        int sampleRate = 0;
+        long byteRate = 0;
+        while (pos + 8 <= size) {
+            ByteBuffer chunk = read(channel, pos, 8).order(ByteOrder.LITTLE_ENDIAN);
+            if (chunk.remaining() < 8) {
+                break;
+            }
+            int id = Integer.reverseBytes(chunk.getInt(0));
+            long chunkSize = chunk.getInt(4) & 0xFFFFFFFFL;
+            long body = pos + 8;
+            if (id == fourcc("ds64") && rf64) {
+                ds64DataSize = read(channel, body + 8, 8).order(ByteOrder.LITTLE_ENDIAN).getLong(0);
+            } else if (id == fourcc("fmt ")) {
+                ByteBuffer fmt = read(channel, body, 16).order(ByteOrder.LITTLE_ENDIAN);
+                if (fmt.remaining() < 16) {
+                    return null;
+                }
+                channels = fmt.getShort(2) & 0xFFFF;
+                sampleRate = fmt.getInt(4);
+                byteRate = fmt.getInt(8) & 0xFFFFFFFFL;
+            } else if (id == fourcc("data")) {
+                if (byteRate <= 0) {
+                    return null;
+                }
+                long dataSize = chunkSize == 0xFFFFFFFFL && ds64DataSize >= 0 ? ds64DataSize : chunkSize;
+                // 녹음 중 끊긴 파일은 헤더 크기보다 짧을 수 있음
+                dataSize = Math.min(dataSize, size - body);
+                return new Info(dataSize * 1000 / byteRate, sampleRate, channels, (int) (byteRate * 8 / 1000));
+            }
+            pos = body + chunkSize + (chunkSize & 1);
+        }
+        return null;
+    }
+
+    // ========== Ogg ==========
+
+    private static Info probeOgg(FileChannel channel, ByteBuffer head, long size) throws IOException {
+        int serial = head.order(ByteOrder.LITTLE_ENDIAN).getInt(14);
+        int segments = head.get(26) & 0xFF;
+        int body = 27 + segments;
+        if (body + 19 > head.limit()) {
+            return null;
+        }
+
+        int sampleRate;
+        int channels;
+        long preSkip = 0;
+        long granuleRate;
+        if (head.get(body) == 1 && matches(head, body + 1, "vorbis")) {
+            channels = head.get(body + 11) & 0xFF;
+            sampleRate = head.getInt(body + 12);
+            granuleRate = sampleRate;
+        } else if (matches(head, body, "OpusHead")) {
+            channels = head.get(body + 9) & 0xFF;
+            preSkip = head.getShort(body + 10) & 0xFFFF;
+            sampleRate = head.getInt(body + 12);
+            granuleRate = OPUS_GRANULE_RATE;
+        } else {
+            return null;
+        }
+        if (granuleRate <= 0) {
+            return null;
+        }
+
+        // 같은 논리 스트림의 마지막 페이지를 끝에서부터 찾음 (보통 마지막 수 KB 안에 있음)
+        long granule = lastGranule(channel, size, TAIL_BYTES, serial);
+        if (granule < 0 && size > TAIL_BYTES) {
+            granule = lastGranule(channel, size, MAX_OGG_PAGE_BYTES + 27, serial);
+        }
+        if (granule < 0) {
+            return null;
+        }
+        long millis = Math.max(0, granule - preSkip) * 1000 / granuleRate;
+        return new Info(millis, sampleRate > 0 ? sampleRate : (int) granuleRate, channels, averageKbps(size, millis));
+    }
+
+    private static long lastGranule(FileChannel channel, long size, int tailBytes, int serial) throws IOException {
+        long tailStart = Math.max(0, size - tailBytes);
+        ByteBuffer tail = read(channel, tailStart, tailBytes).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = tail.limit() - 27; i >= 0; i--) {
+            if (tail.get(i) == 'O' && tail.getInt(i) == Integer.reverseBytes(fourcc("OggS"))
+                    && tail.get(i + 4) == 0 && tail.getInt(i + 14) == serial) {
+                long granule = tail.getLong(i + 6);
+                // -1은 이 페이지에서 끝나는 패킷이 없다는 뜻
+                if (granule != -1) {
+                    return granule;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // ========== MP4 ==========
+
+    private static Info probeMp4(FileChannel channel, long start, long size) throws IOException {
+        long moov = findBox(channel, start, size, "moov");
+        if (moov < 0) {
+            return null;
+        }
+        long moovEnd = moov + boxSize(channel, moov, size);
+        long mvhd = findBox(channel, moov + 8, moovEnd, "mvhd");
+        if (mvhd < 0) {
+            return null;
+        }
+        ByteBuffer box = read(channel, mvhd + 8, 32);
+        if (box.remaining() < 32) {
+            return null;
+        }
+        boolean wide = box.get(0) == 1;
+        long timescale = box.getInt(wide ? 20 : 12) & 0xFFFFFFFFL;
+        long duration = wide ? box.getLong(24) : box.getInt(16) & 0xFFFFFFFFL;
+        if (timescale == 0 || duration <= 0) {
+            return null;
+        }
+        long millis = duration * 1000 / timescale;
+        return new Info(millis, 0, 0, averageKbps(size - start, millis));
+    }
+
+    /**
+     * [from, to) 범위의 형제 박스 중 type인 박스의 위치, 없으면 -1 (박스 헤더만 읽음)
+     */
+    private static long findBox(FileChannel channel, long from, long to, String type) throws IOException {
+        int wanted = fourcc(type);
+        long pos = from;
+        while (pos + 8 <= to) {
+            ByteBuffer header = read(channel, pos, 8);
+            if (header.remaining() < 8) {
+                return -1;
+            }
+            if (header.getInt(4) == wanted) {
+                return pos;
+            }
+            long boxSize = boxSize(channel, pos, to);
+            if (boxSize < 8) {
+                return -1;
+            }
+            pos += boxSize;
+        }
+        return -1;
+    }
+
+    private static long boxSize(FileChannel channel, long pos, long end) throws IOException {
+        ByteBuffer header = read(channel, pos, 16);
+        long boxSize = header.getInt(0) & 0xFFFFFFFFL;
+        if (boxSize == 1 && header.remaining() >= 16) {
+            return header.getLong(8);
+        }
+        return boxSize == 0 ? end - pos : boxSize;
+    }
+
+    // ========== 공통 ==========
+
+    /**
+     * 파일 앞의 ID3v2 태그 크기 (없으면 0)
+     */
+    private static long skipId3v2(FileChannel channel, long size) throws IOException {
+        ByteBuffer tag = read(channel, 0, 10);
+        if (tag.remaining() == 10 && tag.get(0) == 'I' && tag.get(1) == 'D' && tag.get(2) == '3') {
+            int tagSize = ((tag.get(6) & 0x7F) << 21) | ((tag.get(7) & 0x7F) << 14)
+                    | ((tag.get(8) & 0x7F) << 7) | (tag.get(9) & 0x7F);
+            boolean footer = (tag.get(5) & 0x10) != 0;
+            return Math.min(size, 10L + tagSize + (footer ? 10 : 0));
+        }
+        return 0;
+    }
+
+    /**
+     * position부터 최대 length 바이트를 읽습니다 (파일 끝에서는 짧아짐)
+     */
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        if (position < 0) {
+            buffer.flip();
+            return buffer;
+        }
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int averageKbps(long bytes, long millis) {
+        return millis > 0 ? (int) (bytes * 8 / millis) : 0;
+    }
+
+    private static boolean matches(ByteBuffer buffer, int pos, String text) {
+        if (pos + text.length() > buffer.limit()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (buffer.get(pos + i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int fourcc(String type) {
+        return (type.charAt(0) << 24) | (type.charAt(1) << 16) | (type.charAt(2) << 8) | type.charAt(3);
+    }
+}
@@ -0,0 +1,54 @@
+package ac.cwnu.synctune.sdk.audio;
+
+/**
+ * 플레이어의 float32 처리 체인에 삽입되는 오디오 처리 단계
+ * 다른 모듈은 {@code AudioProcessingEvent.RegisterProcessorEvent}로 단계를 등록할 수 있습니다.
+ * <p>
+ * {@link #process}는 실시간 렌더 스레드에서 호출되므로 잠금, 블로킹 I/O, 메모리 할당을 하지 않아야 하며
+ * 필요한 버퍼는 {@link #prepare}에서 미리 할당해야 합니다.
+ */
+public interface AudioProcessor {
+
+    // 체인 내 기본 정렬 순서 (작을수록 먼저 처리)
+    int ORDER_EQUALIZER = 100;
+    int ORDER_EFFECT = 500;
+    int ORDER_GAIN = 900;
+    int ORDER_LIMITER = 950;
+    int ORDER_ANALYSIS = 1000;
+
+    /**
+     * 통계와 등록 해제에 사용되는 고유 이름
+     */
+    String getName();
+
+    /**
+     * 체인 내 처리 순서. 같은 값이면 먼저 등록된 단계가 앞에 옵니다.
+     */
+    default int getOrder() {
+        return ORDER_EFFECT;
+    }
+
+    /**
+     * 재생 포맷이 정해지거나 바뀔 때 렌더 스레드 밖에서 호출됩니다
+     *
+     * @param sampleRate 샘플레이트 (Hz)
+     * @param channels   채널 수
+     * @param maxFrames  한 번의 process 호출에 전달될 최대 프레임 수
+     */
+    void prepare(float sampleRate, int channels, int maxFrames);
+
+    /**
+     * 인터리브된 float 샘플(-1.0 ~ 1.0)을 제자리에서 처리합니다
+     *
+     * @param samples  인터리브된 샘플 버퍼 (frames * channels 만큼 유효)
+     * @param frames   유효 프레임 수
+     * @param channels 채널 수
+     */
+    void process(float[] samples, int frames, int channels);
+
+    /**
+     * 탐색이나 곡 전환으로 신호가 불연속해질 때 내부 상태(필터 메모리 등)를 초기화합니다
+     */
+    default void reset() {
+    }
+}
@@ -0,0 +1,55 @@
+package ac.cwnu.synctune.sdk.audio;
+
+/**
+ * 10밴드 이퀄라이저의 밴드 구성과 기본 프리셋
+ * UI는 이 값으로 선택지를 보여주고, 플레이어는 같은 밴드 구성으로 필터를 설계합니다.
+ */
+public enum EqualizerPreset {
+    FLAT("플랫", 0, 0, 0, 0, 0, 0, 0, 0, 0, 0),
+    BASS_BOOST("저음 강조", 6, 5, 4, 2, 0, 0, 0, 0, 0, 0),
+    TREBLE_BOOST("고음 강조", 0, 0, 0, 0, 0, 1, 2, 4, 5, 6),
+    VOCAL("보컬", -2, -2, -1, 1, 3, 4, 3, 1, 0, -1),
+    ROCK("록", 5, 4, 2, -1, -2, -1, 2, 3, 4, 4),
+    POP("팝", -1, 1, 3, 4, 3, 0, -1, -1, 1, 2),
+    JAZZ("재즈", 3, 2, 1, 2, -1, -1, 0, 1, 2, 3),
+    CLASSICAL("클래식", 4, 3, 2, 1, -1, -1, 0, 2, 3, 4),
+    ELECTRONIC("일렉트로닉", 5, 4, 1, 0, -2, 1, 0, 2, 4, 5),
+    LOUDNESS("소음량 보정", 6, 4, 0, 0, -2, 0, -1, -2, 3, 1);
+
+    // 밴드 중심 주파수 (Hz). 첫 밴드는 로우 셸프, 마지막 밴드는 하이 셸프입니다.
+    private static final float[] BAND_FREQUENCIES = {31.25f, 62.5f, 125, 250, 500, 1000, 2000, 4000, 8000, 16000};
+
+    public static final int BAND_COUNT = 10;
+    public static final float MAX_GAIN_DB = 12.0f;
+
+    private final String displayName;
+    private final float[] gainsDb;
+
+    EqualizerPreset(String displayName, float... gainsDb) {
+        this.displayName = displayName;
+        this.gainsDb = gainsDb;
+    }
+
+    /**
+     * 밴드 중심 주파수 (Hz)
+     */
+    public static float getBandFrequency(int band) {
+        return BAND_FREQUENCIES[band];
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * 밴드별 게인 (dB) 복사본
+     */
+    public float[] getGainsDb() {
+        return gainsDb.clone();
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
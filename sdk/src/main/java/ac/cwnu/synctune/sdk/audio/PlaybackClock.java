@@ -0,0 +1,26 @@
+package ac.cwnu.synctune.sdk.audio;
+
+/**
+ * 현재 재생 중인 미디어 시간을 제공하는 클럭
+ * 플레이어가 구현하며, 다른 모듈은 진행 이벤트를 기다리지 않고 언제든 정확한 재생 시간을 조회할 수 있습니다.
+ * 구현체는 잠금 없이 어느 스레드에서나 호출할 수 있어야 합니다.
+ */
+public interface PlaybackClock {
+
+    /**
+     * 현재 스피커로 출력되고 있는 미디어 시간 (밀리초)
+     */
+    long getMediaTimeMillis();
+
+    /**
+     * 클럭이 진행 중인지 여부 (일시정지/정지 상태면 false)
+     */
+    boolean isRunning();
+
+    /**
+     * 벽시계 1초 동안 진행되는 미디어 시간(초). 0이면 벽시계와 무관하게 진행됩니다 (예: 수동 가상 클럭).
+     */
+    default double getRate() {
+        return 1.0;
+    }
+}
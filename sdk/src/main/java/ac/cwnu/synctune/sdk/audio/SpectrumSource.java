@@ -0,0 +1,25 @@
+package ac.cwnu.synctune.sdk.audio;
+
+/**
+ * 재생 중인 오디오의 주파수 스펙트럼을 제공하는 소스
+ * 플레이어가 구현하며, 화면 쪽은 화면 갱신 주기마다 직접 조회합니다. 오디오 스레드를 막지 않으며,
+ * 조회 사이에 놓친 구간은 버리고 항상 가장 최근 오디오로 계산합니다.
+ * 조회는 한 스레드(보통 UI 스레드)에서만 해야 합니다.
+ */
+public interface SpectrumSource {
+
+    /**
+     * 최근 오디오의 스펙트럼을 로그 간격 대역으로 나누어 대역별 레벨(0~1, -{@link #getRangeDb()}dBFS~0dBFS)을 채웁니다
+     *
+     * @param levels 채울 배열, 길이가 대역 수
+     * @return 마지막 조회 이후 새 오디오가 없으면 false (배열은 그대로)
+     */
+    boolean readSpectrum(float[] levels);
+
+    /**
+     * 레벨 0에 해당하는 dB 범위
+     */
+    default float getRangeDb() {
+        return 80f;
+    }
+}
@@ -0,0 +1,155 @@
+package ac.cwnu.synctune.sdk.audio;
+
+import java.util.Arrays;
+
+/**
+ * 곡 전체의 파형 개요 (구간별 최소/최대 피크)
+ * 가장 세밀한 단계는 {@link #getFramesPerPeak(int) getFramesPerPeak(0)} 프레임마다 피크 하나이며,
+ * 위 단계는 아래 단계 피크 두 개를 합친 것이므로 화면 폭에 맞는 단계를 골라 바로 그릴 수 있습니다.
+ * 피크는 -127~127로 양자화한 8비트 값이고, 계산 중인 개요는 앞부분만 채워진 상태로 전달됩니다.
+ * 생성 이후 변경되지 않으므로 스레드 간에 그대로 넘겨도 안전합니다.
+ */
+public final class WaveformData {
+    // 위 단계를 만들 때 이 수보다 피크가 적어지면 멈춤
+    private static final int MIN_LEVEL_PEAKS = 64;
+
+    private final float sampleRate;
+    private final long totalFrames;
+    private final int framesPerPeak;
+    private final boolean complete;
+    private final byte[][] minLevels;
+    private final byte[][] maxLevels;
+
+    /**
+     * @param totalFrames 곡 전체 프레임 수 (계산 중이면 예상값)
+     * @param peakCount   min/max 중 유효한 피크 수
+     * @param complete    곡 끝까지 계산했는지
+     */
+    public WaveformData(float sampleRate, long totalFrames, int framesPerPeak,
+                        byte[] min, byte[] max, int peakCount, boolean complete) {
+        this.sampleRate = sampleRate;
+        this.totalFrames = totalFrames;
+        this.framesPerPeak = framesPerPeak;
+        this.complete = complete;
+
+        int levels = 1;
+        for (int n = peakCount; n > MIN_LEVEL_PEAKS; n = (n + 1) / 2) {
+            levels++;
+        }
+        this.minLevels = new byte[levels][];
+        this.maxLevels = new byte[levels][];
+        minLevels[0] = Arrays.copyOf(min, peakCount);
+        maxLevels[0] = Arrays.copyOf(max, peakCount);
+        for (int level = 1; level < levels; level++) {
+            byte[] lowerMin = minLevels[level - 1];
+            byte[] lowerMax = maxLevels[level - 1];
+            int count = (lowerMin.length + 1) / 2;
+            byte[] upperMin = new byte[count];
+            byte[] upperMax = new byte[count];
+            for (int i = 0; i < count; i++) {
+                int a = i * 2;
+                int b = Math.min(a + 1, lowerMin.length - 1);
+                upperMin[i] = (byte) Math.min(lowerMin[a], lowerMin[b]);
+                upperMax[i] = (byte) Math.max(lowerMax[a], lowerMax[b]);
+            }
+            minLevels[level] = upperMin;
+            maxLevels[level] = upperMax;
+        }
+    }
+
+    public float getSampleRate() {
+        return sampleRate;
+    }
+
+    public long getTotalFrames() {
+        return totalFrames;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public int getLevelCount() {
+        return minLevels.length;
+    }
+
+    public int getPeakCount(int level) {
+        return minLevels[level].length;
+    }
+
+    public int getFramesPerPeak(int level) {
+        return framesPerPeak << level;
+    }
+
+    /**
+     * 가장 세밀한 단계의 최소 피크 (양자화 값) 복사본 - 캐시 저장용
+     */
+    public byte[] getMinPeaks() {
+        return minLevels[0].clone();
+    }
+
+    /**
+     * 가장 세밀한 단계의 최대 피크 (양자화 값) 복사본 - 캐시 저장용
+     */
+    public byte[] getMaxPeaks() {
+        return maxLevels[0].clone();
+    }
+
+    /**
+     * 계산이 끝난 비율 (0~1)
+     */
+    public double getProgress() {
+        if (complete || totalFrames <= 0) {
+            return complete ? 1.0 : 0.0;
+        }
+        return Math.min(1.0, (double) minLevels[0].length * framesPerPeak / totalFrames);
+    }
+
+    /**
+     * 곡 전체를 지정한 열 수로 나누어 열마다 최소/최대 피크(-1~1)를 채웁니다
+     * 열 하나에 피크가 몇 개만 들어가는 단계를 골라 합치므로 곡 길이와 관계없이 열 수에 비례하는 시간에 끝납니다.
+     *
+     * @return 값을 채운 열 수 (계산 중이면 앞쪽 일부만 채움)
+     */
+    public int fillColumns(int columns, float[] minOut, float[] maxOut) {
+        if (columns <= 0 || totalFrames <= 0) {
+            return 0;
+        }
+        double framesPerColumn = (double) totalFrames / columns;
+        int level = 0;
+        while (level + 1 < minLevels.length && getFramesPerPeak(level + 1) <= framesPerColumn) {
+            level++;
+        }
+        byte[] mins = minLevels[level];
+        byte[] maxs = maxLevels[level];
+        double peaksPerColumn = framesPerColumn / getFramesPerPeak(level);
+
+        int filled = 0;
+        for (int c = 0; c < columns; c++) {
+            int from = (int) (c * peaksPerColumn);
+            int to = Math.max(from + 1, (int) ((c + 1) * peaksPerColumn));
+            if (from >= mins.length) {
+                break;
+            }
+            to = Math.min(to, mins.length);
+            int lo = Byte.MAX_VALUE;
+            int hi = Byte.MIN_VALUE;
+            for (int i = from; i < to; i++) {
+                lo = Math.min(lo, mins[i]);
+                hi = Math.max(hi, maxs[i]);
+            }
+            minOut[c] = lo / 127f;
+            maxOut[c] = hi / 127f;
+            filled++;
+        }
+        return filled;
+    }
+
+    /**
+     * -1~1 샘플 값을 피크 양자화 값으로 변환합니다 (최소 피크는 내림, 최대 피크는 올림하여 포락선을 유지)
+     */
+    public static byte quantize(float value, boolean roundUp) {
+        float scaled = Math.max(-1f, Math.min(1f, value)) * 127f;
+        return (byte) (roundUp ? Math.ceil(scaled) : Math.floor(scaled));
+    }
+}
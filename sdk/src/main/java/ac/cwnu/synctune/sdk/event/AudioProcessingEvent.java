@@ -0,0 +1,80 @@
+package ac.cwnu.synctune.sdk.event;
+
+import ac.cwnu.synctune.sdk.audio.AudioProcessor;
+
+/**
+ * 플레이어의 오디오 처리 체인 구성과 관련된 이벤트들을 정의합니다.
+ */
+public class AudioProcessingEvent {
+
+    private AudioProcessingEvent() {
+    }
+
+    /**
+     * 처리 체인에 단계를 추가해 달라는 요청 이벤트입니다.
+     * 같은 이름의 단계가 이미 있으면 교체됩니다.
+     */
+    public static class RegisterProcessorEvent extends BaseEvent {
+        private final AudioProcessor processor;
+
+        public RegisterProcessorEvent(AudioProcessor processor) {
+            this.processor = processor;
+        }
+
+        public AudioProcessor getProcessor() {
+            return processor;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {processor=" + processor.getName() + ", order=" + processor.getOrder() + "}";
+        }
+    }
+
+    /**
+     * 처리 체인에서 단계를 제거해 달라는 요청 이벤트입니다.
+     */
+    public static class UnregisterProcessorEvent extends BaseEvent {
+        private final String processorName;
+
+        public UnregisterProcessorEvent(String processorName) {
+            this.processorName = processorName;
+        }
+
+        public String getProcessorName() {
+            return processorName;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {processor=" + processorName + "}";
+        }
+    }
+
+    /**
+     * 합성곱 단계(룸 보정, 잔향)의 임펄스 응답 파일을 바꿔 달라는 요청 이벤트입니다.
+     * 파일 경로가 null이면 합성곱을 끕니다.
+     */
+    public static class RequestImpulseResponseEvent extends BaseEvent {
+        private final String filePath;
+        private final float mix; // 합성곱 결과 비율 0.0 ~ 1.0 (룸 보정은 1.0)
+
+        public RequestImpulseResponseEvent(String filePath, float mix) {
+            this.filePath = filePath;
+            this.mix = Math.max(0.0f, Math.min(1.0f, mix));
+        }
+
+        public String getFilePath() {
+            return filePath;
+        }
+
+        public float getMix() {
+            return mix;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {file=" + filePath + ", mix=" + mix + "}";
+        }
+    }
+}
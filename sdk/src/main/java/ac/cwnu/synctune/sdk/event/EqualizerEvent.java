@@ -0,0 +1,81 @@
+package ac.cwnu.synctune.sdk.event;
+
+import java.util.Arrays;
+
+import ac.cwnu.synctune.sdk.audio.EqualizerPreset;
+
+/**
+ * 이퀄라이저 설정과 관련된 이벤트들을 정의합니다.
+ */
+public class EqualizerEvent {
+
+    private EqualizerEvent() {
+    }
+
+    /**
+     * 프리셋 적용 요청 이벤트
+     */
+    public static class RequestPresetEvent extends BaseEvent {
+        private final EqualizerPreset preset;
+
+        public RequestPresetEvent(EqualizerPreset preset) {
+            this.preset = preset;
+        }
+
+        public EqualizerPreset getPreset() {
+            return preset;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {preset=" + preset.name() + "}";
+        }
+    }
+
+    /**
+     * 밴드별 게인 직접 설정 요청 이벤트
+     */
+    public static class RequestBandGainsEvent extends BaseEvent {
+        private final float[] gainsDb;
+
+        public RequestBandGainsEvent(float[] gainsDb) {
+            this.gainsDb = gainsDb.clone();
+        }
+
+        public float[] getGainsDb() {
+            return gainsDb.clone();
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {gainsDb=" + Arrays.toString(gainsDb) + "}";
+        }
+    }
+
+    /**
+     * 이퀄라이저 설정 변경 알림 이벤트
+     */
+    public static class EqualizerChangedEvent extends BaseEvent {
+        private final EqualizerPreset preset; // 직접 설정한 경우 null
+        private final float[] gainsDb;
+
+        public EqualizerChangedEvent(EqualizerPreset preset, float[] gainsDb) {
+            this.preset = preset;
+            this.gainsDb = gainsDb.clone();
+        }
+
+        public EqualizerPreset getPreset() {
+            return preset;
+        }
+
+        public float[] getGainsDb() {
+            return gainsDb.clone();
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {preset=" + (preset != null ? preset.name() : "custom")
+                    + ", gainsDb=" + Arrays.toString(gainsDb) + "}";
+        }
+    }
+}
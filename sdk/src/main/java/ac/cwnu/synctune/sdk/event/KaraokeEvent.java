@@ -0,0 +1,62 @@
+package ac.cwnu.synctune.sdk.event;
+
+/**
+ * 노래방 모드(보컬 줄이기, 키 변경) 설정과 관련된 이벤트들을 정의합니다.
+ */
+public class KaraokeEvent {
+
+    private KaraokeEvent() {
+    }
+
+    /**
+     * 노래방 설정 변경 요청 이벤트
+     */
+    public static class RequestKaraokeEvent extends BaseEvent {
+        private final boolean vocalReduction;
+        private final int keyShift; // 반음 단위, -6 ~ +6
+
+        public RequestKaraokeEvent(boolean vocalReduction, int keyShift) {
+            this.vocalReduction = vocalReduction;
+            this.keyShift = Math.max(-6, Math.min(6, keyShift));
+        }
+
+        public boolean isVocalReduction() {
+            return vocalReduction;
+        }
+
+        public int getKeyShift() {
+            return keyShift;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {vocalReduction=" + vocalReduction + ", keyShift=" + keyShift + "}";
+        }
+    }
+
+    /**
+     * 노래방 설정 변경 알림 이벤트
+     */
+    public static class KaraokeChangedEvent extends BaseEvent {
+        private final boolean vocalReduction;
+        private final int keyShift;
+
+        public KaraokeChangedEvent(boolean vocalReduction, int keyShift) {
+            this.vocalReduction = vocalReduction;
+            this.keyShift = keyShift;
+        }
+
+        public boolean isVocalReduction() {
+            return vocalReduction;
+        }
+
+        public int getKeyShift() {
+            return keyShift;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {vocalReduction=" + vocalReduction + ", keyShift=" + keyShift + "}";
+        }
+    }
+}
@@ -59,4 +59,24 @@ public class MediaControlEvent {
             return super.toString() + " {position=" + positionMillis + "ms}";
         }
     }
+
+    /**
+     * 재생 속도 변경 요청 (음높이는 유지)
+     */
+    public static class RequestPlaybackSpeedEvent extends BaseEvent {
+        private final float speed; // 0.5 ~ 2.0, 1.0이 원래 속도
+
+        public RequestPlaybackSpeedEvent(float speed) {
+            this.speed = Math.max(0.5f, Math.min(2.0f, speed));
+        }
+
+        public float getSpeed() {
+            return speed;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {speed=" + speed + "x}";
+        }
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package ac.cwnu.synctune.sdk.event;
 
+import ac.cwnu.synctune.sdk.audio.PlaybackClock;
+import ac.cwnu.synctune.sdk.audio.SpectrumSource;
 import ac.cwnu.synctune.sdk.model.MusicInfo;
 
 /**
@@ -87,4 +89,127 @@ public class PlaybackStatusEvent {
             return super.toString() + " {current=" + currentTimeMillis + "ms, total=" + totalTimeMillis + "ms}";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 현재 곡의 재생 클럭을 사용할 수 있음을 알리는 이벤트입니다.
+     * 가사 동기화처럼 정밀한 시간이 필요한 모듈은 진행 이벤트 대신 이 클럭을 직접 조회합니다.
+     */
+    public static class PlaybackClockAvailableEvent extends BaseEvent {
+        private final PlaybackClock clock;
+
+        public PlaybackClockAvailableEvent(PlaybackClock clock) {
+            this.clock = clock;
+        }
+
+        public PlaybackClock getClock() {
+            return clock;
+        }
+    }
+
+    /**
+     * 재생 속도가 바뀌었음을 알리는 이벤트입니다.
+     * 재생 클럭은 속도와 무관하게 원본 시간을 보고하므로 가사 동기화는 이 이벤트 없이도 맞습니다.
+     */
+    public static class PlaybackSpeedChangedEvent extends BaseEvent {
+        private final float speed;
+
+        public PlaybackSpeedChangedEvent(float speed) {
+            this.speed = speed;
+        }
+
+        public float getSpeed() {
+            return speed;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {speed=" + speed + "x}";
+        }
+    }
+
+    /**
+     * 재생 중인 오디오의 스펙트럼 소스를 사용할 수 있음을 알리는 이벤트입니다.
+     * 스펙트럼 표시는 이벤트를 기다리지 않고 화면 갱신 주기마다 이 소스를 직접 조회합니다.
+     */
+    public static class SpectrumAvailableEvent extends BaseEvent {
+        private final SpectrumSource spectrum;
+
+        public SpectrumAvailableEvent(SpectrumSource spectrum) {
+            this.spectrum = spectrum;
+        }
+
+        public SpectrumSource getSpectrum() {
+            return spectrum;
+        }
+    }
+
+    /**
+     * 스트리밍 재생 중 출력 버퍼 상태를 주기적으로 알리는 이벤트입니다.
+     * 들리는 끊김을 스캔이나 GC 일시정지 같은 다른 작업과 시간으로 맞춰 보기 위한 진단용 값입니다.
+     * 구간 값은 직전 이벤트 이후의 측정값입니다.
+     */
+    public static class BufferHealthEvent extends BaseEvent {
+        private final double bufferFill;
+        private final long underrunCount;
+        private final long newUnderruns;
+        private final long budgetMicros;
+        private final long avgDecodeMicros;
+        private final long maxDecodeMicros;
+        private final long maxJitterMicros;
+
+        /**
+         * @param bufferFill      출력 버퍼 채움 비율 (0~1), 알 수 없으면 -1
+         * @param underrunCount   재생 시작 이후 누적 언더런 횟수
+         * @param newUnderruns    구간 중 발생한 언더런 횟수
+         * @param budgetMicros    버퍼 하나의 실시간 예산 (버퍼 길이)
+         * @param avgDecodeMicros 버퍼당 평균 디코딩+처리 시간
+         * @param maxDecodeMicros 구간 중 가장 길었던 디코딩+처리 시간
+         * @param maxJitterMicros 구간 중 렌더 주기가 예산에서 가장 많이 벗어난 정도
+         */
+        public BufferHealthEvent(double bufferFill, long underrunCount, long newUnderruns, long budgetMicros,
+                long avgDecodeMicros, long maxDecodeMicros, long maxJitterMicros) {
+            this.bufferFill = bufferFill;
+            this.underrunCount = underrunCount;
+            this.newUnderruns = newUnderruns;
+            this.budgetMicros = budgetMicros;
+            this.avgDecodeMicros = avgDecodeMicros;
+            this.maxDecodeMicros = maxDecodeMicros;
+            this.maxJitterMicros = maxJitterMicros;
+        }
+
+        public double getBufferFill() {
+            return bufferFill;
+        }
+
+        public long getUnderrunCount() {
+            return underrunCount;
+        }
+
+        public long getNewUnderruns() {
+            return newUnderruns;
+        }
+
+        public long getBudgetMicros() {
+            return budgetMicros;
+        }
+
+        public long getAvgDecodeMicros() {
+            return avgDecodeMicros;
+        }
+
+        public long getMaxDecodeMicros() {
+            return maxDecodeMicros;
+        }
+
+        public long getMaxJitterMicros() {
+            return maxJitterMicros;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {fill=" + String.format("%.2f", bufferFill) + ", underruns=" + underrunCount
+                    + " (+" + newUnderruns + "), decode=" + avgDecodeMicros + "/" + maxDecodeMicros + "us of "
+                    + budgetMicros + "us, jitter=" + maxJitterMicros + "us}";
+        }
+    }
+}
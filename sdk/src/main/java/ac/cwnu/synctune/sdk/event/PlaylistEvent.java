@@ -110,6 +110,40 @@ public class PlaylistEvent {
         }
     }
 
+    /**
+     * 플레이리스트를 오디오 특징(에너지, 템포, 조)에 따라 다시 정렬해 달라는 요청 이벤트입니다.
+     * 정렬 결과는 {@link PlaylistOrderChangedEvent}로 돌아옵니다.
+     */
+    public static class RequestSmartShuffleEvent extends BaseEvent {
+        public enum Mode {
+            LOW_ENERGY,     // 차분한 곡부터
+            MEDIUM_ENERGY,  // 보통 에너지 곡부터
+            HIGH_ENERGY,    // 역동적인 곡부터
+            TIME_OF_DAY     // 현재 시간대에 맞는 에너지 곡부터
+        }
+
+        private final Playlist playlist;
+        private final Mode mode;
+
+        public RequestSmartShuffleEvent(Playlist playlist, Mode mode) {
+            this.playlist = playlist;
+            this.mode = mode;
+        }
+
+        public Playlist getPlaylist() {
+            return playlist;
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {playlistName=" + playlist.getName() + ", mode=" + mode + "}";
+        }
+    }
+
     public static class AllPlaylistsLoadedEvent extends BaseEvent { // 추가: 모든 플레이리스트 로드 완료
         private final List<Playlist> playlists;
 
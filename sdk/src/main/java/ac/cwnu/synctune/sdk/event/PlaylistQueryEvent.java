@@ -1,5 +1,7 @@
 package ac.cwnu.synctune.sdk.event;
 
+import java.util.List;
+
 import ac.cwnu.synctune.sdk.model.MusicInfo;
 
 /**
@@ -114,4 +116,51 @@ public class PlaylistQueryEvent {
                 (removedMusic != null ? removedMusic.getTitle() : "null") + "}";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 현재 곡 다음에 재생될 곡 목록 요청 이벤트 (미리 읽기용)
+     */
+    public static class RequestUpcomingMusicEvent extends BaseEvent {
+        private final MusicInfo currentMusic;
+        private final int count;
+
+        public RequestUpcomingMusicEvent(MusicInfo currentMusic, int count) {
+            this.currentMusic = currentMusic;
+            this.count = count;
+        }
+
+        public MusicInfo getCurrentMusic() {
+            return currentMusic;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {currentMusic=" +
+                (currentMusic != null ? currentMusic.getTitle() : "null") + ", count=" + count + "}";
+        }
+    }
+
+    /**
+     * 다음에 재생될 곡 목록 응답 이벤트 (재생 순서대로, 없으면 빈 목록)
+     */
+    public static class UpcomingMusicFoundEvent extends BaseEvent {
+        private final List<MusicInfo> upcomingMusic;
+
+        public UpcomingMusicFoundEvent(List<MusicInfo> upcomingMusic) {
+            this.upcomingMusic = List.copyOf(upcomingMusic);
+        }
+
+        public List<MusicInfo> getUpcomingMusic() {
+            return upcomingMusic;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {upcomingMusic=" + upcomingMusic.size() + "}";
+        }
+    }
+}
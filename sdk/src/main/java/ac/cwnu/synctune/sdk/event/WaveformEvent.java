@@ -0,0 +1,40 @@
+package ac.cwnu.synctune.sdk.event;
+
+import ac.cwnu.synctune.sdk.audio.WaveformData;
+
+/**
+ * 파형 개요와 관련된 이벤트들을 정의합니다.
+ */
+public class WaveformEvent {
+
+    private WaveformEvent() {
+    }
+
+    /**
+     * 곡의 파형 개요가 계산되었거나 계산 중에 갱신되었음을 알리는 이벤트
+     * 계산 중에는 같은 곡에 대해 여러 번 발행되며, 마지막 이벤트의 {@link WaveformData#isComplete()}가 true입니다.
+     */
+    public static class WaveformUpdatedEvent extends BaseEvent {
+        private final String filePath;
+        private final WaveformData waveform;
+
+        public WaveformUpdatedEvent(String filePath, WaveformData waveform) {
+            this.filePath = filePath;
+            this.waveform = waveform;
+        }
+
+        public String getFilePath() {
+            return filePath;
+        }
+
+        public WaveformData getWaveform() {
+            return waveform;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " {file=" + filePath + ", progress="
+                    + String.format("%.0f%%", waveform.getProgress() * 100) + "}";
+        }
+    }
+}
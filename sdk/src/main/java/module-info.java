@@ -1,6 +1,7 @@
 module synctune.sdk.main {
     requires transitive org.slf4j;
     exports ac.cwnu.synctune.sdk.annotation;
+    exports ac.cwnu.synctune.sdk.audio;
     exports ac.cwnu.synctune.sdk.event;
     exports ac.cwnu.synctune.sdk.log;
     exports ac.cwnu.synctune.sdk.model;
@@ -4,12 +4,16 @@ import org.slf4j.Logger;
 
 import ac.cwnu.synctune.sdk.annotation.EventListener;
 import ac.cwnu.synctune.sdk.annotation.Module;
+import ac.cwnu.synctune.sdk.event.EqualizerEvent;
 import ac.cwnu.synctune.sdk.event.EventPublisher;
+import ac.cwnu.synctune.sdk.event.KaraokeEvent;
 import ac.cwnu.synctune.sdk.event.LyricsEvent;
 import ac.cwnu.synctune.sdk.event.PlaybackStatusEvent;
+import ac.cwnu.synctune.sdk.event.PlaylistEvent;
 import ac.cwnu.synctune.sdk.event.PlaylistQueryEvent;
 import ac.cwnu.synctune.sdk.event.SystemEvent;
 import ac.cwnu.synctune.sdk.event.VolumeControlEvent;
+import ac.cwnu.synctune.sdk.event.WaveformEvent;
 import ac.cwnu.synctune.sdk.log.LogManager;
 import ac.cwnu.synctune.sdk.model.MusicInfo;
 import ac.cwnu.synctune.sdk.module.SyncTuneModule;
@@ -100,6 +104,19 @@ public class UIModule extends SyncTuneModule {
         }
     }
 
+    @EventListener
+    public void onRequestUpcomingMusic(PlaylistQueryEvent.RequestUpcomingMusicEvent event) {
+        if (mainWindow != null && mainWindow.getPlaylistView() != null) {
+            Platform.runLater(() -> {
+                if (event.getCurrentMusic() != null) {
+                    mainWindow.getPlaylistView().setCurrentPlayingMusic(event.getCurrentMusic());
+                }
+                publish(new PlaylistQueryEvent.UpcomingMusicFoundEvent(
+                    mainWindow.getPlaylistView().getUpcomingMusic(event.getCount())));
+            });
+        }
+    }
+
     // ========== 곡 제거 시 기본 화면 복원 ==========
     
     @EventListener
@@ -120,6 +137,15 @@ public class UIModule extends SyncTuneModule {
         }
     }
     
+    @EventListener
+    public void onPlaylistOrderChanged(PlaylistEvent.PlaylistOrderChangedEvent event) {
+        log.debug("플레이리스트 순서 변경 이벤트 수신: {} ({}곡)",
+            event.getPlaylist().getName(), event.getPlaylist().getMusicList().size());
+        if (mainWindow != null && mainWindow.getPlaylistView() != null) {
+            mainWindow.getPlaylistView().reorderPlaylistItems(event.getPlaylist().getMusicList());
+        }
+    }
+    
     /**
      * UI를 기본 상태로 복원하는 메서드
      */
@@ -357,6 +383,18 @@ public class UIModule extends SyncTuneModule {
         }
     }
 
+    /**
+     * 플레이어가 적용한 노래방 설정을 가사 화면의 조작 버튼에 반영
+     */
+    @EventListener
+    public void onKaraokeChanged(KaraokeEvent.KaraokeChangedEvent event) {
+        log.debug("노래방 설정 변경: {}", event);
+        if (mainWindow != null && mainWindow.getLyricsView() != null) {
+            Platform.runLater(() ->
+                mainWindow.getLyricsView().showKaraokeState(event.isVocalReduction(), event.getKeyShift()));
+        }
+    }
+
     @EventListener
     public void onLyricsNotFound(LyricsEvent.LyricsNotFoundEvent event) {
         log.info("가사 파일을 찾을 수 없음: {}", event.getMusicFilePath());
@@ -395,6 +433,50 @@ public class UIModule extends SyncTuneModule {
         // PlaybackController가 이 이벤트를 처리하므로 UIModule에서는 별도 처리 불필요
     }
 
+    // ========== 파형/스펙트럼 이벤트 리스너 ==========
+    
+    @EventListener
+    public void onWaveformUpdated(WaveformEvent.WaveformUpdatedEvent event) {
+        if (mainWindow != null) {
+            Platform.runLater(() -> {
+                if (mainWindow.getControlsView() != null) {
+                    mainWindow.getControlsView().setWaveform(event.getFilePath(), event.getWaveform());
+                }
+            });
+        }
+    }
+
+    @EventListener
+    public void onSpectrumAvailable(PlaybackStatusEvent.SpectrumAvailableEvent event) {
+        // 이후 갱신은 화면 쪽에서 직접 가져가므로 연결만 한 번 넘김
+        if (mainWindow != null) {
+            Platform.runLater(() -> {
+                if (mainWindow.getControlsView() != null) {
+                    mainWindow.getControlsView().setSpectrumSource(event.getSpectrum());
+                }
+            });
+        }
+    }
+
+    // ========== 이퀄라이저 이벤트 리스너 ==========
+    
+    @EventListener
+    public void onEqualizerChanged(EqualizerEvent.EqualizerChangedEvent event) {
+        // 컨트롤러는 이벤트 버스에 등록되지 않으므로 모듈이 전달
+        if (mainWindow != null && mainWindow.getPlaybackController() != null) {
+            mainWindow.getPlaybackController().onEqualizerChanged(event);
+        }
+    }
+
+    // ========== 재생 속도 이벤트 리스너 ==========
+    
+    @EventListener
+    public void onPlaybackSpeedChanged(PlaybackStatusEvent.PlaybackSpeedChangedEvent event) {
+        if (mainWindow != null && mainWindow.getPlaybackController() != null) {
+            mainWindow.getPlaybackController().onPlaybackSpeedChanged(event);
+        }
+    }
+
     @EventListener
     public void onApplicationShutdown(SystemEvent.ApplicationShutdownEvent event) {
         log.info("ApplicationShutdownEvent를 수신했습니다. UI 종료를 준비합니다.");
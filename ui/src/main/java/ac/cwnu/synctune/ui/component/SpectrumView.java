@@ -0,0 +1,138 @@
+package ac.cwnu.synctune.ui.component;
+
+import java.util.Arrays;
+
+import ac.cwnu.synctune.sdk.audio.SpectrumSource;
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * 재생 중인 소리의 주파수 스펙트럼을 막대로 그리는 캔버스
+ * 화면 갱신 주기(AnimationTimer)마다 분석기에서 최신 스펙트럼을 직접 가져오므로 이벤트나 runLater가 쌓이지 않고,
+ * 새 결과가 없으면 그 프레임은 막대를 천천히 내리기만 합니다. JavaFX 스레드에서만 사용합니다.
+ */
+public class SpectrumView extends Canvas {
+    private static final Color BAR_COLOR = Color.web("#3498db");
+    private static final Color PEAK_COLOR = Color.web("#2c3e50");
+    private static final double BAR_GAP = 2;
+    // 초당 내려가는 높이 (전체 높이 대비 비율)
+    private static final double FALL_PER_SECOND = 1.5;
+    private static final double PEAK_FALL_PER_SECOND = 0.4;
+
+    private final float[] latest;
+    private final double[] levels;
+    private final double[] peaks;
+    private final AnimationTimer timer;
+    private SpectrumSource source;
+    private long lastFrameNanos;
+    private boolean blank = true;
+    // Canvas는 Region이 아니므로 레이아웃 최대 폭을 직접 보관
+    private double maxWidthLimit = Double.MAX_VALUE;
+
+    public SpectrumView(int bands, double height) {
+        super(0, height);
+        this.latest = new float[bands];
+        this.levels = new double[bands];
+        this.peaks = new double[bands];
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onFrame(now);
+            }
+        };
+        widthProperty().addListener((obs, oldVal, newVal) -> redraw());
+    }
+
+    @Override
+    public boolean isResizable() {
+        return true;
+    }
+
+    @Override
+    public double prefWidth(double height) {
+        return getWidth();
+    }
+
+    @Override
+    public double prefHeight(double width) {
+        return getHeight();
+    }
+
+    @Override
+    public double maxWidth(double height) {
+        return maxWidthLimit;
+    }
+
+    @Override
+    public void resize(double width, double height) {
+        setWidth(Math.min(width, maxWidthLimit));
+    }
+
+    /**
+     * 부모 레이아웃이 늘려 줄 수 있는 최대 폭
+     */
+    public void setMaxWidth(double maxWidth) {
+        this.maxWidthLimit = maxWidth;
+    }
+
+    /**
+     * 스펙트럼을 가져올 분석기를 설정합니다 (null이면 갱신을 멈추고 지움)
+     */
+    public void setSource(SpectrumSource source) {
+        this.source = source;
+        if (source != null) {
+            lastFrameNanos = 0;
+            timer.start();
+        } else {
+            timer.stop();
+            Arrays.fill(levels, 0);
+            Arrays.fill(peaks, 0);
+            redraw();
+        }
+    }
+
+    private void onFrame(long now) {
+        double elapsed = lastFrameNanos == 0 ? 0 : (now - lastFrameNanos) / 1e9;
+        lastFrameNanos = now;
+        boolean fresh = source != null && source.readSpectrum(latest);
+        boolean active = false;
+        for (int b = 0; b < levels.length; b++) {
+            double level = Math.max(0, levels[b] - FALL_PER_SECOND * elapsed);
+            if (fresh && latest[b] > level) {
+                level = latest[b];
+            }
+            levels[b] = level;
+            double peak = Math.max(0, peaks[b] - PEAK_FALL_PER_SECOND * elapsed);
+            peaks[b] = Math.max(peak, level);
+            active |= peaks[b] > 0;
+        }
+        // 멈춘 뒤 막대가 모두 내려가면 더 그리지 않음
+        if (active || !blank) {
+            redraw();
+            blank = !active;
+        }
+    }
+
+    private void redraw() {
+        GraphicsContext g = getGraphicsContext2D();
+        double width = getWidth();
+        double height = getHeight();
+        g.clearRect(0, 0, width, height);
+        double barWidth = (width - BAR_GAP * (levels.length - 1)) / levels.length;
+        if (barWidth <= 0) {
+            return;
+        }
+        for (int b = 0; b < levels.length; b++) {
+            double x = b * (barWidth + BAR_GAP);
+            double barHeight = levels[b] * height;
+            g.setFill(BAR_COLOR);
+            g.fillRect(x, height - barHeight, barWidth, barHeight);
+            if (peaks[b] > 0) {
+                g.setFill(PEAK_COLOR);
+                g.fillRect(x, height - peaks[b] * height, barWidth, 1);
+            }
+        }
+    }
+}
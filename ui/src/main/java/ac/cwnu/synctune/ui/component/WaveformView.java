@@ -0,0 +1,97 @@
+package ac.cwnu.synctune.ui.component;
+
+import ac.cwnu.synctune.sdk.audio.WaveformData;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * 탐색 바 뒤에 곡의 파형 개요를 그리는 캔버스
+ * 폭이 바뀌거나 새 개요(계산 중인 중간 결과 포함)가 오면 열마다 최소/최대 피크를 다시 계산해 그리고,
+ * 재생 위치 앞쪽은 진한 색으로 칠합니다. JavaFX 스레드에서만 사용합니다.
+ */
+public class WaveformView extends Canvas {
+    private static final Color PLAYED_COLOR = Color.web("#3498db");
+    private static final Color REMAINING_COLOR = Color.web("#bdc3c7");
+
+    private WaveformData waveform;
+    private float[] columnMin = new float[0];
+    private float[] columnMax = new float[0];
+    private int filledColumns;
+    private double playedFraction;
+
+    public WaveformView(double height) {
+        super(0, height);
+        widthProperty().addListener((obs, oldVal, newVal) -> recomputeColumns());
+    }
+
+    @Override
+    public boolean isResizable() {
+        return true;
+    }
+
+    @Override
+    public double prefWidth(double height) {
+        return getWidth();
+    }
+
+    @Override
+    public double prefHeight(double width) {
+        return getHeight();
+    }
+
+    @Override
+    public void resize(double width, double height) {
+        setWidth(width);
+    }
+
+    /**
+     * 표시할 파형 개요를 바꿉니다 (null이면 지움)
+     */
+    public void setWaveform(WaveformData waveform) {
+        this.waveform = waveform;
+        recomputeColumns();
+    }
+
+    /**
+     * 재생된 비율 (0~1)
+     */
+    public void setPlayedFraction(double fraction) {
+        double clamped = Math.max(0, Math.min(1, fraction));
+        // 색이 바뀌는 열이 달라질 때만 다시 그림
+        if ((int) (clamped * columnMin.length) != (int) (playedFraction * columnMin.length)) {
+            playedFraction = clamped;
+            redraw();
+        } else {
+            playedFraction = clamped;
+        }
+    }
+
+    private void recomputeColumns() {
+        int columns = (int) getWidth();
+        if (columns != columnMin.length) {
+            columnMin = new float[columns];
+            columnMax = new float[columns];
+        }
+        filledColumns = waveform != null ? waveform.fillColumns(columns, columnMin, columnMax) : 0;
+        redraw();
+    }
+
+    private void redraw() {
+        GraphicsContext g = getGraphicsContext2D();
+        double width = getWidth();
+        double height = getHeight();
+        g.clearRect(0, 0, width, height);
+        if (filledColumns == 0) {
+            return;
+        }
+        double mid = height / 2;
+        int playedColumns = (int) (playedFraction * columnMin.length);
+        for (int x = 0; x < filledColumns; x++) {
+            g.setStroke(x < playedColumns ? PLAYED_COLOR : REMAINING_COLOR);
+            double top = mid - columnMax[x] * mid;
+            double bottom = mid - columnMin[x] * mid;
+            g.strokeLine(x + 0.5, top, x + 0.5, Math.max(bottom, top + 1));
+        }
+    }
+}
@@ -3,6 +3,8 @@ package ac.cwnu.synctune.ui.controller;
 import org.slf4j.Logger;
 
 import ac.cwnu.synctune.sdk.annotation.EventListener;
+import ac.cwnu.synctune.sdk.audio.EqualizerPreset;
+import ac.cwnu.synctune.sdk.event.EqualizerEvent;
 import ac.cwnu.synctune.sdk.event.EventPublisher;
 import ac.cwnu.synctune.sdk.event.MediaControlEvent;
 import ac.cwnu.synctune.sdk.event.PlaybackStatusEvent;
@@ -173,6 +175,24 @@ public class PlaybackController {
             // 이벤트 발행
             publisher.publish(new VolumeControlEvent.RequestMuteEvent(muted));
         });
+        
+        // 이퀄라이저 프리셋 선택
+        view.getEqualizerPresetBox().setOnAction(e -> {
+            EqualizerPreset preset = view.getEqualizerPresetBox().getValue();
+            if (preset != null) {
+                log.debug("이퀄라이저 프리셋 선택: {}", preset.name());
+                publisher.publish(new EqualizerEvent.RequestPresetEvent(preset));
+            }
+        });
+        
+        // 재생 속도 선택
+        view.getSpeedBox().setOnAction(e -> {
+            Float speed = view.getSpeedBox().getValue();
+            if (speed != null) {
+                log.debug("재생 속도 선택: {}x", speed);
+                publisher.publish(new MediaControlEvent.RequestPlaybackSpeedEvent(speed));
+            }
+        });
     }
     
     /**
@@ -277,6 +297,35 @@ public class PlaybackController {
         });
     }
 
+    // ========== 이퀄라이저 상태 이벤트 리스너 ==========
+    
+    @EventListener
+    public void onEqualizerChanged(EqualizerEvent.EqualizerChangedEvent event) {
+        log.debug("PlaybackController: EqualizerChangedEvent 수신 - {}", event.getPreset());
+        
+        Platform.runLater(() -> {
+            // 같은 값이면 선택 이벤트가 다시 발생하지 않음 (직접 설정한 게인은 선택을 유지)
+            if (event.getPreset() != null && view.getEqualizerPresetBox().getValue() != event.getPreset()) {
+                view.getEqualizerPresetBox().setValue(event.getPreset());
+            }
+        });
+    }
+
+    // ========== 재생 속도 이벤트 리스너 ==========
+    
+    @EventListener
+    public void onPlaybackSpeedChanged(PlaybackStatusEvent.PlaybackSpeedChangedEvent event) {
+        log.debug("PlaybackController: PlaybackSpeedChangedEvent 수신 - {}x", event.getSpeed());
+        
+        Platform.runLater(() -> {
+            // 플레이어가 보정한 값을 그대로 표시 (같은 값이면 요청을 다시 보내지 않음)
+            Float current = view.getSpeedBox().getValue();
+            if (current == null || Float.compare(current, event.getSpeed()) != 0) {
+                view.getSpeedBox().setValue(event.getSpeed());
+            }
+        });
+    }
+
     private void updateButtonStates() {
         view.getPlayButton().setDisable(isPlaybackActive);
         view.getPauseButton().setDisable(!isPlaybackActive);
@@ -12,6 +12,7 @@ import javax.sound.sampled.UnsupportedAudioFileException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import ac.cwnu.synctune.sdk.audio.AudioHeaderProbe;
 import ac.cwnu.synctune.sdk.model.MusicInfo;
 
 /**
@@ -245,6 +246,12 @@ public class MusicInfoHelper {
      * 실제 오디오 파일의 재생 시간을 정확히 계산
      */
     public static long calculateActualDuration(File audioFile) {
+        // 헤더만으로 정확한 길이를 구할 수 있는 형식은 디코더를 열지 않음
+        AudioHeaderProbe.Info headerInfo = AudioHeaderProbe.probe(audioFile);
+        if (headerInfo != null) {
+            return headerInfo.durationMillis();
+        }
+        
         try {
             AudioFileFormat fileFormat = AudioSystem.getAudioFileFormat(audioFile);
             
@@ -2,11 +2,17 @@ package ac.cwnu.synctune.ui.view;
 
 import java.util.List;
 
+import ac.cwnu.synctune.sdk.event.EventPublisher;
+import ac.cwnu.synctune.sdk.event.KaraokeEvent;
 import ac.cwnu.synctune.sdk.model.LrcLine;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
@@ -20,11 +26,22 @@ public class LyricsView extends VBox {
     private final Label statusLabel = new Label("가사 상태: 대기 중");
     private List<LrcLine> allLyricsLines;
 
-    public LyricsView() {
+    // 노래방 모드: 보컬 줄이기와 키 변경 (가사를 보며 바로 켜고 끌 수 있도록 가사 옆에 배치)
+    private static final int MAX_KEY_SHIFT = 6;
+    private final EventPublisher eventPublisher;
+    private final ToggleButton vocalReductionButton = new ToggleButton("🎤 보컬 줄이기");
+    private final Button keyDownButton = new Button("♭");
+    private final Button keyUpButton = new Button("♯");
+    private final Label keyLabel = new Label();
+    private int keyShift;
+
+    public LyricsView(EventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
         // ScrollPane은 lyricsContainer가 필요하므로 생성자에서 초기화
         lyricsScrollPane = new ScrollPane(lyricsContainer);
         initializeComponents();
         layoutComponents();
+        setupKaraokeControls();
     }
 
     private void initializeComponents() {
@@ -68,7 +85,43 @@ public class LyricsView extends VBox {
         titleLabel.setFont(Font.font("System", FontWeight.BOLD, 16));
         titleLabel.setStyle("-fx-text-fill: #34495e;");
 
-        getChildren().addAll(titleLabel, statusLabel, currentLyricsLabel, lyricsScrollPane);
+        HBox karaokeBox = new HBox(8, vocalReductionButton, keyDownButton, keyLabel, keyUpButton);
+        karaokeBox.setAlignment(Pos.CENTER);
+
+        getChildren().addAll(titleLabel, statusLabel, karaokeBox, currentLyricsLabel, lyricsScrollPane);
+    }
+
+    private void setupKaraokeControls() {
+        vocalReductionButton.setTooltip(new Tooltip("가운데 보컬을 줄여 반주만 남깁니다"));
+        keyDownButton.setTooltip(new Tooltip("키 반음 내리기"));
+        keyUpButton.setTooltip(new Tooltip("키 반음 올리기"));
+        keyLabel.setMinWidth(50);
+        keyLabel.setAlignment(Pos.CENTER);
+        showKaraokeState(false, 0);
+
+        vocalReductionButton.setOnAction(e -> requestKaraoke(vocalReductionButton.isSelected(), keyShift));
+        keyDownButton.setOnAction(e -> requestKaraoke(vocalReductionButton.isSelected(), keyShift - 1));
+        keyUpButton.setOnAction(e -> requestKaraoke(vocalReductionButton.isSelected(), keyShift + 1));
+    }
+
+    private void requestKaraoke(boolean vocalReduction, int key) {
+        int validKey = Math.max(-MAX_KEY_SHIFT, Math.min(MAX_KEY_SHIFT, key));
+        // 즉시 UI 피드백 후 요청, 실제 적용 결과는 KaraokeChangedEvent로 다시 반영
+        showKaraokeState(vocalReduction, validKey);
+        if (eventPublisher != null) {
+            eventPublisher.publish(new KaraokeEvent.RequestKaraokeEvent(vocalReduction, validKey));
+        }
+    }
+
+    /**
+     * 노래방 설정 표시 갱신 (FX 스레드에서 호출)
+     */
+    public void showKaraokeState(boolean vocalReduction, int key) {
+        keyShift = key;
+        vocalReductionButton.setSelected(vocalReduction);
+        keyLabel.setText(key == 0 ? "키 0" : String.format("키 %+d", key));
+        keyDownButton.setDisable(key <= -MAX_KEY_SHIFT);
+        keyUpButton.setDisable(key >= MAX_KEY_SHIFT);
     }
 
     public void updateLyrics(String lyrics) {
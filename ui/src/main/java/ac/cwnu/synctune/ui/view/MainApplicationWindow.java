@@ -7,10 +7,13 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import ac.cwnu.synctune.sdk.event.AudioProcessingEvent;
 import ac.cwnu.synctune.sdk.event.EventPublisher;
 import ac.cwnu.synctune.sdk.event.MediaControlEvent;
+import ac.cwnu.synctune.sdk.event.PlaylistEvent;
 import ac.cwnu.synctune.sdk.model.LrcLine;
 import ac.cwnu.synctune.sdk.model.MusicInfo;
+import ac.cwnu.synctune.sdk.model.Playlist;
 import ac.cwnu.synctune.ui.controller.PlaybackController;
 import ac.cwnu.synctune.ui.controller.PlaylistActionHandler;
 import ac.cwnu.synctune.ui.controller.WindowStateManager;
@@ -73,7 +76,7 @@ public class MainApplicationWindow extends Stage {
         // 뷰 컴포넌트 생성
         controlsView = new PlayerControlsView();
         playlistView = new PlaylistView(eventPublisher);
-        lyricsView = new LyricsView();
+        lyricsView = new LyricsView(eventPublisher);
         
         // 레이아웃 구성
         VBox topContainer = new VBox();
@@ -159,9 +162,32 @@ public class MainApplicationWindow extends Stage {
         nextMenuItem.setAccelerator(new KeyCodeCombination(KeyCode.RIGHT, KeyCombination.CONTROL_DOWN));
         nextMenuItem.setOnAction(e -> playNext());
         
+        SeparatorMenuItem effectSeparator = new SeparatorMenuItem();
+        
+        MenuItem impulseResponseMenuItem = new MenuItem("임펄스 응답 불러오기...");
+        impulseResponseMenuItem.setOnAction(e -> openImpulseResponse());
+        
+        MenuItem clearImpulseResponseMenuItem = new MenuItem("임펄스 응답 끄기");
+        clearImpulseResponseMenuItem.setOnAction(e -> clearImpulseResponse());
+        
+        SeparatorMenuItem shuffleSeparator = new SeparatorMenuItem();
+        
+        Menu smartShuffleMenu = new Menu("분위기별 셔플");
+        MenuItem lowEnergyMenuItem = new MenuItem("차분한 곡부터");
+        lowEnergyMenuItem.setOnAction(e -> requestSmartShuffle(PlaylistEvent.RequestSmartShuffleEvent.Mode.LOW_ENERGY));
+        MenuItem mediumEnergyMenuItem = new MenuItem("보통 에너지 곡부터");
+        mediumEnergyMenuItem.setOnAction(e -> requestSmartShuffle(PlaylistEvent.RequestSmartShuffleEvent.Mode.MEDIUM_ENERGY));
+        MenuItem highEnergyMenuItem = new MenuItem("역동적인 곡부터");
+        highEnergyMenuItem.setOnAction(e -> requestSmartShuffle(PlaylistEvent.RequestSmartShuffleEvent.Mode.HIGH_ENERGY));
+        MenuItem timeOfDayMenuItem = new MenuItem("지금 시간대에 맞게");
+        timeOfDayMenuItem.setOnAction(e -> requestSmartShuffle(PlaylistEvent.RequestSmartShuffleEvent.Mode.TIME_OF_DAY));
+        smartShuffleMenu.getItems().addAll(lowEnergyMenuItem, mediumEnergyMenuItem, highEnergyMenuItem, timeOfDayMenuItem);
+        
         playMenu.getItems().addAll(
             playMenuItem, stopMenuItem, separator,
-            previousMenuItem, nextMenuItem
+            previousMenuItem, nextMenuItem, effectSeparator,
+            impulseResponseMenuItem, clearImpulseResponseMenuItem, shuffleSeparator,
+            smartShuffleMenu
         );
         
         return playMenu;
@@ -506,6 +532,41 @@ public class MainApplicationWindow extends Stage {
         eventPublisher.publish(new MediaControlEvent.RequestNextMusicEvent());
     }
     
+    /**
+     * 룸 보정/잔향용 임펄스 응답 파일을 골라 합성곱 단계에 적용합니다
+     */
+    private void openImpulseResponse() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("임펄스 응답 열기");
+        fileChooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("임펄스 응답 (WAV)", "*.wav"),
+            new FileChooser.ExtensionFilter("모든 파일", "*.*")
+        );
+        
+        File file = fileChooser.showOpenDialog(this);
+        if (file != null) {
+            log.info("임펄스 응답 선택: {}", file.getAbsolutePath());
+            eventPublisher.publish(new AudioProcessingEvent.RequestImpulseResponseEvent(file.getAbsolutePath(), 1.0f));
+        }
+    }
+    
+    private void clearImpulseResponse() {
+        eventPublisher.publish(new AudioProcessingEvent.RequestImpulseResponseEvent(null, 1.0f));
+    }
+    
+    /**
+     * 재생목록을 분석된 에너지/템포/조에 따라 다시 정렬해 달라고 요청 (결과는 순서 변경 이벤트로 반영)
+     */
+    private void requestSmartShuffle(PlaylistEvent.RequestSmartShuffleEvent.Mode mode) {
+        List<MusicInfo> songs = playlistView.getAllMusicInCurrentPlaylist();
+        if (songs.size() < 2) {
+            return;
+        }
+        log.info("분위기별 셔플 요청: {} ({}곡)", mode, songs.size());
+        eventPublisher.publish(new PlaylistEvent.RequestSmartShuffleEvent(
+            new Playlist(playlistView.getSelectedPlaylist(), songs), mode));
+    }
+    
     private void showKeyboardShortcuts() {
         Alert dialog = new Alert(Alert.AlertType.INFORMATION);
         dialog.setTitle("키보드 단축키");
@@ -1,19 +1,27 @@
 package ac.cwnu.synctune.ui.view;
 
+import ac.cwnu.synctune.sdk.audio.EqualizerPreset;
+import ac.cwnu.synctune.sdk.audio.SpectrumSource;
+import ac.cwnu.synctune.sdk.audio.WaveformData;
 import ac.cwnu.synctune.sdk.model.MusicInfo;
 import ac.cwnu.synctune.ui.component.StyledButton;
+import ac.cwnu.synctune.ui.component.SpectrumView;
+import ac.cwnu.synctune.ui.component.WaveformView;
 import ac.cwnu.synctune.ui.util.UIUtils;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.Slider;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.control.Tooltip;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.util.StringConverter;
 
 public class PlayerControlsView extends VBox {
     // 기본 컨트롤 버튼들
@@ -26,10 +34,25 @@ public class PlayerControlsView extends VBox {
     // 볼륨 컨트롤
     private final ToggleButton muteButton = new ToggleButton("🔊");
     
+    // 이퀄라이저 프리셋
+    private final ComboBox<EqualizerPreset> equalizerPresetBox = new ComboBox<>();
+    
+    // 재생 속도 (0.5x ~ 2.0x)
+    private static final Float[] SPEED_STEPS = {0.5f, 0.75f, 1.0f, 1.25f, 1.5f, 2.0f};
+    private final ComboBox<Float> speedBox = new ComboBox<>();
+    
     // 슬라이더들
     private final Slider progressSlider = new Slider(0, 100, 0);
     private final Slider volumeSlider = new Slider(0, 100, 50);
     
+    // 진행 바 뒤의 파형 개요와 표시 중인 곡 경로
+    private final WaveformView waveformView = new WaveformView(36);
+    // 마지막으로 받은 파형과 그 곡 (재생 시작 이벤트보다 먼저 올 수 있으므로 현재 곡과 따로 보관)
+    private String waveformPath;
+    private WaveformData waveformData;
+    private String currentTrackPath;
+    private final SpectrumView spectrumView = new SpectrumView(32, 40);
+    
     // 라벨들
     private final Label currentTimeLabel = new Label("00:00");
     private final Label totalTimeLabel = new Label("00:00");
@@ -53,6 +76,25 @@ public class PlayerControlsView extends VBox {
         volumeSlider.setShowTickLabels(false);
         volumeSlider.setShowTickMarks(false);
         
+        equalizerPresetBox.getItems().addAll(EqualizerPreset.values());
+        equalizerPresetBox.setValue(EqualizerPreset.FLAT);
+        equalizerPresetBox.setPrefWidth(120);
+        
+        speedBox.getItems().addAll(SPEED_STEPS);
+        speedBox.setValue(1.0f);
+        speedBox.setPrefWidth(80);
+        speedBox.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Float speed) {
+                return speed == null ? "" : speed + "x";
+            }
+
+            @Override
+            public Float fromString(String text) {
+                return Float.parseFloat(text.replace("x", ""));
+            }
+        });
+        
         // 제목 라벨 스타일
         titleLabel.setFont(Font.font("System", FontWeight.BOLD, 16));
         titleLabel.setStyle("-fx-text-fill: #2c3e50;");
@@ -113,7 +155,9 @@ public class PlayerControlsView extends VBox {
         textInfo.setAlignment(Pos.CENTER);
         textInfo.getChildren().addAll(titleLabel, artistLabel);
         
-        infoBox.getChildren().add(textInfo);
+        HBox.setHgrow(spectrumView, Priority.ALWAYS);
+        spectrumView.setMaxWidth(240);
+        infoBox.getChildren().addAll(textInfo, spectrumView);
         return infoBox;
     }
 
@@ -142,8 +186,11 @@ public class PlayerControlsView extends VBox {
         currentTimeLabel.setStyle("-fx-text-fill: #2c3e50; -fx-font-family: 'Courier New';");
         totalTimeLabel.setStyle("-fx-text-fill: #2c3e50; -fx-font-family: 'Courier New';");
         
-        HBox.setHgrow(progressSlider, Priority.ALWAYS);
-        progressBox.getChildren().addAll(currentTimeLabel, progressSlider, totalTimeLabel);
+        // 파형 위에 진행 바를 겹쳐 표시
+        StackPane seekPane = new StackPane(waveformView, progressSlider);
+        seekPane.setMinHeight(waveformView.getHeight());
+        HBox.setHgrow(seekPane, Priority.ALWAYS);
+        progressBox.getChildren().addAll(currentTimeLabel, seekPane, totalTimeLabel);
         
         return progressBox;
     }
@@ -151,7 +198,8 @@ public class PlayerControlsView extends VBox {
     private HBox createVolumeBox() {
         HBox volumeBox = new HBox(10);
         volumeBox.setAlignment(Pos.CENTER);
-        volumeBox.getChildren().addAll(muteButton, volumeSlider);
+        volumeBox.getChildren().addAll(muteButton, volumeSlider, new Label("EQ"), equalizerPresetBox,
+                new Label("속도"), speedBox);
         return volumeBox;
     }
 
@@ -222,9 +270,14 @@ public class PlayerControlsView extends VBox {
         muteButton.setTooltip(new Tooltip("음소거"));
         progressSlider.setTooltip(new Tooltip("재생 위치 조절"));
         volumeSlider.setTooltip(new Tooltip("볼륨 조절"));
+        equalizerPresetBox.setTooltip(new Tooltip("이퀄라이저 프리셋"));
+        speedBox.setTooltip(new Tooltip("재생 속도 (음높이 유지)"));
     }
 
     public void updateMusicInfo(MusicInfo music) {
+        // 파형 이벤트가 재생 시작 이벤트보다 먼저 올 수 있으므로 이미 받은 이 곡의 파형은 그대로 표시
+        currentTrackPath = music != null ? music.getFilePath() : null;
+        waveformView.setWaveform(currentTrackPath != null && currentTrackPath.equals(waveformPath) ? waveformData : null);
         if (music != null) {
             titleLabel.setText(music.getTitle());
             artistLabel.setText(music.getArtist());
@@ -249,6 +302,43 @@ public class PlayerControlsView extends VBox {
             progressSlider.setMax(totalMs);
             updateTimeLabel(totalTimeLabel, totalMs);
         }
+        waveformView.setPlayedFraction(totalMs > 0 ? (double) currentMs / totalMs : 0);
+    }
+
+    /**
+     * 진행 바 뒤에 표시할 곡의 파형 개요를 설정합니다 (계산 중인 중간 결과도 그대로 표시)
+     * 이벤트 버스는 순서를 보장하지 않으므로, 현재 곡이 아닌 파형은 표시하지 않고
+     * 같은 곡의 완성본이나 더 진행된 결과를 받은 뒤 늦게 도착한 중간 결과는 무시합니다.
+     */
+    public void setWaveform(String filePath, WaveformData waveform) {
+        if (filePath == null || waveform == null) {
+            waveformPath = null;
+            waveformData = null;
+            waveformView.setWaveform(null);
+            return;
+        }
+        boolean current = filePath.equals(currentTrackPath);
+        if (filePath.equals(waveformPath)) {
+            if (!waveform.isComplete()
+                    && (waveformData.isComplete() || waveform.getProgress() < waveformData.getProgress())) {
+                return;
+            }
+        } else if (!current && currentTrackPath != null && currentTrackPath.equals(waveformPath)) {
+            // 현재 곡의 파형을 이미 받았으면 다른 곡(이전 곡의 늦은 이벤트)의 결과로 덮지 않음
+            return;
+        }
+        waveformPath = filePath;
+        waveformData = waveform;
+        if (current) {
+            waveformView.setWaveform(waveform);
+        }
+    }
+
+    /**
+     * 곡 정보 옆 스펙트럼 표시가 읽어 갈 분석기를 설정합니다
+     */
+    public void setSpectrumSource(SpectrumSource source) {
+        spectrumView.setSource(source);
     }
 
     private void updateTimeLabel(Label label, long timeMs) {
@@ -272,4 +362,6 @@ public class PlayerControlsView extends VBox {
     public ToggleButton getMuteButton() { return muteButton; }
     public Slider getProgressSlider() { return progressSlider; }
     public Slider getVolumeSlider() { return volumeSlider; }
+    public ComboBox<EqualizerPreset> getEqualizerPresetBox() { return equalizerPresetBox; }
+    public ComboBox<Float> getSpeedBox() { return speedBox; }
 }
\ No newline at end of file
@@ -18,6 +18,8 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -424,6 +426,18 @@ public class PlaylistView extends VBox {
         return nextMusic;
     }
 
+    /**
+     * 현재 곡 다음에 재생될 곡들을 순서대로 최대 count개 반환 (반복 재생 안함)
+     */
+    public List<MusicInfo> getUpcomingMusic(int count) {
+        List<MusicInfo> upcoming = new ArrayList<>();
+        int start = Math.max(0, currentPlayingIndex + 1);
+        for (int i = start; i < playlistItems.size() && upcoming.size() < count; i++) {
+            upcoming.add(playlistItems.get(i).getMusicInfo());
+        }
+        return upcoming;
+    }
+
     /**
      * 이전 곡 반환
      */
@@ -543,6 +557,25 @@ public class PlaylistView extends VBox {
         });
     }
     
+    /**
+     * 같은 곡들을 새 순서로 다시 배치합니다 (재생 중인 곡 표시는 유지)
+     * 그 사이 곡이 추가/삭제되어 구성이 달라졌으면 순서를 바꾸지 않습니다.
+     */
+    public void reorderPlaylistItems(List<MusicInfo> orderedList) {
+        Platform.runLater(() -> {
+            List<MusicInfo> current = getAllMusicInCurrentPlaylist();
+            if (current.size() != orderedList.size() || !new HashSet<>(current).equals(new HashSet<>(orderedList))) {
+                log.debug("재생목록 구성이 바뀌어 새 순서를 적용하지 않습니다");
+                return;
+            }
+            MusicInfo playing = currentPlayingMusic;
+            playlistItems.setAll(orderedList.stream().map(MusicInfoItem::new).collect(Collectors.toList()));
+            currentPlayingIndex = -1;
+            setCurrentPlayingMusic(playing);
+            updateStatusLabel(String.format("재생목록 순서를 바꿨습니다 (%d곡)", playlistItems.size()), false);
+        });
+    }
+    
     public void clearCurrentPlaylistItems() {
         Platform.runLater(() -> {
             playlistItems.clear();